@@ -0,0 +1,11 @@
+package com.dembasiby.apigateway.config;
+
+import com.dembasiby.apigateway.loadbalancer.UserAffinityLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.context.annotation.Configuration;
+
+// Carts live in the memory of one cart-service instance, so a user must keep reaching it
+@Configuration
+@LoadBalancerClient(name = "cart-service", configuration = UserAffinityLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
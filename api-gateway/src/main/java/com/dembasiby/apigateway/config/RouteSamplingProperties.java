@@ -0,0 +1,23 @@
+package com.dembasiby.apigateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-route head sampling probabilities, keyed by gateway route id. Routes not listed use
+ * {@code management.tracing.sampling.probability}.
+ */
+@ConfigurationProperties(prefix = "tracing.sampling")
+public class RouteSamplingProperties {
+    private Map<String, Double> routes = new HashMap<>();
+
+    public Map<String, Double> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Double> routes) {
+        this.routes = routes;
+    }
+}
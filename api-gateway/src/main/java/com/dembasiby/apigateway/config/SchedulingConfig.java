@@ -0,0 +1,26 @@
+package com.dembasiby.apigateway.config;
+
+import com.dembasiby.apigateway.scheduling.PriorityScheduler;
+import com.dembasiby.apigateway.scheduling.PrioritySchedulingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SchedulingProperties.class)
+@ConditionalOnProperty(prefix = "scheduling", name = "enabled", matchIfMissing = true)
+public class SchedulingConfig {
+
+    @Bean
+    public PriorityScheduler priorityScheduler(SchedulingProperties properties, MeterRegistry meterRegistry) {
+        return new PriorityScheduler(properties, meterRegistry);
+    }
+
+    @Bean
+    public PrioritySchedulingFilter prioritySchedulingFilter(PriorityScheduler priorityScheduler,
+                                                             SchedulingProperties properties) {
+        return new PrioritySchedulingFilter(priorityScheduler, properties.getRetryAfterSeconds());
+    }
+}
@@ -0,0 +1,90 @@
+package com.dembasiby.apigateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admission of routed requests by priority class, keyed by
+ * {@link com.dembasiby.apigateway.scheduling.PriorityClass#getKey()}. Classes not listed use
+ * the defaults of {@link ClassProperties}.
+ */
+@ConfigurationProperties(prefix = "scheduling")
+public class SchedulingProperties {
+    private boolean enabled = true;
+    private int maxConcurrent = 256;
+    private int retryAfterSeconds = 1;
+    private Map<String, ClassProperties> classes = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Map<String, ClassProperties> getClasses() {
+        return classes;
+    }
+
+    public void setClasses(Map<String, ClassProperties> classes) {
+        this.classes = classes;
+    }
+
+    public static class ClassProperties {
+        private int weight = 1;
+        private int maxConcurrent = 64;
+        private int maxQueue = 256;
+        private long maxWaitMs = 1000;
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+    }
+}
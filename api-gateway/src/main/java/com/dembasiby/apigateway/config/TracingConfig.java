@@ -0,0 +1,28 @@
+package com.dembasiby.apigateway.config;
+
+import com.dembasiby.apigateway.tracing.RouteSampler;
+import io.micrometer.observation.ObservationPredicate;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+
+@Configuration
+@EnableConfigurationProperties(RouteSamplingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    public Sampler otelSampler(@Value("${management.tracing.sampling.probability:0.1}") double defaultProbability,
+                               RouteSamplingProperties routeSamplingProperties) {
+        return Sampler.parentBased(new RouteSampler(defaultProbability, routeSamplingProperties.getRoutes()));
+    }
+
+    // The root span is started by RouteTracingFilter once the route is known, so the generic
+    // server observation (which starts before routing and cannot be sampled per route) is skipped
+    @Bean
+    public ObservationPredicate skipServerRequestObservation() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext);
+    }
+}
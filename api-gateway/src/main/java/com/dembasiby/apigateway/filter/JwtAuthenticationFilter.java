@@ -1,8 +1,11 @@
 package com.dembasiby.apigateway.filter;
 
+import com.dembasiby.apigateway.tracing.RouteTracingFilter;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
@@ -20,10 +23,14 @@ import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+    // Roles from a verified token; absent for anonymous requests
+    public static final String ROLES_ATTR = JwtAuthenticationFilter.class.getName() + ".roles";
 
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    private final ObservationRegistry observationRegistry;
+
     // Endpoints that don't require authentication
     private final List<String> openApiEndpoints = List.of(
             "/api/auth/login",
@@ -31,6 +38,10 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
             "/eureka"
     );
 
+    public JwtAuthenticationFilter(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
@@ -55,16 +66,19 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         String token = authHeader.substring(7);
         try {
             SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = Observation.createNotStarted("gateway.jwt.verify", observationRegistry)
+                    .parentObservation(exchange.getAttribute(RouteTracingFilter.OBSERVATION_ATTR))
+                    .observe(() -> Jwts.parser()
+                            .verifyWith(key)
+                            .build()
+                            .parseSignedClaims(token)
+                            .getPayload());
             
             // Extract user email and roles
             String userEmail = claims.getSubject();
             List<String> roles = claims.get("roles", List.class);
             String rolesString = String.join(",", roles);
+            exchange.getAttributes().put(ROLES_ATTR, roles);
             
             // Add user info to headers for downstream services
             ServerHttpRequest modifiedRequest = request.mutate()
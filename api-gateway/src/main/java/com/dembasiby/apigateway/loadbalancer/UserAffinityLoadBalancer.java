@@ -0,0 +1,69 @@
+package com.dembasiby.apigateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends every request of a user to the same instance, for services that keep per-user state
+ * in memory. The instance is chosen by rendezvous hashing of the {@code X-User-Email} header
+ * set by the JWT filter: each user goes to the instance with the highest hash of
+ * (user, instance), so adding or removing an instance only moves the users of that instance.
+ * Requests without a user go to a random instance.
+ */
+public class UserAffinityLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+    private static final String USER_HEADER = "X-User-Email";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+
+    public UserAffinityLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers) {
+        this.suppliers = suppliers;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        String user = request.getContext() instanceof RequestDataContext context
+                ? context.getClientRequest().getHeaders().getFirst(USER_HEADER)
+                : null;
+        return supplier.get(request).next().map(instances -> select(instances, user));
+    }
+
+    private static Response<ServiceInstance> select(List<ServiceInstance> instances, String user) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (user == null) {
+            return new DefaultResponse(instances.get(ThreadLocalRandom.current().nextInt(instances.size())));
+        }
+        long userHash = mix(user.hashCode());
+        ServiceInstance best = null;
+        long bestScore = Long.MIN_VALUE;
+        for (ServiceInstance instance : instances) {
+            long score = mix(userHash ^ (instance.getHost() + ":" + instance.getPort()).hashCode());
+            if (best == null || score > bestScore) {
+                best = instance;
+                bestScore = score;
+            }
+        }
+        return new DefaultResponse(best);
+    }
+
+    /** SplitMix64 finalizer, so similar inputs give unrelated scores. */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
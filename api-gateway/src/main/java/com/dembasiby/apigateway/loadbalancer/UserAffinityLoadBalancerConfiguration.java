@@ -0,0 +1,22 @@
+package com.dembasiby.apigateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-client load balancer configuration, applied through {@code @LoadBalancerClient}. Not a
+ * {@code @Configuration} on purpose: it must not be picked up by component scanning.
+ */
+public class UserAffinityLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> userAffinityLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory clientFactory) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new UserAffinityLoadBalancer(clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class));
+    }
+}
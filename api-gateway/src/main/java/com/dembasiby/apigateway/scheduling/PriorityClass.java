@@ -0,0 +1,61 @@
+package com.dembasiby.apigateway.scheduling;
+
+import com.dembasiby.apigateway.filter.JwtAuthenticationFilter;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+
+/**
+ * Priority of a routed request, from its route and the identity verified by
+ * {@link JwtAuthenticationFilter}:
+ * <ul>
+ *   <li>{@code critical}: a signed-in user placing an order</li>
+ *   <li>{@code interactive}: a signed-in user's cart, orders and profile</li>
+ *   <li>{@code sign-in}: logging in and registering; anonymous, so it gets a lane of its own
+ *       rather than one a credential-stuffing flood could share with checkouts</li>
+ *   <li>{@code admin}: the admin endpoints, for an admin</li>
+ *   <li>{@code bulk}: browsing the catalog, and anything else made anonymously</li>
+ * </ul>
+ */
+public enum PriorityClass {
+    CRITICAL("critical"),
+    INTERACTIVE("interactive"),
+    SIGN_IN("sign-in"),
+    ADMIN("admin"),
+    BULK("bulk");
+
+    private static final String ADMIN_ROLE = "ROLE_ADMIN";
+
+    private final String key;
+
+    PriorityClass(String key) {
+        this.key = key;
+    }
+
+    /** Name in {@code scheduling.classes} and in the {@code class} tag of the metrics. */
+    public String getKey() {
+        return key;
+    }
+
+    public static PriorityClass of(ServerWebExchange exchange) {
+        String path = exchange.getRequest().getURI().getPath();
+        HttpMethod method = exchange.getRequest().getMethod();
+        List<?> roles = exchange.getAttribute(JwtAuthenticationFilter.ROLES_ATTR);
+
+        if (roles == null) {
+            return path.startsWith("/api/auth/") ? SIGN_IN : BULK;
+        }
+        if (HttpMethod.POST.equals(method) && (path.equals("/api/orders") || path.equals("/api/orders/"))) {
+            return CRITICAL;
+        }
+        if (roles.contains(ADMIN_ROLE) && (path.startsWith("/api/products/admin/") || path.equals("/api/users")
+                || path.startsWith("/api/admin/"))) {
+            return ADMIN;
+        }
+        if (path.startsWith("/api/products")) {
+            return BULK;
+        }
+        return INTERACTIVE;
+    }
+}
@@ -0,0 +1,249 @@
+package com.dembasiby.apigateway.scheduling;
+
+import com.dembasiby.apigateway.config.SchedulingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits requests into the services by {@link PriorityClass}. At most
+ * {@code scheduling.max-concurrent} requests are in flight through the gateway, and at most
+ * {@code max-concurrent} of each class. A request that finds no room waits in its class's
+ * queue; as requests complete, the freed slots go to the queued classes in proportion to their
+ * {@code weight} (stride scheduling: each class advances a virtual clock by 1/weight per
+ * request, and the class furthest behind goes next). A class that was idle rejoins at the
+ * current virtual time, so it cannot bank credit while idle.
+ *
+ * <p>A request is refused when its queue is full or it has waited {@code max-wait-ms}. With
+ * small caps, queues and waits for {@code bulk} and generous ones for {@code critical},
+ * browsing degrades first under overload while checkouts keep their latency.
+ */
+public class PriorityScheduler {
+    private final int maxConcurrent;
+    private final Map<PriorityClass, Lane> lanes = new EnumMap<>(PriorityClass.class);
+    private int inFlight;
+    private double virtualTime;
+
+    public PriorityScheduler(SchedulingProperties properties, MeterRegistry meterRegistry) {
+        this.maxConcurrent = properties.getMaxConcurrent();
+        for (PriorityClass priorityClass : PriorityClass.values()) {
+            SchedulingProperties.ClassProperties configured = properties.getClasses()
+                    .getOrDefault(priorityClass.getKey(), new SchedulingProperties.ClassProperties());
+            if (configured.getWeight() < 1 || configured.getMaxConcurrent() < 1) {
+                throw new IllegalArgumentException("Weight and max-concurrent of scheduling class "
+                        + priorityClass.getKey() + " must be at least 1");
+            }
+            lanes.put(priorityClass, new Lane(priorityClass.getKey(), configured, meterRegistry));
+        }
+    }
+
+    /**
+     * Waits for a slot for a request of {@code priorityClass}.
+     *
+     * @return a permit, to be released once the request completes; {@link Permit#REFUSED} if
+     *         the queue of the class is full or the wait timed out
+     */
+    public Mono<Permit> acquire(PriorityClass priorityClass) {
+        Lane lane = lanes.get(priorityClass);
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(lane, sink);
+            boolean started = false;
+            boolean queued = false;
+            synchronized (this) {
+                if (lane.queue.isEmpty()) {
+                    // Rejoining after being idle
+                    lane.pass = Math.max(lane.pass, virtualTime);
+                    if (hasRoom(lane)) {
+                        start(waiter);
+                        started = true;
+                    }
+                }
+                if (!started && lane.queue.size() < lane.maxQueue) {
+                    lane.queue.add(waiter);
+                    queued = true;
+                }
+            }
+            if (started) {
+                waiter.grant();
+            } else if (queued) {
+                sink.onCancel(() -> cancel(waiter));
+                waiter.timeout = Schedulers.parallel().schedule(() -> expire(waiter), lane.maxWaitMillis,
+                        TimeUnit.MILLISECONDS);
+            } else {
+                lane.queueFull.increment();
+                sink.success(Permit.REFUSED);
+            }
+        });
+    }
+
+    private boolean hasRoom(Lane lane) {
+        return inFlight < maxConcurrent && lane.inFlight < lane.maxConcurrent;
+    }
+
+    // Caller holds the lock
+    private void start(Waiter waiter) {
+        Lane lane = waiter.lane;
+        inFlight++;
+        lane.inFlight++;
+        virtualTime = lane.pass;
+        lane.pass += 1.0 / lane.weight;
+        waiter.permit = new Permit(this, lane);
+    }
+
+    private void release(Lane lane) {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            lane.inFlight--;
+            while (inFlight < maxConcurrent) {
+                Lane next = null;
+                for (Lane candidate : lanes.values()) {
+                    if (!candidate.queue.isEmpty() && candidate.inFlight < candidate.maxConcurrent
+                            && (next == null || candidate.pass < next.pass)) {
+                        next = candidate;
+                    }
+                }
+                if (next == null) {
+                    break;
+                }
+                Waiter waiter = next.queue.poll();
+                start(waiter);
+                granted.add(waiter);
+            }
+        }
+        // Emitted outside the lock; the requests continue on this thread
+        granted.forEach(Waiter::grant);
+    }
+
+    private void expire(Waiter waiter) {
+        synchronized (this) {
+            if (!waiter.lane.queue.remove(waiter)) {
+                return;
+            }
+        }
+        waiter.lane.timedOut.increment();
+        waiter.sink.success(Permit.REFUSED);
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit permit;
+        synchronized (this) {
+            if (waiter.lane.queue.remove(waiter)) {
+                return;
+            }
+            permit = waiter.permit;
+        }
+        // Granted while the client went away
+        if (permit != null) {
+            permit.release();
+        }
+    }
+
+    private synchronized int queueDepth(Lane lane) {
+        return lane.queue.size();
+    }
+
+    private synchronized int inFlight(Lane lane) {
+        return lane.inFlight;
+    }
+
+    public static final class Permit {
+        public static final Permit REFUSED = new Permit(null, null);
+
+        private final PriorityScheduler scheduler;
+        private final Lane lane;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(PriorityScheduler scheduler, Lane lane) {
+            this.scheduler = scheduler;
+            this.lane = lane;
+        }
+
+        public boolean isGranted() {
+            return scheduler != null;
+        }
+
+        /** Frees the slot; safe to call more than once. */
+        public void release() {
+            if (isGranted() && released.compareAndSet(false, true)) {
+                scheduler.release(lane);
+            }
+        }
+    }
+
+    private final class Lane {
+        private final int weight;
+        private final int maxConcurrent;
+        private final int maxQueue;
+        private final long maxWaitMillis;
+        private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+        private final Timer wait;
+        private final Counter queueFull;
+        private final Counter timedOut;
+        private int inFlight;
+        private double pass;
+
+        private Lane(String name, SchedulingProperties.ClassProperties properties, MeterRegistry meterRegistry) {
+            this.weight = properties.getWeight();
+            this.maxConcurrent = properties.getMaxConcurrent();
+            this.maxQueue = properties.getMaxQueue();
+            this.maxWaitMillis = properties.getMaxWaitMs();
+            Gauge.builder("gateway.scheduling.queue.depth", this, PriorityScheduler.this::queueDepth)
+                    .description("Requests of a priority class waiting for a slot")
+                    .tag("class", name)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.scheduling.in-flight", this, PriorityScheduler.this::inFlight)
+                    .description("Requests of a priority class being served")
+                    .tag("class", name)
+                    .register(meterRegistry);
+            this.wait = Timer.builder("gateway.scheduling.wait")
+                    .description("Time a request of a priority class waited for a slot")
+                    .tag("class", name)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.queueFull = Counter.builder("gateway.scheduling.rejected")
+                    .description("Requests refused with 503 by the gateway scheduler")
+                    .tags("class", name, "reason", "queue-full")
+                    .register(meterRegistry);
+            this.timedOut = Counter.builder("gateway.scheduling.rejected")
+                    .description("Requests refused with 503 by the gateway scheduler")
+                    .tags("class", name, "reason", "timeout")
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class Waiter {
+        private final Lane lane;
+        private final MonoSink<Permit> sink;
+        private final long enqueuedAt = System.nanoTime();
+        private volatile Disposable timeout;
+        private Permit permit;
+
+        private Waiter(Lane lane, MonoSink<Permit> sink) {
+            this.lane = lane;
+            this.sink = sink;
+        }
+
+        private void grant() {
+            Disposable pending = timeout;
+            if (pending != null) {
+                pending.dispose();
+            }
+            lane.wait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            sink.success(permit);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.dembasiby.apigateway.scheduling;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds every routed request until the {@link PriorityScheduler} admits it, and keeps its
+ * slot until the response is complete. Refused requests get 503 with {@code Retry-After}.
+ */
+public class PrioritySchedulingFilter implements GlobalFilter, Ordered {
+    private final PriorityScheduler scheduler;
+    private final String retryAfter;
+
+    public PrioritySchedulingFilter(PriorityScheduler scheduler, int retryAfterSeconds) {
+        this.scheduler = scheduler;
+        this.retryAfter = String.valueOf(retryAfterSeconds);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return scheduler.acquire(PriorityClass.of(exchange))
+                .flatMap(permit -> permit.isGranted()
+                        ? chain.filter(exchange).doFinally(signal -> permit.release())
+                        : refuse(exchange));
+    }
+
+    private Mono<Void> refuse(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+        return response.setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return 0; // Right behind JwtAuthenticationFilter, which establishes the identity
+    }
+}
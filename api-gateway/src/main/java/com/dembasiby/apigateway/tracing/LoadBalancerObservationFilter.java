@@ -0,0 +1,57 @@
+package com.dembasiby.apigateway.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Opens the load-balancer span right before {@link ReactiveLoadBalancerClientFilter} picks an
+ * instance; {@link LoadBalancerResultFilter} closes it right after.
+ */
+@Component
+public class LoadBalancerObservationFilter implements GlobalFilter, Ordered {
+    static final String OBSERVATION_ATTR = LoadBalancerObservationFilter.class.getName() + ".observation";
+
+    private final ObservationRegistry observationRegistry;
+
+    public LoadBalancerObservationFilter(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || !"lb".equals(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+
+        Observation observation = Observation.createNotStarted("gateway.loadbalancer", observationRegistry)
+                .parentObservation(exchange.getAttribute(RouteTracingFilter.OBSERVATION_ATTR))
+                .lowCardinalityKeyValue("service", url.getHost())
+                .start();
+        exchange.getAttributes().put(OBSERVATION_ATTR, observation);
+
+        return chain.filter(exchange).doFinally(signal -> {
+            // Still present only if the load balancer failed to choose an instance
+            Observation unfinished = exchange.getAttributes().remove(OBSERVATION_ATTR) instanceof Observation o ? o : null;
+            if (unfinished != null) {
+                unfinished.lowCardinalityKeyValue("outcome", "NO_INSTANCE");
+                unfinished.stop();
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+}
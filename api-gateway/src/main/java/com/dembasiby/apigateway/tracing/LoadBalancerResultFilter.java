@@ -0,0 +1,35 @@
+package com.dembasiby.apigateway.tracing;
+
+import io.micrometer.observation.Observation;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+@Component
+public class LoadBalancerResultFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (exchange.getAttributes().remove(LoadBalancerObservationFilter.OBSERVATION_ATTR) instanceof Observation observation) {
+            URI chosen = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+            observation.lowCardinalityKeyValue("outcome", "SUCCESS");
+            if (chosen != null) {
+                observation.highCardinalityKeyValue("instance", chosen.getHost() + ":" + chosen.getPort());
+            }
+            observation.stop();
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
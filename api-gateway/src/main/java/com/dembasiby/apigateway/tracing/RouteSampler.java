@@ -0,0 +1,45 @@
+package com.dembasiby.apigateway.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Head-based sampler for root spans started by {@link RouteTracingFilter}. The route id is
+ * carried in the span name, which is the only request information available to a sampler
+ * at span start, and selects the configured probability for that route.
+ */
+public class RouteSampler implements Sampler {
+    public static final String ROUTE_SPAN_PREFIX = "route ";
+
+    private final Sampler defaultSampler;
+    private final Map<String, Sampler> routeSamplers;
+
+    public RouteSampler(double defaultProbability, Map<String, Double> routeProbabilities) {
+        this.defaultSampler = Sampler.traceIdRatioBased(defaultProbability);
+        this.routeSamplers = routeProbabilities.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> Sampler.traceIdRatioBased(entry.getValue())));
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        Sampler sampler = defaultSampler;
+        if (name.startsWith(ROUTE_SPAN_PREFIX)) {
+            sampler = routeSamplers.getOrDefault(name.substring(ROUTE_SPAN_PREFIX.length()), defaultSampler);
+        }
+        return sampler.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+    }
+
+    @Override
+    public String getDescription() {
+        return "RouteSampler{default=" + defaultSampler.getDescription() + ", routes=" + routeSamplers.keySet() + "}";
+    }
+}
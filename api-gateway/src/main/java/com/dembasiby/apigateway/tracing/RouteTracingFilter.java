@@ -0,0 +1,79 @@
+package com.dembasiby.apigateway.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.micrometer.observation.transport.RequestReplyReceiverContext;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Starts the root span of every routed request. It runs once the route is known so that
+ * {@link RouteSampler} can take the sampling decision per route; the decision travels
+ * downstream in the W3C traceparent header.
+ *
+ * <p>The gateway's HTTP client span looks for its parent in the Reactor context captured at
+ * route lookup ({@link ServerWebExchangeUtils#GATEWAY_REACTOR_CONTEXT_ATTR}), which predates
+ * this filter, so the route observation is added to that captured context as well as to the
+ * context of the rest of the chain.
+ */
+@Component
+public class RouteTracingFilter implements GlobalFilter, Ordered {
+    public static final String OBSERVATION_ATTR = RouteTracingFilter.class.getName() + ".observation";
+
+    private final ObservationRegistry observationRegistry;
+
+    public RouteTracingFilter(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unmatched";
+
+        // Receiver context so that a traceparent sent by the client is continued
+        RequestReplyReceiverContext<ServerHttpRequest, ServerHttpResponse> context =
+                new RequestReplyReceiverContext<>((carrier, key) -> carrier.getHeaders().getFirst(key));
+        context.setCarrier(request);
+
+        Observation observation = Observation.createNotStarted("gateway.route", () -> context, observationRegistry)
+                .contextualName(RouteSampler.ROUTE_SPAN_PREFIX + routeId)
+                .lowCardinalityKeyValue("route", routeId)
+                .lowCardinalityKeyValue("http.method", request.getMethod().name())
+                .highCardinalityKeyValue("http.path", request.getURI().getPath())
+                .start();
+        exchange.getAttributes().put(OBSERVATION_ATTR, observation);
+        ContextView routeContext = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REACTOR_CONTEXT_ATTR);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REACTOR_CONTEXT_ATTR,
+                (routeContext != null ? Context.of(routeContext) : Context.empty())
+                        .put(ObservationThreadLocalAccessor.KEY, observation));
+
+        return chain.filter(exchange)
+                .doOnError(observation::error)
+                .doFinally(signal -> {
+                    if (exchange.getResponse().getStatusCode() != null) {
+                        observation.lowCardinalityKeyValue("http.status",
+                                String.valueOf(exchange.getResponse().getStatusCode().value()));
+                    }
+                    observation.stop();
+                })
+                .contextWrite(reactorContext -> reactorContext.put(ObservationThreadLocalAccessor.KEY, observation));
+    }
+
+    @Override
+    public int getOrder() {
+        return -2; // Ahead of JwtAuthenticationFilter so token verification is part of the trace
+    }
+}
@@ -0,0 +1,86 @@
+package com.dembasiby.cart.activity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tells product-service which products are being added to carts, for its trending list.
+ * Adds are counted per product in memory and sent as one batch per {@link #flush}, off the
+ * request path. The ranking is approximate anyway, so a batch that cannot be delivered is
+ * dropped rather than retried, and so are products beyond {@code maxPending}. Batches carry
+ * the token product-service expects in {@link #TOKEN_HEADER}.
+ */
+public class CartActivityReporter {
+    public static final String PATH = "/internal/trending/cart-adds";
+    public static final String TOKEN_HEADER = "X-Trending-Signal-Token";
+    private static final Logger logger = LoggerFactory.getLogger(CartActivityReporter.class);
+
+    private final RestClient restClient;
+    private final int maxPending;
+    private final String token;
+    private final Map<Long, LongAdder> cartAdds = new ConcurrentHashMap<>();
+    private final Counter delivered;
+    private final Counter failed;
+
+    /** @param restClient with a base URL pointing at product-service */
+    public CartActivityReporter(RestClient restClient, int maxPending, String token, MeterRegistry meterRegistry) {
+        this.restClient = restClient;
+        this.maxPending = maxPending;
+        this.token = token;
+        this.delivered = Counter.builder("cart.activity.batches")
+                .description("Add-to-cart batches reported to product-service for trending")
+                .tag("outcome", "delivered")
+                .register(meterRegistry);
+        this.failed = Counter.builder("cart.activity.batches")
+                .description("Add-to-cart batches reported to product-service for trending")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    public void recordCartAdd(long productId) {
+        LongAdder count = cartAdds.get(productId);
+        if (count == null) {
+            if (cartAdds.size() >= maxPending) {
+                return;
+            }
+            count = cartAdds.computeIfAbsent(productId, id -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    public void flush() {
+        Map<Long, Integer> batch = new HashMap<>();
+        for (Long productId : cartAdds.keySet()) {
+            LongAdder count = cartAdds.remove(productId);
+            if (count != null && count.sum() > 0) {
+                batch.put(productId, (int) Math.min(count.sum(), Integer.MAX_VALUE));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            restClient.post()
+                    .uri(PATH)
+                    .header(TOKEN_HEADER, token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(batch)
+                    .retrieve()
+                    .toBodilessEntity();
+            delivered.increment();
+        } catch (RestClientException e) {
+            failed.increment();
+            logger.debug("Could not report add-to-cart activity for {} products", batch.size(), e);
+        }
+    }
+}
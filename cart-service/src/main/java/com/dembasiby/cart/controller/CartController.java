@@ -0,0 +1,65 @@
+package com.dembasiby.cart.controller;
+
+import com.dembasiby.cart.dto.ApiResponse;
+import com.dembasiby.cart.dto.CartDto;
+import com.dembasiby.cart.dto.CartItemRequestDto;
+import com.dembasiby.cart.dto.QuantityRequestDto;
+import com.dembasiby.cart.service.CartService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** The caller's own cart; the owner is the user the gateway authenticated. */
+@RestController
+@RequestMapping("/api/carts")
+public class CartController {
+    private static final String USER_HEADER = "X-User-Email";
+
+    private final CartService cartService;
+
+    public CartController(CartService cartService) {
+        this.cartService = cartService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<CartDto>> getCart(@RequestHeader(USER_HEADER) String owner) {
+        CartDto cart = cartService.getCart(owner);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Cart retrieved successfully", cart));
+    }
+
+    @PostMapping("/items")
+    public ResponseEntity<ApiResponse<CartDto>> addItem(@RequestHeader(USER_HEADER) String owner,
+                                                        @Valid @RequestBody CartItemRequestDto request) {
+        CartDto cart = cartService.addItem(owner, request);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Item added to cart", cart));
+    }
+
+    @PutMapping("/items/{productId}")
+    public ResponseEntity<ApiResponse<CartDto>> setQuantity(@RequestHeader(USER_HEADER) String owner,
+                                                            @PathVariable Long productId,
+                                                            @Valid @RequestBody QuantityRequestDto request) {
+        CartDto cart = cartService.setQuantity(owner, productId, request.getQuantity());
+        return ResponseEntity.ok(new ApiResponse<>(true, "Cart updated", cart));
+    }
+
+    @DeleteMapping("/items/{productId}")
+    public ResponseEntity<ApiResponse<CartDto>> removeItem(@RequestHeader(USER_HEADER) String owner,
+                                                           @PathVariable Long productId) {
+        CartDto cart = cartService.removeItem(owner, productId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Item removed from cart", cart));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Void>> clearCart(@RequestHeader(USER_HEADER) String owner) {
+        cartService.clear(owner);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Cart cleared"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.dembasiby.cart.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CartDto {
+    private String owner;
+    private List<CartLineDto> lines = new ArrayList<>();
+    private int itemCount;
+    private double subtotal;
+
+    public CartDto() {}
+
+    public CartDto(String owner) {
+        this.owner = owner;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public List<CartLineDto> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<CartLineDto> lines) {
+        this.lines = lines;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public double getSubtotal() {
+        return subtotal;
+    }
+
+    public void setSubtotal(double subtotal) {
+        this.subtotal = subtotal;
+    }
+}
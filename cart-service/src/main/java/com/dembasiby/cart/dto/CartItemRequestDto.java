@@ -0,0 +1,28 @@
+package com.dembasiby.cart.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class CartItemRequestDto {
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @Positive(message = "Quantity must be positive")
+    private int quantity = 1;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,90 @@
+package com.dembasiby.cart.dto;
+
+/**
+ * A cart line priced at the current catalog price. {@code priceChanged} tells the shopper
+ * that it differs from the price when the product was added; {@code available} is false for
+ * products that no longer exist.
+ */
+public class CartLineDto {
+    private Long productId;
+    private String name;
+    private String imageUrl;
+    private int quantity;
+    private double unitPrice;
+    private double priceAtAdd;
+    private boolean priceChanged;
+    private boolean available;
+    private double lineTotal;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public double getUnitPrice() {
+        return unitPrice;
+    }
+
+    public void setUnitPrice(double unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
+    public double getPriceAtAdd() {
+        return priceAtAdd;
+    }
+
+    public void setPriceAtAdd(double priceAtAdd) {
+        this.priceAtAdd = priceAtAdd;
+    }
+
+    public boolean isPriceChanged() {
+        return priceChanged;
+    }
+
+    public void setPriceChanged(boolean priceChanged) {
+        this.priceChanged = priceChanged;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    public double getLineTotal() {
+        return lineTotal;
+    }
+
+    public void setLineTotal(double lineTotal) {
+        this.lineTotal = lineTotal;
+    }
+}
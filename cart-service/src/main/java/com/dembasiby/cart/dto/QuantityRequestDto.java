@@ -0,0 +1,16 @@
+package com.dembasiby.cart.dto;
+
+import jakarta.validation.constraints.PositiveOrZero;
+
+public class QuantityRequestDto {
+    @PositiveOrZero(message = "Quantity must not be negative")
+    private int quantity;
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
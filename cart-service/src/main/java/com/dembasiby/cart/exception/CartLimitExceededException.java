@@ -0,0 +1,12 @@
+package com.dembasiby.cart.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class CartLimitExceededException extends RuntimeException {
+
+    public CartLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.dembasiby.cart.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** Product-service could not be reached to price a product. */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ProductUnavailableException extends RuntimeException {
+
+    public ProductUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,106 @@
+package com.dembasiby.cart.pricing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current prices of the products in carts, shared by all carts. Reading a cart never waits
+ * for a price that is merely old: stale prices are served as they are and queued, and
+ * {@link #refreshPending} re-fetches each queued product once however many carts hold it.
+ * Only products with no known price at all are fetched while the reader waits.
+ */
+public class PriceBook {
+    private static final Logger logger = LoggerFactory.getLogger(PriceBook.class);
+
+    private final ProductCatalogClient client;
+    private final Cache<Long, ProductPrice> prices;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final long maxAgeMillis;
+    private final int batchSize;
+
+    /**
+     * @param maxAge    prices older than this are refreshed in the background
+     * @param retention prices not read for this long are dropped
+     */
+    public PriceBook(ProductCatalogClient client, long maximumSize, Duration maxAge, Duration retention, int batchSize) {
+        this.client = client;
+        this.prices = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(retention)
+                .recordStats()
+                .build();
+        this.maxAgeMillis = maxAge.toMillis();
+        this.batchSize = batchSize;
+    }
+
+    /** Prices of the products, fetching the unknown ones in one batch. */
+    public Map<Long, ProductPrice> lookup(Collection<Long> productIds, long now) {
+        Map<Long, ProductPrice> found = new HashMap<>(prices.getAllPresent(productIds));
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : productIds) {
+            ProductPrice price = found.get(productId);
+            if (price == null) {
+                missing.add(productId);
+            } else if (now - price.getFetchedAt() > maxAgeMillis) {
+                pending.add(productId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, ProductPrice> fetched = client.fetchAll(missing);
+            prices.putAll(fetched);
+            found.putAll(fetched);
+        }
+        return found;
+    }
+
+    public ProductPrice lookup(long productId, long now) {
+        return lookup(List.of(productId), now).get(productId);
+    }
+
+    /**
+     * Re-fetches queued products in batches of {@code batchSize}. A batch that fails stays
+     * queued for the next run.
+     *
+     * @return the number of products refreshed
+     */
+    public int refreshPending() {
+        int refreshed = 0;
+        Iterator<Long> queued = pending.iterator();
+        while (queued.hasNext()) {
+            List<Long> batch = new ArrayList<>(batchSize);
+            while (queued.hasNext() && batch.size() < batchSize) {
+                batch.add(queued.next());
+            }
+            try {
+                prices.putAll(client.fetchAll(batch));
+                batch.forEach(pending::remove);
+                refreshed += batch.size();
+            } catch (RuntimeException e) {
+                logger.warn("Price refresh of {} products failed; retrying on the next run", batch.size(), e);
+                break;
+            }
+        }
+        return refreshed;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /** The underlying cache, for metrics binding. */
+    public Cache<Long, ProductPrice> getCache() {
+        return prices;
+    }
+}
@@ -0,0 +1,59 @@
+package com.dembasiby.cart.pricing;
+
+/** What the cart needs to know about a product, as last fetched from product-service. */
+public class ProductPrice {
+    private final long productId;
+    private final boolean found;
+    private final String name;
+    private final double price;
+    private final String imageUrl;
+    private final int stockQuantity;
+    private final long fetchedAt;
+
+    public ProductPrice(long productId, String name, double price, String imageUrl, int stockQuantity, long fetchedAt) {
+        this(productId, true, name, price, imageUrl, stockQuantity, fetchedAt);
+    }
+
+    private ProductPrice(long productId, boolean found, String name, double price, String imageUrl, int stockQuantity, long fetchedAt) {
+        this.productId = productId;
+        this.found = found;
+        this.name = name;
+        this.price = price;
+        this.imageUrl = imageUrl;
+        this.stockQuantity = stockQuantity;
+        this.fetchedAt = fetchedAt;
+    }
+
+    /** A product that product-service does not know, e.g. deleted since it was added to a cart. */
+    public static ProductPrice notFound(long productId, long fetchedAt) {
+        return new ProductPrice(productId, false, null, 0, null, 0, fetchedAt);
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public int getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+}
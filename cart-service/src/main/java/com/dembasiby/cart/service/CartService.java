@@ -0,0 +1,234 @@
+package com.dembasiby.cart.service;
+
+import com.dembasiby.cart.activity.CartActivityReporter;
+import com.dembasiby.cart.dto.CartDto;
+import com.dembasiby.cart.dto.CartItemRequestDto;
+import com.dembasiby.cart.dto.CartLineDto;
+import com.dembasiby.cart.exception.ResourceNotFoundException;
+import com.dembasiby.cart.pricing.PriceBook;
+import com.dembasiby.cart.pricing.ProductCatalogClient;
+import com.dembasiby.cart.pricing.ProductPrice;
+import com.dembasiby.cart.store.Cart;
+import com.dembasiby.cart.store.CartLimits;
+import com.dembasiby.cart.store.CartLine;
+import com.dembasiby.cart.store.CartSnapshotFile;
+import com.dembasiby.cart.store.CartStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Carts kept in memory only, in a sharded {@link CartStore}. Carts are many, small, written
+ * often and worthless after a few days, so a database write per add-to-cart buys little;
+ * instead the store is snapshotted to local disk every few seconds when it changed, and read
+ * back on startup. A crash loses at most the changes since the last snapshot.
+ *
+ * <p>Lines keep the price seen when they were added; the current price comes from a shared
+ * {@link PriceBook} that refreshes each product once per round rather than once per line.
+ */
+@Service
+public class CartService {
+    private static final Logger logger = LoggerFactory.getLogger(CartService.class);
+
+    private final CartStore store;
+    private final PriceBook priceBook;
+    private final CartActivityReporter activityReporter;
+    private final ExecutorService fetchExecutor;
+    private final Path snapshotPath;
+    private final Duration idleTtl;
+    private final Timer snapshotTimer;
+    private long snapshotMutations = -1;
+
+    public CartService(RestClient.Builder restClientBuilder,
+                       MeterRegistry meterRegistry,
+                       @Value("${cart.shards:64}") int shards,
+                       @Value("${cart.max-carts:100000}") int maxCarts,
+                       @Value("${cart.max-lines:100}") int maxLines,
+                       @Value("${cart.max-quantity-per-line:99}") int maxQuantityPerLine,
+                       @Value("${cart.idle-ttl-hours:72}") long idleTtlHours,
+                       @Value("${cart.snapshot.path:${java.io.tmpdir}/carts/carts.bin}") Path snapshotPath,
+                       @Value("${cart.prices.product-service-url:http://product-service}") String productServiceUrl,
+                       @Value("${cart.prices.max-age-seconds:300}") long priceMaxAgeSeconds,
+                       @Value("${cart.prices.retention-minutes:60}") long priceRetentionMinutes,
+                       @Value("${cart.prices.cache-size:100000}") long priceCacheSize,
+                       @Value("${cart.prices.batch-size:50}") int priceBatchSize,
+                       @Value("${cart.prices.fetch-concurrency:8}") int fetchConcurrency,
+                       @Value("${cart.activity.max-pending-products:10000}") int maxPendingActivity,
+                       @Value("${cart.activity.token:}") String activityToken) {
+        this.store = new CartStore(shards, maxCarts, new CartLimits(maxLines, maxQuantityPerLine));
+        this.fetchExecutor = Executors.newFixedThreadPool(fetchConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "cart-price-fetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        RestClient productService = restClientBuilder.baseUrl(productServiceUrl).build();
+        ProductCatalogClient client = new ProductCatalogClient(productService, fetchExecutor);
+        this.activityReporter = new CartActivityReporter(productService, maxPendingActivity, activityToken, meterRegistry);
+        this.priceBook = new PriceBook(client, priceCacheSize, Duration.ofSeconds(priceMaxAgeSeconds),
+                Duration.ofMinutes(priceRetentionMinutes), priceBatchSize);
+        this.snapshotPath = snapshotPath;
+        this.idleTtl = Duration.ofHours(idleTtlHours);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, priceBook.getCache(), "cart.prices");
+        Gauge.builder("cart.carts.active", store, CartStore::size)
+                .description("Carts held in memory")
+                .register(meterRegistry);
+        Gauge.builder("cart.prices.pending", priceBook, PriceBook::pendingCount)
+                .description("Products queued for a price refresh")
+                .register(meterRegistry);
+        FunctionCounter.builder("cart.evictions", store, CartStore::idleEvictions)
+                .description("Carts dropped from memory")
+                .tag("reason", "idle")
+                .register(meterRegistry);
+        FunctionCounter.builder("cart.evictions", store, CartStore::capacityEvictions)
+                .description("Carts dropped from memory")
+                .tag("reason", "capacity")
+                .register(meterRegistry);
+        this.snapshotTimer = Timer.builder("cart.snapshot.duration")
+                .description("Time to write all carts to the local snapshot")
+                .register(meterRegistry);
+        restore();
+    }
+
+    public CartDto getCart(String owner) {
+        Cart cart = store.read(owner, System.currentTimeMillis(), found -> found == null ? null : found.copy());
+        return cart == null ? new CartDto(owner) : price(cart);
+    }
+
+    /** Adds units of a product, at its current price if it is new to the cart. */
+    public CartDto addItem(String owner, CartItemRequestDto request) {
+        long now = System.currentTimeMillis();
+        ProductPrice price = priceBook.lookup(request.getProductId(), now);
+        if (price == null || !price.isFound()) {
+            throw new ResourceNotFoundException("Product not found with id: " + request.getProductId());
+        }
+        Cart cart = store.write(owner, now, found -> {
+            found.add(request.getProductId(), request.getQuantity(), price.getPrice(), now, store.getLimits());
+            return found.copy();
+        });
+        activityReporter.recordCartAdd(request.getProductId());
+        return price(cart);
+    }
+
+    /** Sets the quantity of a product already in the cart; 0 removes it. */
+    public CartDto setQuantity(String owner, Long productId, int quantity) {
+        Cart cart = store.write(owner, System.currentTimeMillis(), found -> {
+            if (!found.setQuantity(productId, quantity, store.getLimits())) {
+                throw new ResourceNotFoundException("Product " + productId + " is not in the cart");
+            }
+            return found.copy();
+        });
+        return price(cart);
+    }
+
+    public CartDto removeItem(String owner, Long productId) {
+        return setQuantity(owner, productId, 0);
+    }
+
+    public void clear(String owner) {
+        store.remove(owner);
+    }
+
+    @Scheduled(fixedDelayString = "${cart.prices.refresh-interval-ms:1000}")
+    public void refreshPrices() {
+        priceBook.refreshPending();
+    }
+
+    @Scheduled(fixedDelayString = "${cart.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        int evicted = store.evictIdle(System.currentTimeMillis() - idleTtl.toMillis());
+        if (evicted > 0) {
+            logger.info("Evicted {} idle carts", evicted);
+        }
+    }
+
+    /** Sends the add-to-cart counts collected since the last round to product-service. */
+    @Scheduled(fixedDelayString = "${cart.activity.flush-interval-ms:1000}")
+    public void reportActivity() {
+        activityReporter.flush();
+    }
+
+    /** Writes a snapshot if anything changed since the last one. */
+    @Scheduled(fixedDelayString = "${cart.snapshot.interval-ms:5000}")
+    public synchronized void snapshot() {
+        long mutations = store.mutations();
+        if (mutations == snapshotMutations) {
+            return;
+        }
+        try {
+            snapshotTimer.recordCallable(() -> {
+                CartSnapshotFile.write(snapshotPath, store.copyAll(), System.currentTimeMillis());
+                return null;
+            });
+            snapshotMutations = mutations;
+        } catch (Exception e) {
+            logger.warn("Could not write cart snapshot to {}", snapshotPath, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+        fetchExecutor.shutdownNow();
+    }
+
+    private void restore() {
+        try {
+            List<Cart> carts = CartSnapshotFile.read(snapshotPath, System.currentTimeMillis() - idleTtl.toMillis());
+            store.restore(carts);
+            snapshotMutations = store.mutations();
+            if (!carts.isEmpty()) {
+                logger.info("Restored {} carts from {}", carts.size(), snapshotPath);
+            }
+        } catch (IOException e) {
+            logger.error("Could not read cart snapshot {}; starting with no carts", snapshotPath, e);
+        }
+    }
+
+    private CartDto price(Cart cart) {
+        List<Long> productIds = cart.getLines().stream().map(CartLine::getProductId).toList();
+        Map<Long, ProductPrice> prices = priceBook.lookup(productIds, System.currentTimeMillis());
+        CartDto dto = new CartDto(cart.getOwner());
+        double subtotal = 0;
+        int itemCount = 0;
+        for (CartLine line : cart.getLines()) {
+            ProductPrice price = prices.get(line.getProductId());
+            boolean available = price != null && price.isFound();
+            CartLineDto lineDto = new CartLineDto();
+            lineDto.setProductId(line.getProductId());
+            lineDto.setQuantity(line.getQuantity());
+            lineDto.setPriceAtAdd(line.getPriceAtAdd());
+            lineDto.setAvailable(available);
+            if (available) {
+                lineDto.setName(price.getName());
+                lineDto.setImageUrl(price.getImageUrl());
+                lineDto.setUnitPrice(price.getPrice());
+                lineDto.setPriceChanged(Double.compare(price.getPrice(), line.getPriceAtAdd()) != 0);
+                lineDto.setLineTotal(price.getPrice() * line.getQuantity());
+                subtotal += lineDto.getLineTotal();
+                itemCount += line.getQuantity();
+            }
+            dto.getLines().add(lineDto);
+        }
+        dto.setSubtotal(subtotal);
+        dto.setItemCount(itemCount);
+        return dto;
+    }
+}
@@ -0,0 +1,107 @@
+package com.dembasiby.cart.store;
+
+import com.dembasiby.cart.exception.CartLimitExceededException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A shopper's cart. Not thread-safe: a cart is only touched while {@link CartStore} holds the
+ * lock of its shard, and leaves the store only as a copy.
+ */
+public class Cart {
+    private final String owner;
+    private final Map<Long, CartLine> lines = new LinkedHashMap<>();
+    private long lastAccess;
+
+    public Cart(String owner, long lastAccess) {
+        this.owner = owner;
+        this.lastAccess = lastAccess;
+    }
+
+    /** Adds to the line for the product, creating it at {@code price} if it is new. */
+    public CartLine add(long productId, int quantity, double price, long now, CartLimits limits) {
+        CartLine line = lines.get(productId);
+        if (line == null) {
+            if (lines.size() >= limits.getMaxLines()) {
+                throw new CartLimitExceededException("A cart can hold at most " + limits.getMaxLines() + " products");
+            }
+            checkQuantity(quantity, limits);
+            line = new CartLine(productId, quantity, price, now);
+            lines.put(productId, line);
+            return line;
+        }
+        checkQuantity(line.getQuantity() + quantity, limits);
+        line.setQuantity(line.getQuantity() + quantity);
+        return line;
+    }
+
+    /** @return whether the product was in the cart */
+    public boolean setQuantity(long productId, int quantity, CartLimits limits) {
+        CartLine line = lines.get(productId);
+        if (line == null) {
+            return false;
+        }
+        if (quantity == 0) {
+            lines.remove(productId);
+        } else {
+            checkQuantity(quantity, limits);
+            line.setQuantity(quantity);
+        }
+        return true;
+    }
+
+    public boolean remove(long productId) {
+        return lines.remove(productId) != null;
+    }
+
+    public void clear() {
+        lines.clear();
+    }
+
+    public boolean contains(long productId) {
+        return lines.containsKey(productId);
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public Collection<CartLine> getLines() {
+        return lines.values();
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch(long now) {
+        lastAccess = now;
+    }
+
+    /** A deep copy that can be read outside the shard lock. */
+    public Cart copy() {
+        Cart copy = new Cart(owner, lastAccess);
+        for (CartLine line : lines.values()) {
+            copy.lines.put(line.getProductId(), new CartLine(line.getProductId(), line.getQuantity(), line.getPriceAtAdd(), line.getAddedAt()));
+        }
+        return copy;
+    }
+
+    /** Rebuilds a cart from a snapshot, bypassing the limits it was created under. */
+    static Cart restore(String owner, long lastAccess, List<CartLine> lines) {
+        Cart cart = new Cart(owner, lastAccess);
+        for (CartLine line : lines) {
+            cart.lines.put(line.getProductId(), line);
+        }
+        return cart;
+    }
+
+    private static void checkQuantity(int quantity, CartLimits limits) {
+        if (quantity > limits.getMaxQuantityPerLine()) {
+            throw new CartLimitExceededException("At most " + limits.getMaxQuantityPerLine() + " units of a product per cart");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.dembasiby.cart.store;
+
+public class CartLimits {
+    private final int maxLines;
+    private final int maxQuantityPerLine;
+
+    public CartLimits(int maxLines, int maxQuantityPerLine) {
+        this.maxLines = maxLines;
+        this.maxQuantityPerLine = maxQuantityPerLine;
+    }
+
+    public int getMaxLines() {
+        return maxLines;
+    }
+
+    public int getMaxQuantityPerLine() {
+        return maxQuantityPerLine;
+    }
+}
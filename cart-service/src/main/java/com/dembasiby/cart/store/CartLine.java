@@ -0,0 +1,36 @@
+package com.dembasiby.cart.store;
+
+/** One product in a cart, with the unit price the shopper saw when adding it. */
+public class CartLine {
+    private final long productId;
+    private int quantity;
+    private final double priceAtAdd;
+    private final long addedAt;
+
+    public CartLine(long productId, int quantity, double priceAtAdd, long addedAt) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.priceAtAdd = priceAtAdd;
+        this.addedAt = addedAt;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public double getPriceAtAdd() {
+        return priceAtAdd;
+    }
+
+    public long getAddedAt() {
+        return addedAt;
+    }
+}
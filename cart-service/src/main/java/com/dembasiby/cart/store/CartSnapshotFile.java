@@ -0,0 +1,93 @@
+package com.dembasiby.cart.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Binary snapshot of all carts, so they survive a restart. The file is written next to its
+ * final name, synced and then moved over it atomically, so a crash mid-write leaves the
+ * previous snapshot intact.
+ * <pre>
+ *   int magic, short version, long writtenAt, int carts
+ *   per cart: UTF owner, long lastAccess, int lines
+ *   per line: long productId, int quantity, double priceAtAdd, long addedAt
+ * </pre>
+ */
+public final class CartSnapshotFile {
+    private static final int MAGIC = 0x43415254; // "CART"
+    private static final short VERSION = 1;
+
+    private CartSnapshotFile() {}
+
+    public static void write(Path path, List<Cart> carts, long writtenAt) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(writtenAt);
+            out.writeInt(carts.size());
+            for (Cart cart : carts) {
+                out.writeUTF(cart.getOwner());
+                out.writeLong(cart.getLastAccess());
+                out.writeInt(cart.getLines().size());
+                for (CartLine line : cart.getLines()) {
+                    out.writeLong(line.getProductId());
+                    out.writeInt(line.getQuantity());
+                    out.writeDouble(line.getPriceAtAdd());
+                    out.writeLong(line.getAddedAt());
+                }
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a snapshot, skipping carts last used before {@code idleCutoff}.
+     *
+     * @return the carts, or an empty list if there is no snapshot yet
+     */
+    public static List<Cart> read(Path path, long idleCutoff) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a cart snapshot: " + path);
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported cart snapshot version " + version + " in " + path);
+            }
+            in.readLong();
+            int count = in.readInt();
+            List<Cart> carts = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                String owner = in.readUTF();
+                long lastAccess = in.readLong();
+                int lineCount = in.readInt();
+                List<CartLine> lines = new ArrayList<>(Math.min(lineCount, 1 << 10));
+                for (int j = 0; j < lineCount; j++) {
+                    lines.add(new CartLine(in.readLong(), in.readInt(), in.readDouble(), in.readLong()));
+                }
+                if (lastAccess >= idleCutoff && !lines.isEmpty()) {
+                    carts.add(Cart.restore(owner, lastAccess, lines));
+                }
+            }
+            return carts;
+        } catch (NoSuchFileException e) {
+            return Collections.emptyList();
+        }
+    }
+}
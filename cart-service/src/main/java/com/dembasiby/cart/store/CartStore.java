@@ -0,0 +1,207 @@
+package com.dembasiby.cart.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * In-memory carts keyed by owner, split into independently locked shards so requests for
+ * different shoppers rarely wait on each other. Each shard keeps its carts in access order,
+ * which makes both eviction policies cheap:
+ * <ul>
+ *     <li>idle carts are found by walking from the least recently used end until the first
+ *     cart that is still fresh;</li>
+ *     <li>a shard at capacity drops its least recently used cart to make room for a new one.</li>
+ * </ul>
+ */
+public class CartStore {
+    private final Shard[] shards;
+    private final int mask;
+    private final int cartsPerShard;
+    private final CartLimits limits;
+    private final LongAdder mutations = new LongAdder();
+    private final LongAdder idleEvictions = new LongAdder();
+    private final LongAdder capacityEvictions = new LongAdder();
+
+    /**
+     * @param shards   rounded up to a power of two
+     * @param maxCarts spread evenly over the shards
+     */
+    public CartStore(int shards, int maxCarts, CartLimits limits) {
+        int count = shards <= 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.mask = count - 1;
+        this.cartsPerShard = Math.max(1, maxCarts / count);
+        this.limits = limits;
+    }
+
+    /** Runs {@code reader} on the owner's cart, or on {@code null} if there is none. */
+    public <T> T read(String owner, long now, Function<Cart, T> reader) {
+        Shard shard = shard(owner);
+        shard.lock.lock();
+        try {
+            Cart cart = shard.carts.get(owner);
+            if (cart != null) {
+                cart.touch(now);
+            }
+            return reader.apply(cart);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /** Runs {@code writer} on the owner's cart, creating an empty one first if needed. */
+    public <T> T write(String owner, long now, Function<Cart, T> writer) {
+        Shard shard = shard(owner);
+        shard.lock.lock();
+        try {
+            Cart cart = shard.carts.get(owner);
+            if (cart == null) {
+                cart = new Cart(owner, now);
+                shard.carts.put(owner, cart);
+                evictOverCapacity(shard);
+            }
+            cart.touch(now);
+            try {
+                return writer.apply(cart);
+            } finally {
+                // Empty carts are not kept, including one just created for a write that failed
+                if (cart.getLines().isEmpty()) {
+                    shard.carts.remove(owner);
+                }
+                mutations.increment();
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    public boolean remove(String owner) {
+        Shard shard = shard(owner);
+        shard.lock.lock();
+        try {
+            boolean removed = shard.carts.remove(owner) != null;
+            if (removed) {
+                mutations.increment();
+            }
+            return removed;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /** Drops carts not accessed since {@code cutoff}. @return how many were dropped */
+    public int evictIdle(long cutoff) {
+        int evicted = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                Iterator<Cart> eldestFirst = shard.carts.values().iterator();
+                while (eldestFirst.hasNext()) {
+                    if (eldestFirst.next().getLastAccess() >= cutoff) {
+                        break;
+                    }
+                    eldestFirst.remove();
+                    evicted++;
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        if (evicted > 0) {
+            idleEvictions.add(evicted);
+            mutations.increment();
+        }
+        return evicted;
+    }
+
+    /** Copies of every cart, one shard locked at a time, for a snapshot. */
+    public List<Cart> copyAll() {
+        List<Cart> copies = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                for (Cart cart : shard.carts.values()) {
+                    copies.add(cart.copy());
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return copies;
+    }
+
+    /** Loads carts from a snapshot, oldest first so access order matches their last access. */
+    public void restore(Collection<Cart> carts) {
+        carts.stream()
+                .sorted((a, b) -> Long.compare(a.getLastAccess(), b.getLastAccess()))
+                .forEach(cart -> {
+                    Shard shard = shard(cart.getOwner());
+                    shard.lock.lock();
+                    try {
+                        shard.carts.put(cart.getOwner(), cart);
+                        evictOverCapacity(shard);
+                    } finally {
+                        shard.lock.unlock();
+                    }
+                });
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                size += shard.carts.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public CartLimits getLimits() {
+        return limits;
+    }
+
+    /** Increases on every change, so a snapshot can be skipped when nothing changed. */
+    public long mutations() {
+        return mutations.sum();
+    }
+
+    public long idleEvictions() {
+        return idleEvictions.sum();
+    }
+
+    public long capacityEvictions() {
+        return capacityEvictions.sum();
+    }
+
+    private void evictOverCapacity(Shard shard) {
+        Iterator<Cart> eldestFirst = shard.carts.values().iterator();
+        while (shard.carts.size() > cartsPerShard && eldestFirst.hasNext()) {
+            eldestFirst.next();
+            eldestFirst.remove();
+            capacityEvictions.increment();
+        }
+    }
+
+    private Shard shard(String owner) {
+        int hash = owner.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<String, Cart> carts = new LinkedHashMap<>(16, 0.75f, true);
+    }
+}
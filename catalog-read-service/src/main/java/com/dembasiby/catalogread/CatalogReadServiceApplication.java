@@ -0,0 +1,11 @@
+package com.dembasiby.catalogread;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class CatalogReadServiceApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(CatalogReadServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dembasiby.catalogread.controller;
+
+import com.dembasiby.catalogread.dto.ApiResponse;
+import com.dembasiby.catalogread.dto.CursorPageDto;
+import com.dembasiby.catalogread.dto.ProductDetailDto;
+import com.dembasiby.catalogread.dto.ProductSummaryDto;
+import com.dembasiby.catalogread.repository.ProductSort;
+import com.dembasiby.catalogread.service.CatalogReadService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/products")
+public class CatalogReadController {
+    private final CatalogReadService catalogReadService;
+
+    public CatalogReadController(CatalogReadService catalogReadService) {
+        this.catalogReadService = catalogReadService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<CursorPageDto<ProductSummaryDto>>>> getAllProducts(
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return catalogReadService.listProducts(ProductSort.of(sort, direction), cursor, size)
+                .map(page -> ResponseEntity.ok(new ApiResponse<>(true, "Products retrieved successfully", page)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<ProductDetailDto>>> getProduct(@PathVariable Long id) {
+        return catalogReadService.getProduct(id)
+                .map(product -> ResponseEntity.ok(new ApiResponse<>(true, "Product retrieved successfully", product)));
+    }
+
+    /** Every product as newline-delimited JSON, streamed at the pace the client reads. */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductSummaryDto> streamProducts() {
+        return catalogReadService.streamProducts();
+    }
+}
@@ -0,0 +1,35 @@
+package com.dembasiby.catalogread.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is opaque to clients and is
+ * {@code null} on the last page.
+ */
+public class CursorPageDto<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    public CursorPageDto() {}
+
+    public CursorPageDto(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,68 @@
+package com.dembasiby.catalogread.repository;
+
+import com.dembasiby.catalogread.dto.ProductSummaryDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page: the sort key and id of that row. Serialized as an
+ * opaque URL-safe token so clients cannot depend on its layout.
+ */
+public class ProductCursor {
+    private final ProductSort sort;
+    private final Object sortValue;
+    private final long id;
+
+    public ProductCursor(ProductSort sort, Object sortValue, long id) {
+        this.sort = sort;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    public static ProductCursor after(ProductSort sort, ProductSummaryDto last) {
+        Object value = switch (sort) {
+            case ID_ASC -> last.getId();
+            case PRICE_ASC, PRICE_DESC -> last.getPrice();
+            case NAME_ASC, NAME_DESC -> last.getName();
+        };
+        return new ProductCursor(sort, value, last.getId());
+    }
+
+    public String encode() {
+        String raw = sort.name() + "|" + id + "|" + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token, ProductSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            ProductSort sort = ProductSort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort order");
+            }
+            long id = Long.parseLong(parts[1]);
+            Object value = switch (sort) {
+                case ID_ASC -> id;
+                case PRICE_ASC, PRICE_DESC -> Double.valueOf(parts[2]);
+                case NAME_ASC, NAME_DESC -> parts[2];
+            };
+            return new ProductCursor(sort, value, id);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public ProductSort getSort() {
+        return sort;
+    }
+
+    public Object getSortValue() {
+        return sortValue;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,95 @@
+package com.dembasiby.catalogread.repository;
+
+import com.dembasiby.catalogread.dto.ProductDetailDto;
+import com.dembasiby.catalogread.dto.ProductSummaryDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Read-only queries on product-service's tables over R2DBC. Listings use the same keyset
+ * pagination as product-service, on the same (column, id) indexes, and select only the
+ * summary columns. Nothing here blocks a thread while the database works.
+ *
+ * <p>The exception is a driver that only wraps a blocking engine, such as r2dbc-h2 in the
+ * {@code embedded} profile; with {@code blocking-driver} set, queries are subscribed on the
+ * bounded elastic scheduler so they cannot stall the event loop.
+ */
+@Repository
+public class ProductReadRepository {
+    private static final String SUMMARY_COLUMNS = "select id, name, price, image_url from product";
+    private static final String DETAIL_COLUMNS = "select id, sku, name, description, price, image_url, brand, "
+            + "stock_quantity, category_id, version from product";
+
+    private final DatabaseClient databaseClient;
+    private final Scheduler queryScheduler;
+
+    public ProductReadRepository(DatabaseClient databaseClient,
+                                 @Value("${catalog-read.r2dbc.blocking-driver:false}") boolean blockingDriver) {
+        this.databaseClient = databaseClient;
+        this.queryScheduler = blockingDriver ? Schedulers.boundedElastic() : Schedulers.immediate();
+    }
+
+    public Flux<ProductSummaryDto> findSummaries(ProductSort sort, ProductCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SUMMARY_COLUMNS);
+        String key = sort.getAttribute();
+        String comparison = sort.isAscending() ? ">" : "<";
+        if (after != null) {
+            if (sort == ProductSort.ID_ASC) {
+                sql.append(" where id > :afterId");
+            } else {
+                sql.append(" where (").append(key).append(' ').append(comparison).append(" :afterKey or (")
+                        .append(key).append(" = :afterKey and id ").append(comparison).append(" :afterId))");
+            }
+        }
+        if (sort == ProductSort.ID_ASC) {
+            sql.append(" order by id");
+        } else {
+            String direction = sort.isAscending() ? "asc" : "desc";
+            sql.append(" order by ").append(key).append(' ').append(direction).append(", id ").append(direction);
+        }
+        sql.append(" limit :limit");
+
+        DatabaseClient.GenericExecuteSpec query = databaseClient.sql(sql.toString()).bind("limit", limit);
+        if (after != null) {
+            query = query.bind("afterId", after.getId());
+            if (sort != ProductSort.ID_ASC) {
+                query = query.bind("afterKey", after.getSortValue());
+            }
+        }
+        return query.map(ProductReadRepository::summary).all().subscribeOn(queryScheduler);
+    }
+
+    public Mono<ProductDetailDto> findDetail(long id) {
+        return databaseClient.sql(DETAIL_COLUMNS + " where id = :id")
+                .bind("id", id)
+                .map(ProductReadRepository::detail)
+                .one()
+                .subscribeOn(queryScheduler);
+    }
+
+    private static ProductSummaryDto summary(Readable row) {
+        return new ProductSummaryDto(row.get("id", Long.class), row.get("name", String.class),
+                row.get("price", Double.class), row.get("image_url", String.class));
+    }
+
+    private static ProductDetailDto detail(Readable row) {
+        ProductDetailDto dto = new ProductDetailDto();
+        dto.setId(row.get("id", Long.class));
+        dto.setSku(row.get("sku", String.class));
+        dto.setName(row.get("name", String.class));
+        dto.setDescription(row.get("description", String.class));
+        dto.setPrice(row.get("price", Double.class));
+        dto.setImageUrl(row.get("image_url", String.class));
+        dto.setBrand(row.get("brand", String.class));
+        dto.setStockQuantity(row.get("stock_quantity", Integer.class));
+        dto.setCategoryId(row.get("category_id", Long.class));
+        dto.setVersion(row.get("version", Long.class));
+        return dto;
+    }
+}
@@ -0,0 +1,83 @@
+package com.dembasiby.catalogread.service;
+
+import com.dembasiby.catalogread.dto.CursorPageDto;
+import com.dembasiby.catalogread.dto.ProductDetailDto;
+import com.dembasiby.catalogread.dto.ProductSummaryDto;
+import com.dembasiby.catalogread.exception.ResourceNotFoundException;
+import com.dembasiby.catalogread.repository.ProductCursor;
+import com.dembasiby.catalogread.repository.ProductReadRepository;
+import com.dembasiby.catalogread.repository.ProductSort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The catalog read endpoints of product-service on a non-blocking stack. Responses have the
+ * same shape, and cursors are interchangeable with product-service's, so clients can be
+ * pointed at either.
+ */
+@Service
+public class CatalogReadService {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductReadRepository productReadRepository;
+    private final int streamPageSize;
+
+    public CatalogReadService(ProductReadRepository productReadRepository,
+                              @Value("${catalog-read.stream.page-size:500}") int streamPageSize) {
+        this.productReadRepository = productReadRepository;
+        this.streamPageSize = streamPageSize;
+    }
+
+    public Mono<CursorPageDto<ProductSummaryDto>> listProducts(ProductSort sort, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Mono.error(new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        ProductCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : ProductCursor.decode(cursor, sort);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        return productReadRepository.findSummaries(sort, after, size + 1)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= size) {
+                        return new CursorPageDto<>(rows, null);
+                    }
+                    List<ProductSummaryDto> page = rows.subList(0, size);
+                    return new CursorPageDto<>(List.copyOf(page), ProductCursor.after(sort, page.get(size - 1)).encode());
+                });
+    }
+
+    public Mono<ProductDetailDto> getProduct(long id) {
+        return productReadRepository.findDetail(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Product not found with id: " + id)));
+    }
+
+    /**
+     * The whole catalog in id order, read page by page as the client consumes it. The next
+     * page is only queried once the previous one has been requested downstream, so a slow
+     * client holds at most about two pages in memory and no database connection while it reads.
+     */
+    public Flux<ProductSummaryDto> streamProducts() {
+        return page(null)
+                .expand(rows -> {
+                    if (rows.size() < streamPageSize) {
+                        return Mono.empty();
+                    }
+                    long lastId = rows.get(rows.size() - 1).getId();
+                    return page(new ProductCursor(ProductSort.ID_ASC, lastId, lastId));
+                })
+                .concatMapIterable(rows -> rows, 1);
+    }
+
+    private Mono<List<ProductSummaryDto>> page(ProductCursor after) {
+        return productReadRepository.findSummaries(ProductSort.ID_ASC, after, streamPageSize).collectList();
+    }
+}
@@ -0,0 +1,72 @@
+package com.dembasiby.config;
+
+import com.dembasiby.config.push.CallbackVerifier;
+import com.dembasiby.config.push.ConfigPushNotifier;
+import com.dembasiby.config.snapshot.ConfigRepoWatcher;
+import com.dembasiby.config.snapshot.SnapshotEnvironmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentProperties;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Serves the local config repository's working tree from in-memory snapshots, reloaded when
+ * its files change and pushed to subscribed clients. Defining the environment repository
+ * here replaces the git backend, so a config read no longer pulls.
+ */
+@Configuration
+public class ConfigSnapshotConfig {
+
+    @Bean
+    public SnapshotEnvironmentRepository snapshotEnvironmentRepository(
+            ConfigurableEnvironment environment,
+            ObservationRegistry observationRegistry,
+            MeterRegistry meterRegistry,
+            ConfigPushNotifier notifier,
+            @Value("${config.repo-path}") String repoPath,
+            @Value("${config.snapshot.max-snapshots:256}") int maxSnapshots) {
+        NativeEnvironmentProperties properties = new NativeEnvironmentProperties();
+        properties.setSearchLocations(new String[]{"file:" + repoPath + "/"});
+        SnapshotEnvironmentRepository repository = new SnapshotEnvironmentRepository(
+                new NativeEnvironmentRepository(environment, properties, observationRegistry), meterRegistry, maxSnapshots);
+        repository.addListener(notifier::publish);
+        return repository;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ConfigRepoWatcher configRepoWatcher(
+            SnapshotEnvironmentRepository repository,
+            @Value("${config.repo-path}") String repoPath,
+            @Value("${config.snapshot.debounce-ms:500}") long debounceMs) throws IOException {
+        return new ConfigRepoWatcher(Path.of(repoPath), Duration.ofMillis(debounceMs), repository::reload);
+    }
+
+    @Bean
+    public ConfigPushNotifier configPushNotifier(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${config.push.timeout-ms:2000}") long timeoutMs,
+            @Value("${config.push.subscription-ttl-ms:180000}") long subscriptionTtlMs,
+            @Value("${config.push.max-subscriptions:256}") int maxSubscriptions,
+            @Value("${config.push.token:}") String token) {
+        return new ConfigPushNotifier(objectMapper, meterRegistry, Duration.ofMillis(timeoutMs),
+                Duration.ofMillis(subscriptionTtlMs), maxSubscriptions, token);
+    }
+
+    @Bean
+    public CallbackVerifier callbackVerifier(
+            ObjectMapper objectMapper,
+            @Value("${config.push.eureka-url}") String eurekaUrl,
+            @Value("${config.push.timeout-ms:2000}") long timeoutMs) {
+        return new CallbackVerifier(objectMapper, eurekaUrl, Duration.ofMillis(timeoutMs));
+    }
+}
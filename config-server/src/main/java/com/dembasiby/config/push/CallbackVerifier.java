@@ -0,0 +1,109 @@
+package com.dembasiby.config.push;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLEncoder;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Checks subscription callbacks against the Eureka registry, so that notifications, and the
+ * push token they carry, only go to instances of the application that subscribed. A callback
+ * is accepted if its host resolves to the address of an instance registered under that
+ * application and its port is the instance's port. The registry is read on every
+ * subscription and renewal.
+ */
+public class CallbackVerifier {
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final String eurekaUrl;
+    private final Duration requestTimeout;
+
+    public CallbackVerifier(ObjectMapper objectMapper, String eurekaUrl, Duration requestTimeout) {
+        this.objectMapper = objectMapper;
+        this.eurekaUrl = eurekaUrl.endsWith("/") ? eurekaUrl : eurekaUrl + "/";
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(requestTimeout).build();
+    }
+
+    /**
+     * @return the callback with its host replaced by the registered instance's address, so a
+     *         later change of DNS cannot redirect notifications; empty if no registered instance
+     *         of {@code application} matches
+     * @throws IOException if the registry could not be read
+     */
+    public Optional<URI> verify(String application, String callbackUrl) throws IOException {
+        URI callback;
+        try {
+            callback = new URI(callbackUrl);
+        } catch (URISyntaxException e) {
+            return Optional.empty();
+        }
+        if (!"http".equals(callback.getScheme()) || callback.getHost() == null || callback.getUserInfo() != null) {
+            return Optional.empty();
+        }
+        List<String> addresses = new ArrayList<>();
+        try {
+            for (InetAddress address : InetAddress.getAllByName(callback.getHost())) {
+                addresses.add(address.getHostAddress());
+            }
+        } catch (UnknownHostException e) {
+            return Optional.empty();
+        }
+        int port = callback.getPort() < 0 ? 80 : callback.getPort();
+        for (JsonNode instance : instances(application)) {
+            String address = instance.path("ipAddr").asText();
+            if (addresses.contains(address) && instance.path("port").path("$").asInt() == port) {
+                try {
+                    return Optional.of(new URI("http", null, address, port, callback.getPath(), callback.getQuery(), null));
+                } catch (URISyntaxException e) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private List<JsonNode> instances(String application) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(eurekaUrl + "apps/"
+                        + URLEncoder.encode(application, StandardCharsets.UTF_8)))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading the registry", e);
+        }
+        if (response.statusCode() == 404) {
+            return List.of();
+        }
+        if (response.statusCode() >= 300) {
+            throw new IOException("Registry answered HTTP " + response.statusCode());
+        }
+        // A single instance may be written as an object rather than an array
+        JsonNode instances = objectMapper.readTree(response.body()).path("application").path("instance");
+        List<JsonNode> found = new ArrayList<>();
+        if (instances.isArray()) {
+            instances.forEach(found::add);
+        } else if (instances.isObject()) {
+            found.add(instances);
+        }
+        return found;
+    }
+}
@@ -0,0 +1,78 @@
+package com.dembasiby.config.push;
+
+import com.dembasiby.config.snapshot.ConfigSnapshot;
+import com.dembasiby.config.snapshot.SnapshotEnvironmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+public class ConfigPushController {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigPushController.class);
+
+    private final SnapshotEnvironmentRepository snapshotRepository;
+    private final ConfigPushNotifier notifier;
+    private final CallbackVerifier callbackVerifier;
+
+    public ConfigPushController(SnapshotEnvironmentRepository snapshotRepository, ConfigPushNotifier notifier,
+                                CallbackVerifier callbackVerifier) {
+        this.snapshotRepository = snapshotRepository;
+        this.notifier = notifier;
+        this.callbackVerifier = callbackVerifier;
+    }
+
+    /**
+     * Subscribes a client to changes of its configuration, or renews the subscription. The
+     * answer is the current version, so a client that missed a notification can tell. The
+     * caller must present the push token, and the callback must be an instance Eureka has
+     * registered under the application; see {@link CallbackVerifier}.
+     */
+    @PostMapping("/push/subscriptions")
+    public ResponseEntity<Map<String, Object>> subscribe(
+            @RequestHeader(value = ConfigPushNotifier.TOKEN_HEADER, required = false) String token,
+            @RequestBody ConfigSubscription subscription) {
+        if (!notifier.acceptsToken(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Invalid push token"));
+        }
+        if (isBlank(subscription.getApplication()) || isBlank(subscription.getProfile())
+                || isBlank(subscription.getCallbackUrl())) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "application, profile and callbackUrl are required"));
+        }
+        Optional<URI> callback;
+        try {
+            callback = callbackVerifier.verify(subscription.getApplication(), subscription.getCallbackUrl());
+        } catch (IOException e) {
+            logger.warn("Could not check the callback of {} against the registry", subscription.getApplication(), e);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", "The service registry is unavailable"));
+        }
+        if (callback.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "callbackUrl is not a registered instance of " + subscription.getApplication()));
+        }
+        subscription.setCallbackUrl(callback.get().toString());
+        if (!notifier.subscribe(subscription)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", "Too many subscriptions"));
+        }
+        // Loading the snapshot now puts it under watch, even before the client's next read
+        ConfigSnapshot snapshot = snapshotRepository.snapshot(subscription.getApplication(),
+                subscription.getProfile(), subscription.getLabel());
+        return ResponseEntity.ok(Map.of("version", snapshot.getVersion()));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
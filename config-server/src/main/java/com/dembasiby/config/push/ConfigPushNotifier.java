@@ -0,0 +1,144 @@
+package com.dembasiby.config.push;
+
+import com.dembasiby.config.snapshot.ConfigChange;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the subscriptions of config clients and posts a {@link ConfigChange} to each client
+ * whose application/profile/label changed. A client learns of a change once, as it happens,
+ * instead of every client polling the server.
+ *
+ * <p>There is no retry: a client that misses a notification catches up on its next
+ * renewal, which answers with the current version.
+ *
+ * <p>At most {@code maxSubscriptions} clients are subscribed at a time; expired subscriptions
+ * are dropped before a new one is refused.
+ */
+public class ConfigPushNotifier {
+    public static final String TOKEN_HEADER = "X-Config-Push-Token";
+    private static final Logger logger = LoggerFactory.getLogger(ConfigPushNotifier.class);
+
+    private final ConcurrentMap<String, Lease> leases = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final Duration subscriptionTtl;
+    private final int maxSubscriptions;
+    private final String token;
+    private final Counter sent;
+    private final Counter failures;
+
+    public ConfigPushNotifier(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              Duration requestTimeout,
+                              Duration subscriptionTtl,
+                              int maxSubscriptions,
+                              String token) {
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.subscriptionTtl = subscriptionTtl;
+        this.maxSubscriptions = maxSubscriptions;
+        this.token = token;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(requestTimeout).build();
+        if (token == null || token.isBlank()) {
+            logger.warn("No config push token configured; all subscriptions will be refused");
+        }
+        this.sent = Counter.builder("config.push.sent")
+                .description("Change notifications delivered to config clients")
+                .register(meterRegistry);
+        this.failures = Counter.builder("config.push.failed")
+                .description("Change notifications a config client did not accept")
+                .register(meterRegistry);
+        Gauge.builder("config.push.subscriptions", leases, Map::size)
+                .description("Config clients subscribed to change notifications")
+                .register(meterRegistry);
+    }
+
+    /** Whether {@code presented} is the push token; without a configured token nothing is accepted. */
+    public boolean acceptsToken(String presented) {
+        return token != null && !token.isBlank() && token.equals(presented);
+    }
+
+    /**
+     * Adds or renews a subscription; the callback URL identifies the client.
+     *
+     * @return false if the subscription is new and the limit is reached
+     */
+    public synchronized boolean subscribe(ConfigSubscription subscription) {
+        long now = System.currentTimeMillis();
+        if (!leases.containsKey(subscription.getCallbackUrl()) && leases.size() >= maxSubscriptions) {
+            leases.values().removeIf(lease -> lease.expiresAt < now);
+            if (leases.size() >= maxSubscriptions) {
+                return false;
+            }
+        }
+        leases.put(subscription.getCallbackUrl(), new Lease(subscription, now + subscriptionTtl.toMillis()));
+        return true;
+    }
+
+    public void publish(ConfigChange change) {
+        long now = System.currentTimeMillis();
+        leases.values().removeIf(lease -> lease.expiresAt < now);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(change);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not publish version {} of {}", change.getVersion(), change.getApplication(), e);
+            return;
+        }
+        for (Lease lease : leases.values()) {
+            ConfigSubscription subscription = lease.subscription;
+            if (subscription.getApplication().equals(change.getApplication())
+                    && Objects.equals(subscription.getProfile(), change.getProfile())
+                    && Objects.equals(subscription.getLabel(), change.getLabel())) {
+                send(subscription.getCallbackUrl(), body);
+            }
+        }
+    }
+
+    private void send(String callbackUrl, byte[] body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(callbackUrl))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (token != null && !token.isEmpty()) {
+            request.header(TOKEN_HEADER, token);
+        }
+        httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error == null && response.statusCode() < 300) {
+                        sent.increment();
+                    } else {
+                        failures.increment();
+                        logger.debug("Config change notification to {} failed", callbackUrl,
+                                error != null ? error : "HTTP " + response.statusCode());
+                    }
+                });
+    }
+
+    private static final class Lease {
+        private final ConfigSubscription subscription;
+        private final long expiresAt;
+
+        private Lease(ConfigSubscription subscription, long expiresAt) {
+            this.subscription = subscription;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.dembasiby.config.push;
+
+/**
+ * A client asking to be told when its configuration changes. Clients renew it periodically;
+ * one that stops renewing is dropped after the subscription TTL.
+ */
+public class ConfigSubscription {
+    private String application;
+    private String profile;
+    private String label;
+    private String callbackUrl;
+
+    public ConfigSubscription() {}
+
+    public String getApplication() {
+        return application;
+    }
+
+    public void setApplication(String application) {
+        this.application = application;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public String getCallbackUrl() {
+        return callbackUrl;
+    }
+
+    public void setCallbackUrl(String callbackUrl) {
+        this.callbackUrl = callbackUrl;
+    }
+}
@@ -0,0 +1,114 @@
+package com.dembasiby.config.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches the local config repository and calls back once a burst of file changes has been
+ * quiet for {@code debounce}, so a commit or an editor's save-and-rename triggers a single
+ * reload. Subdirectories are watched too; git's own {@code .git} directory is not.
+ */
+public class ConfigRepoWatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigRepoWatcher.class);
+
+    private final Path root;
+    private final Duration debounce;
+    private final Runnable onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public ConfigRepoWatcher(Path root, Duration debounce, Runnable onChange) throws IOException {
+        this.root = root;
+        this.debounce = debounce;
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        registerTree(root);
+        this.thread = new Thread(this::run, "config-repo-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean relevant = drain(key);
+                // Keep collecting until the burst is over
+                while ((key = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    relevant |= drain(key);
+                }
+                if (relevant) {
+                    try {
+                        onChange.run();
+                    } catch (RuntimeException e) {
+                        logger.warn("Handling a change of the config repository failed", e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        Path directory = (Path) key.watchable();
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true;
+                continue;
+            }
+            Path changed = directory.resolve((Path) event.context());
+            if (isIgnored(changed)) {
+                continue;
+            }
+            relevant = true;
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+                try {
+                    registerTree(changed);
+                } catch (IOException | UncheckedIOException e) {
+                    logger.warn("Could not watch new config directory {}", changed, e);
+                }
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    private void registerTree(Path start) throws IOException {
+        List<Path> directories;
+        try (Stream<Path> paths = Files.walk(start)) {
+            directories = paths.filter(Files::isDirectory).filter(path -> !isIgnored(path)).toList();
+        }
+        for (Path directory : directories) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        }
+    }
+
+    private boolean isIgnored(Path path) {
+        Path relative = root.relativize(path);
+        return relative.getNameCount() > 0 && relative.getName(0).toString().equals(".git");
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,93 @@
+package com.dembasiby.config.snapshot;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The parsed configuration of one application/profile/label as of one version. Never
+ * modified; a change to the config repo replaces the whole snapshot.
+ *
+ * <p>The version is a digest of the effective properties, so the same configuration has the
+ * same version across config-server restarts. Versions are only ever compared for equality.
+ */
+public final class ConfigSnapshot {
+    private final String version;
+    private final Environment environment;
+    private final Map<String, Object> properties;
+
+    public ConfigSnapshot(Environment environment) {
+        this(environment, flatten(environment));
+    }
+
+    public ConfigSnapshot(Environment environment, Map<String, Object> properties) {
+        this.version = digest(properties);
+        this.environment = environment;
+        this.properties = properties;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /** A copy to hand out, so the config server's post-processing cannot alter the snapshot. */
+    public Environment copyEnvironment() {
+        Environment copy = new Environment(environment.getName(), environment.getProfiles(),
+                environment.getLabel(), version, environment.getState());
+        copy.addAll(environment.getPropertySources());
+        return copy;
+    }
+
+    /** Keys whose effective value differs between this snapshot and {@code next}. */
+    public Set<String> changedKeys(Map<String, Object> next) {
+        Set<String> changed = new TreeSet<>();
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            if (!Objects.equals(entry.getValue(), next.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String key : next.keySet()) {
+            if (!properties.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    private static String digest(Map<String, Object> properties) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        new TreeMap<>(properties).forEach((key, value) -> {
+            sha.update(key.getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+            sha.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+        });
+        return HexFormat.of().formatHex(sha.digest(), 0, 16);
+    }
+
+    /** The effective value of every key; property sources come highest precedence first. */
+    public static Map<String, Object> flatten(Environment environment) {
+        Map<String, Object> properties = new HashMap<>();
+        List<PropertySource> sources = environment.getPropertySources();
+        for (int i = sources.size() - 1; i >= 0; i--) {
+            sources.get(i).getSource().forEach((key, value) -> properties.put(String.valueOf(key), value));
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,149 @@
+package com.dembasiby.config.snapshot;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Serves configuration from parsed in-memory snapshots, one per application/profile/label
+ * asked for. Only the first request for a combination reads the repository; later reads are
+ * map lookups. {@link #reload} re-reads every known combination after the repository
+ * changed, replaces the ones whose effective properties differ, and tells the listeners
+ * which keys changed.
+ *
+ * <p>Combinations are named by the caller, so at most {@code maxSnapshots} are kept. Once
+ * that many are held, other combinations are read from the repository on every request and
+ * are not watched; their version is still a digest of their content, so clients can tell
+ * whether it changed.
+ *
+ * <p>A combination that fails to load on reload, e.g. a file saved half-way through an edit,
+ * keeps its previous snapshot until the next change.
+ */
+public class SnapshotEnvironmentRepository implements EnvironmentRepository {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotEnvironmentRepository.class);
+
+    private final EnvironmentRepository delegate;
+    private final ConcurrentMap<SnapshotKey, ConfigSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final List<Consumer<ConfigChange>> listeners = new CopyOnWriteArrayList<>();
+    private final int maxSnapshots;
+    private final Counter misses;
+    private final Counter uncached;
+    private final Counter changes;
+    private final Counter failedReloads;
+
+    public SnapshotEnvironmentRepository(EnvironmentRepository delegate, MeterRegistry meterRegistry, int maxSnapshots) {
+        this.delegate = delegate;
+        this.maxSnapshots = maxSnapshots;
+        this.misses = Counter.builder("config.snapshots.misses")
+                .description("Config reads that had to load a snapshot from the repository")
+                .register(meterRegistry);
+        this.uncached = Counter.builder("config.snapshots.uncached")
+                .description("Config reads served from the repository because the snapshot limit was reached")
+                .register(meterRegistry);
+        this.changes = Counter.builder("config.snapshots.changes")
+                .description("Snapshots replaced because the repository changed")
+                .register(meterRegistry);
+        this.failedReloads = Counter.builder("config.snapshots.failed-reloads")
+                .description("Snapshots that could not be re-read after a repository change and were kept as they were")
+                .register(meterRegistry);
+        Gauge.builder("config.snapshots.size", snapshots, Map::size)
+                .description("Application/profile/label combinations held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label) {
+        return snapshot(application, profile, label).copyEnvironment();
+    }
+
+    public ConfigSnapshot snapshot(String application, String profile, String label) {
+        SnapshotKey key = new SnapshotKey(application, profile, label);
+        ConfigSnapshot snapshot = snapshots.get(key);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        if (snapshots.size() >= maxSnapshots) {
+            uncached.increment();
+            return new ConfigSnapshot(delegate.findOne(application, profile, label));
+        }
+        return snapshots.computeIfAbsent(key, missing -> {
+            misses.increment();
+            return new ConfigSnapshot(delegate.findOne(missing.application, missing.profile, missing.label));
+        });
+    }
+
+    public void addListener(Consumer<ConfigChange> listener) {
+        listeners.add(listener);
+    }
+
+    /** Re-reads every snapshot; called by the repository watcher, one reload at a time. */
+    public synchronized void reload() {
+        for (Map.Entry<SnapshotKey, ConfigSnapshot> entry : snapshots.entrySet()) {
+            SnapshotKey key = entry.getKey();
+            ConfigSnapshot current = entry.getValue();
+            Environment environment;
+            try {
+                environment = delegate.findOne(key.application, key.profile, key.label);
+            } catch (RuntimeException e) {
+                failedReloads.increment();
+                logger.warn("Could not reload configuration of {}; serving version {} until the next change",
+                        key, current.getVersion(), e);
+                continue;
+            }
+            Map<String, Object> properties = ConfigSnapshot.flatten(environment);
+            Set<String> changedKeys = current.changedKeys(properties);
+            if (changedKeys.isEmpty()) {
+                continue;
+            }
+            ConfigSnapshot next = new ConfigSnapshot(environment, properties);
+            snapshots.put(key, next);
+            changes.increment();
+            logger.info("Configuration of {} is now version {}; changed keys: {}", key, next.getVersion(), changedKeys);
+            ConfigChange change = new ConfigChange(key.application, key.profile, key.label, next.getVersion(), changedKeys);
+            listeners.forEach(listener -> listener.accept(change));
+        }
+    }
+
+    private static final class SnapshotKey {
+        private final String application;
+        private final String profile;
+        private final String label;
+
+        private SnapshotKey(String application, String profile, String label) {
+            this.application = application;
+            this.profile = profile;
+            this.label = label;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SnapshotKey key
+                    && application.equals(key.application)
+                    && Objects.equals(profile, key.profile)
+                    && Objects.equals(label, key.label);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(application, profile, label);
+        }
+
+        @Override
+        public String toString() {
+            return application + "/" + profile + (label == null ? "" : "/" + label);
+        }
+    }
+}
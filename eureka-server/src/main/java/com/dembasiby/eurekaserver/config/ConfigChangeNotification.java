@@ -0,0 +1,62 @@
+package com.dembasiby.eurekaserver.config;
+
+import java.util.Set;
+
+/** Sent by config-server when the configuration of this client changed to {@code version}. */
+public class ConfigChangeNotification {
+    private String application;
+    private String profile;
+    private String label;
+    private String version;
+    private Set<String> keys;
+
+    public ConfigChangeNotification() {}
+
+    public ConfigChangeNotification(String application, String profile, String label, String version, Set<String> keys) {
+        this.application = application;
+        this.profile = profile;
+        this.label = label;
+        this.version = version;
+        this.keys = keys;
+    }
+
+    public String getApplication() {
+        return application;
+    }
+
+    public void setApplication(String application) {
+        this.application = application;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(Set<String> keys) {
+        this.keys = keys;
+    }
+}
@@ -0,0 +1,262 @@
+package com.dembasiby.eurekaserver.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBean;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Applies configuration changes pushed by config-server without a restart. The client
+ * subscribes on start and renews every {@code config.push.renew-interval-ms}; on a
+ * notification it reads its configuration once, swaps the config-server property sources,
+ * and rebinds only the {@code @ConfigurationProperties} beans whose prefix covers a changed
+ * key. Other beans, and anything that read a property once at startup, are left alone.
+ *
+ * <p>Versions are digests of the configuration's content, stable across config-server
+ * restarts, and are only compared for equality: any version other than the applied one makes
+ * the client read its configuration, which is always the current one.
+ *
+ * <p>Subscriptions and notifications both carry {@code config.push.token}; without a
+ * configured token this client neither subscribes nor accepts notifications. The callback must be an instance registered with Eureka under this
+ * application, which is why this server registers with itself.
+ */
+@Component
+public class ConfigPushClient {
+    public static final String CALLBACK_PATH = "/internal/config/changes";
+    public static final String TOKEN_HEADER = "X-Config-Push-Token";
+    private static final Logger logger = LoggerFactory.getLogger(ConfigPushClient.class);
+    // Prefix of the property sources the config client loads from config-server
+    private static final String CONFIG_SERVER_SOURCE_PREFIX = "configserver:";
+    private static final String PUSHED_SOURCE_NAME = CONFIG_SERVER_SOURCE_PREFIX + "pushed";
+    private static final String VERSION_PROPERTY = "config.client.version";
+
+    private final ConfigurableApplicationContext context;
+    private final ConfigClientProperties clientProperties;
+    private final ConfigurationPropertiesRebinder rebinder;
+    private final RestClient restClient;
+    private final String callbackUrl;
+    private final String token;
+    private final Counter refreshes;
+    private final Counter rebinds;
+    private String appliedVersion;
+
+    public ConfigPushClient(ConfigurableApplicationContext context,
+                            ConfigClientProperties clientProperties,
+                            ConfigurationPropertiesRebinder rebinder,
+                            RestClient.Builder restClientBuilder,
+                            MeterRegistry meterRegistry,
+                            @Value("${config.push.callback-url:http://${spring.application.name}:${server.port}}") String callbackBaseUrl,
+                            @Value("${config.push.token:}") String token) {
+        this.context = context;
+        this.clientProperties = clientProperties;
+        this.rebinder = rebinder;
+        this.restClient = restClientBuilder.baseUrl(clientProperties.getUri()[0]).build();
+        this.callbackUrl = callbackBaseUrl + CALLBACK_PATH;
+        this.token = token;
+        if (token == null || token.isBlank()) {
+            logger.warn("No config push token configured; configuration changes will not be applied until restart");
+        }
+        this.appliedVersion = context.getEnvironment().getProperty(VERSION_PROPERTY);
+        this.refreshes = Counter.builder("config.push.refreshes")
+                .description("Pushed configuration changes applied")
+                .register(meterRegistry);
+        this.rebinds = Counter.builder("config.push.rebinds")
+                .description("@ConfigurationProperties beans rebound after a pushed change")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes, or renews the subscription. The answer carries the current version, so a
+     * notification lost while config-server or this client was unreachable is caught up here.
+     */
+    @Scheduled(initialDelayString = "${config.push.initial-delay-ms:5000}",
+            fixedDelayString = "${config.push.renew-interval-ms:60000}")
+    public void subscribe() {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        Map<String, Object> subscription = new HashMap<>();
+        subscription.put("application", clientProperties.getName());
+        subscription.put("profile", clientProperties.getProfile());
+        subscription.put("label", clientProperties.getLabel());
+        subscription.put("callbackUrl", callbackUrl);
+        try {
+            Map<?, ?> answer = restClient.post()
+                    .uri("/push/subscriptions")
+                    .header(TOKEN_HEADER, token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(subscription)
+                    .retrieve()
+                    .body(Map.class);
+            Object current = answer == null ? null : answer.get("version");
+            if (current != null && !current.toString().equals(appliedVersion())) {
+                apply(new ConfigChangeNotification(clientProperties.getName(), clientProperties.getProfile(),
+                        clientProperties.getLabel(), current.toString(), null));
+            }
+        } catch (RestClientException e) {
+            logger.debug("Could not subscribe to configuration changes at {}", clientProperties.getUri()[0], e);
+        }
+    }
+
+    public boolean acceptsToken(String presented) {
+        return token != null && !token.isBlank() && token.equals(presented);
+    }
+
+    /** Applies a change unless its version is the one applied already. */
+    public synchronized void apply(ConfigChangeNotification notification) {
+        if (Objects.equals(notification.getVersion(), appliedVersion)) {
+            return;
+        }
+        Environment fetched = fetch();
+        Map<String, Object> next = flatten(fetched);
+        next.put(VERSION_PROPERTY, fetched.getVersion());
+
+        MutablePropertySources sources = context.getEnvironment().getPropertySources();
+        Set<String> changedKeys = changedKeys(configServerProperties(sources), next);
+        replaceConfigServerSources(sources, new MapPropertySource(PUSHED_SOURCE_NAME, next));
+        appliedVersion = fetched.getVersion();
+        refreshes.increment();
+
+        List<String> rebound = new ArrayList<>();
+        for (String beanName : rebinder.getBeanNames()) {
+            String prefix = prefixOf(beanName);
+            if (prefix != null && affects(changedKeys, prefix) && rebinder.rebind(beanName)) {
+                rebound.add(beanName);
+            }
+        }
+        rebinds.increment(rebound.size());
+        logger.info("Applied configuration version {}; changed keys {}; rebound {}", appliedVersion, changedKeys, rebound);
+    }
+
+    private synchronized String appliedVersion() {
+        return appliedVersion;
+    }
+
+    private Environment fetch() {
+        String label = clientProperties.getLabel();
+        return label == null
+                ? restClient.get().uri("/{name}/{profile}", clientProperties.getName(), clientProperties.getProfile())
+                        .retrieve().body(Environment.class)
+                : restClient.get().uri("/{name}/{profile}/{label}", clientProperties.getName(),
+                                clientProperties.getProfile(), label)
+                        .retrieve().body(Environment.class);
+    }
+
+    private String prefixOf(String beanName) {
+        ConfigurationPropertiesBean bean = ConfigurationPropertiesBean.get(context, context.getBean(beanName), beanName);
+        if (bean == null) {
+            return null;
+        }
+        ConfigurationProperties annotation = bean.getAnnotation();
+        return annotation.prefix().isEmpty() ? annotation.value() : annotation.prefix();
+    }
+
+    private static boolean affects(Set<String> changedKeys, String prefix) {
+        ConfigurationPropertyName root = ConfigurationPropertyName.of(prefix);
+        for (String key : changedKeys) {
+            ConfigurationPropertyName name = ConfigurationPropertyName.adapt(key, '.');
+            if (root.equals(name) || root.isAncestorOf(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void replaceConfigServerSources(MutablePropertySources sources, MapPropertySource replacement) {
+        String first = null;
+        List<String> stale = new ArrayList<>();
+        for (PropertySource<?> source : sources) {
+            if (source.getName().startsWith(CONFIG_SERVER_SOURCE_PREFIX)) {
+                if (first == null) {
+                    first = source.getName();
+                }
+                stale.add(source.getName());
+            }
+        }
+        if (PUSHED_SOURCE_NAME.equals(first)) {
+            sources.replace(first, replacement);
+            stale.stream().filter(name -> !name.equals(PUSHED_SOURCE_NAME)).forEach(sources::remove);
+        } else if (first != null) {
+            sources.addBefore(first, replacement);
+            stale.forEach(sources::remove);
+        } else {
+            // Config-server was unreachable at startup; its values still outrank the packaged ones
+            String packaged = null;
+            for (PropertySource<?> source : sources) {
+                if (source.getName().startsWith("Config resource")) {
+                    packaged = source.getName();
+                    break;
+                }
+            }
+            if (packaged != null) {
+                sources.addBefore(packaged, replacement);
+            } else {
+                sources.addLast(replacement);
+            }
+        }
+    }
+
+    private static Map<String, Object> configServerProperties(MutablePropertySources sources) {
+        List<EnumerablePropertySource<?>> configServerSources = new ArrayList<>();
+        for (PropertySource<?> source : sources) {
+            if (source.getName().startsWith(CONFIG_SERVER_SOURCE_PREFIX) && source instanceof EnumerablePropertySource<?> enumerable) {
+                configServerSources.add(enumerable);
+            }
+        }
+        Map<String, Object> properties = new HashMap<>();
+        for (int i = configServerSources.size() - 1; i >= 0; i--) {
+            EnumerablePropertySource<?> source = configServerSources.get(i);
+            for (String name : source.getPropertyNames()) {
+                properties.put(name, source.getProperty(name));
+            }
+        }
+        return properties;
+    }
+
+    // Property sources come highest precedence first; later puts must win
+    private static Map<String, Object> flatten(Environment environment) {
+        Map<String, Object> properties = new HashMap<>();
+        List<org.springframework.cloud.config.environment.PropertySource> sources = environment.getPropertySources();
+        for (int i = sources.size() - 1; i >= 0; i--) {
+            sources.get(i).getSource().forEach((key, value) -> properties.put(String.valueOf(key), value));
+        }
+        return properties;
+    }
+
+    private static Set<String> changedKeys(Map<String, Object> previous, Map<String, Object> next) {
+        Set<String> changed = new TreeSet<>();
+        previous.forEach((key, value) -> {
+            if (!Objects.equals(value, next.get(key))) {
+                changed.add(key);
+            }
+        });
+        next.keySet().stream().filter(key -> !previous.containsKey(key)).forEach(changed::add);
+        changed.remove(VERSION_PROPERTY);
+        return changed;
+    }
+}
@@ -0,0 +1,28 @@
+package com.dembasiby.eurekaserver.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class ConfigPushController {
+    private final ConfigPushClient configPushClient;
+
+    public ConfigPushController(ConfigPushClient configPushClient) {
+        this.configPushClient = configPushClient;
+    }
+
+    /** Change notifications from config-server, checked by the shared token. */
+    @PostMapping(ConfigPushClient.CALLBACK_PATH)
+    public ResponseEntity<Void> configChanged(@RequestHeader(value = ConfigPushClient.TOKEN_HEADER, required = false) String token,
+                                              @RequestBody ConfigChangeNotification notification) {
+        if (!configPushClient.acceptsToken(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        configPushClient.apply(notification);
+        return ResponseEntity.accepted().build();
+    }
+}
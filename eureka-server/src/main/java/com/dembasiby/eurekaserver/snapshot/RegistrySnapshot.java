@@ -0,0 +1,179 @@
+package com.dembasiby.eurekaserver.snapshot;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.LeaseInfo;
+import com.netflix.discovery.converters.jackson.EurekaJsonJacksonCodec;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRenewedEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaRegistryAvailableEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the registry across restarts. Every {@code registry.snapshot.interval-ms} the local
+ * registry is written to {@code registry.snapshot.path} in Eureka's own JSON format; when the
+ * server comes up, a snapshot younger than {@code registry.snapshot.max-age-ms} is registered
+ * again before clients start fetching, so the gateway keeps resolving its {@code lb://}
+ * routes instead of seeing an empty registry until every instance has re-registered.
+ *
+ * <p>Reloaded entries are provisional: an instance that renews or registers within
+ * {@code registry.snapshot.provisional-ms} is confirmed, the rest are cancelled as gone. The
+ * default leaves room for three 30-second heartbeats.
+ */
+@Component
+public class RegistrySnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(RegistrySnapshot.class);
+
+    private final PeerAwareInstanceRegistry registry;
+    private final EurekaJsonJacksonCodec codec = new EurekaJsonJacksonCodec();
+    private final Path path;
+    private final long maxAgeMillis;
+    private final long provisionalMillis;
+    // Instance id to application name, for entries reloaded but not yet heard from
+    private final Map<String, String> provisional = new ConcurrentHashMap<>();
+    private final Timer writeTimer;
+    private final Counter reloaded;
+    private final Counter expired;
+    private volatile long provisionalUntil;
+
+    public RegistrySnapshot(PeerAwareInstanceRegistry registry,
+                            MeterRegistry meterRegistry,
+                            @Value("${registry.snapshot.path:${java.io.tmpdir}/eureka-registry/registry.json}") Path path,
+                            @Value("${registry.snapshot.max-age-ms:600000}") long maxAgeMillis,
+                            @Value("${registry.snapshot.provisional-ms:90000}") long provisionalMillis) {
+        this.registry = registry;
+        this.path = path;
+        this.maxAgeMillis = maxAgeMillis;
+        this.provisionalMillis = provisionalMillis;
+        this.writeTimer = Timer.builder("registry.snapshot.write")
+                .description("Time to write the registry snapshot")
+                .register(meterRegistry);
+        this.reloaded = Counter.builder("registry.snapshot.reloaded")
+                .description("Instances registered again from the snapshot on startup")
+                .register(meterRegistry);
+        this.expired = Counter.builder("registry.snapshot.expired")
+                .description("Reloaded instances cancelled for not renewing in time")
+                .register(meterRegistry);
+        Gauge.builder("registry.snapshot.provisional", provisional, Map::size)
+                .description("Reloaded instances not yet confirmed by a renewal")
+                .register(meterRegistry);
+    }
+
+    @EventListener(EurekaRegistryAvailableEvent.class)
+    public void reload() {
+        Applications applications;
+        try {
+            long age = System.currentTimeMillis() - Files.getLastModifiedTime(path).toMillis();
+            if (age > maxAgeMillis) {
+                logger.info("Ignoring registry snapshot {}; it is {} s old", path, age / 1000);
+                return;
+            }
+            try (InputStream in = Files.newInputStream(path)) {
+                applications = codec.getObjectMapper(Applications.class).readValue(in, Applications.class);
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            logger.warn("Could not read registry snapshot {}; starting empty", path, e);
+            return;
+        }
+        provisionalUntil = System.currentTimeMillis() + provisionalMillis;
+        int count = 0;
+        for (Application application : applications.getRegisteredApplications()) {
+            for (InstanceInfo instance : application.getInstances()) {
+                LeaseInfo lease = instance.getLeaseInfo();
+                int duration = lease != null && lease.getDurationInSecs() > 0
+                        ? lease.getDurationInSecs() : LeaseInfo.DEFAULT_LEASE_DURATION;
+                // Not replicated: every peer reloads its own snapshot
+                registry.register(instance, duration, true);
+                provisional.put(instance.getId(), instance.getAppName());
+                count++;
+            }
+        }
+        reloaded.increment(count);
+        logger.info("Reloaded {} instances from registry snapshot {}; provisional for {} s", count, path,
+                provisionalMillis / 1000);
+    }
+
+    @EventListener
+    public void onRenewed(EurekaInstanceRenewedEvent event) {
+        provisional.remove(event.getServerId());
+    }
+
+    @EventListener
+    public void onRegistered(EurekaInstanceRegisteredEvent event) {
+        provisional.remove(event.getInstanceInfo().getId());
+    }
+
+    @EventListener
+    public void onCanceled(EurekaInstanceCanceledEvent event) {
+        provisional.remove(event.getServerId());
+    }
+
+    /** Cancels reloaded instances that have not renewed within the provisional window. */
+    @Scheduled(initialDelayString = "${registry.snapshot.check-interval-ms:5000}",
+            fixedDelayString = "${registry.snapshot.check-interval-ms:5000}")
+    public void expireProvisional() {
+        if (provisional.isEmpty() || System.currentTimeMillis() < provisionalUntil) {
+            return;
+        }
+        provisional.forEach((id, appName) -> {
+            if (provisional.remove(id, appName) && registry.cancel(appName, id, true)) {
+                expired.increment();
+                logger.info("Cancelled {} {}; it did not renew after the restart", appName, id);
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${registry.snapshot.interval-ms:30000}",
+            fixedDelayString = "${registry.snapshot.interval-ms:30000}")
+    public void write() {
+        try {
+            writeTimer.recordCallable(this::writeSnapshot);
+        } catch (Exception e) {
+            logger.warn("Could not write registry snapshot to {}", path, e);
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void writeOnShutdown() {
+        write();
+    }
+
+    private synchronized Void writeSnapshot() throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        // The codec closes the stream it writes to, so serialize first and sync after
+        byte[] json = codec.getObjectMapper(Applications.class)
+                .writeValueAsBytes(registry.getApplicationsFromLocalRegionOnly());
+        try (FileOutputStream out = new FileOutputStream(temporary.toFile())) {
+            out.write(json);
+            out.getFD().sync();
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.dembasiby.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs the same catalog scenario, at the same arrival rate, first against product-service
+ * (servlet, JPA) and then against catalog-read-service (WebFlux, R2DBC), and prints one
+ * report per stack. Each stack gets an unmeasured warm-up run first. When the services were
+ * started here, their resident memory and thread count after the run are printed too.
+ */
+public class CatalogComparison {
+    private static final String[] PROC_FIELDS = {"VmRSS", "VmHWM", "Threads"};
+
+    private final LoadTestOptions options;
+    private final StackLauncher stack;
+    private final HttpClient httpClient;
+
+    public CatalogComparison(LoadTestOptions options, StackLauncher stack, HttpClient httpClient) {
+        this.options = options;
+        this.stack = stack;
+        this.httpClient = httpClient;
+    }
+
+    public boolean run() throws InterruptedException {
+        boolean jpa = run("product-service", options.getJpaUrl());
+        boolean reactive = run("catalog-read-service", options.getReactiveUrl());
+        return jpa && reactive;
+    }
+
+    private boolean run(String module, URI url) throws InterruptedException {
+        Duration warmUp = options.getDuration().dividedBy(4);
+        System.out.printf("%nWarming up %s at %s for %s%n", module, url, warmUp);
+        drive(url, warmUp);
+
+        System.out.printf("Running 'catalog' at %.1f journeys/s for %s against %s%n",
+                options.getArrivalRate(), options.getDuration(), url);
+        ScenarioRunner runner = new ScenarioRunner(Scenarios.catalog(options.getCatalogProducts()), httpClient, url);
+        OpenModelDriver driver = new OpenModelDriver(runner, options.getArrivalRate(), options.getMaxInFlight());
+        driver.run(options.getDuration());
+
+        List<StepStats> steps = runner.getStepStats();
+        LoadReport.print(System.out, "catalog @ " + module, options.getDuration(), driver, steps);
+        System.out.println();
+        System.out.println(module + " process: " + processStatus(stack != null ? stack.pid(module) : -1));
+        return steps.stream().allMatch(step -> step.getErrorRate() <= options.getMaxErrorRate());
+    }
+
+    private void drive(URI url, Duration duration) throws InterruptedException {
+        ScenarioRunner runner = new ScenarioRunner(Scenarios.catalog(options.getCatalogProducts()), httpClient, url);
+        new OpenModelDriver(runner, options.getArrivalRate(), options.getMaxInFlight()).run(duration);
+    }
+
+    /** The memory and thread lines of {@code /proc/<pid>/status}, where available. */
+    private static String processStatus(long pid) {
+        if (pid < 0) {
+            return "n/a (not started by --start-stack)";
+        }
+        try {
+            StringBuilder status = new StringBuilder();
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                for (String field : PROC_FIELDS) {
+                    if (line.startsWith(field + ":")) {
+                        status.append(line.substring(field.length() + 1).trim().toLowerCase(Locale.ROOT))
+                                .append(' ')
+                                .append(field)
+                                .append("  ");
+                    }
+                }
+            }
+            return status.toString().trim();
+        } catch (IOException e) {
+            return "n/a (" + e.getMessage() + ")";
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.dembasiby.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Values carried from one step of a journey to the next, such as the generated
+ * credentials and the JWT returned by login.
+ */
+public class JourneyContext {
+    private final Map<String, String> values = new HashMap<>();
+
+    public String get(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            throw new IllegalStateException("No value for '" + key + "' in journey context");
+        }
+        return value;
+    }
+
+    public void put(String key, String value) {
+        values.put(key, value);
+    }
+}
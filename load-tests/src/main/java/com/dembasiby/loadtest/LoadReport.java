@@ -0,0 +1,26 @@
+package com.dembasiby.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+
+public final class LoadReport {
+
+    private LoadReport() {}
+
+    public static void print(PrintStream out, String scenario, Duration duration, OpenModelDriver driver,
+                             List<StepStats> steps) {
+        double seconds = duration.toMillis() / 1000.0;
+        out.printf("%nScenario '%s' for %.0fs: %d journeys started (%.1f/s), %d completed, %d failed, %d skipped, %d still running%n%n",
+                scenario, seconds, driver.getStarted(), driver.getStarted() / seconds, driver.getCompleted(),
+                driver.getFailed(), driver.getSkipped(), driver.getInFlight());
+        out.printf("%-16s %9s %8s %8s %9s %9s %9s %9s %9s%n",
+                "step", "requests", "errors", "err %", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (StepStats step : steps) {
+            out.printf("%-16s %9d %8d %8.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    step.getName(), step.getCount(), step.getErrors(), step.getErrorRate() * 100,
+                    step.percentileMillis(50), step.percentileMillis(90), step.percentileMillis(99),
+                    step.percentileMillis(99.9), step.maxMillis());
+        }
+    }
+}
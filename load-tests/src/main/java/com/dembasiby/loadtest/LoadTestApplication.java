@@ -0,0 +1,67 @@
+package com.dembasiby.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Drives the shopper journey through the api-gateway at a fixed arrival rate and reports
+ * latency percentiles and error rates per step.
+ *
+ * <pre>
+ * java -jar load-tests/target/load-tests-0.0.1-SNAPSHOT.jar --start-stack --rate=50 --duration=2m
+ * </pre>
+ *
+ * Without {@code --start-stack} it targets an already running gateway at {@code --gateway-url}.
+ *
+ * <p>{@code --scenario=catalog-compare} instead compares the two catalog read paths, sending
+ * catalog reads directly to product-service ({@code --jpa-url}) and then to
+ * catalog-read-service ({@code --reactive-url}); see {@link CatalogComparison}.
+ * The exit code is non-zero when any step's error rate exceeds {@code --max-error-rate}.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        boolean compare = options.getScenario().equals("catalog-compare");
+        StackLauncher stack = options.isStartStack()
+                ? new StackLauncher(options.getProjectDir(), options.getJwtSecret())
+                : null;
+        boolean passed;
+        try {
+            if (stack != null && compare) {
+                stack.startCatalogStacks(options.getCatalogProducts());
+            } else if (stack != null) {
+                stack.start();
+            }
+            passed = compare ? new CatalogComparison(options, stack, newHttpClient()).run() : run(options);
+        } finally {
+            if (stack != null) {
+                stack.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean run(LoadTestOptions options) throws InterruptedException {
+        HttpClient httpClient = newHttpClient();
+        Scenario scenario = Scenarios.shopper();
+        ScenarioRunner runner = new ScenarioRunner(scenario, httpClient, options.getGatewayUrl());
+        OpenModelDriver driver = new OpenModelDriver(runner, options.getArrivalRate(), options.getMaxInFlight());
+
+        System.out.printf("Running '%s' at %.1f journeys/s for %s against %s%n",
+                scenario.getName(), options.getArrivalRate(), options.getDuration(), options.getGatewayUrl());
+        driver.run(options.getDuration());
+
+        List<StepStats> steps = runner.getStepStats();
+        LoadReport.print(System.out, scenario.getName(), options.getDuration(), driver, steps);
+        return steps.stream().allMatch(step -> step.getErrorRate() <= options.getMaxErrorRate());
+    }
+
+    private static HttpClient newHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+}
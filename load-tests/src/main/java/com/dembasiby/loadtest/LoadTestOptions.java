@@ -0,0 +1,109 @@
+package com.dembasiby.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ */
+public class LoadTestOptions {
+    private URI gatewayUrl = URI.create("http://localhost:8080");
+    private double arrivalRate = 20;
+    private Duration duration = Duration.ofSeconds(60);
+    private int maxInFlight = 5_000;
+    private boolean startStack = false;
+    private Path projectDir = Path.of(".");
+    private String jwtSecret = "LoadTestSecretKeyThatIsAtLeast32BytesLongForHS256";
+    private double maxErrorRate = 0.01;
+    private String scenario = "shopper";
+    private int catalogProducts = 10_000;
+    private URI jpaUrl = URI.create("http://localhost:8082");
+    private URI reactiveUrl = URI.create("http://localhost:8085");
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String[] parts = arg.substring(2).split("=", 2);
+            String value = parts.length > 1 ? parts[1] : "true";
+            switch (parts[0]) {
+                case "gateway-url" -> options.gatewayUrl = URI.create(value);
+                case "rate" -> options.arrivalRate = Double.parseDouble(value);
+                case "duration" -> options.duration = Duration.parse("PT" + value.toUpperCase());
+                case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "start-stack" -> options.startStack = Boolean.parseBoolean(value);
+                case "project-dir" -> options.projectDir = Path.of(value);
+                case "jwt-secret" -> options.jwtSecret = value;
+                case "max-error-rate" -> options.maxErrorRate = Double.parseDouble(value);
+                case "scenario" -> options.scenario = value;
+                case "catalog-products" -> options.catalogProducts = Integer.parseInt(value);
+                case "jpa-url" -> options.jpaUrl = URI.create(value);
+                case "reactive-url" -> options.reactiveUrl = URI.create(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + parts[0]);
+            }
+        }
+        if (options.arrivalRate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (!options.scenario.equals("shopper") && !options.scenario.equals("catalog-compare")) {
+            throw new IllegalArgumentException("--scenario must be shopper or catalog-compare");
+        }
+        return options;
+    }
+
+    public URI getGatewayUrl() {
+        return gatewayUrl;
+    }
+
+    /** New journeys started per second, independent of how fast earlier ones complete. */
+    public double getArrivalRate() {
+        return arrivalRate;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public boolean isStartStack() {
+        return startStack;
+    }
+
+    public Path getProjectDir() {
+        return projectDir;
+    }
+
+    public String getJwtSecret() {
+        return jwtSecret;
+    }
+
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    /** {@code shopper} through the gateway, or {@code catalog-compare} against both catalog read stacks. */
+    public String getScenario() {
+        return scenario;
+    }
+
+    /** Products seeded into the shared database by {@code catalog-compare} with {@code --start-stack}. */
+    public int getCatalogProducts() {
+        return catalogProducts;
+    }
+
+    /** product-service, the servlet and JPA read path. */
+    public URI getJpaUrl() {
+        return jpaUrl;
+    }
+
+    /** catalog-read-service, the WebFlux and R2DBC read path. */
+    public URI getReactiveUrl() {
+        return reactiveUrl;
+    }
+}
@@ -0,0 +1,96 @@
+package com.dembasiby.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Starts journeys at a fixed arrival rate regardless of how long earlier journeys take
+ * (an open workload model), so a slow system sees a growing queue instead of a
+ * conveniently reduced load. Arrivals are computed from elapsed time, which also catches
+ * up after the scheduler thread was delayed.
+ */
+public class OpenModelDriver {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ScenarioRunner runner;
+    private final double arrivalRate;
+    private final int maxInFlight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public OpenModelDriver(ScenarioRunner runner, double arrivalRate, int maxInFlight) {
+        this.runner = runner;
+        this.arrivalRate = arrivalRate;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public void run(Duration duration) throws InterruptedException {
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        long startNanos = System.nanoTime();
+        long tick = Math.max(TICK_NANOS, (long) (TimeUnit.SECONDS.toNanos(1) / arrivalRate));
+        long[] arrivals = {0};
+
+        ticker.scheduleAtFixedRate(() -> {
+            long due = (long) ((System.nanoTime() - startNanos) / 1e9 * arrivalRate);
+            for (; arrivals[0] < due; arrivals[0]++) {
+                arrive();
+            }
+        }, 0, tick, TimeUnit.NANOSECONDS);
+
+        Thread.sleep(duration.toMillis());
+        ticker.shutdownNow();
+        ticker.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Let journeys that already started finish so their steps are counted
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private void arrive() {
+        if (inFlight.get() >= maxInFlight) {
+            skipped.increment();
+            return;
+        }
+        inFlight.incrementAndGet();
+        started.increment();
+        runner.runJourney().whenComplete((ignored, error) -> {
+            inFlight.decrementAndGet();
+            if (error != null) {
+                failed.increment();
+            } else {
+                completed.increment();
+            }
+        });
+    }
+
+    public long getStarted() {
+        return started.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /** Arrivals dropped because {@code maxInFlight} journeys were already running. */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,34 @@
+package com.dembasiby.loadtest;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An ordered list of steps executed by every virtual user. A journey stops at the first
+ * failed step, since later steps usually depend on its result (for example the JWT).
+ */
+public class Scenario {
+    private final String name;
+    private final Consumer<JourneyContext> initializer;
+    private final List<Step> steps;
+
+    public Scenario(String name, Consumer<JourneyContext> initializer, List<Step> steps) {
+        this.name = name;
+        this.initializer = initializer;
+        this.steps = steps;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    JourneyContext newJourney() {
+        JourneyContext context = new JourneyContext();
+        initializer.accept(context);
+        return context;
+    }
+}
@@ -0,0 +1,72 @@
+package com.dembasiby.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Executes journeys of a scenario asynchronously and records per-step statistics.
+ */
+public class ScenarioRunner {
+    private final Scenario scenario;
+    private final HttpClient httpClient;
+    private final URI gatewayUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, StepStats> stepStats = new LinkedHashMap<>();
+
+    public ScenarioRunner(Scenario scenario, HttpClient httpClient, URI gatewayUrl) {
+        this.scenario = scenario;
+        this.httpClient = httpClient;
+        this.gatewayUrl = gatewayUrl;
+        scenario.getSteps().forEach(step -> stepStats.put(step.getName(), new StepStats(step.getName())));
+    }
+
+    /**
+     * Runs one journey; the future completes exceptionally if any step failed.
+     */
+    public CompletableFuture<Void> runJourney() {
+        JourneyContext context = scenario.newJourney();
+        CompletableFuture<Void> journey = CompletableFuture.completedFuture(null);
+        for (Step step : scenario.getSteps()) {
+            journey = journey.thenCompose(ignored -> execute(step, context));
+        }
+        return journey;
+    }
+
+    public List<StepStats> getStepStats() {
+        return List.copyOf(stepStats.values());
+    }
+
+    private CompletableFuture<Void> execute(Step step, JourneyContext context) {
+        StepStats stats = stepStats.get(step.getName());
+        long start = System.nanoTime();
+        return httpClient.sendAsync(step.buildRequest(gatewayUrl, context), HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long elapsed = System.nanoTime() - start;
+                    if (error != null || response.statusCode() >= 400) {
+                        stats.recordFailure(elapsed);
+                        String reason = error != null ? error.toString() : "HTTP " + response.statusCode();
+                        throw new CompletionException(new IllegalStateException(step.getName() + " failed: " + reason));
+                    }
+                    stats.recordSuccess(elapsed);
+                    step.extract(parse(response.body()), context);
+                    return null;
+                });
+    }
+
+    private JsonNode parse(String body) {
+        try {
+            return body == null || body.isBlank() ? objectMapper.missingNode() : objectMapper.readTree(body);
+        } catch (Exception e) {
+            return objectMapper.missingNode();
+        }
+    }
+}
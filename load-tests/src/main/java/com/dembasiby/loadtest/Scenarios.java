@@ -0,0 +1,86 @@
+package com.dembasiby.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class Scenarios {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private Scenarios() {}
+
+    /**
+     * A new shopper signs up, logs in, reads and fills in their profile, then browses the catalog.
+     */
+    public static Scenario shopper() {
+        return new Scenario("shopper",
+                context -> {
+                    context.put("email", "load-" + UUID.randomUUID() + "@example.com");
+                    context.put("password", "LoadTest-" + UUID.randomUUID());
+                },
+                List.of(
+                        new Step("register", (base, context) -> json(base, "/api/auth/register")
+                                .POST(body("{\"email\":\"%s\",\"password\":\"%s\"}",
+                                        context.get("email"), context.get("password")))
+                                .build()),
+                        new Step("login", (base, context) -> json(base, "/api/auth/login")
+                                .POST(body("{\"email\":\"%s\",\"password\":\"%s\"}",
+                                        context.get("email"), context.get("password")))
+                                .build(),
+                                (response, context) -> context.put("token", response.path("data").path("token").asText())),
+                        new Step("get-profile", (base, context) -> authorized(base, "/api/users/profile", context)
+                                .GET()
+                                .build()),
+                        new Step("update-profile", (base, context) -> authorized(base, "/api/users/profile", context)
+                                .PUT(body("{\"firstName\":\"Load\",\"lastName\":\"Tester\",\"addresses\":[{"
+                                        + "\"street\":\"1 Main St\",\"city\":\"Dakar\",\"zip\":\"10000\",\"country\":\"SN\"}]}"))
+                                .build()),
+                        new Step("browse-products", (base, context) -> authorized(base, "/api/products", context)
+                                .GET()
+                                .build())
+                ));
+    }
+
+    /**
+     * Catalog reads only, sent straight to a catalog service rather than through the gateway:
+     * the first page of the listing by price, the page after it, then one random product.
+     */
+    public static Scenario catalog(int productCount) {
+        return new Scenario("catalog",
+                context -> context.put("productId", Long.toString(ThreadLocalRandom.current().nextLong(1, productCount + 1))),
+                List.of(
+                        new Step("list-products", (base, context) -> json(base, "/api/products?sort=price&direction=desc&size=50")
+                                .GET()
+                                .build(),
+                                (response, context) -> context.put("cursor", response.path("data").path("nextCursor").asText())),
+                        new Step("next-page", (base, context) -> json(base,
+                                        "/api/products?sort=price&direction=desc&size=50&cursor="
+                                                + URLEncoder.encode(context.get("cursor"), StandardCharsets.UTF_8))
+                                .GET()
+                                .build()),
+                        new Step("get-product", (base, context) -> json(base, "/api/products/" + context.get("productId"))
+                                .GET()
+                                .build())
+                ));
+    }
+
+    private static HttpRequest.Builder json(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private static HttpRequest.Builder authorized(URI base, String path, JourneyContext context) {
+        return json(base, path).header("Authorization", "Bearer " + context.get("token"));
+    }
+
+    private static HttpRequest.BodyPublisher body(String template, Object... args) {
+        return HttpRequest.BodyPublishers.ofString(String.format(template, args));
+    }
+}
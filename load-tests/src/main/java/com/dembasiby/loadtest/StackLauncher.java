@@ -0,0 +1,191 @@
+package com.dembasiby.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots user-service, product-service and api-gateway on this machine with the
+ * {@code embedded} profile (in-memory H2, static discovery, no Eureka or MySQL).
+ *
+ * <p>Each service runs from its executable jar in a child JVM on loopback: the three
+ * applications ship conflicting {@code application.yaml} files and web stacks (servlet vs.
+ * reactive), so they cannot share one classloader. Build them first with
+ * {@code mvn -pl user-service,product-service,api-gateway -am package -DskipTests}.
+ *
+ * <p>{@link #startCatalogStacks} instead boots the two catalog read paths, product-service
+ * and catalog-read-service, on one H2 file database under {@code load-tests/target}. This
+ * process opens the database first and keeps it open, so both services reach it over the
+ * same loopback TCP server, and seeds it directly over JDBC.
+ */
+public class StackLauncher implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Path projectDir;
+    private final String jwtSecret;
+    private final List<Process> processes = new ArrayList<>();
+    private final Map<String, Process> byModule = new LinkedHashMap<>();
+    private Connection catalogDatabase;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    public StackLauncher(Path projectDir, String jwtSecret) {
+        this.projectDir = projectDir;
+        this.jwtSecret = jwtSecret;
+    }
+
+    public void start() throws IOException, InterruptedException {
+        // Also stop the services if the load generator is interrupted
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> processes.forEach(Process::destroy)));
+        launch("user-service", 8081);
+        launch("product-service", 8082);
+        launch("api-gateway", 8080);
+    }
+
+    /**
+     * Starts product-service and catalog-read-service on a shared database holding
+     * {@code products} generated products.
+     */
+    public void startCatalogStacks(int products) throws IOException, InterruptedException, SQLException {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> processes.forEach(Process::destroy)));
+        Path database = projectDir.resolve("load-tests/target/catalog-db").toAbsolutePath().normalize();
+        Files.createDirectories(database);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(database)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        String file = database.resolve("catalog").toString();
+        catalogDatabase = DriverManager.getConnection("jdbc:h2:file:" + file + ";AUTO_SERVER=TRUE;MODE=MySQL", "sa", "");
+
+        launch("product-service", 8082,
+                "--spring.datasource.url=jdbc:h2:file:" + file + ";AUTO_SERVER=TRUE;MODE=MySQL",
+                "--spring.jpa.hibernate.ddl-auto=create");
+        seedProducts(products);
+        launch("catalog-read-service", 8085,
+                "--spring.r2dbc.url=r2dbc:h2:file:///" + file + "?options=AUTO_SERVER=TRUE;MODE=MySQL");
+    }
+
+    /** The process id of a service started here, or -1 if it was not. */
+    public long pid(String module) {
+        Process process = byModule.get(module);
+        return process != null ? process.pid() : -1;
+    }
+
+    private void seedProducts(int products) throws SQLException {
+        System.out.printf("Seeding %d products%n", products);
+        Random random = new Random(42);
+        String sql = "INSERT INTO product (id, sku, name, description, price, image_url, brand, stock_quantity, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        catalogDatabase.setAutoCommit(false);
+        try (PreparedStatement insert = catalogDatabase.prepareStatement(sql)) {
+            for (int id = 1; id <= products; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "LT-" + id);
+                insert.setString(3, "Load test product " + id);
+                insert.setString(4, "Generated by the load-tests module");
+                insert.setDouble(5, Math.round(random.nextDouble() * 100_000) / 100.0);
+                insert.setString(6, "https://img.example.com/" + id + ".jpg");
+                insert.setString(7, "Brand " + (id % 50));
+                insert.setInt(8, random.nextInt(1_000));
+                insert.addBatch();
+                if (id % 1_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        catalogDatabase.commit();
+    }
+
+    private void launch(String module, int port, String... extraArgs) throws IOException, InterruptedException {
+        Path jar = findJar(module);
+        Path log = projectDir.resolve("load-tests/target/" + module + ".log");
+        Files.createDirectories(log.getParent());
+
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString(),
+                "--spring.profiles.active=embedded",
+                "--server.port=" + port));
+        command.addAll(List.of(extraArgs));
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        builder.environment().put("JWT_SECRET", jwtSecret);
+
+        System.out.printf("Starting %s on port %d (log: %s)%n", module, port, log);
+        Process process = builder.start();
+        processes.add(process);
+        byModule.put(module, process);
+        awaitHealthy(module, port);
+    }
+
+    private Path findJar(String module) throws IOException {
+        Path target = projectDir.resolve(module).resolve("target");
+        if (Files.isDirectory(target)) {
+            try (DirectoryStream<Path> jars = Files.newDirectoryStream(target, module + "-*.jar")) {
+                for (Path jar : jars) {
+                    return jar;
+                }
+            }
+        }
+        throw new IllegalStateException("No jar found for " + module + " in " + target
+                + "; run 'mvn -pl " + module + " -am package -DskipTests' first");
+    }
+
+    private void awaitHealthy(String module, int port) throws InterruptedException {
+        URI health = URI.create("http://localhost:" + port + "/actuator/health");
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = httpClient.send(
+                        HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(2)).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("UP")) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(module + " did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+        if (catalogDatabase != null) {
+            try {
+                catalogDatabase.close();
+            } catch (SQLException e) {
+                // Nothing left to use it
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.dembasiby.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * One HTTP call in a scenario: how to build the request from the journey context, and
+ * what to take from the response for the steps that follow.
+ */
+public class Step {
+    private final String name;
+    private final BiFunction<URI, JourneyContext, HttpRequest> requestFactory;
+    private final BiConsumer<JsonNode, JourneyContext> extractor;
+
+    public Step(String name, BiFunction<URI, JourneyContext, HttpRequest> requestFactory) {
+        this(name, requestFactory, (body, context) -> { });
+    }
+
+    public Step(String name, BiFunction<URI, JourneyContext, HttpRequest> requestFactory,
+                BiConsumer<JsonNode, JourneyContext> extractor) {
+        this.name = name;
+        this.requestFactory = requestFactory;
+        this.extractor = extractor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    HttpRequest buildRequest(URI gatewayUrl, JourneyContext context) {
+        return requestFactory.apply(gatewayUrl, context);
+    }
+
+    void extract(JsonNode body, JourneyContext context) {
+        extractor.accept(body, context);
+    }
+}
@@ -0,0 +1,60 @@
+package com.dembasiby.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error count for one scenario step. Latencies are kept in
+ * microseconds, up to one minute, with three significant digits.
+ */
+public class StepStats {
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+
+    public StepStats(String name) {
+        this.name = name;
+    }
+
+    public void recordSuccess(long elapsedNanos) {
+        latencies.recordValue(Math.min(toMicros(elapsedNanos), latencies.getHighestTrackableValue()));
+    }
+
+    public void recordFailure(long elapsedNanos) {
+        recordSuccess(elapsedNanos);
+        errors.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return latencies.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public double getErrorRate() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getErrors() / count;
+    }
+
+    /** Latency at the given percentile, in milliseconds. */
+    public double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double maxMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+}
@@ -0,0 +1,58 @@
+package com.dembasiby.order.controller;
+
+import com.dembasiby.order.dto.ApiResponse;
+import com.dembasiby.order.dto.OrderDto;
+import com.dembasiby.order.dto.OrderRequestDto;
+import com.dembasiby.order.service.OrderService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/** The caller's own orders; the owner is the user the gateway authenticated. */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+    private static final String USER_HEADER = "X-User-Email";
+
+    private final OrderService orderService;
+
+    public OrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    /** 201 for a new order, 200 when an order with the same key already existed. */
+    @PostMapping
+    public ResponseEntity<ApiResponse<OrderDto>> placeOrder(@RequestHeader(USER_HEADER) String owner,
+                                                            @Valid @RequestBody OrderRequestDto request) {
+        OrderService.PlaceResult result = orderService.place(owner, request);
+        if (result.isCreated()) {
+            return new ResponseEntity<>(new ApiResponse<>(true, "Order placed successfully", result.getOrder()), HttpStatus.CREATED);
+        }
+        return ResponseEntity.ok(new ApiResponse<>(true, "Order already placed", result.getOrder()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<OrderDto>> getOrder(@RequestHeader(USER_HEADER) String owner,
+                                                          @PathVariable Long id) {
+        OrderDto order = orderService.getOrder(owner, id);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Order retrieved successfully", order));
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<OrderDto>>> getOrders(@RequestHeader(USER_HEADER) String owner,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        List<OrderDto> orders = orderService.getOrders(owner, Math.max(page, 0), Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Orders retrieved successfully", orders));
+    }
+}
@@ -0,0 +1,64 @@
+package com.dembasiby.order.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * An order to place. The client picks {@code orderKey} once per order and sends the same key
+ * on every retry, so a retried request returns the order it already created.
+ */
+public class OrderRequestDto {
+    @NotBlank(message = "Order key is required")
+    @Size(max = 64, message = "Order key must be at most 64 characters")
+    private String orderKey;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "At most 100 items can be ordered at once")
+    private List<@Valid Item> items;
+
+    public String getOrderKey() {
+        return orderKey;
+    }
+
+    public void setOrderKey(String orderKey) {
+        this.orderKey = orderKey;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public static class Item {
+        @NotNull(message = "Product ID is required")
+        private Long productId;
+
+        @Positive(message = "Quantity must be positive")
+        private int quantity;
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
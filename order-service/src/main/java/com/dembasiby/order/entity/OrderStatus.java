@@ -0,0 +1,6 @@
+package com.dembasiby.order.entity;
+
+public enum OrderStatus {
+    PLACED,
+    CANCELLED
+}
@@ -0,0 +1,13 @@
+package com.dembasiby.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** More orders are waiting to be written than the service accepts; the client should retry. */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class OrderQueueFullException extends RuntimeException {
+
+    public OrderQueueFullException(String message) {
+        super(message);
+    }
+}
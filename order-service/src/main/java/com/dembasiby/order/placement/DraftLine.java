@@ -0,0 +1,31 @@
+package com.dembasiby.order.placement;
+
+public class DraftLine {
+    private final long productId;
+    private final String productName;
+    private final int quantity;
+    private final double unitPrice;
+
+    public DraftLine(long productId, String productName, int quantity, double unitPrice) {
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public double getUnitPrice() {
+        return unitPrice;
+    }
+}
@@ -0,0 +1,157 @@
+package com.dembasiby.order.placement;
+
+import com.dembasiby.order.exception.OrderQueueFullException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Funnels concurrent order placements into few transactions. Callers queue their draft and
+ * wait on a future; a single writer thread takes whatever is queued, up to
+ * {@code maxBatchSize}, and writes it with one {@link OrderWriter#write} call. Under load the
+ * queue is never empty, so batches fill up without waiting; when it is quiet the writer
+ * waits at most {@code maxWait} for company before committing a lone order.
+ *
+ * <p>If a batch fails, its orders are retried one at a time so one bad order fails alone.
+ */
+public class GroupCommitter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitter.class);
+
+    private final OrderWriter writer;
+    private final BlockingQueue<Pending> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final DistributionSummary batchSizes;
+    private final Timer commitTimer;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public GroupCommitter(OrderWriter writer, int maxBatchSize, Duration maxWait, int queueCapacity, MeterRegistry meterRegistry) {
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.batchSizes = DistributionSummary.builder("order.batch.size")
+                .description("Orders written per transaction")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("order.commit.duration")
+                .description("Time to write and commit one batch of orders")
+                .register(meterRegistry);
+        Gauge.builder("order.queue.depth", queue, BlockingQueue::size)
+                .description("Orders waiting for the writer")
+                .register(meterRegistry);
+        this.thread = new Thread(this::run, "order-group-commit");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /** Queues a draft. @throws OrderQueueFullException if the writer is too far behind */
+    public CompletableFuture<PlacedOrder> submit(OrderDraft draft) {
+        Pending pending = new Pending(draft);
+        if (!running || !queue.offer(pending)) {
+            throw new OrderQueueFullException("Too many orders are being placed; try again shortly");
+        }
+        return pending.result;
+    }
+
+    /** Stops the writer; orders still queued fail. */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.result.completeExceptionally(new IllegalStateException("Order service is shutting down")));
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    batch.forEach(pending -> pending.result.completeExceptionally(new IllegalStateException("Order service is shutting down")));
+                    return;
+                }
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        List<OrderDraft> drafts = batch.stream().map(pending -> pending.draft).toList();
+        List<PlacedOrder> placed;
+        try {
+            placed = commitTimer.recordCallable(() -> writer.write(drafts));
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            logger.warn("Batch of {} orders failed; writing them one at a time", batch.size(), e);
+            for (Pending pending : batch) {
+                commitAlone(pending);
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(placed.get(i));
+        }
+    }
+
+    private void commitAlone(Pending pending) {
+        try {
+            pending.result.complete(writer.write(List.of(pending.draft)).get(0));
+        } catch (RuntimeException e) {
+            pending.result.completeExceptionally(e);
+        }
+    }
+
+    private static final class Pending {
+        final OrderDraft draft;
+        final CompletableFuture<PlacedOrder> result = new CompletableFuture<>();
+
+        Pending(OrderDraft draft) {
+            this.draft = draft;
+        }
+    }
+}
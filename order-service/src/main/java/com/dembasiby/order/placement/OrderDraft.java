@@ -0,0 +1,43 @@
+package com.dembasiby.order.placement;
+
+import java.time.Instant;
+import java.util.List;
+
+/** A priced order waiting to be written. */
+public class OrderDraft {
+    private final String ownerEmail;
+    private final String orderKey;
+    private final List<DraftLine> lines;
+    private final Instant createdAt;
+
+    public OrderDraft(String ownerEmail, String orderKey, List<DraftLine> lines, Instant createdAt) {
+        this.ownerEmail = ownerEmail;
+        this.orderKey = orderKey;
+        this.lines = List.copyOf(lines);
+        this.createdAt = createdAt;
+    }
+
+    public String getOwnerEmail() {
+        return ownerEmail;
+    }
+
+    public String getOrderKey() {
+        return orderKey;
+    }
+
+    public List<DraftLine> getLines() {
+        return lines;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public double getTotalAmount() {
+        return lines.stream().mapToDouble(line -> line.getUnitPrice() * line.getQuantity()).sum();
+    }
+
+    public int getItemCount() {
+        return lines.stream().mapToInt(DraftLine::getQuantity).sum();
+    }
+}
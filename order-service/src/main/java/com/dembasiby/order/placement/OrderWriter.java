@@ -0,0 +1,121 @@
+package com.dembasiby.order.placement;
+
+import com.dembasiby.order.entity.OrderStatus;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Writes a batch of orders in one transaction: one {@code IN} query finds the order keys that
+ * already exist, then the new orders and all their lines go out as two batched
+ * {@code INSERT}s. The database sees one commit, and so one log flush, for the whole batch.
+ *
+ * <p>An order whose key already exists, in the database or earlier in the same batch, is not
+ * written again; its caller gets the existing order id.
+ */
+public class OrderWriter {
+    private static final String FIND_EXISTING =
+            "select id, owner_email, order_key from orders where owner_email in (:owners) and order_key in (:keys)";
+    private static final String INSERT_ORDER =
+            "insert into orders (id, owner_email, order_key, status, total_amount, item_count, created_at) " +
+            "values (:id, :ownerEmail, :orderKey, :status, :totalAmount, :itemCount, :createdAt)";
+    private static final String INSERT_LINE =
+            "insert into order_line (id, order_id, product_id, product_name, quantity, unit_price) " +
+            "values (:id, :orderId, :productId, :productName, :quantity, :unitPrice)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LongSupplier orderIds;
+    private final LongSupplier lineIds;
+
+    public OrderWriter(NamedParameterJdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       LongSupplier orderIds,
+                       LongSupplier lineIds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.orderIds = orderIds;
+        this.lineIds = lineIds;
+    }
+
+    /** @return one result per draft, in the order of {@code drafts} */
+    public List<PlacedOrder> write(List<OrderDraft> drafts) {
+        try {
+            return writeOnce(drafts);
+        } catch (DuplicateKeyException e) {
+            // Another writer inserted one of these keys after our lookup; the retry finds it
+            return writeOnce(drafts);
+        }
+    }
+
+    private List<PlacedOrder> writeOnce(List<OrderDraft> drafts) {
+        return transactionTemplate.execute(status -> {
+            Map<String, Long> existing = new HashMap<>();
+            // Two plain IN lists use the unique index everywhere, unlike a row-value IN; the
+            // few extra owner/key combinations they match are ignored by the lookups below
+            MapSqlParameterSource lookup = new MapSqlParameterSource()
+                    .addValue("owners", drafts.stream().map(OrderDraft::getOwnerEmail).distinct().toList())
+                    .addValue("keys", drafts.stream().map(OrderDraft::getOrderKey).distinct().toList());
+            jdbcTemplate.query(FIND_EXISTING, lookup, resultSet -> {
+                existing.put(key(resultSet.getString("owner_email"), resultSet.getString("order_key")), resultSet.getLong("id"));
+            });
+
+            Map<String, Long> created = new LinkedHashMap<>();
+            List<MapSqlParameterSource> orders = new ArrayList<>();
+            List<MapSqlParameterSource> lines = new ArrayList<>();
+            List<PlacedOrder> results = new ArrayList<>(drafts.size());
+            for (OrderDraft draft : drafts) {
+                String key = key(draft.getOwnerEmail(), draft.getOrderKey());
+                Long id = existing.get(key);
+                if (id != null) {
+                    results.add(new PlacedOrder(id, true));
+                    continue;
+                }
+                id = created.get(key);
+                if (id != null) {
+                    results.add(new PlacedOrder(id, true));
+                    continue;
+                }
+                long orderId = orderIds.getAsLong();
+                created.put(key, orderId);
+                orders.add(new MapSqlParameterSource()
+                        .addValue("id", orderId)
+                        .addValue("ownerEmail", draft.getOwnerEmail())
+                        .addValue("orderKey", draft.getOrderKey())
+                        .addValue("status", OrderStatus.PLACED.name())
+                        .addValue("totalAmount", draft.getTotalAmount())
+                        .addValue("itemCount", draft.getItemCount())
+                        .addValue("createdAt", Timestamp.from(draft.getCreatedAt())));
+                for (DraftLine line : draft.getLines()) {
+                    lines.add(new MapSqlParameterSource()
+                            .addValue("id", lineIds.getAsLong())
+                            .addValue("orderId", orderId)
+                            .addValue("productId", line.getProductId())
+                            .addValue("productName", line.getProductName())
+                            .addValue("quantity", line.getQuantity())
+                            .addValue("unitPrice", line.getUnitPrice()));
+                }
+                results.add(new PlacedOrder(orderId, false));
+            }
+
+            if (!orders.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ORDER, orders.toArray(MapSqlParameterSource[]::new));
+                jdbcTemplate.batchUpdate(INSERT_LINE, lines.toArray(MapSqlParameterSource[]::new));
+            }
+            return results;
+        });
+    }
+
+    private static String key(String ownerEmail, String orderKey) {
+        return ownerEmail + '\u0000' + orderKey;
+    }
+}
@@ -0,0 +1,20 @@
+package com.dembasiby.order.placement;
+
+public class PlacedOrder {
+    private final long orderId;
+    private final boolean replayed;
+
+    public PlacedOrder(long orderId, boolean replayed) {
+        this.orderId = orderId;
+        this.replayed = replayed;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    /** Whether an order with the same key already existed, so nothing new was written. */
+    public boolean isReplayed() {
+        return replayed;
+    }
+}
@@ -0,0 +1,42 @@
+package com.dembasiby.order.placement;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+
+/**
+ * Hands out ids from the entity's own Hibernate generator. For {@code GenerationType.AUTO}
+ * that is a pooled sequence (or sequence table) that reserves a block of ids per round trip,
+ * and because this is the same generator instance {@code save()} uses, ids written over plain
+ * JDBC can never collide with ids assigned by JPA.
+ *
+ * <p>Not thread-safe: the session is used by one writer thread.
+ */
+public class PooledIdGenerator implements AutoCloseable {
+    private final BeforeExecutionGenerator generator;
+    private final StatelessSession session;
+
+    public PooledIdGenerator(EntityManagerFactory entityManagerFactory, Class<?> entityClass) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Generator generator = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityClass).getGenerator();
+        if (!(generator instanceof BeforeExecutionGenerator beforeExecution)) {
+            throw new IllegalStateException(entityClass.getSimpleName() + " ids are assigned by the database, not by a generator");
+        }
+        this.generator = beforeExecution;
+        this.session = sessionFactory.openStatelessSession();
+    }
+
+    public long next() {
+        Object id = generator.generate((SharedSessionContractImplementor) session, null, null, EventType.INSERT);
+        return ((Number) id).longValue();
+    }
+
+    @Override
+    public void close() {
+        session.close();
+    }
+}
@@ -0,0 +1,108 @@
+package com.dembasiby.order.pricing;
+
+import com.dembasiby.order.exception.ProductUnavailableException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Reads product prices from product-service with its batch lookup, one request for up to
+ * {@link #MAX_IDS_PER_REQUEST} products. Larger batches are split and the requests issued
+ * concurrently, at most as many at a time as the executor has threads.
+ */
+public class ProductCatalogClient {
+    /** The most ids product-service accepts in one lookup. */
+    public static final int MAX_IDS_PER_REQUEST = 200;
+
+    private final RestClient restClient;
+    private final ExecutorService executor;
+
+    /** @param restClient with a base URL pointing at product-service */
+    public ProductCatalogClient(RestClient restClient, ExecutorService executor) {
+        this.restClient = restClient;
+        this.executor = executor;
+    }
+
+    public ProductPrice fetch(long productId) {
+        return fetchAll(List.of(productId)).get(productId);
+    }
+
+    /** Fetches every product of the batch; fails if any of them could not be fetched. */
+    public Map<Long, ProductPrice> fetchAll(Collection<Long> productIds) {
+        List<Long> ids = new ArrayList<>(productIds);
+        if (ids.size() <= MAX_IDS_PER_REQUEST) {
+            return lookup(ids);
+        }
+        List<CompletableFuture<Map<Long, ProductPrice>>> requests = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_REQUEST) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_REQUEST, ids.size()));
+            requests.add(CompletableFuture.supplyAsync(() -> lookup(chunk), executor));
+        }
+        Map<Long, ProductPrice> prices = new HashMap<>();
+        try {
+            for (CompletableFuture<Map<Long, ProductPrice>> request : requests) {
+                prices.putAll(request.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return prices;
+    }
+
+    private Map<Long, ProductPrice> lookup(List<Long> productIds) {
+        JsonNode body;
+        try {
+            body = restClient.post()
+                    .uri("/api/products/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("ids", productIds))
+                    .retrieve()
+                    .body(JsonNode.class);
+        } catch (RestClientResponseException e) {
+            throw new ProductUnavailableException("Product service answered " + e.getStatusCode()
+                    + " for a lookup of " + productIds.size() + " products", e);
+        } catch (RestClientException e) {
+            throw new ProductUnavailableException("Product service is unavailable", e);
+        }
+
+        JsonNode items = body == null ? null : body.path("data");
+        if (items == null || !items.isArray()) {
+            throw new ProductUnavailableException("Product service answered a lookup without data", null);
+        }
+        long now = System.currentTimeMillis();
+        Map<Long, ProductPrice> prices = new HashMap<>();
+        for (JsonNode item : items) {
+            long productId = item.path("id").asLong();
+            JsonNode product = item.path("product");
+            if (!item.path("found").asBoolean() || product.isMissingNode() || product.isNull()) {
+                prices.put(productId, ProductPrice.notFound(productId, now));
+                continue;
+            }
+            prices.put(productId, new ProductPrice(productId,
+                    product.path("name").asText(),
+                    product.path("price").asDouble(),
+                    product.path("imageUrl").isNull() ? null : product.path("imageUrl").asText(null),
+                    product.path("stockQuantity").asInt(),
+                    now));
+        }
+        // Every id is answered, found or not; a gap means the answer cannot be trusted
+        if (!prices.keySet().containsAll(productIds)) {
+            throw new ProductUnavailableException("Product service left ids of a lookup unanswered", null);
+        }
+        return prices;
+    }
+}
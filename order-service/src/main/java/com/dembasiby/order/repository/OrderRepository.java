@@ -0,0 +1,20 @@
+package com.dembasiby.order.repository;
+
+import com.dembasiby.order.entity.CustomerOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderRepository extends JpaRepository<CustomerOrder, Long> {
+
+    @EntityGraph(attributePaths = "lines")
+    Optional<CustomerOrder> findByIdAndOwnerEmail(Long id, String ownerEmail);
+
+    @EntityGraph(attributePaths = "lines")
+    Optional<CustomerOrder> findByOwnerEmailAndOrderKey(String ownerEmail, String orderKey);
+
+    List<CustomerOrder> findByOwnerEmailOrderByCreatedAtDesc(String ownerEmail, Pageable pageable);
+}
@@ -0,0 +1,58 @@
+package com.dembasiby.order.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class GatewayAuthenticationFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(GatewayAuthenticationFilter.class);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        
+        // Check for user email header from API Gateway
+        String userEmail = request.getHeader("X-User-Email");
+        String userRoles = request.getHeader("X-User-Roles");
+        
+        if (userEmail != null && userRoles != null) {
+            logger.debug("Processing gateway authentication for user: {}", userEmail);
+            
+            // Parse roles from header
+            List<SimpleGrantedAuthority> authorities;
+            try {
+                authorities = Arrays.stream(userRoles.split(","))
+                        .map(role -> new SimpleGrantedAuthority(role.trim()))
+                        .collect(Collectors.toList());
+            } catch (Exception e) {
+                logger.error("Error parsing roles from header: {}", e.getMessage());
+                authorities = Collections.emptyList();
+            }
+            
+            // Create authentication token
+            UsernamePasswordAuthenticationToken authentication = 
+                    new UsernamePasswordAuthenticationToken(userEmail, null, authorities);
+            
+            // Set authentication in context
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            logger.debug("Authentication set in SecurityContext for user: {}", userEmail);
+        } else {
+            logger.debug("No gateway authentication headers found");
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+}
\ No newline at end of file
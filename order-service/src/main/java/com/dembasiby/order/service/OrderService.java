@@ -0,0 +1,219 @@
+package com.dembasiby.order.service;
+
+import com.dembasiby.order.dto.OrderDto;
+import com.dembasiby.order.dto.OrderLineDto;
+import com.dembasiby.order.dto.OrderRequestDto;
+import com.dembasiby.order.entity.CustomerOrder;
+import com.dembasiby.order.entity.OrderLine;
+import com.dembasiby.order.exception.OrderQueueFullException;
+import com.dembasiby.order.exception.ResourceNotFoundException;
+import com.dembasiby.order.placement.DraftLine;
+import com.dembasiby.order.placement.GroupCommitter;
+import com.dembasiby.order.placement.OrderDraft;
+import com.dembasiby.order.placement.OrderWriter;
+import com.dembasiby.order.placement.PlacedOrder;
+import com.dembasiby.order.placement.PooledIdGenerator;
+import com.dembasiby.order.pricing.ProductCatalogClient;
+import com.dembasiby.order.pricing.ProductPrice;
+import com.dembasiby.order.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Order placement. Requests are priced in parallel on the request threads, then handed to a
+ * {@link GroupCommitter} so that many concurrent orders share one transaction and one log
+ * flush instead of paying for a commit each.
+ *
+ * <p>Placing is idempotent per {@code (owner, orderKey)}: a retry of an order that was already
+ * written is answered from the database without pricing it again, and a retry racing the
+ * original is caught by the writer, which returns the order written first.
+ */
+@Service
+public class OrderService {
+    private final OrderRepository orderRepository;
+    private final ProductCatalogClient catalogClient;
+    private final ExecutorService fetchExecutor;
+    private final PooledIdGenerator orderIds;
+    private final PooledIdGenerator lineIds;
+    private final GroupCommitter committer;
+    private final Duration placeTimeout;
+    private final Counter placedOrders;
+    private final Counter replayedOrders;
+
+    public OrderService(OrderRepository orderRepository,
+                        NamedParameterJdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        EntityManagerFactory entityManagerFactory,
+                        RestClient.Builder restClientBuilder,
+                        MeterRegistry meterRegistry,
+                        @Value("${order.group-commit.max-batch-size:64}") int maxBatchSize,
+                        @Value("${order.group-commit.max-wait-ms:1}") long maxWaitMillis,
+                        @Value("${order.group-commit.queue-capacity:4096}") int queueCapacity,
+                        @Value("${order.place-timeout-ms:5000}") long placeTimeoutMillis,
+                        @Value("${order.prices.product-service-url:http://product-service}") String productServiceUrl,
+                        @Value("${order.prices.fetch-concurrency:8}") int fetchConcurrency) {
+        this.orderRepository = orderRepository;
+        this.fetchExecutor = Executors.newFixedThreadPool(fetchConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "order-price-fetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.catalogClient = new ProductCatalogClient(restClientBuilder.baseUrl(productServiceUrl).build(), fetchExecutor);
+        // Only the committer thread draws ids, which is what the generators require
+        this.orderIds = new PooledIdGenerator(entityManagerFactory, CustomerOrder.class);
+        this.lineIds = new PooledIdGenerator(entityManagerFactory, OrderLine.class);
+        OrderWriter writer = new OrderWriter(jdbcTemplate, new TransactionTemplate(transactionManager),
+                orderIds::next, lineIds::next);
+        this.committer = new GroupCommitter(writer, maxBatchSize, Duration.ofMillis(maxWaitMillis), queueCapacity, meterRegistry);
+        this.placeTimeout = Duration.ofMillis(placeTimeoutMillis);
+        this.placedOrders = Counter.builder("order.placed")
+                .description("Order placement requests")
+                .tag("outcome", "created")
+                .register(meterRegistry);
+        this.replayedOrders = Counter.builder("order.placed")
+                .description("Order placement requests")
+                .tag("outcome", "replayed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Places an order, or returns the one already placed with the same key.
+     *
+     * @return the order; {@code created} tells whether this call wrote it
+     */
+    public PlaceResult place(String owner, OrderRequestDto request) {
+        CustomerOrder existing = orderRepository.findByOwnerEmailAndOrderKey(owner, request.getOrderKey()).orElse(null);
+        if (existing != null) {
+            replayedOrders.increment();
+            return new PlaceResult(toDto(existing, true), false);
+        }
+
+        OrderDraft draft = new OrderDraft(owner, request.getOrderKey(), price(request.getItems()), Instant.now());
+        PlacedOrder placed = await(committer.submit(draft));
+        (placed.isReplayed() ? replayedOrders : placedOrders).increment();
+        CustomerOrder order = orderRepository.findByIdAndOwnerEmail(placed.getOrderId(), owner)
+                .orElseThrow(() -> new IllegalStateException("Order " + placed.getOrderId() + " was written but cannot be read"));
+        return new PlaceResult(toDto(order, true), !placed.isReplayed());
+    }
+
+    public OrderDto getOrder(String owner, Long id) {
+        return orderRepository.findByIdAndOwnerEmail(id, owner)
+                .map(order -> toDto(order, true))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+    }
+
+    /** The owner's most recent orders, newest first, without their lines. */
+    public List<OrderDto> getOrders(String owner, int page, int size) {
+        return orderRepository.findByOwnerEmailOrderByCreatedAtDesc(owner, PageRequest.of(page, size)).stream()
+                .map(order -> toDto(order, false))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        committer.close();
+        orderIds.close();
+        lineIds.close();
+        fetchExecutor.shutdownNow();
+    }
+
+    /** Prices every line at the current catalog price; duplicate products are merged. */
+    private List<DraftLine> price(List<OrderRequestDto.Item> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderRequestDto.Item item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        Map<Long, ProductPrice> prices = catalogClient.fetchAll(quantities.keySet());
+        List<DraftLine> lines = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            ProductPrice price = prices.get(entry.getKey());
+            if (price == null || !price.isFound()) {
+                throw new ResourceNotFoundException("Product not found with id: " + entry.getKey());
+            }
+            lines.add(new DraftLine(entry.getKey(), price.getName(), entry.getValue(), price.getPrice()));
+        }
+        return lines;
+    }
+
+    private PlacedOrder await(CompletableFuture<PlacedOrder> result) {
+        try {
+            return result.get(placeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            // The order may still be written; a retry with the same key finds it
+            throw new OrderQueueFullException("Order was not confirmed within " + placeTimeout.toMillis() + " ms; retry with the same order key");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while placing order", e);
+        }
+    }
+
+    private OrderDto toDto(CustomerOrder order, boolean withLines) {
+        OrderDto dto = new OrderDto();
+        dto.setId(order.getId());
+        dto.setOrderKey(order.getOrderKey());
+        dto.setStatus(order.getStatus().name());
+        dto.setTotalAmount(order.getTotalAmount());
+        dto.setItemCount(order.getItemCount());
+        dto.setCreatedAt(order.getCreatedAt());
+        if (!withLines) {
+            return dto;
+        }
+        for (OrderLine line : order.getLines()) {
+            OrderLineDto lineDto = new OrderLineDto();
+            lineDto.setProductId(line.getProductId());
+            lineDto.setProductName(line.getProductName());
+            lineDto.setQuantity(line.getQuantity());
+            lineDto.setUnitPrice(line.getUnitPrice());
+            lineDto.setLineTotal(line.getUnitPrice() * line.getQuantity());
+            dto.getLines().add(lineDto);
+        }
+        return dto;
+    }
+
+    /** An order and whether this request created it. */
+    public static class PlaceResult {
+        private final OrderDto order;
+        private final boolean created;
+
+        PlaceResult(OrderDto order, boolean created) {
+            this.order = order;
+            this.created = created;
+        }
+
+        public OrderDto getOrder() {
+            return order;
+        }
+
+        public boolean isCreated() {
+            return created;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.dembasiby.order.benchmark;
+
+import com.dembasiby.order.placement.DraftLine;
+import com.dembasiby.order.placement.GroupCommitter;
+import com.dembasiby.order.placement.OrderDraft;
+import com.dembasiby.order.placement.OrderWriter;
+import com.dembasiby.order.placement.PlacedOrder;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Many clients placing two-line orders at once. {@code perOrder} gives every order its own
+ * transaction, as a plain {@code @Transactional} save would; {@code groupCommit} goes through
+ * the {@link GroupCommitter} the service uses, so concurrent orders share a commit.
+ *
+ * <p>Runs against an H2 file database by default. H2 does not sync its log on commit, so
+ * there a commit is cheap, the hand-off to the writer thread is not, and {@code perOrder}
+ * comes out ahead. Group commit pays off where every commit waits for a log sync, as with
+ * MySQL's default {@code innodb_flush_log_at_trx_commit=1}:
+ * {@code -Djdbc.url=jdbc:mysql://localhost:3308/orders?rewriteBatchedStatements=true -Djdbc.user=... -Djdbc.password=...};
+ * the tables must not exist yet in that database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class OrderPlacementBenchmark {
+    private static final String[] DDL = {
+            "create table orders (id bigint primary key, owner_email varchar(255) not null, " +
+                    "order_key varchar(64) not null, status varchar(16) not null, total_amount double not null, " +
+                    "item_count int not null, created_at timestamp(6) not null, " +
+                    "constraint uk_orders_owner_key unique (owner_email, order_key))",
+            "create table order_line (id bigint primary key, order_id bigint not null, product_id bigint, " +
+                    "product_name varchar(255), quantity int not null, unit_price double not null)"
+    };
+
+    /** How long the committer waits for more orders; only {@code groupCommit} uses it. */
+    @Param({"0", "1"})
+    private long maxWaitMillis;
+
+    private final AtomicLong orderIds = new AtomicLong();
+    private final AtomicLong lineIds = new AtomicLong();
+    private Path databaseDirectory;
+    private HikariDataSource dataSource;
+    private OrderWriter writer;
+    private GroupCommitter committer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String url = System.getProperty("jdbc.url");
+        if (url == null) {
+            databaseDirectory = Files.createTempDirectory("order-benchmark");
+            url = "jdbc:h2:file:" + databaseDirectory.resolve("orders") + ";MODE=MySQL";
+        }
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getProperty("jdbc.user", "sa"));
+        dataSource.setPassword(System.getProperty("jdbc.password", ""));
+        dataSource.setMaximumPoolSize(20);
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        for (String statement : DDL) {
+            jdbcTemplate.getJdbcTemplate().execute(statement);
+        }
+        writer = new OrderWriter(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                orderIds::incrementAndGet, lineIds::incrementAndGet);
+        committer = new GroupCommitter(writer, 64, Duration.ofMillis(maxWaitMillis), 4096, new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        committer.close();
+        dataSource.close();
+        if (databaseDirectory != null) {
+            try (Stream<Path> files = Files.walk(databaseDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public PlacedOrder groupCommit() {
+        return committer.submit(draft()).join();
+    }
+
+    @Benchmark
+    public PlacedOrder perOrder() {
+        return writer.write(List.of(draft())).get(0);
+    }
+
+    private static OrderDraft draft() {
+        return new OrderDraft("bench@example.com", UUID.randomUUID().toString(), List.of(
+                new DraftLine(1, "Keyboard", 1, 49.99),
+                new DraftLine(2, "Mouse", 2, 19.99)), Instant.now());
+    }
+}
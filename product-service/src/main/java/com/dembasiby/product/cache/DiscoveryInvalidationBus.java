@@ -0,0 +1,156 @@
+package com.dembasiby.product.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Sends invalidations to the other instances of this service as registered in Eureka.
+ * Published messages are queued and flushed in one POST per peer every few milliseconds, so
+ * a bulk update costs a handful of requests rather than one per product. Peers receive them
+ * on {@link #PATH} and hand them to {@link #receive(List)}.
+ *
+ * <p>There is no retry: a peer that is down, or that registered after the sender's last
+ * registry fetch, simply misses the message and relies on the cache TTL.
+ *
+ * <p>Peers must present the shared token in {@link #TOKEN_HEADER}. Without a configured token
+ * every incoming batch is refused, so a missing setting cannot open the endpoint to anyone.
+ */
+public class DiscoveryInvalidationBus implements InvalidationBus, AutoCloseable {
+    public static final String PATH = "/internal/cache/invalidations";
+    public static final String TOKEN_HEADER = "X-Cache-Invalidation-Token";
+    private static final Logger logger = LoggerFactory.getLogger(DiscoveryInvalidationBus.class);
+
+    private final DiscoveryClient discoveryClient;
+    private final String serviceId;
+    private final String localInstanceId;
+    private final String token;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final ConcurrentLinkedQueue<Invalidation> outbox = new ConcurrentLinkedQueue<>();
+    private final List<Consumer<Invalidation>> subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService flusher;
+    private final Counter sent;
+    private final Counter failures;
+
+    public DiscoveryInvalidationBus(DiscoveryClient discoveryClient,
+                                    String serviceId,
+                                    String localInstanceId,
+                                    String token,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry,
+                                    Duration flushInterval,
+                                    Duration requestTimeout) {
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+        this.localInstanceId = localInstanceId;
+        this.token = token;
+        if (token == null || token.isBlank()) {
+            logger.warn("No cache invalidation token configured; invalidations from peers will be refused");
+        }
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(requestTimeout).build();
+        this.sent = Counter.builder("product.cache.invalidations.sent")
+                .description("Invalidation batches delivered to peer instances")
+                .register(meterRegistry);
+        this.failures = Counter.builder("product.cache.invalidations.failed")
+                .description("Invalidation batches a peer did not accept")
+                .register(meterRegistry);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        outbox.add(invalidation);
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /** Entry point for batches posted by peers. */
+    public void receive(List<Invalidation> invalidations) {
+        for (Invalidation invalidation : invalidations) {
+            subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+        }
+    }
+
+    public boolean acceptsToken(String presented) {
+        return token != null && !token.isBlank() && token.equals(presented);
+    }
+
+    private void flush() {
+        List<Invalidation> batch = new ArrayList<>();
+        Invalidation next;
+        while ((next = outbox.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(batch);
+            for (ServiceInstance peer : discoveryClient.getInstances(serviceId)) {
+                if (peer.getInstanceId() != null && peer.getInstanceId().equals(localInstanceId)) {
+                    continue;
+                }
+                send(peer, body);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Could not publish {} cache invalidations", batch.size(), e);
+        }
+    }
+
+    private void send(ServiceInstance peer, byte[] body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(peer.getUri().resolve(URI.create(PATH)))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (token != null && !token.isEmpty()) {
+            request.header(TOKEN_HEADER, token);
+        }
+        httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error == null && response.statusCode() < 300) {
+                        sent.increment();
+                    } else {
+                        failures.increment();
+                        logger.debug("Invalidation delivery to {} failed", peer.getUri(),
+                                error != null ? error : "HTTP " + response.statusCode());
+                    }
+                });
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+    }
+}
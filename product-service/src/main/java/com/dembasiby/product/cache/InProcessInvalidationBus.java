@@ -0,0 +1,24 @@
+package com.dembasiby.product.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations synchronously to subscribers in the same JVM. Stands in for the
+ * network channel when the service runs alone (embedded profile) and lets several caches in
+ * one process play the part of separate instances.
+ */
+public class InProcessInvalidationBus implements InvalidationBus {
+    private final List<Consumer<Invalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,83 @@
+package com.dembasiby.product.cache;
+
+/**
+ * A product changed: every near cache should drop entries older than {@code version}.
+ * {@code changedAt} is the publisher's wall-clock commit time, used to measure delivery lag.
+ *
+ * <p>A {@link Kind#CATEGORY} invalidation says the category {@code categoryId} was created,
+ * changed or deleted; receivers rebuild their category tree and ignore the product fields.
+ */
+public class Invalidation {
+    public enum Kind { PRODUCT, CATEGORY }
+
+    private Kind kind = Kind.PRODUCT;
+    private long productId;
+    private long categoryId;
+    private long version;
+    private long changedAt;
+    private String origin;
+
+    public Invalidation() {}
+
+    public Invalidation(long productId, long version, long changedAt, String origin) {
+        this.productId = productId;
+        this.version = version;
+        this.changedAt = changedAt;
+        this.origin = origin;
+    }
+
+    public static Invalidation category(long categoryId, long changedAt, String origin) {
+        Invalidation invalidation = new Invalidation(0, 0, changedAt, origin);
+        invalidation.kind = Kind.CATEGORY;
+        invalidation.categoryId = categoryId;
+        return invalidation;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(long productId) {
+        this.productId = productId;
+    }
+
+    public long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(long changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+}
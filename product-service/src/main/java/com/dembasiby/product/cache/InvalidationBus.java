@@ -0,0 +1,16 @@
+package com.dembasiby.product.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Fan-out channel for {@link Invalidation}s between service instances. Delivery is best
+ * effort: a subscriber that misses a message is still bounded by the cache TTL.
+ */
+public interface InvalidationBus {
+
+    /** Sends the invalidation to the other instances. Must not block the caller. */
+    void publish(Invalidation invalidation);
+
+    /** Registers a handler for invalidations published by other instances. */
+    void subscribe(Consumer<Invalidation> subscriber);
+}
@@ -0,0 +1,122 @@
+package com.dembasiby.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded, version-stamped local cache. Entries are evicted by size and expire a fixed time
+ * after they were loaded, which caps how long a value can stay stale when an invalidation is
+ * lost.
+ *
+ * <p>An invalidation carries the version the key has <em>after</em> the change. It drops any
+ * older entry and leaves a marker so that a load which read the database before the change
+ * but finishes after the invalidation cannot put the old value back. Both operations run
+ * inside the entry map's per-key compute, so they are ordered against each other.
+ */
+public class NearCache<K, V> {
+    /** Version used for deleted keys: no later load can be accepted. */
+    public static final long DELETED = Long.MAX_VALUE;
+
+    private final Cache<K, Entry<V>> entries;
+    private final ConcurrentMap<K, Long> minimumVersions;
+
+    public NearCache(long maximumSize, Duration timeToLive) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        // Markers only matter while a load that started before the change can still finish,
+        // so they share the entry TTL and a generous size bound
+        this.minimumVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .<K, Long>build()
+                .asMap();
+    }
+
+    public Entry<V> get(K key) {
+        return entries.getIfPresent(key);
+    }
+
+    /**
+     * Stores a freshly loaded value unless a newer version is already cached or the key has
+     * been invalidated to a version above {@code version}.
+     *
+     * @return whether the value was stored
+     */
+    public boolean put(K key, long version, V value) {
+        boolean[] stored = {false};
+        entries.asMap().compute(key, (k, existing) -> {
+            Long minimum = minimumVersions.get(k);
+            if (minimum != null && version < minimum) {
+                return existing;
+            }
+            if (existing != null && existing.getVersion() > version) {
+                return existing;
+            }
+            stored[0] = true;
+            return new Entry<>(version, value, System.currentTimeMillis());
+        });
+        return stored[0];
+    }
+
+    /**
+     * Drops the cached value if it is older than {@code newVersion}.
+     *
+     * @return whether an entry was removed
+     */
+    public boolean invalidate(K key, long newVersion) {
+        boolean[] removed = {false};
+        entries.asMap().compute(key, (k, existing) -> {
+            minimumVersions.merge(k, newVersion, Math::max);
+            if (existing != null && existing.getVersion() < newVersion) {
+                removed[0] = true;
+                return null;
+            }
+            return existing;
+        });
+        return removed[0];
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+        minimumVersions.clear();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    /** The underlying cache, for metrics binding. */
+    public Cache<K, Entry<V>> getCache() {
+        return entries;
+    }
+
+    public static class Entry<V> {
+        private final long version;
+        private final V value;
+        private final long loadedAt;
+
+        Entry(long version, V value, long loadedAt) {
+            this.version = version;
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public long getLoadedAt() {
+            return loadedAt;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.dembasiby.product.category;
+
+import java.util.List;
+
+/** One category in a {@link CategoryTree} snapshot. Immutable once the tree is built. */
+public final class CategoryNode {
+    private final long id;
+    private final String name;
+    private final String description;
+    private final Long parentId;
+    private final String path;
+    private final int depth;
+    private final long productCount;
+    private final long subtreeProductCount;
+    private final List<CategoryNode> children;
+
+    CategoryNode(long id, String name, String description, Long parentId, String path, int depth,
+                 long productCount, long subtreeProductCount, List<CategoryNode> children) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.parentId = parentId;
+        this.path = path;
+        this.depth = depth;
+        this.productCount = productCount;
+        this.subtreeProductCount = subtreeProductCount;
+        this.children = children;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /** Products assigned directly to this category. */
+    public long getProductCount() {
+        return productCount;
+    }
+
+    /** Products in this category and all of its descendants. */
+    public long getSubtreeProductCount() {
+        return subtreeProductCount;
+    }
+
+    public List<CategoryNode> getChildren() {
+        return children;
+    }
+
+    public boolean isAncestorOf(CategoryNode other) {
+        return other.path.startsWith(path) && other.id != id;
+    }
+}
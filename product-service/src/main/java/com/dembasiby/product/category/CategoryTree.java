@@ -0,0 +1,110 @@
+package com.dembasiby.product.category;
+
+import com.dembasiby.product.entity.Category;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the whole category hierarchy with per-node product counts. Built
+ * from two queries (all categories, product counts grouped by category) and replaced
+ * wholesale on change, so navigation never walks the hierarchy in SQL.
+ */
+public final class CategoryTree {
+    public static final CategoryTree EMPTY = new CategoryTree(Map.of(), List.of());
+
+    private final Map<Long, CategoryNode> nodes;
+    private final List<CategoryNode> roots;
+
+    private CategoryTree(Map<Long, CategoryNode> nodes, List<CategoryNode> roots) {
+        this.nodes = nodes;
+        this.roots = roots;
+    }
+
+    /**
+     * @param productCounts products assigned directly to each category id; categories
+     *                      without products may be missing
+     */
+    public static CategoryTree build(List<Category> categories, Map<Long, Long> productCounts) {
+        Map<Long, Category> byId = new HashMap<>();
+        Map<Long, List<Category>> childrenByParent = new HashMap<>();
+        for (Category category : categories) {
+            byId.put(category.getId(), category);
+        }
+        List<Category> rootCategories = new ArrayList<>();
+        for (Category category : categories) {
+            Long parentId = parentId(category.getPath());
+            if (parentId == null || !byId.containsKey(parentId)) {
+                rootCategories.add(category);
+            } else {
+                childrenByParent.computeIfAbsent(parentId, id -> new ArrayList<>()).add(category);
+            }
+        }
+
+        Map<Long, CategoryNode> nodes = new HashMap<>();
+        List<CategoryNode> roots = freeze(rootCategories, 0, childrenByParent, productCounts, nodes);
+        return new CategoryTree(Map.copyOf(nodes), roots);
+    }
+
+    private static List<CategoryNode> freeze(List<Category> categories, int depth, Map<Long, List<Category>> childrenByParent,
+                                             Map<Long, Long> productCounts, Map<Long, CategoryNode> nodes) {
+        categories.sort(Comparator.comparing(Category::getName, String.CASE_INSENSITIVE_ORDER).thenComparing(Category::getId));
+        List<CategoryNode> frozen = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            List<CategoryNode> children = freeze(childrenByParent.getOrDefault(category.getId(), new ArrayList<>()),
+                    depth + 1, childrenByParent, productCounts, nodes);
+            long productCount = productCounts.getOrDefault(category.getId(), 0L);
+            long subtreeProductCount = productCount;
+            for (CategoryNode child : children) {
+                subtreeProductCount += child.getSubtreeProductCount();
+            }
+            CategoryNode node = new CategoryNode(category.getId(), category.getName(), category.getDescription(),
+                    depth == 0 ? null : parentId(category.getPath()), category.getPath(), depth,
+                    productCount, subtreeProductCount, children);
+            nodes.put(node.getId(), node);
+            frozen.add(node);
+        }
+        return List.copyOf(frozen);
+    }
+
+    public Optional<CategoryNode> find(long id) {
+        return Optional.ofNullable(nodes.get(id));
+    }
+
+    public List<CategoryNode> getRoots() {
+        return roots;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /** Ancestors of {@code node} from the root down, excluding the node itself. */
+    public List<CategoryNode> ancestors(CategoryNode node) {
+        List<CategoryNode> ancestors = new ArrayList<>(node.getDepth());
+        String[] ids = node.getPath().split(Category.PATH_SEPARATOR);
+        for (String id : ids) {
+            if (!id.isEmpty() && Long.parseLong(id) != node.getId()) {
+                CategoryNode ancestor = nodes.get(Long.parseLong(id));
+                if (ancestor != null) {
+                    ancestors.add(ancestor);
+                }
+            }
+        }
+        return ancestors;
+    }
+
+    static Long parentId(String path) {
+        // "/1/4/9/" -> 4
+        int end = path.lastIndexOf(Category.PATH_SEPARATOR, path.length() - 2);
+        if (end <= 0) {
+            return null;
+        }
+        int start = path.lastIndexOf(Category.PATH_SEPARATOR, end - 1);
+        return Long.parseLong(path.substring(start + 1, end));
+    }
+}
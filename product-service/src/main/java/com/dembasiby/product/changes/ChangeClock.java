@@ -0,0 +1,38 @@
+package com.dembasiby.product.changes;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out change versions: the wall clock in milliseconds shifted left by
+ * {@link #COUNTER_BITS}, plus a counter for writes within the same millisecond. Versions only
+ * grow on one instance, even if the clock steps back, and stay comparable with wall-clock
+ * time across instances, so {@link #floorAt} turns "everything written before time t" into a
+ * version.
+ *
+ * <p>Instances whose clocks agree within the change feed's settle window produce versions
+ * that are ordered closely enough for it; two instances may still produce the same version.
+ * Values stay below 2^53 until the year 2248, so JavaScript clients read them exactly.
+ */
+@Component
+public class ChangeClock {
+    static final int COUNTER_BITS = 10;
+
+    private final AtomicLong last = new AtomicLong();
+
+    public long next() {
+        long floor = floorAt(System.currentTimeMillis());
+        return last.updateAndGet(previous -> Math.max(previous + 1, floor));
+    }
+
+    /** Makes every later version from this instance greater than {@code version}. */
+    public void advancePast(long version) {
+        last.accumulateAndGet(version, Math::max);
+    }
+
+    /** The smallest version that can be handed out at {@code epochMillis}. */
+    public static long floorAt(long epochMillis) {
+        return epochMillis << COUNTER_BITS;
+    }
+}
@@ -0,0 +1,70 @@
+package com.dembasiby.product.concurrency;
+
+import com.dembasiby.product.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admits each request under the {@link AdaptiveConcurrencyLimit} of its {@link EndpointClass}
+ * and answers the rest with 503 and {@code Retry-After} at once. It runs ahead of the
+ * security filters, so a shed request is turned away before it touches anything else.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final ObjectMapper objectMapper;
+    private final String retryAfter;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.retryAfter = String.valueOf(properties.getRetryAfterSeconds());
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            ConcurrencyLimitProperties.Limits configured = properties.getClasses()
+                    .getOrDefault(endpointClass.getKey(), new ConcurrencyLimitProperties.Limits());
+            limits.put(endpointClass, new AdaptiveConcurrencyLimit(endpointClass.getKey(), configured.getInitial(),
+                    configured.getMin(), configured.getMax(), properties.getTolerance(), meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        if (endpointClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        AdaptiveConcurrencyLimit limit = limits.get(endpointClass);
+        int inFlight = limit.tryAcquire();
+        if (inFlight < 0) {
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start, inFlight);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponse<>(false, "Server is busy, please retry shortly"));
+    }
+}
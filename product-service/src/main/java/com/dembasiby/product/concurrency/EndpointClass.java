@@ -0,0 +1,40 @@
+package com.dembasiby.product.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Groups of endpoints that get a concurrency limit of their own, so browsing the catalog
+ * cannot starve the stock reservations checkout depends on, and an admin import cannot take
+ * the connections of either.
+ */
+public enum EndpointClass {
+    CATALOG("catalog"),
+    INVENTORY("inventory"),
+    ADMIN("admin");
+
+    private final String key;
+
+    EndpointClass(String key) {
+        this.key = key;
+    }
+
+    /** Name in {@code concurrency.limit.classes} and in the {@code class} tag of the metrics. */
+    public String getKey() {
+        return key;
+    }
+
+    /** @return the class of the request, or null for requests that are never limited */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/products")) {
+            return null;
+        }
+        if (path.startsWith("/api/products/admin/")) {
+            return ADMIN;
+        }
+        if (path.startsWith("/api/products/inventory/") || path.endsWith("/availability")) {
+            return INVENTORY;
+        }
+        return CATALOG;
+    }
+}
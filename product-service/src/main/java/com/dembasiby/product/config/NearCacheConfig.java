@@ -0,0 +1,46 @@
+package com.dembasiby.product.config;
+
+import com.dembasiby.product.cache.DiscoveryInvalidationBus;
+import com.dembasiby.product.cache.InProcessInvalidationBus;
+import com.dembasiby.product.cache.InvalidationBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Chooses how product detail invalidations reach other instances: over HTTP to the peers
+ * registered in Eureka, or in-process when the service runs on its own.
+ */
+@Configuration
+public class NearCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "catalog.detail-cache.invalidation.transport", havingValue = "discovery", matchIfMissing = true)
+    public DiscoveryInvalidationBus discoveryInvalidationBus(
+            DiscoveryClient discoveryClient,
+            ObjectProvider<Registration> registration,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${spring.application.name}") String serviceId,
+            @Value("${catalog.detail-cache.invalidation.token:}") String token,
+            @Value("${catalog.detail-cache.invalidation.flush-interval-ms:20}") long flushIntervalMs,
+            @Value("${catalog.detail-cache.invalidation.timeout-ms:500}") long timeoutMs) {
+        Registration self = registration.getIfAvailable();
+        return new DiscoveryInvalidationBus(discoveryClient, serviceId, self == null ? null : self.getInstanceId(),
+                token, objectMapper, meterRegistry, Duration.ofMillis(flushIntervalMs), Duration.ofMillis(timeoutMs));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "catalog.detail-cache.invalidation.transport", havingValue = "in-process")
+    public InvalidationBus inProcessInvalidationBus() {
+        return new InProcessInvalidationBus();
+    }
+}
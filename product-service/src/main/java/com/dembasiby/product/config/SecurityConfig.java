@@ -3,6 +3,7 @@ package com.dembasiby.product.config;
 import com.dembasiby.product.security.GatewayAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -33,7 +34,13 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                     .requestMatchers("/api/products/admin/**").hasRole("ADMIN")
                     .requestMatchers("/api/products").permitAll() // Public product listing
+                    .requestMatchers("/api/products/batch").permitAll() // Public multi-get, GET or POST
                     .requestMatchers("/api/products/{id}").permitAll() // Public product details
+                    .requestMatchers(HttpMethod.GET, "/api/products/{id}/availability").permitAll() // Public stock level
+                    .requestMatchers("/api/products/categories/**").permitAll() // Public category navigation
+                    .requestMatchers("/api/products/images/**").permitAll() // Public product images
+                    .requestMatchers("/internal/cache/**").permitAll() // Peer cache invalidations, checked by shared token
+                    .requestMatchers(HttpMethod.POST, "/internal/trending/**").permitAll() // Activity reported by cart-service, checked by shared token
                     .requestMatchers("/actuator/health").permitAll() // Health check endpoint
                     .anyRequest().authenticated()
             )
@@ -0,0 +1,39 @@
+package com.dembasiby.product.controller;
+
+import com.dembasiby.product.cache.DiscoveryInvalidationBus;
+import com.dembasiby.product.cache.Invalidation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Receives near-cache invalidations from peer instances. Not routed by the gateway; peers
+ * call each other directly on the addresses registered in Eureka.
+ */
+@RestController
+@ConditionalOnProperty(name = "catalog.detail-cache.invalidation.transport", havingValue = "discovery", matchIfMissing = true)
+public class CacheInvalidationController {
+
+    private final DiscoveryInvalidationBus invalidationBus;
+
+    public CacheInvalidationController(DiscoveryInvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+    }
+
+    @PostMapping(DiscoveryInvalidationBus.PATH)
+    public ResponseEntity<Void> receive(
+            @RequestHeader(value = DiscoveryInvalidationBus.TOKEN_HEADER, required = false) String token,
+            @RequestBody List<Invalidation> invalidations) {
+        if (!invalidationBus.acceptsToken(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        invalidationBus.receive(invalidations);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.dembasiby.product.controller;
+
+import com.dembasiby.product.dto.ApiResponse;
+import com.dembasiby.product.dto.CategoryDetailDto;
+import com.dembasiby.product.dto.CategoryDto;
+import com.dembasiby.product.dto.CategoryRequestDto;
+import com.dembasiby.product.dto.CursorPageDto;
+import com.dembasiby.product.monitoring.QueryBudget;
+import com.dembasiby.product.repository.ProductField;
+import com.dembasiby.product.repository.ProductSort;
+import com.dembasiby.product.service.CategoryService;
+import com.dembasiby.product.service.ProductService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products")
+public class CategoryController {
+    private final CategoryService categoryService;
+    private final ProductService productService;
+
+    public CategoryController(CategoryService categoryService, ProductService productService) {
+        this.categoryService = categoryService;
+        this.productService = productService;
+    }
+
+    @GetMapping("/categories")
+    @QueryBudget(0)
+    public ResponseEntity<ApiResponse<List<CategoryDto>>> getCategoryTree() {
+        List<CategoryDto> tree = categoryService.getCategoryTree();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Categories retrieved successfully", tree));
+    }
+
+    @GetMapping("/categories/{id}")
+    @QueryBudget(0)
+    public ResponseEntity<ApiResponse<CategoryDetailDto>> getCategory(@PathVariable Long id) {
+        CategoryDetailDto category = categoryService.getCategory(id);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Category retrieved successfully", category));
+    }
+
+    @GetMapping("/categories/{id}/products")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<CursorPageDto<?>>> getCategoryProducts(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        ProductSort order = ProductSort.of(sort, direction);
+        CursorPageDto<?> page = fields == null
+                ? productService.listProductsInCategory(id, order, cursor, size)
+                : productService.listProductFieldsInCategory(id, order, cursor, size, ProductField.parse(fields));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Products retrieved successfully", page));
+    }
+
+    @PostMapping("/admin/categories")
+    public ResponseEntity<ApiResponse<CategoryDto>> createCategory(@Valid @RequestBody CategoryRequestDto request) {
+        CategoryDto category = categoryService.createCategory(request);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Category created successfully", category), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/admin/categories/{id}")
+    public ResponseEntity<ApiResponse<CategoryDto>> updateCategory(@PathVariable Long id,
+                                                                   @Valid @RequestBody CategoryRequestDto request) {
+        CategoryDto category = categoryService.updateCategory(id, request);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Category updated successfully", category));
+    }
+
+    @DeleteMapping("/admin/categories/{id}")
+    public ResponseEntity<ApiResponse<String>> deleteCategory(@PathVariable Long id) {
+        categoryService.deleteCategory(id);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Category deleted successfully"));
+    }
+}
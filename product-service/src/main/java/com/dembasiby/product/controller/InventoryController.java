@@ -0,0 +1,76 @@
+package com.dembasiby.product.controller;
+
+import com.dembasiby.product.dto.ApiResponse;
+import com.dembasiby.product.dto.AvailabilityDto;
+import com.dembasiby.product.dto.ReservationDto;
+import com.dembasiby.product.dto.ReservationRequestDto;
+import com.dembasiby.product.inventory.Reservation;
+import com.dembasiby.product.monitoring.QueryBudget;
+import com.dembasiby.product.service.InventoryService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/products")
+public class InventoryController {
+    private static final String RESERVATIONS = "/api/products/inventory/reservations/";
+
+    private final InventoryService inventoryService;
+
+    public InventoryController(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    /** Holds stock for every item or fails with 409 without holding any. */
+    @PostMapping("/inventory/reservations")
+    public ResponseEntity<ApiResponse<ReservationDto>> reserve(@Valid @RequestBody ReservationRequestDto request) {
+        Reservation reservation = inventoryService.reserve(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(HttpHeaders.LOCATION, RESERVATIONS + reservation.getId())
+                .body(new ApiResponse<>(true, "Stock reserved", ReservationDto.from(reservation, "RESERVED")));
+    }
+
+    @GetMapping("/inventory/reservations/{id}")
+    public ResponseEntity<?> getReservation(@PathVariable String id, @RequestHeader HttpHeaders headers) {
+        if (!inventoryService.isLocal(id)) {
+            return inventoryService.forward("GET", RESERVATIONS + id, headers, id);
+        }
+        ReservationDto reservation = ReservationDto.from(inventoryService.getReservation(id), "RESERVED");
+        return ResponseEntity.ok(new ApiResponse<>(true, "Reservation retrieved successfully", reservation));
+    }
+
+    @PostMapping("/inventory/reservations/{id}/commit")
+    public ResponseEntity<?> commit(@PathVariable String id, @RequestHeader HttpHeaders headers) {
+        if (!inventoryService.isLocal(id)) {
+            return inventoryService.forward("POST", RESERVATIONS + id + "/commit", headers, id);
+        }
+        ReservationDto reservation = ReservationDto.from(inventoryService.commit(id), "COMMITTED");
+        return ResponseEntity.ok(new ApiResponse<>(true, "Reservation committed", reservation));
+    }
+
+    @DeleteMapping("/inventory/reservations/{id}")
+    public ResponseEntity<?> release(@PathVariable String id, @RequestHeader HttpHeaders headers) {
+        if (!inventoryService.isLocal(id)) {
+            return inventoryService.forward("DELETE", RESERVATIONS + id, headers, id);
+        }
+        ReservationDto reservation = ReservationDto.from(inventoryService.release(id), "RELEASED");
+        return ResponseEntity.ok(new ApiResponse<>(true, "Reservation released", reservation));
+    }
+
+    @GetMapping("/{id}/availability")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<AvailabilityDto>> getAvailability(@PathVariable Long id) {
+        AvailabilityDto availability = inventoryService.getAvailability(id);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Availability retrieved successfully", availability));
+    }
+}
@@ -1,23 +1,174 @@
 package com.dembasiby.product.controller;
 
+import com.dembasiby.product.dto.ApiResponse;
+import com.dembasiby.product.dto.ProductBatchItemDto;
+import com.dembasiby.product.dto.ProductBatchRequestDto;
+import com.dembasiby.product.dto.CursorPageDto;
+import com.dembasiby.product.dto.FacetSearchDto;
+import com.dembasiby.product.dto.ProductChangesDto;
+import com.dembasiby.product.dto.ProductDetailDto;
+import com.dembasiby.product.dto.ProductRequestDto;
+import com.dembasiby.product.dto.ProductSearchHitDto;
+import com.dembasiby.product.dto.ProductSuggestionDto;
+import com.dembasiby.product.dto.TrendingProductDto;
+import com.dembasiby.product.monitoring.QueryBudget;
+import com.dembasiby.product.repository.ProductField;
+import com.dembasiby.product.repository.ProductSort;
+import com.dembasiby.product.service.FacetService;
+import com.dembasiby.product.service.ProductChangeService;
+import com.dembasiby.product.service.ProductSearchService;
 import com.dembasiby.product.service.ProductService;
+import com.dembasiby.product.service.ProductSuggestService;
+import com.dembasiby.product.service.TrendingService;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
     private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final FacetService facetService;
+    private final ProductSuggestService productSuggestService;
+    private final TrendingService trendingService;
+    private final ProductChangeService productChangeService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService,
+                             ProductSearchService productSearchService,
+                             FacetService facetService,
+                             ProductSuggestService productSuggestService,
+                             TrendingService trendingService,
+                             ProductChangeService productChangeService) {
         this.productService = productService;
+        this.productSearchService = productSearchService;
+        this.facetService = facetService;
+        this.productSuggestService = productSuggestService;
+        this.trendingService = trendingService;
+        this.productChangeService = productChangeService;
     }
 
+    /** Product summaries, or with {@code fields=id,name,...} only those fields of each product. */
     @GetMapping
-    ResponseEntity<String> getAllProducts() {
-        return new ResponseEntity<>(HttpStatus.OK);
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<CursorPageDto<?>>> getAllProducts(
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        ProductSort order = ProductSort.of(sort, direction);
+        CursorPageDto<?> page = fields == null
+                ? productService.listProducts(order, cursor, size)
+                : productService.listProductFields(order, cursor, size, ProductField.parse(fields));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Products retrieved successfully", page));
+    }
+
+    @GetMapping("/{id}")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<ProductDetailDto>> getProduct(@PathVariable Long id) {
+        ProductDetailDto product = productService.getProduct(id);
+        productSuggestService.recordView(id);
+        trendingService.recordView(id);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Product retrieved successfully", product));
+    }
+
+    /**
+     * Several products at once, e.g. the lines of a cart, in the order asked for. Unlike a
+     * detail page, a lookup is not counted as a view.
+     */
+    @GetMapping("/batch")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<List<ProductBatchItemDto>>> getProducts(@RequestParam List<Long> ids) {
+        List<ProductBatchItemDto> products = productService.getProducts(ids);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Products retrieved successfully", products));
+    }
+
+    /** The same lookup for id lists too long for a query string. */
+    @PostMapping("/batch")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<List<ProductBatchItemDto>>> getProducts(
+            @Valid @RequestBody ProductBatchRequestDto request) {
+        List<ProductBatchItemDto> products = productService.getProducts(request.getIds());
+        return ResponseEntity.ok(new ApiResponse<>(true, "Products retrieved successfully", products));
+    }
+
+    /** Products written or deleted after {@code since}; answers 410 when the cursor is too old. */
+    @GetMapping("/changes")
+    @QueryBudget(4)
+    public ResponseEntity<ApiResponse<ProductChangesDto>> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        ProductChangesDto changes = productChangeService.changesSince(since, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Changes retrieved successfully", changes));
+    }
+
+    @GetMapping("/search")
+    @QueryBudget(0)
+    public ResponseEntity<ApiResponse<List<ProductSearchHitDto>>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<ProductSearchHitDto> hits = productSearchService.search(q, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Search completed successfully", hits));
+    }
+
+    @GetMapping("/suggest")
+    @QueryBudget(0)
+    public ResponseEntity<ApiResponse<List<ProductSuggestionDto>>> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ProductSuggestionDto> suggestions = productSuggestService.suggest(q, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Suggestions retrieved successfully", suggestions));
+    }
+
+    @GetMapping("/trending")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<TrendingProductDto>>> getTrendingProducts(
+            @RequestParam(defaultValue = "10") int limit) {
+        List<TrendingProductDto> trending = trendingService.getTrending(limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Trending products retrieved successfully", trending));
+    }
+
+    @GetMapping("/facets")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<FacetSearchDto>> filterProducts(
+            @RequestParam(defaultValue = "") List<Long> category,
+            @RequestParam(defaultValue = "") List<String> brand,
+            @RequestParam(defaultValue = "") List<String> price,
+            @RequestParam(defaultValue = "") List<String> availability,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        FacetSearchDto result = facetService.search(category, brand, price, availability, cursor, size);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Products retrieved successfully", result));
+    }
+
+    @PostMapping("/admin")
+    public ResponseEntity<ApiResponse<ProductDetailDto>> createProduct(@Valid @RequestBody ProductRequestDto request) {
+        ProductDetailDto product = productService.createProduct(request);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Product created successfully", product), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/admin/{id}")
+    public ResponseEntity<ApiResponse<ProductDetailDto>> updateProduct(@PathVariable Long id,
+                                                                       @Valid @RequestBody ProductRequestDto request) {
+        ProductDetailDto product = productService.updateProduct(id, request);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Product updated successfully", product));
+    }
+
+    @DeleteMapping("/admin/{id}")
+    public ResponseEntity<ApiResponse<String>> deleteProduct(@PathVariable Long id) {
+        productService.deleteProduct(id);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Product deleted successfully"));
     }
 }
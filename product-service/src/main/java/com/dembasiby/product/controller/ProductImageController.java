@@ -0,0 +1,56 @@
+package com.dembasiby.product.controller;
+
+import com.dembasiby.product.dto.ApiResponse;
+import com.dembasiby.product.dto.ImageDto;
+import com.dembasiby.product.dto.ProductDetailDto;
+import com.dembasiby.product.media.FileRegionSender;
+import com.dembasiby.product.monitoring.QueryBudget;
+import com.dembasiby.product.service.ProductImageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/products")
+public class ProductImageController {
+    // Content-addressed, so a URL always names the same bytes
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final ProductImageService productImageService;
+
+    public ProductImageController(ProductImageService productImageService) {
+        this.productImageService = productImageService;
+    }
+
+    /** Stores the raw request body (JPEG, PNG or GIF) and returns the URLs of its variants. */
+    @PostMapping("/admin/images")
+    public ResponseEntity<ApiResponse<ImageDto>> uploadImage(HttpServletRequest request) throws IOException {
+        ImageDto image = productImageService.store(request.getInputStream());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(HttpHeaders.LOCATION, image.getUrls().get("original"))
+                .body(new ApiResponse<>(true, "Image stored successfully", image));
+    }
+
+    @PostMapping("/admin/{id}/image")
+    public ResponseEntity<ApiResponse<ProductDetailDto>> uploadProductImage(@PathVariable Long id,
+                                                                            HttpServletRequest request) throws IOException {
+        ProductDetailDto product = productImageService.storeForProduct(id, request.getInputStream());
+        return ResponseEntity.ok(new ApiResponse<>(true, "Product image updated successfully", product));
+    }
+
+    @RequestMapping(value = "/images/{hash}/{variant}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    @QueryBudget(0)
+    public void getImage(@PathVariable String hash, @PathVariable String variant,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FileRegionSender.send(request, response, productImageService.getImage(hash, variant), CACHE_CONTROL);
+    }
+}
@@ -0,0 +1,80 @@
+package com.dembasiby.product.controller;
+
+import com.dembasiby.product.dto.ApiResponse;
+import com.dembasiby.product.dto.ImportJobDto;
+import com.dembasiby.product.ingest.FeedFormat;
+import com.dembasiby.product.ingest.ImportJob;
+import com.dembasiby.product.service.ProductImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/products/admin/imports")
+public class ProductImportController {
+    private final ProductImportService productImportService;
+
+    public ProductImportController(ProductImportService productImportService) {
+        this.productImportService = productImportService;
+    }
+
+    /**
+     * Accepts the feed as the raw request body ({@code text/csv} or {@code application/x-ndjson},
+     * or any type with {@code ?format=}). The import runs in the background; poll the
+     * returned job for progress.
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<ImportJobDto>> startImport(
+            HttpServletRequest request,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "upload") String fileName,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType) throws IOException {
+        ImportJob job = productImportService.submitUpload(request.getInputStream(), fileName, feedFormat(format, contentType));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/products/admin/imports/" + job.getId())
+                .body(new ApiResponse<>(true, "Import accepted", ImportJobDto.from(job)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ImportJobDto>> getImport(@PathVariable String id) {
+        ImportJobDto job = ImportJobDto.from(productImportService.getJob(id));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Import status retrieved successfully", job));
+    }
+
+    /** Every rejected row of the job, one JSON object per line. */
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String id) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(new FileSystemResource(productImportService.getErrorFile(id)));
+    }
+
+    private static FeedFormat feedFormat(String format, String contentType) {
+        if (format != null) {
+            return FeedFormat.parse(format);
+        }
+        if (contentType != null) {
+            String type = contentType.toLowerCase();
+            if (type.startsWith("text/csv")) {
+                return FeedFormat.CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+                return FeedFormat.NDJSON;
+            }
+        }
+        throw new IllegalArgumentException("Send the feed as text/csv or application/x-ndjson, or pass ?format=csv|ndjson");
+    }
+}
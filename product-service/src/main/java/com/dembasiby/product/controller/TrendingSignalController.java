@@ -0,0 +1,52 @@
+package com.dembasiby.product.controller;
+
+import com.dembasiby.product.service.TrendingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Receives add-to-cart counts from cart-service for the trending list. Not routed by the
+ * gateway; cart-service calls it directly through discovery, presenting the shared
+ * {@code catalog.trending.signal-token}. Without a configured token every batch is refused.
+ */
+@RestController
+public class TrendingSignalController {
+    public static final String TOKEN_HEADER = "X-Trending-Signal-Token";
+
+    private final TrendingService trendingService;
+    private final String token;
+    private final int maxBatchProducts;
+
+    public TrendingSignalController(TrendingService trendingService,
+                                    @Value("${catalog.trending.signal-token:}") String token,
+                                    @Value("${catalog.trending.max-batch-products:10000}") int maxBatchProducts) {
+        this.trendingService = trendingService;
+        this.token = token;
+        this.maxBatchProducts = maxBatchProducts;
+    }
+
+    /** @param cartAdds number of add-to-cart actions, by product id */
+    @PostMapping("/internal/trending/cart-adds")
+    public ResponseEntity<Void> receiveCartAdds(@RequestHeader(value = TOKEN_HEADER, required = false) String presented,
+                                                @RequestBody Map<Long, Integer> cartAdds) {
+        if (token.isBlank() || !token.equals(presented)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (cartAdds.size() > maxBatchProducts) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        cartAdds.forEach((productId, count) -> {
+            if (productId != null && productId > 0 && count != null && count > 0) {
+                trendingService.recordCartAdds(productId, count);
+            }
+        });
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.dembasiby.product.dto;
+
+/**
+ * Stock of one product as seen by the answering instance: units it holds in memory plus units
+ * no instance has leased. Units leased by other instances are not included.
+ */
+public class AvailabilityDto {
+    private Long productId;
+    private long leasedHere;
+    private long unleased;
+    private long available;
+
+    public AvailabilityDto() {}
+
+    public AvailabilityDto(Long productId, long leasedHere, long unleased) {
+        this.productId = productId;
+        this.leasedHere = leasedHere;
+        this.unleased = unleased;
+        this.available = leasedHere + unleased;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public long getLeasedHere() {
+        return leasedHere;
+    }
+
+    public void setLeasedHere(long leasedHere) {
+        this.leasedHere = leasedHere;
+    }
+
+    public long getUnleased() {
+        return unleased;
+    }
+
+    public void setUnleased(long unleased) {
+        this.unleased = unleased;
+    }
+
+    public long getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(long available) {
+        this.available = available;
+    }
+}
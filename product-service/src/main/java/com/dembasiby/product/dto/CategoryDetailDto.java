@@ -0,0 +1,28 @@
+package com.dembasiby.product.dto;
+
+import com.dembasiby.product.category.CategoryNode;
+
+import java.util.List;
+
+/** A category page: the category, its breadcrumb trail and its direct subcategories. */
+public class CategoryDetailDto extends CategoryDto {
+    private List<CategoryDto> ancestors;
+
+    public CategoryDetailDto() {}
+
+    public static CategoryDetailDto from(CategoryNode node, List<CategoryNode> ancestors) {
+        CategoryDetailDto dto = new CategoryDetailDto();
+        copy(node, dto);
+        dto.setChildren(node.getChildren().stream().map(CategoryDto::shallow).toList());
+        dto.setAncestors(ancestors.stream().map(CategoryDto::shallow).toList());
+        return dto;
+    }
+
+    public List<CategoryDto> getAncestors() {
+        return ancestors;
+    }
+
+    public void setAncestors(List<CategoryDto> ancestors) {
+        this.ancestors = ancestors;
+    }
+}
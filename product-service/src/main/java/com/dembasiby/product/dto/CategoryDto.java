@@ -0,0 +1,107 @@
+package com.dembasiby.product.dto;
+
+import com.dembasiby.product.category.CategoryNode;
+import com.dembasiby.product.entity.Category;
+
+import java.util.List;
+
+public class CategoryDto {
+    private Long id;
+    private String name;
+    private String description;
+    private Long parentId;
+    private long productCount;
+    private long subtreeProductCount;
+    private List<CategoryDto> children;
+
+    public CategoryDto() {}
+
+    /** The node and its whole subtree. */
+    public static CategoryDto tree(CategoryNode node) {
+        CategoryDto dto = shallow(node);
+        dto.setChildren(node.getChildren().stream().map(CategoryDto::tree).toList());
+        return dto;
+    }
+
+    /** The node alone; {@code children} is left null. */
+    public static CategoryDto shallow(CategoryNode node) {
+        CategoryDto dto = new CategoryDto();
+        copy(node, dto);
+        return dto;
+    }
+
+    /** A freshly written category, before it shows up in the tree snapshot. */
+    public static CategoryDto from(Category category) {
+        CategoryDto dto = new CategoryDto();
+        dto.setId(category.getId());
+        dto.setName(category.getName());
+        dto.setDescription(category.getDescription());
+        dto.setParentId(category.getParent() == null ? null : category.getParent().getId());
+        return dto;
+    }
+
+    static void copy(CategoryNode node, CategoryDto dto) {
+        dto.setId(node.getId());
+        dto.setName(node.getName());
+        dto.setDescription(node.getDescription());
+        dto.setParentId(node.getParentId());
+        dto.setProductCount(node.getProductCount());
+        dto.setSubtreeProductCount(node.getSubtreeProductCount());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(long productCount) {
+        this.productCount = productCount;
+    }
+
+    public long getSubtreeProductCount() {
+        return subtreeProductCount;
+    }
+
+    public void setSubtreeProductCount(long subtreeProductCount) {
+        this.subtreeProductCount = subtreeProductCount;
+    }
+
+    public List<CategoryDto> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<CategoryDto> children) {
+        this.children = children;
+    }
+}
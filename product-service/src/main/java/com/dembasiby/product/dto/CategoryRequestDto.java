@@ -0,0 +1,40 @@
+package com.dembasiby.product.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class CategoryRequestDto {
+    @NotBlank(message = "Name is required")
+    @Size(max = 255, message = "Name must be at most 255 characters long")
+    private String name;
+
+    @Size(max = 255, message = "Description must be at most 255 characters long")
+    private String description;
+
+    /** Null for a top-level category. Changing it moves the category with its whole subtree. */
+    private Long parentId;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.dembasiby.product.dto;
+
+public class FacetCountDto {
+    private String value;
+    private String label;
+    private long count;
+
+    public FacetCountDto() {}
+
+    public FacetCountDto(String value, String label, long count) {
+        this.value = value;
+        this.label = label;
+        this.count = count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,53 @@
+package com.dembasiby.product.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/** One page of filtered products plus option counts for every facet. */
+public class FacetSearchDto {
+    private long total;
+    private List<ProductSummaryDto> items;
+    private String nextCursor;
+    private Map<String, List<FacetCountDto>> facets;
+
+    public FacetSearchDto() {}
+
+    public FacetSearchDto(long total, List<ProductSummaryDto> items, String nextCursor, Map<String, List<FacetCountDto>> facets) {
+        this.total = total;
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.facets = facets;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<ProductSummaryDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductSummaryDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Map<String, List<FacetCountDto>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, List<FacetCountDto>> facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,77 @@
+package com.dembasiby.product.dto;
+
+import com.dembasiby.product.media.StoredImage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ImageDto {
+    private String hash;
+    private String contentType;
+    private int width;
+    private int height;
+    private long size;
+    private Map<String, String> urls;
+
+    public ImageDto() {}
+
+    public static ImageDto from(StoredImage image, Map<String, String> urls) {
+        ImageDto dto = new ImageDto();
+        dto.setHash(image.getHash());
+        dto.setContentType(image.getContentType());
+        dto.setWidth(image.getWidth());
+        dto.setHeight(image.getHeight());
+        dto.setSize(image.getSize());
+        dto.setUrls(new LinkedHashMap<>(urls));
+        return dto;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    /** URL of the original and of each variant, by name. */
+    public Map<String, String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(Map<String, String> urls) {
+        this.urls = urls;
+    }
+}
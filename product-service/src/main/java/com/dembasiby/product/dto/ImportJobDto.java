@@ -0,0 +1,188 @@
+package com.dembasiby.product.dto;
+
+import com.dembasiby.product.ingest.ImportJob;
+import com.dembasiby.product.ingest.RowError;
+
+import java.time.Instant;
+import java.util.List;
+
+/** Status of a bulk import; {@code errors} holds the first rejected rows only. */
+public class ImportJobDto {
+    private String id;
+    private String fileName;
+    private String format;
+    private String state;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long bytesTotal;
+    private long bytesRead;
+    private long rowsRead;
+    private long created;
+    private long updated;
+    private long superseded;
+    private long rejected;
+    private double rowsPerSecond;
+    private String failure;
+    private List<RowError> errors;
+
+    public ImportJobDto() {}
+
+    public static ImportJobDto from(ImportJob job) {
+        ImportJobDto dto = new ImportJobDto();
+        dto.setId(job.getId());
+        dto.setFileName(job.getFileName());
+        dto.setFormat(job.getFormat().name());
+        dto.setState(job.getState().name());
+        dto.setSubmittedAt(job.getSubmittedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setBytesTotal(job.getBytesTotal());
+        dto.setBytesRead(job.getBytesRead());
+        dto.setRowsRead(job.getRowsRead());
+        dto.setCreated(job.getCreated());
+        dto.setUpdated(job.getUpdated());
+        dto.setSuperseded(job.getSuperseded());
+        dto.setRejected(job.getRejected());
+        dto.setRowsPerSecond(job.getRowsPerSecond());
+        dto.setFailure(job.getFailure());
+        dto.setErrors(job.getErrorSample());
+        return dto;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getBytesTotal() {
+        return bytesTotal;
+    }
+
+    public void setBytesTotal(long bytesTotal) {
+        this.bytesTotal = bytesTotal;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public long getSuperseded() {
+        return superseded;
+    }
+
+    public void setSuperseded(long superseded) {
+        this.superseded = superseded;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,43 @@
+package com.dembasiby.product.dto;
+
+/**
+ * One requested id of a batch lookup. A product that does not exist is answered with
+ * {@code found=false} and no {@code product}, rather than failing the whole batch.
+ */
+public class ProductBatchItemDto {
+    private Long id;
+    private boolean found;
+    private ProductDetailDto product;
+
+    public ProductBatchItemDto() {}
+
+    public ProductBatchItemDto(Long id, ProductDetailDto product) {
+        this.id = id;
+        this.found = product != null;
+        this.product = product;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public ProductDetailDto getProduct() {
+        return product;
+    }
+
+    public void setProduct(ProductDetailDto product) {
+        this.product = product;
+    }
+}
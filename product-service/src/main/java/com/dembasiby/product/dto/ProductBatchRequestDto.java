@@ -0,0 +1,22 @@
+package com.dembasiby.product.dto;
+
+import com.dembasiby.product.service.ProductService;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class ProductBatchRequestDto {
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = ProductService.MAX_BATCH_SIZE, message = "At most " + ProductService.MAX_BATCH_SIZE + " ids can be looked up at once")
+    private List<@NotNull(message = "Ids must not be null") Long> ids;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
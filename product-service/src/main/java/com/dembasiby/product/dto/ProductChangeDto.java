@@ -0,0 +1,55 @@
+package com.dembasiby.product.dto;
+
+/**
+ * One entry of the change feed: the current state of a product written since the cursor, or
+ * a delete, in which case {@code product} is {@code null}.
+ */
+public class ProductChangeDto {
+    public enum Type { UPSERTED, DELETED }
+
+    private long changeVersion;
+    private Type type;
+    private Long productId;
+    private ProductDetailDto product;
+
+    public ProductChangeDto() {}
+
+    public ProductChangeDto(long changeVersion, Type type, Long productId, ProductDetailDto product) {
+        this.changeVersion = changeVersion;
+        this.type = type;
+        this.productId = productId;
+        this.product = product;
+    }
+
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public ProductDetailDto getProduct() {
+        return product;
+    }
+
+    public void setProduct(ProductDetailDto product) {
+        this.product = product;
+    }
+}
@@ -0,0 +1,45 @@
+package com.dembasiby.product.dto;
+
+import java.util.List;
+
+/**
+ * One batch of the change feed. Pass {@code nextSince} as {@code since} on the next call;
+ * while {@code hasMore} is true, there are further changes to fetch right away.
+ */
+public class ProductChangesDto {
+    private List<ProductChangeDto> changes;
+    private long nextSince;
+    private boolean hasMore;
+
+    public ProductChangesDto() {}
+
+    public ProductChangesDto(List<ProductChangeDto> changes, long nextSince, boolean hasMore) {
+        this.changes = changes;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+
+    public List<ProductChangeDto> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ProductChangeDto> changes) {
+        this.changes = changes;
+    }
+
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    public void setNextSince(long nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
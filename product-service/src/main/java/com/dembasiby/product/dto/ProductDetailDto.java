@@ -0,0 +1,114 @@
+package com.dembasiby.product.dto;
+
+import com.dembasiby.product.entity.Product;
+
+public class ProductDetailDto {
+    private Long id;
+    private String sku;
+    private String name;
+    private String description;
+    private Double price;
+    private String imageUrl;
+    private String brand;
+    private int stockQuantity;
+    private Long categoryId;
+    private long version;
+
+    public ProductDetailDto() {}
+
+    public static ProductDetailDto from(Product product) {
+        ProductDetailDto dto = new ProductDetailDto();
+        dto.setId(product.getId());
+        dto.setSku(product.getSku());
+        dto.setName(product.getName());
+        dto.setDescription(product.getDescription());
+        dto.setPrice(product.getPrice());
+        dto.setImageUrl(product.getImageUrl());
+        dto.setBrand(product.getBrand());
+        dto.setStockQuantity(product.getAvailableQuantity());
+        // Reading the id of a lazy proxy does not load the category
+        dto.setCategoryId(product.getCategory() == null ? null : product.getCategory().getId());
+        dto.setVersion(product.getVersion());
+        return dto;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public int getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public void setStockQuantity(int stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
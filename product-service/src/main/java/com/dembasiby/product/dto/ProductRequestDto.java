@@ -0,0 +1,97 @@
+package com.dembasiby.product.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+public class ProductRequestDto {
+    @Size(max = 64, message = "SKU must be at most 64 characters long")
+    private String sku;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 255, message = "Name must be at most 255 characters long")
+    private String name;
+
+    @Size(max = 255, message = "Description must be at most 255 characters long")
+    private String description;
+
+    @NotNull(message = "Price is required")
+    @PositiveOrZero(message = "Price must not be negative")
+    private Double price;
+
+    @Size(max = 255, message = "Image URL must be at most 255 characters long")
+    private String imageUrl;
+
+    @Size(max = 255, message = "Brand must be at most 255 characters long")
+    private String brand;
+
+    @PositiveOrZero(message = "Stock quantity must not be negative")
+    private int stockQuantity;
+
+    private Long categoryId;
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public int getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public void setStockQuantity(int stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+}
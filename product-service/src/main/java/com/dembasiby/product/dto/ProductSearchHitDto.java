@@ -0,0 +1,31 @@
+package com.dembasiby.product.dto;
+
+import com.dembasiby.product.search.SearchHit;
+
+/**
+ * A product summary plus its relevance score. Served straight from the search index,
+ * without touching the database.
+ */
+public class ProductSearchHitDto extends ProductSummaryDto {
+    private float score;
+
+    public ProductSearchHitDto() {}
+
+    public ProductSearchHitDto(Long id, String name, Double price, String imageUrl, float score) {
+        super(id, name, price, imageUrl);
+        this.score = score;
+    }
+
+    public static ProductSearchHitDto from(SearchHit hit) {
+        return new ProductSearchHitDto(hit.getDocument().getId(), hit.getDocument().getName(),
+                hit.getDocument().getPrice(), hit.getDocument().getImageUrl(), hit.getScore());
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,36 @@
+package com.dembasiby.product.dto;
+
+import com.dembasiby.product.suggest.Suggestion;
+
+/** A typeahead suggestion, served from memory without touching the database. */
+public class ProductSuggestionDto {
+    private Long id;
+    private String name;
+
+    public ProductSuggestionDto() {}
+
+    public ProductSuggestionDto(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public static ProductSuggestionDto from(Suggestion suggestion) {
+        return new ProductSuggestionDto(suggestion.getProductId(), suggestion.getName());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,53 @@
+package com.dembasiby.product.dto;
+
+/**
+ * List view of a product. Deliberately leaves out {@code description}, which is only
+ * needed on the detail page and is by far the largest column.
+ */
+public class ProductSummaryDto {
+    private Long id;
+    private String name;
+    private Double price;
+    private String imageUrl;
+
+    public ProductSummaryDto() {}
+
+    public ProductSummaryDto(Long id, String name, Double price, String imageUrl) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.imageUrl = imageUrl;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+}
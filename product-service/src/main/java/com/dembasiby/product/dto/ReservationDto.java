@@ -0,0 +1,61 @@
+package com.dembasiby.product.dto;
+
+import com.dembasiby.product.inventory.Reservation;
+
+import java.time.Instant;
+import java.util.List;
+
+public class ReservationDto {
+    private String id;
+    private String status;
+    private List<ReservationRequestDto.Item> items;
+    private Instant expiresAt;
+
+    public ReservationDto() {}
+
+    public static ReservationDto from(Reservation reservation, String status) {
+        ReservationDto dto = new ReservationDto();
+        dto.setId(reservation.getId());
+        dto.setStatus(status);
+        dto.setItems(reservation.getItems().stream().map(reserved -> {
+            ReservationRequestDto.Item item = new ReservationRequestDto.Item();
+            item.setProductId(reserved.getProductId());
+            item.setQuantity(reserved.getQuantity());
+            return item;
+        }).toList());
+        dto.setExpiresAt(reservation.getExpiresAt());
+        return dto;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<ReservationRequestDto.Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReservationRequestDto.Item> items) {
+        this.items = items;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
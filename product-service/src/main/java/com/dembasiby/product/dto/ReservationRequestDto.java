@@ -0,0 +1,58 @@
+package com.dembasiby.product.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class ReservationRequestDto {
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "At most 100 items can be reserved at once")
+    private List<@Valid Item> items;
+
+    @Positive(message = "TTL must be positive")
+    private Long ttlSeconds;
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public Long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(Long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public static class Item {
+        @NotNull(message = "Product ID is required")
+        private Long productId;
+
+        @Positive(message = "Quantity must be positive")
+        private long quantity;
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(long quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.dembasiby.product.dto;
+
+/** A product on the trending list, with its weighted recent activity. */
+public class TrendingProductDto {
+    private Long id;
+    private String name;
+    private Double price;
+    private String imageUrl;
+    private double score;
+
+    public TrendingProductDto() {}
+
+    public TrendingProductDto(ProductSummaryDto product, double score) {
+        this.id = product.getId();
+        this.name = product.getName();
+        this.price = product.getPrice();
+        this.imageUrl = product.getImageUrl();
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -1,17 +1,164 @@
 package com.dembasiby.product.entity;
 
+import com.dembasiby.product.event.ProductEntityListener;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@Table(indexes = {
+        // Keyset pagination seeks on (sort column, id); see ProductRepositoryImpl
+        @Index(name = "idx_product_price_id", columnList = "price, id"),
+        @Index(name = "idx_product_name_id", columnList = "name, id"),
+        @Index(name = "idx_product_category_id", columnList = "category_id, id"),
+        // Supplier feeds identify products by SKU; bulk imports upsert on it
+        @Index(name = "uk_product_sku", columnList = "sku", unique = true),
+        // The change feed seeks on it; see ProductChangeService
+        @Index(name = "idx_product_change_version", columnList = "change_version")
+})
+@EntityListeners(ProductEntityListener.class)
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
+    @Column(length = 64)
+    private String sku;
+    @Column(nullable = false)
     private String name;
     private String description;
+    @Column(nullable = false)
     private Double price;
     private String imageUrl;
+    private String brand;
+    /** Units not leased by any instance; see {@code JdbcStockStore}. */
+    @Column(nullable = false)
+    private int stockQuantity;
+    /** Units leased by an instance and not sold yet. */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int leasedQuantity;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+    @Version
+    private long version;
+    /** Catalog-wide position of the last write to this product, from the {@code ChangeClock}. */
+    private Long changeVersion;
+
+    public Product() {}
+
+    public Product(String name, String description, Double price, String imageUrl) {
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.imageUrl = imageUrl;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public int getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public void setStockQuantity(int stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+
+    public int getLeasedQuantity() {
+        return leasedQuantity;
+    }
+
+    /** Units still for sale: unleased, plus leased and not sold yet. */
+    public int getAvailableQuantity() {
+        return stockQuantity + leasedQuantity;
+    }
+
+    /** Sets the units for sale, keeping those an instance has leased out of the unleased stock. */
+    public void setAvailableQuantity(int availableQuantity) {
+        this.stockQuantity = availableQuantity - leasedQuantity;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
 }
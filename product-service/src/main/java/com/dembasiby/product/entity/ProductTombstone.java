@@ -0,0 +1,46 @@
+package com.dembasiby.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Marks a deleted product for the change feed, so mirrors learn about the delete. Kept for
+ * {@code catalog.changes.tombstone-retention-ms}; cursors older than that must resync.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_product_tombstone_change_version", columnList = "change_version")
+})
+public class ProductTombstone {
+    @Id
+    private Long productId;
+    @Column(nullable = false)
+    private long changeVersion;
+    @Column(nullable = false)
+    private Instant deletedAt;
+
+    public ProductTombstone() {}
+
+    public ProductTombstone(Long productId, long changeVersion, Instant deletedAt) {
+        this.productId = productId;
+        this.changeVersion = changeVersion;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
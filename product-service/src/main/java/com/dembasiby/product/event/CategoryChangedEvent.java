@@ -0,0 +1,14 @@
+package com.dembasiby.product.event;
+
+/** Published when a category is created, renamed, moved or deleted. */
+public class CategoryChangedEvent {
+    private final Long categoryId;
+
+    public CategoryChangedEvent(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+}
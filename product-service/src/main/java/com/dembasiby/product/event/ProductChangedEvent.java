@@ -0,0 +1,32 @@
+package com.dembasiby.product.event;
+
+import com.dembasiby.product.entity.Product;
+
+/**
+ * Published for every insert, update and delete of a {@link Product}. Consumers that keep
+ * derived state (search index, caches) should listen after commit so they never see
+ * changes that are rolled back.
+ */
+public class ProductChangedEvent {
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Product product;
+
+    public ProductChangedEvent(Type type, Product product) {
+        this.type = type;
+        this.product = product;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public Long getProductId() {
+        return product.getId();
+    }
+}
@@ -0,0 +1,48 @@
+package com.dembasiby.product.event;
+
+import com.dembasiby.product.changes.ChangeClock;
+import com.dembasiby.product.entity.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA callbacks turned into {@link ProductChangedEvent}s. Hibernate obtains this listener
+ * from the Spring context, so it can use the event publisher. Every insert and update is
+ * also stamped with a new change version for the change feed.
+ */
+@Component
+public class ProductEntityListener {
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeClock changeClock;
+
+    public ProductEntityListener(ApplicationEventPublisher eventPublisher, ChangeClock changeClock) {
+        this.eventPublisher = eventPublisher;
+        this.changeClock = changeClock;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void beforeWrite(Product product) {
+        product.setChangeVersion(changeClock.next());
+    }
+
+    @PostPersist
+    public void afterInsert(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, product));
+    }
+
+    @PostUpdate
+    public void afterUpdate(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, product));
+    }
+
+    @PostRemove
+    public void afterDelete(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, product));
+    }
+}
@@ -0,0 +1,27 @@
+package com.dembasiby.product.event;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published once per committed bulk-import batch. Bulk writes go through JDBC and bypass the
+ * JPA callbacks, so no {@link ProductChangedEvent}s are raised for them.
+ */
+public class ProductsImportedEvent {
+    private final List<Long> createdIds;
+    private final Map<Long, Long> updatedVersions;
+
+    public ProductsImportedEvent(List<Long> createdIds, Map<Long, Long> updatedVersions) {
+        this.createdIds = createdIds;
+        this.updatedVersions = updatedVersions;
+    }
+
+    public List<Long> getCreatedIds() {
+        return createdIds;
+    }
+
+    /** New version of every updated product, by id. */
+    public Map<Long, Long> getUpdatedVersions() {
+        return updatedVersions;
+    }
+}
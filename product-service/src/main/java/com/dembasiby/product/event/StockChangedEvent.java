@@ -0,0 +1,21 @@
+package com.dembasiby.product.event;
+
+import java.util.Map;
+
+/**
+ * Published once stock leased, given back or settled by the inventory engine is committed.
+ * Those writes go through JDBC and bypass the JPA callbacks, and only change stock, so they
+ * raise no {@link ProductChangedEvent}s.
+ */
+public class StockChangedEvent {
+    private final Map<Long, Long> versions;
+
+    public StockChangedEvent(Map<Long, Long> versions) {
+        this.versions = versions;
+    }
+
+    /** New version of every product whose stock changed, by id. */
+    public Map<Long, Long> getVersions() {
+        return versions;
+    }
+}
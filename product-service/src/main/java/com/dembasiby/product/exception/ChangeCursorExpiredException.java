@@ -0,0 +1,13 @@
+package com.dembasiby.product.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** The change feed no longer has every delete since the cursor; the client must resync. */
+@ResponseStatus(HttpStatus.GONE)
+public class ChangeCursorExpiredException extends RuntimeException {
+
+    public ChangeCursorExpiredException(String message) {
+        super(message);
+    }
+}
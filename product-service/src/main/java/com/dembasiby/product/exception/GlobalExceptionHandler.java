@@ -0,0 +1,52 @@
+package com.dembasiby.product.exception;
+
+import com.dembasiby.product.dto.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiResponse<String>> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        return new ResponseEntity<>(new ApiResponse<>(false, ex.getMessage()), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ApiResponse<String>> handleInsufficientStockException(InsufficientStockException ex) {
+        return new ResponseEntity<>(new ApiResponse<>(false, ex.getMessage()), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ChangeCursorExpiredException.class)
+    public ResponseEntity<ApiResponse<String>> handleChangeCursorExpiredException(ChangeCursorExpiredException ex) {
+        return new ResponseEntity<>(new ApiResponse<>(false, ex.getMessage()), HttpStatus.GONE);
+    }
+
+    @ExceptionHandler(QueryBudgetExceededException.class)
+    public ResponseEntity<ApiResponse<String>> handleQueryBudgetExceededException(QueryBudgetExceededException ex) {
+        return new ResponseEntity<>(new ApiResponse<>(false, ex.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<String>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return new ResponseEntity<>(new ApiResponse<>(false, ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+        return new ResponseEntity<>(new ApiResponse<>(false, "Validation failed", errors), HttpStatus.BAD_REQUEST);
+    }
+}
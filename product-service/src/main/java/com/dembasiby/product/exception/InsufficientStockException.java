@@ -0,0 +1,18 @@
+package com.dembasiby.product.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InsufficientStockException extends RuntimeException {
+    private final long productId;
+
+    public InsufficientStockException(long productId, long requested) {
+        super("Not enough stock for product " + productId + " to reserve " + requested);
+        this.productId = productId;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+}
@@ -0,0 +1,322 @@
+package com.dembasiby.product.facet;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compressed bitmap per facet value (category, brand, price band, availability) over product
+ * ordinals. Filters are bitmap ANDs and ORs and facet counts are AND-cardinalities, so
+ * neither touches the database.
+ *
+ * <p>Product ids come from a sequence and are dense, so they are used as ordinals directly
+ * (as unsigned 32-bit ints); Roaring containers absorb the gaps left by deletes.
+ *
+ * <p>Counts for a facet with many values (brand) are tallied from a forward {@link ValueColumn}
+ * instead when the filtered set is small enough that walking it is cheaper.
+ *
+ * <p>Readers work on an immutable snapshot read from a volatile field. Writers are
+ * serialized and copy only the bitmaps a change touches before publishing a new snapshot.
+ */
+public class FacetIndex {
+    public static final String CATEGORY = "category";
+    public static final String BRAND = "brand";
+    public static final String PRICE = "price";
+    public static final String AVAILABILITY = "availability";
+    public static final String IN_STOCK = "in_stock";
+    public static final String OUT_OF_STOCK = "out_of_stock";
+    static final List<String> FACETS = List.of(CATEGORY, BRAND, PRICE, AVAILABILITY);
+    // Facets with many values also get a forward column so counts can be tallied instead
+    static final List<String> COLUMN_FACETS = List.of(BRAND);
+    // Tally when the filtered set has fewer than this many products per facet value; one
+    // AND-cardinality costs about as much as tallying a thousand ordinals
+    private static final long TALLY_THRESHOLD_PER_VALUE = 1024;
+
+    private final PriceBands priceBands;
+    private volatile Snapshot snapshot;
+
+    public FacetIndex(PriceBands priceBands) {
+        this(priceBands, Snapshot.empty());
+    }
+
+    private FacetIndex(PriceBands priceBands, Snapshot snapshot) {
+        this.priceBands = priceBands;
+        this.snapshot = snapshot;
+    }
+
+    public static Builder builder(PriceBands priceBands) {
+        return new Builder(priceBands);
+    }
+
+    public long size() {
+        return snapshot.all.getLongCardinality();
+    }
+
+    public long sizeInBytes() {
+        Snapshot current = snapshot;
+        long bytes = current.all.getLongSizeInBytes();
+        for (Map<String, RoaringBitmap> values : current.facets.values()) {
+            for (RoaringBitmap bitmap : values.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+        }
+        for (ValueColumn column : current.columns.values()) {
+            bytes += column.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /** Indexed values of {@code facet}, e.g. every brand. */
+    public Set<String> values(String facet) {
+        return snapshot.facets.get(facet).keySet();
+    }
+
+    /** Adds the product or moves it to its current facet values. */
+    public synchronized void index(ProductFacets product) {
+        apply(ordinal(product.getId()), values(product, priceBands));
+    }
+
+    public synchronized void remove(long id) {
+        apply(ordinal(id), null);
+    }
+
+    private void apply(int ordinal, Map<String, String> newValues) {
+        Snapshot current = snapshot;
+        Map<String, Map<String, RoaringBitmap>> facets = new HashMap<>(current.facets);
+        for (String facet : FACETS) {
+            String newValue = newValues == null ? null : newValues.get(facet);
+            Map<String, RoaringBitmap> values = current.facets.get(facet);
+            Map<String, RoaringBitmap> updated = null;
+            for (Map.Entry<String, RoaringBitmap> entry : values.entrySet()) {
+                if (!entry.getKey().equals(newValue) && entry.getValue().contains(ordinal)) {
+                    updated = updated != null ? updated : new HashMap<>(values);
+                    RoaringBitmap copy = entry.getValue().clone();
+                    copy.remove(ordinal);
+                    if (copy.isEmpty()) {
+                        updated.remove(entry.getKey());
+                    } else {
+                        updated.put(entry.getKey(), copy);
+                    }
+                }
+            }
+            if (newValue != null) {
+                RoaringBitmap bitmap = values.get(newValue);
+                if (bitmap == null || !bitmap.contains(ordinal)) {
+                    updated = updated != null ? updated : new HashMap<>(values);
+                    RoaringBitmap copy = bitmap == null ? new RoaringBitmap() : bitmap.clone();
+                    copy.add(ordinal);
+                    updated.put(newValue, copy);
+                }
+            }
+            if (updated != null) {
+                facets.put(facet, Collections.unmodifiableMap(updated));
+            }
+        }
+        Map<String, ValueColumn> columns = new HashMap<>(current.columns);
+        for (String facet : COLUMN_FACETS) {
+            columns.put(facet, columns.get(facet).with(ordinal, newValues == null ? null : newValues.get(facet)));
+        }
+        RoaringBitmap all = current.all;
+        if (newValues != null && !all.contains(ordinal)) {
+            all = all.clone();
+            all.add(ordinal);
+        } else if (newValues == null && all.contains(ordinal)) {
+            all = all.clone();
+            all.remove(ordinal);
+        }
+        snapshot = new Snapshot(all, Collections.unmodifiableMap(facets), Collections.unmodifiableMap(columns));
+    }
+
+    public FacetResult query(FacetQuery query) {
+        Snapshot current = snapshot;
+
+        Map<String, RoaringBitmap> selections = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> selected : query.getSelected().entrySet()) {
+            selections.put(selected.getKey(), current.union(selected.getKey(), selected.getValue()));
+        }
+        RoaringBitmap result = intersect(current.all, selections, null);
+
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, Set<String>>> counted : query.getCounted().entrySet()) {
+            String facet = counted.getKey();
+            // Disjunctive faceting: an option is counted against every filter but its own facet's
+            RoaringBitmap others = selections.containsKey(facet) ? intersect(current.all, selections, facet) : result;
+            Map<String, Long> facetCounts = new LinkedHashMap<>();
+            ValueColumn column = current.columns.get(facet);
+            Map<String, RoaringBitmap> values = current.facets.get(facet);
+            if (counted.getValue().isEmpty() && column != null && others != current.all
+                    && others.getLongCardinality() < values.size() * TALLY_THRESHOLD_PER_VALUE) {
+                long[] tallies = new long[column.dictionarySize() + 1];
+                PeekableIntIterator ordinals = others.getIntIterator();
+                while (ordinals.hasNext()) {
+                    tallies[column.code(ordinals.next())]++;
+                }
+                for (String value : values.keySet()) {
+                    facetCounts.put(value, tallies[column.code(value)]);
+                }
+            } else if (counted.getValue().isEmpty()) {
+                for (Map.Entry<String, RoaringBitmap> value : values.entrySet()) {
+                    facetCounts.put(value.getKey(), cardinality(current, others, value.getValue()));
+                }
+            } else {
+                for (Map.Entry<String, Set<String>> option : counted.getValue().entrySet()) {
+                    facetCounts.put(option.getKey(), cardinality(current, others, current.union(facet, option.getValue())));
+                }
+            }
+            counts.put(facet, facetCounts);
+        }
+
+        List<Long> ids = new ArrayList<>(query.getLimit());
+        PeekableIntIterator iterator = result.getIntIterator();
+        if (query.getAfterId() > 0) {
+            iterator.advanceIfNeeded(ordinal(query.getAfterId() + 1));
+        }
+        while (iterator.hasNext() && ids.size() < query.getLimit()) {
+            ids.add(Integer.toUnsignedLong(iterator.next()));
+        }
+        Long nextAfterId = iterator.hasNext() && !ids.isEmpty() ? ids.get(ids.size() - 1) : null;
+        return new FacetResult(result.getLongCardinality(), ids, nextAfterId, counts);
+    }
+
+    private static long cardinality(Snapshot snapshot, RoaringBitmap others, RoaringBitmap option) {
+        // Unfiltered counts are the option's own cardinality, which Roaring keeps per container
+        return others == snapshot.all ? option.getLongCardinality() : RoaringBitmap.andCardinality(others, option);
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap all, Map<String, RoaringBitmap> selections, String except) {
+        RoaringBitmap result = all;
+        for (Map.Entry<String, RoaringBitmap> selection : selections.entrySet()) {
+            if (!selection.getKey().equals(except)) {
+                result = RoaringBitmap.and(result, selection.getValue());
+            }
+        }
+        return result;
+    }
+
+    static Map<String, String> values(ProductFacets product, PriceBands priceBands) {
+        Map<String, String> values = new HashMap<>();
+        if (product.getCategoryId() != null) {
+            values.put(CATEGORY, product.getCategoryId().toString());
+        }
+        if (product.getBrand() != null && !product.getBrand().isBlank()) {
+            values.put(BRAND, product.getBrand().trim());
+        }
+        values.put(PRICE, priceBands.band(product.getPrice()));
+        values.put(AVAILABILITY, product.getStockQuantity() > 0 ? IN_STOCK : OUT_OF_STOCK);
+        return values;
+    }
+
+    static int ordinal(long id) {
+        if (id < 0 || id > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Product id out of bitmap range: " + id);
+        }
+        return (int) id;
+    }
+
+    private static final class Snapshot {
+        private static final int MAX_CACHED_UNIONS = 4096;
+
+        final RoaringBitmap all;
+        final Map<String, Map<String, RoaringBitmap>> facets;
+        final Map<String, ValueColumn> columns;
+        // Multi-value unions (category subtrees, mostly) recur on every request; they are
+        // only valid for this snapshot, so the cache is dropped along with it
+        private final Map<String, Map<Set<String>, RoaringBitmap>> unions = new ConcurrentHashMap<>();
+
+        Snapshot(RoaringBitmap all, Map<String, Map<String, RoaringBitmap>> facets, Map<String, ValueColumn> columns) {
+            this.all = all;
+            this.facets = facets;
+            this.columns = columns;
+        }
+
+        static Snapshot empty() {
+            Map<String, Map<String, RoaringBitmap>> facets = new HashMap<>();
+            for (String facet : FACETS) {
+                facets.put(facet, Map.of());
+            }
+            Map<String, ValueColumn> columns = new HashMap<>();
+            for (String facet : COLUMN_FACETS) {
+                columns.put(facet, new ValueColumn());
+            }
+            return new Snapshot(new RoaringBitmap(), Collections.unmodifiableMap(facets), Collections.unmodifiableMap(columns));
+        }
+
+        RoaringBitmap union(String facet, Set<String> values) {
+            Map<String, RoaringBitmap> bitmaps = facets.getOrDefault(facet, Map.of());
+            if (values.size() == 1) {
+                RoaringBitmap bitmap = bitmaps.get(values.iterator().next());
+                return bitmap != null ? bitmap : new RoaringBitmap();
+            }
+            Map<Set<String>, RoaringBitmap> cached = unions.computeIfAbsent(facet, key -> new ConcurrentHashMap<>());
+            RoaringBitmap union = cached.get(values);
+            if (union == null) {
+                List<RoaringBitmap> matching = new ArrayList<>(values.size());
+                for (String value : values) {
+                    RoaringBitmap bitmap = bitmaps.get(value);
+                    if (bitmap != null) {
+                        matching.add(bitmap);
+                    }
+                }
+                union = matching.isEmpty() ? new RoaringBitmap() : FastAggregation.or(matching.iterator());
+                if (cached.size() >= MAX_CACHED_UNIONS) {
+                    cached.clear();
+                }
+                cached.put(values, union);
+            }
+            return union;
+        }
+    }
+
+    /** Single-threaded bulk loader; bitmaps are run-length optimized once at the end. */
+    public static final class Builder {
+        private final PriceBands priceBands;
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<String, Map<String, RoaringBitmap>> facets = new HashMap<>();
+        private final Map<String, ValueColumn.Builder> columns = new HashMap<>();
+
+        private Builder(PriceBands priceBands) {
+            this.priceBands = priceBands;
+            for (String facet : FACETS) {
+                facets.put(facet, new HashMap<>());
+            }
+            for (String facet : COLUMN_FACETS) {
+                columns.put(facet, new ValueColumn.Builder());
+            }
+        }
+
+        public Builder add(ProductFacets product) {
+            int ordinal = ordinal(product.getId());
+            all.add(ordinal);
+            for (Map.Entry<String, String> value : values(product, priceBands).entrySet()) {
+                facets.get(value.getKey()).computeIfAbsent(value.getValue(), key -> new RoaringBitmap()).add(ordinal);
+                ValueColumn.Builder column = columns.get(value.getKey());
+                if (column != null) {
+                    column.set(ordinal, value.getValue());
+                }
+            }
+            return this;
+        }
+
+        public FacetIndex build() {
+            all.runOptimize();
+            Map<String, Map<String, RoaringBitmap>> frozen = new HashMap<>();
+            for (Map.Entry<String, Map<String, RoaringBitmap>> facet : facets.entrySet()) {
+                facet.getValue().values().forEach(RoaringBitmap::runOptimize);
+                frozen.put(facet.getKey(), Collections.unmodifiableMap(facet.getValue()));
+            }
+            Map<String, ValueColumn> builtColumns = new HashMap<>();
+            columns.forEach((facet, column) -> builtColumns.put(facet, column.build()));
+            return new FacetIndex(priceBands, new Snapshot(all, Collections.unmodifiableMap(frozen),
+                    Collections.unmodifiableMap(builtColumns)));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.dembasiby.product.facet;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What to filter on and what to count. Values within a facet are OR-ed, facets are AND-ed.
+ * Each counted option is itself a set of index values, so a category option can stand for
+ * its whole subtree.
+ */
+public final class FacetQuery {
+    private final Map<String, Set<String>> selected = new LinkedHashMap<>();
+    private final Map<String, Map<String, Set<String>>> counted = new LinkedHashMap<>();
+    private long afterId;
+    private int limit = 20;
+
+    public FacetQuery select(String facet, Collection<String> values) {
+        selected.put(facet, Set.copyOf(values));
+        return this;
+    }
+
+    public FacetQuery count(String facet, String option, Collection<String> values) {
+        counted.computeIfAbsent(facet, key -> new LinkedHashMap<>()).put(option, Set.copyOf(values));
+        return this;
+    }
+
+    /** Counts every value indexed for {@code facet} as its own option. */
+    public FacetQuery countEachValue(String facet) {
+        counted.computeIfAbsent(facet, key -> new LinkedHashMap<>());
+        return this;
+    }
+
+    public FacetQuery after(long id) {
+        this.afterId = id;
+        return this;
+    }
+
+    public FacetQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    Map<String, Set<String>> getSelected() {
+        return selected;
+    }
+
+    Map<String, Map<String, Set<String>>> getCounted() {
+        return counted;
+    }
+
+    long getAfterId() {
+        return afterId;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+}
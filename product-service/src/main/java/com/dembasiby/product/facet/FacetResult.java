@@ -0,0 +1,42 @@
+package com.dembasiby.product.facet;
+
+import java.util.List;
+import java.util.Map;
+
+public final class FacetResult {
+    private final long total;
+    private final List<Long> productIds;
+    private final Long nextAfterId;
+    private final Map<String, Map<String, Long>> counts;
+
+    FacetResult(long total, List<Long> productIds, Long nextAfterId, Map<String, Map<String, Long>> counts) {
+        this.total = total;
+        this.productIds = productIds;
+        this.nextAfterId = nextAfterId;
+        this.counts = counts;
+    }
+
+    /** Products matching every selected facet. */
+    public long getTotal() {
+        return total;
+    }
+
+    /** One page of matching product ids in ascending order. */
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+    /** Id to continue after for the next page, or {@code null} on the last page. */
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    /**
+     * Facet -> option -> matching products. An option's count applies every selected facet
+     * except its own, so it tells the shopper what that option would match alongside the
+     * other filters they have chosen.
+     */
+    public Map<String, Map<String, Long>> getCounts() {
+        return counts;
+    }
+}
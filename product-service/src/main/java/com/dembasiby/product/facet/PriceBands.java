@@ -0,0 +1,38 @@
+package com.dembasiby.product.facet;
+
+import java.util.Arrays;
+
+/**
+ * Fixed price ranges used as facet values. Bounds {@code [25, 50, 100]} give the bands
+ * {@code 0-25}, {@code 25-50}, {@code 50-100} and {@code 100+}; each band includes its lower bound.
+ */
+public final class PriceBands {
+    private final double[] bounds;
+    private final String[] labels;
+
+    public PriceBands(double... bounds) {
+        this.bounds = bounds.clone();
+        Arrays.sort(this.bounds);
+        labels = new String[this.bounds.length + 1];
+        double lower = 0;
+        for (int i = 0; i < this.bounds.length; i++) {
+            labels[i] = format(lower) + "-" + format(this.bounds[i]);
+            lower = this.bounds[i];
+        }
+        labels[this.bounds.length] = format(lower) + "+";
+    }
+
+    public String band(double price) {
+        int index = Arrays.binarySearch(bounds, price);
+        // An exact hit on a bound belongs to the band above it
+        return labels[index >= 0 ? index + 1 : -index - 1];
+    }
+
+    public String[] labels() {
+        return labels.clone();
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+}
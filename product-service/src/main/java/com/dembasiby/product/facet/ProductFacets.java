@@ -0,0 +1,46 @@
+package com.dembasiby.product.facet;
+
+import com.dembasiby.product.entity.Product;
+
+/** The facet-relevant fields of one product, as loaded for {@link FacetIndex}. */
+public final class ProductFacets {
+    private final long id;
+    private final Long categoryId;
+    private final String brand;
+    private final double price;
+    private final int stockQuantity;
+
+    public ProductFacets(Long id, Long categoryId, String brand, Double price, Integer stockQuantity) {
+        this.id = id;
+        this.categoryId = categoryId;
+        this.brand = brand;
+        this.price = price == null ? 0 : price;
+        this.stockQuantity = stockQuantity == null ? 0 : stockQuantity;
+    }
+
+    public static ProductFacets from(Product product) {
+        return new ProductFacets(product.getId(),
+                product.getCategory() == null ? null : product.getCategory().getId(),
+                product.getBrand(), product.getPrice(), product.getAvailableQuantity());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public int getStockQuantity() {
+        return stockQuantity;
+    }
+}
@@ -0,0 +1,106 @@
+package com.dembasiby.product.facet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Forward index for one facet: ordinal -> value code, stored in fixed-size chunks. Used to
+ * tally counts for facets with many values (brands) when the filtered set is small, where
+ * walking the set beats one AND-cardinality per value. Immutable; {@link #with} copies only
+ * the chunk it changes.
+ */
+final class ValueColumn {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Code 0 means "no value"; value i is stored as code i + 1
+    private final int[][] chunks;
+    private final String[] dictionary;
+    private final Map<String, Integer> codes;
+
+    ValueColumn() {
+        this(new int[0][], new String[0], Map.of());
+    }
+
+    private ValueColumn(int[][] chunks, String[] dictionary, Map<String, Integer> codes) {
+        this.chunks = chunks;
+        this.dictionary = dictionary;
+        this.codes = codes;
+    }
+
+    int code(int ordinal) {
+        int chunk = ordinal >>> CHUNK_BITS;
+        return chunk < chunks.length && chunks[chunk] != null ? chunks[chunk][ordinal & CHUNK_MASK] : 0;
+    }
+
+    /** Code for {@code value}, or 0 if the column has never seen it. */
+    int code(String value) {
+        Integer code = codes.get(value);
+        return code == null ? 0 : code;
+    }
+
+    int dictionarySize() {
+        return dictionary.length;
+    }
+
+    long sizeInBytes() {
+        long bytes = (long) chunks.length * 8;
+        for (int[] chunk : chunks) {
+            bytes += chunk == null ? 0 : (long) chunk.length * 4;
+        }
+        return bytes;
+    }
+
+    ValueColumn with(int ordinal, String value) {
+        String[] newDictionary = dictionary;
+        Map<String, Integer> newCodes = codes;
+        int code = 0;
+        if (value != null) {
+            code = code(value);
+            if (code == 0) {
+                newDictionary = Arrays.copyOf(dictionary, dictionary.length + 1);
+                newDictionary[dictionary.length] = value;
+                newCodes = new HashMap<>(codes);
+                code = newDictionary.length;
+                newCodes.put(value, code);
+            }
+        }
+        if (code(ordinal) == code && newDictionary == dictionary) {
+            return this;
+        }
+        int chunk = ordinal >>> CHUNK_BITS;
+        int[][] newChunks = Arrays.copyOf(chunks, Math.max(chunks.length, chunk + 1));
+        newChunks[chunk] = newChunks[chunk] == null ? new int[CHUNK_SIZE] : newChunks[chunk].clone();
+        newChunks[chunk][ordinal & CHUNK_MASK] = code;
+        return new ValueColumn(newChunks, newDictionary, newCodes);
+    }
+
+    /** Mutable fill used by {@link FacetIndex.Builder}. */
+    static final class Builder {
+        private int[][] chunks = new int[0][];
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        void set(int ordinal, String value) {
+            int chunk = ordinal >>> CHUNK_BITS;
+            if (chunk >= chunks.length) {
+                chunks = Arrays.copyOf(chunks, Math.max(chunk + 1, chunks.length * 2));
+            }
+            if (chunks[chunk] == null) {
+                chunks[chunk] = new int[CHUNK_SIZE];
+            }
+            chunks[chunk][ordinal & CHUNK_MASK] = codes.computeIfAbsent(value, key -> codes.size() + 1);
+        }
+
+        ValueColumn build() {
+            String[] dictionary = new String[codes.size()];
+            codes.forEach((value, code) -> dictionary[code - 1] = value);
+            int used = chunks.length;
+            while (used > 0 && chunks[used - 1] == null) {
+                used--;
+            }
+            return new ValueColumn(Arrays.copyOf(chunks, used), dictionary, Map.copyOf(codes));
+        }
+    }
+}
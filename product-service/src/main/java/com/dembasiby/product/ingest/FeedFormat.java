@@ -0,0 +1,27 @@
+package com.dembasiby.product.ingest;
+
+import java.util.Locale;
+
+public enum FeedFormat {
+    CSV,
+    NDJSON;
+
+    public static FeedFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the feed format of " + fileName + "; expected .csv, .ndjson or .jsonl");
+    }
+
+    public static FeedFormat parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown feed format: " + value);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.dembasiby.product.ingest;
+
+import com.dembasiby.product.service.ProductImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line import: {@code --catalog.import.file=feed.csv} imports the file on startup,
+ * prints the summary and exits with status 0, or 1 if the job failed or rejected rows.
+ * Combine with {@code --spring.main.web-application-type=none --eureka.client.enabled=false}
+ * to run it without serving traffic.
+ */
+@Component
+@ConditionalOnProperty("catalog.import.file")
+public class FeedImportRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(FeedImportRunner.class);
+
+    private final ProductImportService productImportService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final String format;
+    private final boolean exitWhenDone;
+
+    public FeedImportRunner(ProductImportService productImportService,
+                            ConfigurableApplicationContext context,
+                            @Value("${catalog.import.file}") Path file,
+                            @Value("${catalog.import.format:}") String format,
+                            @Value("${catalog.import.exit-when-done:true}") boolean exitWhenDone) {
+        this.productImportService = productImportService;
+        this.context = context;
+        this.file = file;
+        this.format = format;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Feed file not found: " + file);
+        }
+        FeedFormat feedFormat = format.isBlank() ? FeedFormat.fromFileName(file.toString()) : FeedFormat.parse(format);
+        ImportJob job = productImportService.importFile(file, feedFormat, !exitWhenDone);
+        logger.info("Import of {} {}: {} rows, {} created, {} updated, {} superseded, {} rejected, {} rows/s",
+                file, job.getState(), job.getRowsRead(), job.getCreated(), job.getUpdated(), job.getSuperseded(),
+                job.getRejected(), Math.round(job.getRowsPerSecond()));
+        if (job.getRejected() > 0) {
+            logger.info("Rejected rows: {}", productImportService.getErrorFile(job.getId()));
+        }
+        if (exitWhenDone) {
+            int status = job.getState() == ImportJob.State.COMPLETED && job.getRejected() == 0 ? 0 : 1;
+            System.exit(SpringApplication.exit(context, () -> status));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.dembasiby.product.ingest;
+
+import com.dembasiby.product.dto.ProductRequestDto;
+
+/** A validated feed row and the line it started on. */
+public class FeedRow {
+    private final long line;
+    private final ProductRequestDto product;
+
+    public FeedRow(long line, ProductRequestDto product) {
+        this.line = line;
+        this.product = product;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public ProductRequestDto getProduct() {
+        return product;
+    }
+}
@@ -0,0 +1,156 @@
+package com.dembasiby.product.ingest;
+
+import com.dembasiby.product.dto.ProductRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Turns feed records into {@link ProductRequestDto}s and applies the same bean validation as
+ * the admin API, plus the checks only a feed needs: a SKU to upsert on and an existing
+ * category. Stateless after construction, so one instance serves all validation threads.
+ */
+public class FeedRowParser {
+    private static final int MAX_REPORTED_RECORD_LENGTH = 1000;
+    private static final String[] FIELDS = {
+            "sku", "name", "description", "price", "imageurl", "brand", "stockquantity", "categoryid"
+    };
+
+    private final FeedFormat format;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final LongPredicate categoryExists;
+    private final int[] columns;
+
+    private FeedRowParser(FeedFormat format, ObjectMapper objectMapper, Validator validator,
+                          LongPredicate categoryExists, int[] columns) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.categoryExists = categoryExists;
+        this.columns = columns;
+    }
+
+    public static FeedRowParser ndjson(ObjectMapper objectMapper, Validator validator, LongPredicate categoryExists) {
+        return new FeedRowParser(FeedFormat.NDJSON, objectMapper, validator, categoryExists, null);
+    }
+
+    /**
+     * Maps CSV columns by header name, case-insensitively and ignoring {@code _}, so both
+     * {@code imageUrl} and {@code image_url} work. Unknown columns are ignored.
+     */
+    public static FeedRowParser csv(String header, ObjectMapper objectMapper, Validator validator,
+                                    LongPredicate categoryExists) {
+        List<String> names = CsvRecordParser.parse(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        int[] columns = new int[FIELDS.length];
+        for (int field = 0; field < FIELDS.length; field++) {
+            columns[field] = -1;
+            for (int column = 0; column < names.size(); column++) {
+                if (normalize(names.get(column)).equals(FIELDS[field])) {
+                    columns[field] = column;
+                }
+            }
+        }
+        for (String required : List.of("sku", "name", "price")) {
+            if (columns[List.of(FIELDS).indexOf(required)] < 0) {
+                throw new IllegalArgumentException("CSV header has no " + required + " column");
+            }
+        }
+        return new FeedRowParser(FeedFormat.CSV, objectMapper, validator, categoryExists, columns);
+    }
+
+    public RowBatch parse(List<MappedRecordReader.Record> records) {
+        RowBatch batch = new RowBatch();
+        for (MappedRecordReader.Record record : records) {
+            if (record.isOversized()) {
+                batch.getErrors().add(new RowError(record.getLine(),
+                        "Record longer than " + MappedRecordReader.MAX_RECORD_BYTES + " bytes", null));
+                continue;
+            }
+            try {
+                batch.getRows().add(new FeedRow(record.getLine(), validate(read(record.getText()))));
+            } catch (IllegalArgumentException e) {
+                batch.getErrors().add(new RowError(record.getLine(), e.getMessage(), truncate(record.getText())));
+            }
+        }
+        return batch;
+    }
+
+    private ProductRequestDto read(String text) {
+        if (format == FeedFormat.NDJSON) {
+            try {
+                return objectMapper.readValue(text, ProductRequestDto.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        List<String> values = CsvRecordParser.parse(text);
+        ProductRequestDto product = new ProductRequestDto();
+        product.setSku(column(values, 0));
+        product.setName(column(values, 1));
+        product.setDescription(column(values, 2));
+        product.setPrice(number(values, 3, "price", Double::valueOf));
+        product.setImageUrl(column(values, 4));
+        product.setBrand(column(values, 5));
+        Integer stock = number(values, 6, "stockQuantity", Integer::valueOf);
+        product.setStockQuantity(stock == null ? 0 : stock);
+        product.setCategoryId(number(values, 7, "categoryId", Long::valueOf));
+        return product;
+    }
+
+    private ProductRequestDto validate(ProductRequestDto product) {
+        if (product.getSku() == null || product.getSku().isBlank()) {
+            throw new IllegalArgumentException("sku: SKU is required");
+        }
+        product.setSku(product.getSku().trim());
+        Set<ConstraintViolation<ProductRequestDto>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining("; ")));
+        }
+        if (product.getCategoryId() != null && !categoryExists.test(product.getCategoryId())) {
+            throw new IllegalArgumentException("categoryId: Category not found with id: " + product.getCategoryId());
+        }
+        return product;
+    }
+
+    private String column(List<String> values, int field) {
+        int column = columns[field];
+        if (column < 0 || column >= values.size()) {
+            return null;
+        }
+        String value = values.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private <T> T number(List<String> values, int field, String name, Function<String, T> parser) {
+        String value = column(values, field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + ": Not a number: " + value);
+        }
+    }
+
+    private static String normalize(String header) {
+        return header.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= MAX_REPORTED_RECORD_LENGTH ? text : text.substring(0, MAX_REPORTED_RECORD_LENGTH) + "...";
+    }
+}
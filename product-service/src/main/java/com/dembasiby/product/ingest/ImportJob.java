@@ -0,0 +1,159 @@
+package com.dembasiby.product.ingest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of one feed import. Counters are written only by the import thread and read by
+ * status requests, so plain volatile fields are enough. At most {@link #ERROR_SAMPLE_SIZE}
+ * rejected rows are kept in memory; the full list goes to the job's error file.
+ */
+public class ImportJob {
+    public static final int ERROR_SAMPLE_SIZE = 100;
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String fileName;
+    private final FeedFormat format;
+    private final Instant submittedAt = Instant.now();
+    private final List<RowError> errorSample = new ArrayList<>();
+    private volatile State state = State.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+    private volatile long bytesTotal;
+    private volatile long bytesRead;
+    private volatile long rowsRead;
+    private volatile long created;
+    private volatile long updated;
+    private volatile long superseded;
+    private volatile long rejected;
+
+    public ImportJob(String id, String fileName, FeedFormat format) {
+        this.id = id;
+        this.fileName = fileName;
+        this.format = format;
+    }
+
+    public void start(long bytesTotal) {
+        this.bytesTotal = bytesTotal;
+        this.startedAt = Instant.now();
+        this.state = State.RUNNING;
+    }
+
+    public void complete() {
+        this.bytesRead = bytesTotal;
+        this.finishedAt = Instant.now();
+        this.state = State.COMPLETED;
+    }
+
+    public void fail(String failure) {
+        this.failure = failure;
+        this.finishedAt = Instant.now();
+        this.state = State.FAILED;
+    }
+
+    public void recordRead(long rows, long bytesRead) {
+        this.rowsRead += rows;
+        this.bytesRead = bytesRead;
+    }
+
+    public void recordWritten(int created, int updated, int superseded) {
+        this.created += created;
+        this.updated += updated;
+        this.superseded += superseded;
+    }
+
+    public void recordRejected(RowError error) {
+        rejected++;
+        synchronized (errorSample) {
+            if (errorSample.size() < ERROR_SAMPLE_SIZE) {
+                errorSample.add(error);
+            }
+        }
+    }
+
+    /** Rows per second over the run so far, or over the whole run once finished. */
+    public double getRowsPerSecond() {
+        Instant start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        Instant end = finishedAt == null ? Instant.now() : finishedAt;
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return rowsRead * 1000.0 / millis;
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public FeedFormat getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public long getBytesTotal() {
+        return bytesTotal;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getSuperseded() {
+        return superseded;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<RowError> getErrorSample() {
+        synchronized (errorSample) {
+            return List.copyOf(errorSample);
+        }
+    }
+}
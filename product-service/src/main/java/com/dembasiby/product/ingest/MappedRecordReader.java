@@ -0,0 +1,151 @@
+package com.dembasiby.product.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Splits a feed file into records by scanning a memory-mapped window of it. Only one window
+ * is mapped at a time, so files of any size are read with the same footprint and without
+ * copying through a user-space buffer.
+ *
+ * <p>Records end at a newline. When {@code quoteAware} is set (CSV), newlines inside double
+ * quotes do not end the record. Blank lines are skipped and a trailing {@code \r} is removed.
+ * A record longer than {@link #MAX_RECORD_BYTES} is skipped up to the next newline and
+ * reported with {@link Record#isOversized()} so a corrupt file cannot exhaust memory.
+ */
+public class MappedRecordReader implements Closeable {
+    public static final int MAX_RECORD_BYTES = 1 << 20;
+    private static final long WINDOW_BYTES = 64L << 20;
+
+    private final FileChannel channel;
+    private final long size;
+    private final boolean quoteAware;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long line = 1;
+
+    public MappedRecordReader(Path file, boolean quoteAware) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.quoteAware = quoteAware;
+    }
+
+    /** The next non-blank record, or {@code null} at end of file. */
+    public Record next() throws IOException {
+        while (position < size) {
+            Record record = readRecord();
+            if (record.isOversized() || !record.getText().isBlank()) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    /** Bytes consumed so far, for progress reporting. */
+    public long getPosition() {
+        return position;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    private Record readRecord() throws IOException {
+        ensureMapped(position);
+        long startLine = line;
+        long start = position;
+        boolean inQuotes = false;
+        long limit = Math.min(size, start + MAX_RECORD_BYTES);
+        long i = start;
+        while (i < limit) {
+            byte b = window.get((int) (i - windowStart));
+            if (b == '"' && quoteAware) {
+                inQuotes = !inQuotes;
+            } else if (b == '\n') {
+                line++;
+                if (!inQuotes) {
+                    position = i + 1;
+                    return new Record(startLine, decode(start, i), false);
+                }
+            }
+            i++;
+        }
+        if (i == size) {
+            position = size;
+            return new Record(startLine, decode(start, size), false);
+        }
+        skipToNextLine(i);
+        return new Record(startLine, null, true);
+    }
+
+    private void skipToNextLine(long from) throws IOException {
+        long i = from;
+        while (i < size) {
+            ensureMapped(i);
+            byte b = window.get((int) (i - windowStart));
+            i++;
+            if (b == '\n') {
+                line++;
+                break;
+            }
+        }
+        position = i;
+    }
+
+    private String decode(long start, long end) {
+        long length = end - start;
+        if (length > 0 && window.get((int) (end - 1 - windowStart)) == '\r') {
+            length--;
+        }
+        byte[] bytes = new byte[(int) length];
+        window.get((int) (start - windowStart), bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Maps a window so that a whole record starting at {@code offset} fits in it. */
+    private void ensureMapped(long offset) throws IOException {
+        long windowEnd = window == null ? 0 : windowStart + window.capacity();
+        boolean covered = window != null && offset >= windowStart
+                && (offset + MAX_RECORD_BYTES <= windowEnd || windowEnd == size);
+        if (!covered) {
+            windowStart = offset;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW_BYTES, size - offset));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    public static class Record {
+        private final long line;
+        private final String text;
+        private final boolean oversized;
+
+        Record(long line, String text, boolean oversized) {
+            this.line = line;
+            this.text = text;
+            this.oversized = oversized;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public boolean isOversized() {
+            return oversized;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.dembasiby.product.ingest;
+
+import com.dembasiby.product.changes.ChangeClock;
+import com.dembasiby.product.dto.ProductRequestDto;
+import com.dembasiby.product.event.ProductsImportedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Upserts a batch of feed rows keyed by SKU in one transaction: one {@code IN} query finds
+ * the existing rows, then new rows go out as one batched {@code INSERT} and existing ones as
+ * one batched {@code UPDATE}. Updates bump the optimistic-lock version and are conditional on
+ * it, so a product edited through the API in the meantime is reported rather than overwritten.
+ * A row's stock quantity is what is for sale; units leased by instances are kept out of the
+ * unleased stock it is written to.
+ */
+public class ProductBatchWriter {
+    private static final String FIND_EXISTING =
+            "select id, sku, version from product where sku in (:skus)";
+    private static final String INSERT =
+            "insert into product (id, sku, name, description, price, image_url, brand, stock_quantity, leased_quantity, " +
+            "category_id, version, change_version) values (:id, :sku, :name, :description, :price, :imageUrl, :brand, " +
+            ":stockQuantity, 0, :categoryId, 0, :changeVersion)";
+    private static final String UPDATE =
+            "update product set name = :name, description = :description, price = :price, image_url = :imageUrl, " +
+            "brand = :brand, stock_quantity = :stockQuantity - leased_quantity, category_id = :categoryId, version = version + 1, " +
+            "change_version = :changeVersion where id = :id and version = :version";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PooledIdGenerator idGenerator;
+    private final ChangeClock changeClock;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductBatchWriter(NamedParameterJdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              PooledIdGenerator idGenerator,
+                              ChangeClock changeClock,
+                              ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.idGenerator = idGenerator;
+        this.changeClock = changeClock;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Result write(List<FeedRow> rows) {
+        // A SKU repeated within the batch is written once, with its last occurrence
+        Map<String, FeedRow> bySku = new LinkedHashMap<>();
+        for (FeedRow row : rows) {
+            bySku.put(row.getProduct().getSku(), row);
+        }
+        int superseded = rows.size() - bySku.size();
+        try {
+            return writeOnce(bySku, superseded);
+        } catch (DuplicateKeyException e) {
+            // Another writer inserted one of these SKUs after our lookup; it now exists, so retry as an update
+            return writeOnce(bySku, superseded);
+        }
+    }
+
+    private Result writeOnce(Map<String, FeedRow> bySku, int superseded) {
+        return transactionTemplate.execute(status -> {
+            Map<String, long[]> existing = new HashMap<>();
+            jdbcTemplate.query(FIND_EXISTING, new MapSqlParameterSource("skus", bySku.keySet()), resultSet -> {
+                existing.put(resultSet.getString("sku"), new long[]{resultSet.getLong("id"), resultSet.getLong("version")});
+            });
+
+            List<MapSqlParameterSource> inserts = new ArrayList<>();
+            List<MapSqlParameterSource> updates = new ArrayList<>();
+            List<FeedRow> updatedRows = new ArrayList<>();
+            List<Long> createdIds = new ArrayList<>();
+            for (FeedRow row : bySku.values()) {
+                long[] current = existing.get(row.getProduct().getSku());
+                if (current == null) {
+                    long id = idGenerator.next();
+                    createdIds.add(id);
+                    inserts.add(parameters(row.getProduct()).addValue("id", id));
+                } else {
+                    updates.add(parameters(row.getProduct()).addValue("id", current[0]).addValue("version", current[1]));
+                    updatedRows.add(row);
+                }
+            }
+
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT, inserts.toArray(MapSqlParameterSource[]::new));
+            }
+            Result result = new Result(createdIds.size(), superseded);
+            Map<Long, Long> updatedVersions = new HashMap<>();
+            if (!updates.isEmpty()) {
+                int[] counts = jdbcTemplate.batchUpdate(UPDATE, updates.toArray(MapSqlParameterSource[]::new));
+                for (int i = 0; i < counts.length; i++) {
+                    FeedRow row = updatedRows.get(i);
+                    long[] current = existing.get(row.getProduct().getSku());
+                    if (counts[i] == 0) {
+                        result.conflicts.add(new RowError(row.getLine(),
+                                "sku: Product " + row.getProduct().getSku() + " was modified during the import", null));
+                    } else if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                        updatedVersions.put(current[0], current[1] + 1);
+                    }
+                }
+            }
+            result.updated = updatedVersions.size();
+            eventPublisher.publishEvent(new ProductsImportedEvent(createdIds, updatedVersions));
+            return result;
+        });
+    }
+
+    private MapSqlParameterSource parameters(ProductRequestDto product) {
+        return new MapSqlParameterSource()
+                .addValue("changeVersion", changeClock.next())
+                .addValue("sku", product.getSku())
+                .addValue("name", product.getName())
+                .addValue("description", product.getDescription())
+                .addValue("price", product.getPrice())
+                .addValue("imageUrl", product.getImageUrl())
+                .addValue("brand", product.getBrand())
+                .addValue("stockQuantity", product.getStockQuantity())
+                .addValue("categoryId", product.getCategoryId(), Types.BIGINT);
+    }
+
+    public static class Result {
+        private final int created;
+        private final int superseded;
+        private int updated;
+        private final List<RowError> conflicts = new ArrayList<>();
+
+        Result(int created, int superseded) {
+            this.created = created;
+            this.superseded = superseded;
+        }
+
+        public int getCreated() {
+            return created;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        /** Rows skipped because a later row in the same batch had the same SKU. */
+        public int getSuperseded() {
+            return superseded;
+        }
+
+        public List<RowError> getConflicts() {
+            return conflicts;
+        }
+    }
+}
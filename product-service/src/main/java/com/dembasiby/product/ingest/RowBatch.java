@@ -0,0 +1,18 @@
+package com.dembasiby.product.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** One chunk of the feed after validation: rows ready to write and rows rejected. */
+public class RowBatch {
+    private final List<FeedRow> rows = new ArrayList<>();
+    private final List<RowError> errors = new ArrayList<>();
+
+    public List<FeedRow> getRows() {
+        return rows;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+}
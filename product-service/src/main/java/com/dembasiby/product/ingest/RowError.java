@@ -0,0 +1,40 @@
+package com.dembasiby.product.ingest;
+
+/** A feed row that was not imported, with the reason. */
+public class RowError {
+    private long line;
+    private String message;
+    private String record;
+
+    public RowError() {}
+
+    public RowError(long line, String message, String record) {
+        this.line = line;
+        this.message = message;
+        this.record = record;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getRecord() {
+        return record;
+    }
+
+    public void setRecord(String record) {
+        this.record = record;
+    }
+}
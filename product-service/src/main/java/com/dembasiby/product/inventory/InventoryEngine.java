@@ -0,0 +1,315 @@
+package com.dembasiby.product.inventory;
+
+import com.dembasiby.product.exception.InsufficientStockException;
+import com.dembasiby.product.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reservations against stock leased from a {@link StockStore}. Each instance leases blocks of
+ * units per product and serves reservations from a {@link StripedStock} in memory, so a hot
+ * product costs one row lock per block rather than one per checkout, and several instances
+ * can never hand out the same unit.
+ *
+ * <ul>
+ *     <li>{@link #reserve} takes units from memory, leasing another block when they run out;</li>
+ *     <li>{@link #commit} consumes them for good, once the {@link InventoryJournal} has it on disk;</li>
+ *     <li>{@link #release} and expiry put them back in memory for the next reservation;</li>
+ *     <li>{@link #giveBackIdle} returns units of products nobody reserved recently to the store;</li>
+ *     <li>{@link #settleCommitted} tells the store which leased units were sold, in one batch.</li>
+ * </ul>
+ * After a crash, {@link #recover} settles what the journal says was sold and gives back what
+ * was still leased.
+ */
+public class InventoryEngine {
+    private static final Logger logger = LoggerFactory.getLogger(InventoryEngine.class);
+
+    private final StockStore store;
+    private final InventoryJournal journal;
+    private final int stripes;
+    private final long leaseSize;
+    private final String idPrefix;
+    private final Clock clock;
+    private final Map<Long, Ledger> ledgers = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder unitsGivenBack = new LongAdder();
+    private final LongAdder unitsSettled = new LongAdder();
+
+    public InventoryEngine(StockStore store, InventoryJournal journal, int stripes, long leaseSize, String idPrefix, Clock clock) {
+        this.store = store;
+        this.journal = journal;
+        this.stripes = stripes;
+        this.leaseSize = leaseSize;
+        this.idPrefix = idPrefix;
+        this.clock = clock;
+    }
+
+    /** Reserves every item or none of them. */
+    public Reservation reserve(List<ReservedItem> items, Duration ttl) {
+        List<ReservedItem> taken = new ArrayList<>(items.size());
+        try {
+            for (ReservedItem item : items) {
+                if (item.getQuantity() <= 0) {
+                    throw new IllegalArgumentException("Quantity must be positive for product " + item.getProductId());
+                }
+                if (!take(item.getProductId(), item.getQuantity())) {
+                    throw new InsufficientStockException(item.getProductId(), item.getQuantity());
+                }
+                taken.add(item);
+            }
+        } catch (RuntimeException e) {
+            taken.forEach(this::putBack);
+            throw e;
+        }
+        Reservation reservation = new Reservation(idPrefix + UUID.randomUUID(), items, clock.instant().plus(ttl));
+        reservations.put(reservation.getId(), reservation);
+        return reservation;
+    }
+
+    /** Consumes the reserved units; returns once the commit is durable. */
+    public Reservation commit(String reservationId) {
+        Reservation reservation = claim(reservationId);
+        long position = 0;
+        for (ReservedItem item : reservation.getItems()) {
+            position = journal.append(InventoryJournal.Type.COMMIT, item.getProductId(), item.getQuantity());
+        }
+        journal.durable(position).join();
+        return reservation;
+    }
+
+    public Reservation release(String reservationId) {
+        Reservation reservation = claim(reservationId);
+        reservation.getItems().forEach(this::putBack);
+        return reservation;
+    }
+
+    public Reservation getReservation(String reservationId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null || reservation.isExpired(clock.instant())) {
+            throw new ResourceNotFoundException("Reservation not found or expired: " + reservationId);
+        }
+        return reservation;
+    }
+
+    /** Releases reservations past their TTL. @return how many expired */
+    public int expire() {
+        Instant now = clock.instant();
+        int expired = 0;
+        for (Reservation reservation : reservations.values()) {
+            // remove(key, value) loses to a concurrent commit or release of the same reservation
+            if (reservation.isExpired(now) && reservations.remove(reservation.getId(), reservation)) {
+                reservation.getItems().forEach(this::putBack);
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Returns the in-memory units of products not reserved for {@code idle} to the store in
+     * one batch. @return units given back
+     */
+    public long giveBackIdle(Duration idle) {
+        long cutoff = System.nanoTime() - idle.toNanos();
+        Map<Long, Long> units = new HashMap<>();
+        long position = 0;
+        for (Ledger ledger : ledgers.values()) {
+            if (ledger.lastUsed - cutoff > 0 || !ledger.leaseLock.tryLock()) {
+                continue;
+            }
+            try {
+                long drained = ledger.stock.drain();
+                if (drained > 0) {
+                    position = journal.append(InventoryJournal.Type.GIVE_BACK, ledger.productId, drained);
+                    units.put(ledger.productId, drained);
+                }
+            } finally {
+                ledger.leaseLock.unlock();
+            }
+        }
+        if (units.isEmpty()) {
+            return 0;
+        }
+        journal.durable(position).join();
+        try {
+            store.giveBack(units);
+        } catch (RuntimeException e) {
+            // Keep the units rather than lose them; the next round tries again
+            logger.warn("Could not give back {} products' stock; keeping it leased", units.size(), e);
+            units.forEach((productId, quantity) -> {
+                journal.append(InventoryJournal.Type.LEASE, productId, quantity);
+                ledger(productId).stock.add(quantity);
+            });
+            return 0;
+        }
+        long total = units.values().stream().mapToLong(Long::longValue).sum();
+        unitsGivenBack.add(total);
+        return total;
+    }
+
+    /**
+     * Settles the units committed since the last call with the store, so they stop counting as
+     * for sale. @return units settled
+     */
+    public long settleCommitted() {
+        Map<Long, Long> sold = journal.unsettled();
+        if (sold.isEmpty()) {
+            return 0;
+        }
+        store.settle(sold);
+        long position = 0;
+        for (Map.Entry<Long, Long> entry : sold.entrySet()) {
+            position = journal.append(InventoryJournal.Type.SETTLE, entry.getKey(), entry.getValue());
+        }
+        journal.durable(position).join();
+        long total = sold.values().stream().mapToLong(Long::longValue).sum();
+        unitsSettled.add(total);
+        return total;
+    }
+
+    /**
+     * Settles units sold and gives back units still leased when the previous process stopped
+     * without doing so. @return the units given back, by product
+     */
+    public Map<Long, Long> recover() {
+        settleCommitted();
+        Map<Long, Long> outstanding = journal.outstanding();
+        if (outstanding.isEmpty()) {
+            return outstanding;
+        }
+        long position = 0;
+        for (Map.Entry<Long, Long> entry : outstanding.entrySet()) {
+            position = journal.append(InventoryJournal.Type.GIVE_BACK, entry.getKey(), entry.getValue());
+        }
+        journal.durable(position).join();
+        try {
+            store.giveBack(outstanding);
+        } catch (RuntimeException e) {
+            outstanding.forEach((productId, quantity) -> journal.append(InventoryJournal.Type.LEASE, productId, quantity));
+            throw e;
+        }
+        return outstanding;
+    }
+
+    /** Releases every reservation and gives all leased units back, for a clean shutdown. */
+    public void shutdown() {
+        for (Reservation reservation : reservations.values()) {
+            if (reservations.remove(reservation.getId(), reservation)) {
+                reservation.getItems().forEach(this::putBack);
+            }
+        }
+        giveBackIdle(Duration.ZERO);
+        settleCommitted();
+    }
+
+    public void compactJournal(long thresholdBytes) throws IOException {
+        if (journal.size() > thresholdBytes) {
+            journal.compact();
+        }
+    }
+
+    /** Units this instance can reserve from memory right now, without leasing. */
+    public long localAvailable(long productId) {
+        Ledger ledger = ledgers.get(productId);
+        return ledger == null ? 0 : ledger.stock.available();
+    }
+
+    /** Units in the store, not leased by any instance. */
+    public long unleased(long productId) {
+        return store.unleased(productId);
+    }
+
+    public int activeReservations() {
+        return reservations.size();
+    }
+
+    public long leases() {
+        return leases.sum();
+    }
+
+    public long unitsGivenBack() {
+        return unitsGivenBack.sum();
+    }
+
+    public long unitsSettled() {
+        return unitsSettled.sum();
+    }
+
+    public boolean owns(String reservationId) {
+        return reservationId.startsWith(idPrefix);
+    }
+
+    private boolean take(long productId, long quantity) {
+        Ledger ledger = ledger(productId);
+        ledger.lastUsed = System.nanoTime();
+        if (ledger.stock.tryTake(quantity)) {
+            return true;
+        }
+        ledger.leaseLock.lock();
+        try {
+            // Another thread may have leased while we waited for the lock
+            if (ledger.stock.tryTake(quantity)) {
+                return true;
+            }
+            long local = ledger.stock.drain();
+            long needed = quantity - local;
+            long leased = store.lease(productId, needed, Math.max(needed, leaseSize));
+            if (leased == 0) {
+                ledger.stock.add(local);
+                return false;
+            }
+            journal.append(InventoryJournal.Type.LEASE, productId, leased);
+            leases.increment();
+            ledger.stock.add(local + leased - quantity);
+            return true;
+        } finally {
+            ledger.leaseLock.unlock();
+        }
+    }
+
+    private void putBack(ReservedItem item) {
+        ledger(item.getProductId()).stock.add(item.getQuantity());
+    }
+
+    private Reservation claim(String reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            throw new ResourceNotFoundException("Reservation not found or expired: " + reservationId);
+        }
+        if (reservation.isExpired(clock.instant())) {
+            reservation.getItems().forEach(this::putBack);
+            throw new ResourceNotFoundException("Reservation not found or expired: " + reservationId);
+        }
+        return reservation;
+    }
+
+    private Ledger ledger(long productId) {
+        return ledgers.computeIfAbsent(productId, id -> new Ledger(id, new StripedStock(stripes)));
+    }
+
+    private static final class Ledger {
+        final long productId;
+        final StripedStock stock;
+        final ReentrantLock leaseLock = new ReentrantLock();
+        volatile long lastUsed = System.nanoTime();
+
+        Ledger(long productId, StripedStock stock) {
+            this.productId = productId;
+            this.stock = stock;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.dembasiby.product.inventory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Append-only record of how many leased units this instance holds per product, and how many it
+ * sold that the database does not know about yet, so that both can be settled after a crash. Records are fixed-size
+ * {@code (type, productId, quantity)} triples; a torn record at the end of the file is ignored.
+ *
+ * <p>Appends only write to the OS; durability is requested separately with {@link #durable(long)}
+ * and provided by a single flusher thread. While one {@code fsync} runs, later callers queue up
+ * and are all covered by the next one, so many concurrent commits share each disk flush.
+ *
+ * <p>Ordering rules keep every failure on the safe side (stock understated, never overstated):
+ * a lease is recorded after the database committed it, a give-back before the database sees it,
+ * a commit before it is acknowledged, and a settlement after the database committed it.
+ */
+public class InventoryJournal implements AutoCloseable {
+    public enum Type { LEASE, COMMIT, GIVE_BACK, SETTLE }
+
+    private static final int RECORD_BYTES = 17;
+
+    private final Path path;
+    private final Object appendLock = new Object();
+    private final Object forceLock = new Object();
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+    private final Map<Long, Long> outstanding = new HashMap<>();
+    private final Map<Long, Long> unsettled = new HashMap<>();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+    private final Thread flusher;
+    private FileChannel channel;
+    private volatile long written;
+    private volatile long forced;
+    private volatile boolean closed;
+
+    public InventoryJournal(Path path) throws IOException {
+        this.path = path;
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        replay();
+        this.flusher = new Thread(this::flushLoop, "inventory-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Appends a record and applies it to the outstanding counts in the same critical section,
+     * so {@link #compact()} always sees counts that match the records before it.
+     *
+     * @return the position to pass to {@link #durable(long)}
+     */
+    public long append(Type type, long productId, long quantity) {
+        synchronized (appendLock) {
+            record.clear();
+            record.put((byte) type.ordinal()).putLong(productId).putLong(quantity).flip();
+            try {
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Inventory journal write failed", e);
+            }
+            apply(type, productId, quantity);
+            written += RECORD_BYTES;
+            return written;
+        }
+    }
+
+    /** Completes once everything up to {@code position} is on disk. */
+    public CompletableFuture<Void> durable(long position) {
+        if (forced >= position) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Waiter waiter = new Waiter(position);
+        synchronized (waiters) {
+            waiters.add(waiter);
+            waiters.notify();
+        }
+        return waiter.future;
+    }
+
+    /** Units leased and not yet committed or given back, by product. */
+    public Map<Long, Long> outstanding() {
+        synchronized (appendLock) {
+            return Collections.unmodifiableMap(new HashMap<>(outstanding));
+        }
+    }
+
+    /** Units committed and not yet settled with the database, by product. */
+    public Map<Long, Long> unsettled() {
+        synchronized (appendLock) {
+            return Collections.unmodifiableMap(new HashMap<>(unsettled));
+        }
+    }
+
+    /** Bytes in the journal file, to decide when to {@link #compact()}. */
+    public long size() {
+        return written;
+    }
+
+    /**
+     * Rewrites the journal as one lease record per product with units outstanding or unsettled,
+     * followed by a commit record for the unsettled ones, and atomically replaces the old file.
+     */
+    public void compact() throws IOException {
+        synchronized (forceLock) {
+            synchronized (appendLock) {
+                Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+                try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    Map<Long, Long> leased = new HashMap<>(outstanding);
+                    unsettled.forEach((productId, quantity) -> leased.merge(productId, quantity, Long::sum));
+                    for (Map.Entry<Long, Long> entry : leased.entrySet()) {
+                        write(out, Type.LEASE, entry.getKey(), entry.getValue());
+                    }
+                    for (Map.Entry<Long, Long> entry : unsettled.entrySet()) {
+                        write(out, Type.COMMIT, entry.getKey(), entry.getValue());
+                    }
+                    out.force(true);
+                }
+                channel.close();
+                Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                channel.position(channel.size());
+                written = channel.size();
+                forced = written;
+                completeWaiters(Long.MAX_VALUE, null);
+            }
+        }
+    }
+
+    private static void write(FileChannel out, Type type, long productId, long quantity) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES);
+        buffer.put((byte) type.ordinal()).putLong(productId).putLong(quantity).flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private void replay() throws IOException {
+        long size = channel.size();
+        long complete = size - size % RECORD_BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES);
+        for (long position = 0; position < complete; position += RECORD_BYTES) {
+            buffer.clear();
+            channel.read(buffer, position);
+            buffer.flip();
+            apply(Type.values()[buffer.get()], buffer.getLong(), buffer.getLong());
+        }
+        // Drop a record torn by a crash mid-write
+        channel.truncate(complete);
+        channel.position(complete);
+        written = complete;
+        forced = complete;
+    }
+
+    private void apply(Type type, long productId, long quantity) {
+        switch (type) {
+            case LEASE -> add(outstanding, productId, quantity);
+            case GIVE_BACK -> add(outstanding, productId, -quantity);
+            case COMMIT -> {
+                add(outstanding, productId, -quantity);
+                add(unsettled, productId, quantity);
+            }
+            case SETTLE -> add(unsettled, productId, -quantity);
+        }
+    }
+
+    private static void add(Map<Long, Long> counts, long productId, long delta) {
+        counts.merge(productId, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            synchronized (waiters) {
+                while (waiters.isEmpty() && !closed) {
+                    try {
+                        waiters.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+            long target = written;
+            IOException failure = null;
+            synchronized (forceLock) {
+                try {
+                    channel.force(false);
+                    forced = Math.max(forced, target);
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            completeWaiters(forced, failure);
+        }
+    }
+
+    private void completeWaiters(long upTo, IOException failure) {
+        synchronized (waiters) {
+            waiters.removeIf(waiter -> {
+                if (failure != null) {
+                    waiter.future.completeExceptionally(new UncheckedIOException("Inventory journal flush failed", failure));
+                    return true;
+                }
+                if (waiter.position <= upTo) {
+                    waiter.future.complete(null);
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        synchronized (waiters) {
+            waiters.notifyAll();
+        }
+        synchronized (forceLock) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private static final class Waiter {
+        final long position;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Waiter(long position) {
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.dembasiby.product.inventory;
+
+import com.dembasiby.product.changes.ChangeClock;
+import com.dembasiby.product.event.StockChangedEvent;
+import com.dembasiby.product.exception.ResourceNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leases against {@code product.stock_quantity}, moving the units to
+ * {@code product.leased_quantity} until they are sold or given back, so the catalog keeps
+ * showing them for sale. A lease locks the row for one short transaction per block of units
+ * rather than once per checkout, and returns and settlements are sent as one JDBC batch.
+ * Every write bumps the optimistic-lock version so a concurrent admin edit that read the old
+ * quantity fails instead of overwriting it, stamps a new change version for the change feed,
+ * and once committed publishes a {@link StockChangedEvent} so cached copies are refreshed.
+ */
+public class JdbcStockStore implements StockStore {
+    private static final String LOCK = "select stock_quantity from product where id = ? for update";
+    private static final String TAKE = "update product set stock_quantity = stock_quantity - ?, " +
+            "leased_quantity = leased_quantity + ?, version = version + 1, change_version = ? where id = ?";
+    private static final String GIVE_BACK = "update product set stock_quantity = stock_quantity + ?, " +
+            "leased_quantity = greatest(leased_quantity - ?, 0), version = version + 1, change_version = ? where id = ?";
+    // Replayed after a crash, a settlement can repeat; the floor keeps availability from going below the unleased stock
+    private static final String SETTLE = "update product set leased_quantity = greatest(leased_quantity - ?, 0), " +
+            "version = version + 1, change_version = ? where id = ?";
+    private static final String READ = "select stock_quantity from product where id = ?";
+    private static final String VERSION = "select version from product where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeClock changeClock;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public JdbcStockStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ChangeClock changeClock,
+                          ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.changeClock = changeClock;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public long lease(long productId, long minimum, long preferred) {
+        Map<Long, Long> versions = new HashMap<>();
+        Long leased = transactionTemplate.execute(status -> {
+            long stock = stockQuantity(LOCK, productId);
+            long take = Math.min(stock, preferred);
+            if (take < minimum) {
+                return 0L;
+            }
+            jdbcTemplate.update(TAKE, take, take, changeClock.next(), productId);
+            versions.put(productId, jdbcTemplate.queryForObject(VERSION, Long.class, productId));
+            return take;
+        });
+        publish(versions);
+        return leased == null ? 0 : leased;
+    }
+
+    @Override
+    public void giveBack(Map<Long, Long> units) {
+        if (units.isEmpty()) {
+            return;
+        }
+        List<Object[]> arguments = new ArrayList<>(units.size());
+        units.forEach((productId, quantity) -> arguments.add(new Object[]{quantity, quantity, changeClock.next(), productId}));
+        publish(transactionTemplate.execute(status -> {
+            jdbcTemplate.batchUpdate(GIVE_BACK, arguments);
+            return versions(units);
+        }));
+    }
+
+    @Override
+    public void settle(Map<Long, Long> units) {
+        if (units.isEmpty()) {
+            return;
+        }
+        List<Object[]> arguments = new ArrayList<>(units.size());
+        units.forEach((productId, quantity) -> arguments.add(new Object[]{quantity, changeClock.next(), productId}));
+        publish(transactionTemplate.execute(status -> {
+            jdbcTemplate.batchUpdate(SETTLE, arguments);
+            return versions(units);
+        }));
+    }
+
+    @Override
+    public long unleased(long productId) {
+        return stockQuantity(READ, productId);
+    }
+
+    private long stockQuantity(String sql, long productId) {
+        try {
+            Long stock = jdbcTemplate.queryForObject(sql, Long.class, productId);
+            return stock == null ? 0 : stock;
+        } catch (EmptyResultDataAccessException e) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+    }
+
+    /** Versions the products were just written at, read in the same transaction. */
+    private Map<Long, Long> versions(Map<Long, Long> units) {
+        Map<Long, Long> versions = new HashMap<>(units.size());
+        for (Long productId : units.keySet()) {
+            // A product deleted since the lease has nothing left to refresh
+            jdbcTemplate.query(VERSION, rs -> {
+                versions.put(productId, rs.getLong(1));
+            }, productId);
+        }
+        return versions;
+    }
+
+    private void publish(Map<Long, Long> versions) {
+        if (versions != null && !versions.isEmpty()) {
+            eventPublisher.publishEvent(new StockChangedEvent(versions));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.dembasiby.product.inventory;
+
+import java.time.Instant;
+import java.util.List;
+
+/** Units held for one checkout until it commits, releases or {@code expiresAt} passes. */
+public class Reservation {
+    private final String id;
+    private final List<ReservedItem> items;
+    private final Instant expiresAt;
+
+    public Reservation(String id, List<ReservedItem> items, Instant expiresAt) {
+        this.id = id;
+        this.items = List.copyOf(items);
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public List<ReservedItem> getItems() {
+        return items;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
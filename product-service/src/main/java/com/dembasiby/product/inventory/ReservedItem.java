@@ -0,0 +1,19 @@
+package com.dembasiby.product.inventory;
+
+public class ReservedItem {
+    private final long productId;
+    private final long quantity;
+
+    public ReservedItem(long productId, long quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,27 @@
+package com.dembasiby.product.inventory;
+
+import java.util.Map;
+
+/**
+ * The durable pool of stock that instances lease units from. A product's persisted stock
+ * quantity is the part not currently leased by any instance; leased units are tracked apart
+ * until they are sold or given back, so they still count as for sale.
+ */
+public interface StockStore {
+
+    /**
+     * Atomically moves up to {@code preferred} units of the product out of the pool.
+     *
+     * @return the units leased, at least {@code minimum}, or 0 if fewer than {@code minimum} remain
+     */
+    long lease(long productId, long minimum, long preferred);
+
+    /** Puts units back into the pool, one entry per product. */
+    void giveBack(Map<Long, Long> units);
+
+    /** Records leased units as sold, one entry per product. */
+    void settle(Map<Long, Long> units);
+
+    /** Units in the pool right now. */
+    long unleased(long productId);
+}
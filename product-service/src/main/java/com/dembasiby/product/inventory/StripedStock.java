@@ -0,0 +1,94 @@
+package com.dembasiby.product.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Units of one SKU split across independent counters so that concurrent reservations of a hot
+ * SKU mostly CAS different cache lines instead of all retrying on one. A reservation first tries
+ * the caller's home stripe, then the others; only when no single stripe holds enough does it
+ * take the slow path, which gathers every stripe under a lock. Adding units never blocks.
+ *
+ * <p>The total never goes below zero, and a reservation fails only if the total was too small
+ * when the gather ran.
+ */
+public class StripedStock {
+    // Stripes sit 16 longs (128 bytes) apart so neighbours never share a cache line
+    private static final int PADDING = 16;
+
+    private final int stripes;
+    private final AtomicLongArray units;
+
+    public StripedStock(int stripes) {
+        // Rounded up to a power of two so the stripe index is a mask
+        this.stripes = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.units = new AtomicLongArray(this.stripes * PADDING);
+    }
+
+    public boolean tryTake(long quantity) {
+        int home = homeStripe();
+        for (int i = 0; i < stripes; i++) {
+            int slot = ((home + i) & (stripes - 1)) * PADDING;
+            long current = units.get(slot);
+            while (current >= quantity) {
+                if (units.compareAndSet(slot, current, current - quantity)) {
+                    return true;
+                }
+                current = units.get(slot);
+            }
+        }
+        return gatherAndTake(quantity, home);
+    }
+
+    public void add(long quantity) {
+        units.addAndGet(homeStripe() * PADDING, quantity);
+    }
+
+    /** Removes and returns every unit, e.g. to give them back to the database. */
+    public synchronized long drain() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += units.getAndSet(i * PADDING, 0);
+        }
+        return total;
+    }
+
+    /** A moment-in-time total; concurrent updates may or may not be included. */
+    public long available() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += units.get(i * PADDING);
+        }
+        return total;
+    }
+
+    private synchronized boolean gatherAndTake(long quantity, int home) {
+        long gathered = 0;
+        for (int i = 0; i < stripes; i++) {
+            gathered += units.getAndSet(i * PADDING, 0);
+        }
+        boolean taken = gathered >= quantity;
+        long remainder = taken ? gathered - quantity : gathered;
+        if (remainder > 0) {
+            // Spread the rest back so the fast path has something to find on every stripe
+            long share = remainder / stripes;
+            for (int i = 0; i < stripes; i++) {
+                long amount = i == home ? share + remainder % stripes : share;
+                if (amount > 0) {
+                    units.addAndGet(i * PADDING, amount);
+                }
+            }
+        }
+        return taken;
+    }
+
+    private int homeStripe() {
+        return (int) mix(Thread.currentThread().getId()) & (stripes - 1);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,35 @@
+package com.dembasiby.product.media;
+
+import java.nio.file.Path;
+
+/** One servable file of the store: an original or a variant. */
+public class ImageFile {
+    private final Path path;
+    private final String contentType;
+    private final long length;
+    private final String etag;
+
+    public ImageFile(Path path, String contentType, long length, String etag) {
+        this.path = path;
+        this.contentType = contentType;
+        this.length = length;
+        this.etag = etag;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /** Strong validator: the bytes behind a hash and variant never change. */
+    public String getEtag() {
+        return etag;
+    }
+}
@@ -0,0 +1,253 @@
+package com.dembasiby.product.media;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed image storage on local disk. An upload is streamed to a temporary file
+ * while its SHA-256 is computed; the hash is the image's identity, so uploading the same bytes
+ * twice stores them once. Resized variants are generated once, at upload time, and the whole
+ * directory is moved into place atomically:
+ * <pre>
+ *   {root}/{hash[0..2]}/{hash}/original.jpg
+ *                             /small.jpg, medium.jpg, ...
+ * </pre>
+ * Stored files never change, which is what makes hash-based strong ETags and immutable
+ * caching safe.
+ */
+public class ImageStore {
+    public static final String ORIGINAL = "original";
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Map<String, Integer> variants;
+    private final long maxUploadBytes;
+    private final long maxPixels;
+
+    /**
+     * @param variants    target width of each variant, by name; images are never upscaled
+     * @param maxPixels   refuse to decode larger images, so a small file cannot expand into a huge bitmap
+     */
+    public ImageStore(Path root, Map<String, Integer> variants, long maxUploadBytes, long maxPixels) {
+        if (variants.containsKey(ORIGINAL)) {
+            throw new IllegalArgumentException("'" + ORIGINAL + "' is reserved and cannot be a variant name");
+        }
+        this.root = root;
+        this.variants = new LinkedHashMap<>(variants);
+        this.maxUploadBytes = maxUploadBytes;
+        this.maxPixels = maxPixels;
+    }
+
+    public StoredImage store(InputStream upload) throws IOException {
+        Path staging = root.resolve("staging").resolve(UUID.randomUUID().toString());
+        Files.createDirectories(staging);
+        try {
+            Path original = staging.resolve("upload");
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(upload, digest);
+                 OutputStream out = Files.newOutputStream(original)) {
+                size = copyLimited(in, out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = directory(hash);
+
+            ImageHeader header = readHeader(original);
+            String extension = extension(header.format);
+            // Variants of a GIF are written as PNG, which keeps transparency and is widely supported
+            String variantExtension = "gif".equals(extension) ? "png" : extension;
+            if (!Files.isDirectory(target)) {
+                BufferedImage image = decode(original);
+                Files.move(original, staging.resolve(ORIGINAL + "." + extension));
+                for (Map.Entry<String, Integer> variant : variants.entrySet()) {
+                    BufferedImage resized = resize(image, variant.getValue(), !"jpg".equals(variantExtension));
+                    ImageIO.write(resized, variantExtension, staging.resolve(variant.getKey() + "." + variantExtension).toFile());
+                }
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+                    // The same image was stored concurrently; theirs is identical
+                }
+            }
+            Map<String, Integer> variantWidths = new LinkedHashMap<>();
+            variants.forEach((name, width) -> variantWidths.put(name, Math.min(width, header.width)));
+            return new StoredImage(hash, contentType(extension), header.width, header.height, size, variantWidths);
+        } finally {
+            deleteRecursively(staging);
+        }
+    }
+
+    /** The stored original or a variant, or empty if there is no such image. */
+    public Optional<ImageFile> find(String hash, String variant) throws IOException {
+        if (!HASH.matcher(hash).matches() || !(ORIGINAL.equals(variant) || variants.containsKey(variant))) {
+            return Optional.empty();
+        }
+        Path directory = directory(hash);
+        for (String extension : new String[]{"jpg", "png", "gif"}) {
+            Path file = directory.resolve(variant + "." + extension);
+            if (Files.isRegularFile(file)) {
+                return Optional.of(new ImageFile(file, contentType(extension), Files.size(file), "\"" + hash + "-" + variant + "\""));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Map<String, Integer> getVariants() {
+        return variants;
+    }
+
+    private Path directory(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private long copyLimited(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > maxUploadBytes) {
+                throw new IllegalArgumentException("Image is larger than " + maxUploadBytes + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Image upload is empty");
+        }
+        return total;
+    }
+
+    private static BufferedImage decode(Path file) {
+        try {
+            BufferedImage image = ImageIO.read(file.toFile());
+            if (image == null) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            return image;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Image could not be decoded: " + e.getMessage());
+        }
+    }
+
+    /** Reads only the header to learn the format and dimensions before decoding anything. */
+    private ImageHeader readHeader(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IllegalArgumentException("Image has more than " + maxPixels + " pixels");
+                }
+                return new ImageHeader(reader.getFormatName().toLowerCase(Locale.ROOT), width, height);
+            } catch (IIOException e) {
+                throw new IllegalArgumentException("Image header could not be read: " + e.getMessage());
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales down in steps of at most one half, which keeps bilinear filtering from
+     * skipping source pixels and aliasing on large reductions.
+     */
+    private static BufferedImage resize(BufferedImage source, int targetWidth, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        while (width > targetWidth) {
+            int nextWidth = Math.max(targetWidth, width / 2);
+            int nextHeight = Math.max(1, (int) Math.round((double) height * nextWidth / width));
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            graphics.dispose();
+            current = next;
+            width = nextWidth;
+            height = nextHeight;
+        }
+        return current;
+    }
+
+    private static String extension(String format) {
+        return switch (format) {
+            case "jpeg" -> "jpg";
+            case "png", "gif" -> format;
+            default -> throw new IllegalArgumentException("Only JPEG, PNG and GIF images are supported");
+        };
+    }
+
+    private static String contentType(String extension) {
+        return switch (extension) {
+            case "png" -> "image/png";
+            case "gif" -> "image/gif";
+            default -> "image/jpeg";
+        };
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static final class ImageHeader {
+        final String format;
+        final int width;
+        final int height;
+
+        ImageHeader(String format, int width, int height) {
+            this.format = format;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
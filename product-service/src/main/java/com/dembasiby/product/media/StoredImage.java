@@ -0,0 +1,47 @@
+package com.dembasiby.product.media;
+
+import java.util.Map;
+
+/** An image as stored: its content hash, original dimensions and the variants generated from it. */
+public class StoredImage {
+    private final String hash;
+    private final String contentType;
+    private final int width;
+    private final int height;
+    private final long size;
+    private final Map<String, Integer> variantWidths;
+
+    public StoredImage(String hash, String contentType, int width, int height, long size, Map<String, Integer> variantWidths) {
+        this.hash = hash;
+        this.contentType = contentType;
+        this.width = width;
+        this.height = height;
+        this.size = size;
+        this.variantWidths = variantWidths;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /** Width of each generated variant, by variant name. */
+    public Map<String, Integer> getVariantWidths() {
+        return variantWidths;
+    }
+}
@@ -0,0 +1,18 @@
+package com.dembasiby.product.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of SQL statements a controller endpoint is expected to issue.
+ * Exceeding it is logged and counted in {@code sql.request.budget_exceeded}; with
+ * {@code sql.accounting.fail-on-budget-exceeded=true} (intended for integration tests)
+ * {@link QueryBudgetEnforcer} fails the request instead.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int value();
+}
@@ -0,0 +1,41 @@
+package com.dembasiby.product.monitoring;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Wraps every Spring Data repository call in an observation so that it shows up as its own
+ * span, with the JDBC work it triggers nested underneath.
+ */
+public class RepositoryObservationInterceptor implements MethodInterceptor {
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+    private final String repositoryName;
+
+    public RepositoryObservationInterceptor(ObjectProvider<ObservationRegistry> observationRegistry,
+                                            Class<?> repositoryInterface) {
+        this.observationRegistry = observationRegistry;
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String methodName = invocation.getMethod().getName();
+        Observation observation = Observation.createNotStarted("repository.invocation",
+                        observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                .contextualName(repositoryName + "." + methodName)
+                .lowCardinalityKeyValue("repository", repositoryName)
+                .lowCardinalityKeyValue("method", methodName)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.dembasiby.product.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts statements, rows and database time for every HTTP request and publishes them
+ * per endpoint. Runs ahead of the security filters so that lookups done during
+ * authentication are attributed to the request as well. Endpoints that exceed their
+ * {@link QueryBudget} are logged and counted; by then the response has been written, so
+ * failing them is left to {@link QueryBudgetEnforcer}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlAccountingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(SqlAccountingFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sql.accounting.n-plus-one-threshold:3}")
+    private int nPlusOneThreshold;
+
+    public SqlAccountingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatistics.end();
+            record(request, statistics);
+            checkBudget(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("sql.request.statements")
+                .description("SQL statements executed per HTTP request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("sql.request.rows")
+                .description("Rows read or written per HTTP request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.getRows());
+        Timer.builder("sql.request.time")
+                .description("Time spent in the database per HTTP request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.getDbTimeNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = statistics.repeatedStatements(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder("sql.request.n_plus_one")
+                    .description("Requests that repeated an identical statement (N+1 candidates)")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            repeated.forEach((sql, count) ->
+                    logger.warn("Possible N+1 on {} {}: statement executed {} times: {}",
+                            request.getMethod(), uri, count, sql));
+        }
+
+        logger.debug("{} {} issued {} statements, {} rows, {} ms in database",
+                request.getMethod(), uri, statistics.getStatements(), statistics.getRows(),
+                TimeUnit.NANOSECONDS.toMillis(statistics.getDbTimeNanos()));
+    }
+
+    private void checkBudget(HttpServletRequest request, SqlStatistics statistics) {
+        Object budget = request.getAttribute(QueryBudgetInterceptor.BUDGET_ATTRIBUTE);
+        if (budget instanceof Integer maxStatements && statistics.getStatements() > maxStatements) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            Counter.builder("sql.request.budget_exceeded")
+                    .description("Requests that issued more SQL statements than their @QueryBudget")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("Query budget exceeded: {} {} issued {} SQL statements, budget is {}",
+                    request.getMethod(), request.getRequestURI(), statistics.getStatements(), maxStatements);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.dembasiby.product.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Accumulates the SQL work done while serving a single HTTP request.
+ * One instance is bound to the request thread by {@link SqlAccountingFilter}
+ * and filled in by {@link SqlStatisticsListener}.
+ */
+public class SqlStatistics {
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long dbTimeNanos;
+    private long queryStartNanos;
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+
+    public static SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void queryStarted() {
+        queryStartNanos = System.nanoTime();
+    }
+
+    void queryFinished(String sql, int executions) {
+        if (queryStartNanos != 0) {
+            dbTimeNanos += System.nanoTime() - queryStartNanos;
+            queryStartNanos = 0;
+        }
+        statements += executions;
+        statementCounts.merge(sql, executions, Integer::sum);
+    }
+
+    void addRows(long count) {
+        rows += count;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    /**
+     * Statements that were issued at least {@code threshold} times with the same text
+     * (parameters are bound separately, so identical text means the same query shape).
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        return statementCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
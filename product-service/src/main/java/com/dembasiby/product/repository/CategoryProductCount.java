@@ -0,0 +1,7 @@
+package com.dembasiby.product.repository;
+
+public interface CategoryProductCount {
+    Long getCategoryId();
+
+    long getProductCount();
+}
@@ -0,0 +1,18 @@
+package com.dembasiby.product.repository;
+
+import com.dembasiby.product.entity.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    /** Rewrites the path of every category under {@code oldPath} (inclusive) after a move. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Category c set c.path = concat(:newPath, substring(c.path, length(:oldPath) + 1)) " +
+            "where c.path like concat(:oldPath, '%')")
+    int movePaths(@Param("oldPath") String oldPath, @Param("newPath") String newPath);
+
+    boolean existsByParentId(Long parentId);
+}
@@ -0,0 +1,62 @@
+package com.dembasiby.product.repository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams a whole table in id order, one page at a time, seeking past the last id of the
+ * previous page instead of using OFFSET. Pages are fetched lazily as the stream is consumed,
+ * so only one page is in memory at a time.
+ */
+public final class KeysetScan {
+
+    private KeysetScan() {}
+
+    /**
+     * @param page a query returning rows with an id greater than the first argument, in id order
+     */
+    public static <T> Stream<T> stream(BiFunction<Long, Pageable, List<T>> page, ToLongFunction<T> id, int batchSize) {
+        Iterator<T> rows = new Iterator<>() {
+            private List<T> batch = List.of();
+            private int position;
+            private long afterId;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (position < batch.size()) {
+                    return true;
+                }
+                if (exhausted) {
+                    return false;
+                }
+                batch = page.apply(afterId, PageRequest.of(0, batchSize));
+                position = 0;
+                exhausted = batch.size() < batchSize;
+                if (!batch.isEmpty()) {
+                    afterId = id.applyAsLong(batch.get(batch.size() - 1));
+                }
+                return !batch.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return batch.get(position++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
@@ -0,0 +1,74 @@
+package com.dembasiby.product.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Product fields a listing can be asked for with {@code fields=}. Each is read as its own
+ * column, so a sparse listing never reads the ones left out.
+ */
+public enum ProductField {
+    ID("id"),
+    SKU("sku"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    PRICE("price"),
+    IMAGE_URL("imageUrl"),
+    BRAND("brand"),
+    STOCK_QUANTITY("stockQuantity"),
+    CATEGORY_ID("categoryId");
+
+    private final String name;
+
+    ProductField(String name) {
+        this.name = name;
+    }
+
+    /** Parses a comma-separated list of field names, e.g. {@code id,name,price}. */
+    public static Set<ProductField> parse(String fields) {
+        Set<ProductField> parsed = EnumSet.noneOf(ProductField.class);
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(of(trimmed));
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return parsed;
+    }
+
+    public static ProductField of(String name) {
+        for (ProductField field : values()) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported field: " + name);
+    }
+
+    /** The field a listing in this order is sorted on, which its cursor is built from. */
+    public static ProductField sortedOn(ProductSort sort) {
+        return of(sort.getAttribute());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Expression<?> select(Root<?> product, CriteriaBuilder cb) {
+        return switch (this) {
+            // The category id is the foreign key column; reading it does not join the category table
+            case CATEGORY_ID -> product.get("category").get("id");
+            // Units leased by an instance are still for sale until they are sold
+            case STOCK_QUANTITY -> cb.sum(product.<Integer>get("stockQuantity"), product.<Integer>get("leasedQuantity"));
+            default -> product.get(name);
+        };
+    }
+}
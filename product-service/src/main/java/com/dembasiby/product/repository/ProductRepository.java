@@ -1,7 +1,74 @@
 package com.dembasiby.product.repository;
 
+import com.dembasiby.product.dto.ProductSummaryDto;
 import com.dembasiby.product.entity.Product;
+import com.dembasiby.product.facet.ProductFacets;
+import com.dembasiby.product.snapshot.ProductVersion;
+import com.dembasiby.product.snapshot.SnapshotProduct;
+import com.dembasiby.product.suggest.ProductName;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+    /** Walks the whole table in id order without OFFSET, for rebuilding in-memory indexes. */
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select p.category.id as categoryId, count(p) as productCount from Product p " +
+            "where p.category is not null group by p.category.id")
+    List<CategoryProductCount> countByCategory();
+
+    boolean existsByCategoryId(Long categoryId);
+
+    @Query("select new com.dembasiby.product.facet.ProductFacets(p.id, c.id, p.brand, p.price, p.stockQuantity + p.leasedQuantity) " +
+            "from Product p left join p.category c where p.id > :afterId order by p.id")
+    List<ProductFacets> findFacetsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.dembasiby.product.suggest.ProductName(p.id, p.name) " +
+            "from Product p where p.id > :afterId order by p.id")
+    List<ProductName> findNamesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.dembasiby.product.snapshot.SnapshotProduct(p.id, p.version, p.sku, p.name, p.description, " +
+            "p.price, p.imageUrl, p.brand, p.stockQuantity + p.leasedQuantity, c.id) " +
+            "from Product p left join p.category c where p.id > :afterId order by p.id")
+    List<SnapshotProduct> findSnapshotAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.dembasiby.product.snapshot.ProductVersion(p.id, p.version) " +
+            "from Product p where p.id > :afterId order by p.id")
+    List<ProductVersion> findVersionsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.dembasiby.product.dto.ProductSummaryDto(p.id, p.name, p.price, p.imageUrl) " +
+            "from Product p where p.id in :ids order by p.id")
+    List<ProductSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.version from Product p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /** Products written in {@code (since, until]}, in change order; see ProductChangeService. */
+    @Query("select p from Product p where p.changeVersion > :since and p.changeVersion <= :until " +
+            "order by p.changeVersion, p.id")
+    List<Product> findChanges(@Param("since") long since, @Param("until") long until, Pageable pageable);
+
+    @Query("select p from Product p where p.changeVersion = :changeVersion order by p.id")
+    List<Product> findByChangeVersion(@Param("changeVersion") long changeVersion);
+
+    @Query("select max(p.id) from Product p where p.changeVersion is null")
+    Optional<Long> findMaxIdWithoutChangeVersion();
+
+    /**
+     * Gives products written before the change feed existed a distinct change version each,
+     * {@code base + id}. Not versioned, so it does not conflict with concurrent edits.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Product p set p.changeVersion = :base + p.id where p.changeVersion is null")
+    int assignMissingChangeVersions(@Param("base") long base);
 }
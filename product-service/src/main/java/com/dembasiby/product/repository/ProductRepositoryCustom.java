@@ -0,0 +1,26 @@
+package com.dembasiby.product.repository;
+
+import com.dembasiby.product.dto.ProductSummaryDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} product summaries in the given order, starting right after
+     * {@code after} (or from the beginning when it is {@code null}).
+     *
+     * @param categoryPath materialized path of a category to restrict the results to that
+     *                     category and its descendants, or {@code null} for all products
+     */
+    List<ProductSummaryDto> findSummaries(ProductSort sort, ProductCursor after, String categoryPath, int limit);
+
+    /**
+     * Like {@link #findSummaries}, but reads only {@code fields}, plus the id and the sort key
+     * needed for the next cursor. Each row maps field names to values, in field order.
+     */
+    List<Map<String, Object>> findFields(ProductSort sort, ProductCursor after, String categoryPath,
+                                         Set<ProductField> fields, int limit);
+}
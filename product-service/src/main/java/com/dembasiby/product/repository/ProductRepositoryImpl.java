@@ -0,0 +1,114 @@
+package com.dembasiby.product.repository;
+
+import com.dembasiby.product.dto.ProductSummaryDto;
+import com.dembasiby.product.entity.Category;
+import com.dembasiby.product.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keyset ("seek") pagination: instead of skipping OFFSET rows, each page filters on the
+ * (sort key, id) of the previous page's last row, so fetching page 10,000 costs the same
+ * index range scan as page 1. Only the summary columns are selected, or with
+ * {@link #findFields} only the requested ones.
+ *
+ * <p>A category filter joins the category table once and matches its materialized path by
+ * prefix, which covers the category and all of its descendants in the same query.
+ */
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductSummaryDto> findSummaries(ProductSort sort, ProductCursor after, String categoryPath, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummaryDto> query = cb.createQuery(ProductSummaryDto.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.construct(ProductSummaryDto.class,
+                product.get("id"), product.get("name"), product.get("price"), product.get("imageUrl")));
+        return seek(query, product, sort, after, categoryPath, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(ProductSort sort, ProductCursor after, String categoryPath,
+                                                Set<ProductField> fields, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        Set<ProductField> selected = EnumSet.copyOf(fields);
+        selected.add(ProductField.ID);
+        selected.add(ProductField.sortedOn(sort));
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (ProductField field : selected) {
+            selections.add(field.select(product, cb).alias(field.getName()));
+        }
+        query.multiselect(selections);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : seek(query, product, sort, after, categoryPath, limit)) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (ProductField field : selected) {
+                row.put(field.getName(), tuple.get(field.getName()));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> List<T> seek(CriteriaQuery<T> query, Root<Product> product, ProductSort sort, ProductCursor after,
+                             String categoryPath, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Path<Long> id = product.get("id");
+        Path<Comparable> key = product.get(sort.getAttribute());
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (categoryPath != null) {
+            Join<Product, Category> category = product.join("category");
+            predicates.add(cb.like(category.get("path"), categoryPath + "%"));
+        }
+        if (after != null) {
+            Comparable value = (Comparable) after.getSortValue();
+            Predicate seek;
+            if (sort == ProductSort.ID_ASC) {
+                seek = cb.greaterThan(id, after.getId());
+            } else if (sort.isAscending()) {
+                seek = cb.or(cb.greaterThan(key, value),
+                        cb.and(cb.equal(key, value), cb.greaterThan(id, after.getId())));
+            } else {
+                seek = cb.or(cb.lessThan(key, value),
+                        cb.and(cb.equal(key, value), cb.lessThan(id, after.getId())));
+            }
+            predicates.add(seek);
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        if (sort == ProductSort.ID_ASC) {
+            query.orderBy(cb.asc(id));
+        } else if (sort.isAscending()) {
+            query.orderBy(cb.asc(key), cb.asc(id));
+        } else {
+            query.orderBy(cb.desc(key), cb.desc(id));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
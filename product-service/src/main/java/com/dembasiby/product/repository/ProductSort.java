@@ -0,0 +1,39 @@
+package com.dembasiby.product.repository;
+
+/**
+ * Orderings supported by the catalog listing. Each is backed by an index on
+ * (column, id) so that keyset pagination is an index range scan.
+ */
+public enum ProductSort {
+    ID_ASC("id", true),
+    PRICE_ASC("price", true),
+    PRICE_DESC("price", false),
+    NAME_ASC("name", true),
+    NAME_DESC("name", false);
+
+    private final String attribute;
+    private final boolean ascending;
+
+    ProductSort(String attribute, boolean ascending) {
+        this.attribute = attribute;
+        this.ascending = ascending;
+    }
+
+    public static ProductSort of(String attribute, String direction) {
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        return switch (attribute.toLowerCase()) {
+            case "id" -> ID_ASC;
+            case "price" -> descending ? PRICE_DESC : PRICE_ASC;
+            case "name" -> descending ? NAME_DESC : NAME_ASC;
+            default -> throw new IllegalArgumentException("Unsupported sort: " + attribute);
+        };
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+}
@@ -0,0 +1,26 @@
+package com.dembasiby.product.repository;
+
+import com.dembasiby.product.entity.ProductTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Long> {
+
+    @Query("select t from ProductTombstone t where t.changeVersion > :since and t.changeVersion <= :until " +
+            "order by t.changeVersion, t.productId")
+    List<ProductTombstone> findChanges(@Param("since") long since, @Param("until") long until, Pageable pageable);
+
+    @Query("select t from ProductTombstone t where t.changeVersion = :changeVersion order by t.productId")
+    List<ProductTombstone> findByChangeVersion(@Param("changeVersion") long changeVersion);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ProductTombstone t where t.changeVersion < :changeVersion")
+    int deleteOlderThan(@Param("changeVersion") long changeVersion);
+}
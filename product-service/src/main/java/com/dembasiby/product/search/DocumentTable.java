@@ -0,0 +1,45 @@
+package com.dembasiby.product.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ordinal-addressed document storage split into fixed-size chunks, so growing the table
+ * never copies existing documents and readers never block.
+ */
+final class DocumentTable {
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    @SuppressWarnings("unchecked")
+    private volatile AtomicReferenceArray<IndexedDocument>[] chunks = new AtomicReferenceArray[0];
+
+    IndexedDocument get(int ordinal) {
+        AtomicReferenceArray<IndexedDocument>[] current = chunks;
+        int chunk = ordinal >>> CHUNK_BITS;
+        return chunk < current.length ? current[chunk].get(ordinal & CHUNK_MASK) : null;
+    }
+
+    void set(int ordinal, IndexedDocument document) {
+        int chunk = ordinal >>> CHUNK_BITS;
+        AtomicReferenceArray<IndexedDocument>[] current = chunks;
+        if (chunk >= current.length) {
+            current = grow(chunk);
+        }
+        current[chunk].set(ordinal & CHUNK_MASK, document);
+    }
+
+    private synchronized AtomicReferenceArray<IndexedDocument>[] grow(int chunk) {
+        AtomicReferenceArray<IndexedDocument>[] current = chunks;
+        if (chunk < current.length) {
+            return current;
+        }
+        AtomicReferenceArray<IndexedDocument>[] grown = Arrays.copyOf(current, chunk + 1);
+        for (int i = current.length; i < grown.length; i++) {
+            grown[i] = new AtomicReferenceArray<>(CHUNK_SIZE);
+        }
+        chunks = grown;
+        return grown;
+    }
+}
@@ -0,0 +1,17 @@
+package com.dembasiby.product.search;
+
+/**
+ * A document as stored in the index: its source fields plus the distinct terms and token
+ * count of each searchable field, which are needed to score it and to unindex it later.
+ */
+final class IndexedDocument {
+    final SearchDocument source;
+    final String[][] terms;
+    final int[] lengths;
+
+    IndexedDocument(SearchDocument source, String[][] terms, int[] lengths) {
+        this.source = source;
+        this.terms = terms;
+        this.lengths = lengths;
+    }
+}
@@ -0,0 +1,95 @@
+package com.dembasiby.product.search;
+
+import java.util.Arrays;
+
+/**
+ * Immutable list of (document ordinal, term frequency) pairs sorted by ordinal. Updates
+ * return a new list, so a reader holding a reference never sees it change underneath it.
+ */
+final class PostingList {
+    static final PostingList EMPTY = new PostingList(new int[0], new int[0], 0);
+
+    private final int[] ordinals;
+    private final int[] frequencies;
+    private final int size;
+
+    PostingList(int[] ordinals, int[] frequencies, int size) {
+        this.ordinals = ordinals;
+        this.frequencies = frequencies;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int ordinal(int index) {
+        return ordinals[index];
+    }
+
+    int frequency(int index) {
+        return frequencies[index];
+    }
+
+    /** Adds or replaces the entry for {@code ordinal}. */
+    PostingList with(int ordinal, int frequency) {
+        int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (index >= 0) {
+            if (frequencies[index] == frequency) {
+                return this;
+            }
+            int[] newFrequencies = Arrays.copyOf(frequencies, size);
+            newFrequencies[index] = frequency;
+            return new PostingList(ordinals, newFrequencies, size);
+        }
+        int insertAt = -index - 1;
+        int[] newOrdinals = new int[size + 1];
+        int[] newFrequencies = new int[size + 1];
+        System.arraycopy(ordinals, 0, newOrdinals, 0, insertAt);
+        System.arraycopy(frequencies, 0, newFrequencies, 0, insertAt);
+        newOrdinals[insertAt] = ordinal;
+        newFrequencies[insertAt] = frequency;
+        System.arraycopy(ordinals, insertAt, newOrdinals, insertAt + 1, size - insertAt);
+        System.arraycopy(frequencies, insertAt, newFrequencies, insertAt + 1, size - insertAt);
+        return new PostingList(newOrdinals, newFrequencies, size + 1);
+    }
+
+    /** Returns the list without {@code ordinal}, or {@code null} if nothing is left. */
+    PostingList without(int ordinal) {
+        int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (index < 0) {
+            return this;
+        }
+        if (size == 1) {
+            return null;
+        }
+        int[] newOrdinals = new int[size - 1];
+        int[] newFrequencies = new int[size - 1];
+        System.arraycopy(ordinals, 0, newOrdinals, 0, index);
+        System.arraycopy(frequencies, 0, newFrequencies, 0, index);
+        System.arraycopy(ordinals, index + 1, newOrdinals, index, size - index - 1);
+        System.arraycopy(frequencies, index + 1, newFrequencies, index, size - index - 1);
+        return new PostingList(newOrdinals, newFrequencies, size - 1);
+    }
+
+    /** Growable list used while bulk-building an index; ordinals arrive in ascending order. */
+    static final class Builder {
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        PostingList build() {
+            return new PostingList(Arrays.copyOf(ordinals, size), Arrays.copyOf(frequencies, size), size);
+        }
+    }
+}
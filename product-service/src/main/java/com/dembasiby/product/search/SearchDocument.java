@@ -0,0 +1,54 @@
+package com.dembasiby.product.search;
+
+import com.dembasiby.product.entity.Product;
+
+/**
+ * Immutable copy of the product fields the search index needs. Keeping the summary fields
+ * here lets a search be answered without going back to the database.
+ */
+public final class SearchDocument {
+    private final long id;
+    private final long version;
+    private final String name;
+    private final String description;
+    private final Double price;
+    private final String imageUrl;
+
+    public SearchDocument(long id, long version, String name, String description, Double price, String imageUrl) {
+        this.id = id;
+        this.version = version;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.imageUrl = imageUrl;
+    }
+
+    public static SearchDocument from(Product product) {
+        return new SearchDocument(product.getId(), product.getVersion(), product.getName(),
+                product.getDescription(), product.getPrice(), product.getImageUrl());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+}
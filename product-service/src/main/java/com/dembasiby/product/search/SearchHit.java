@@ -0,0 +1,19 @@
+package com.dembasiby.product.search;
+
+public final class SearchHit {
+    private final SearchDocument document;
+    private final float score;
+
+    SearchHit(SearchDocument document, float score) {
+        this.document = document;
+        this.score = score;
+    }
+
+    public SearchDocument getDocument() {
+        return document;
+    }
+
+    public float getScore() {
+        return score;
+    }
+}
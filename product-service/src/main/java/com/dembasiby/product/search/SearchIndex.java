@@ -0,0 +1,380 @@
+package com.dembasiby.product.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory inverted index over product name and description, ranked with BM25.
+ *
+ * <p>Each field keeps a sorted term dictionary mapping terms to immutable {@link PostingList}s.
+ * Searches only read volatile references and never lock. Writers replace posting lists
+ * with compare-and-set and are serialized per document id by lock striping, so two
+ * updates of different products never wait on each other. Every posting list update copies
+ * the list, which is fine for catalog edits; bulk loads go through {@link Builder} instead.
+ *
+ * <p>Query syntax: whitespace-separated terms, OR-ed together. A term ending in {@code *}
+ * matches every indexed term with that prefix.
+ */
+public class SearchIndex {
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+    static final int MAX_PREFIX_EXPANSION = 64;
+
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = 1;
+    // A match in the name says more about a product than a match in its description
+    private static final float[] FIELD_WEIGHTS = {2.0f, 1.0f};
+    private static final int FIELDS = FIELD_WEIGHTS.length;
+    private static final int STRIPES = 64;
+
+    private final List<ConcurrentSkipListMap<String, PostingList>> postings;
+    private final LongAdder[] totalLengths;
+    private final ConcurrentHashMap<Long, Integer> ordinals;
+    private final DocumentTable documents;
+    private final AtomicInteger nextOrdinal;
+    private final AtomicInteger size;
+    private final Object[] stripes = new Object[STRIPES];
+
+    public SearchIndex() {
+        this(emptyPostings(), new long[FIELDS], new ConcurrentHashMap<>(), new DocumentTable(), 0);
+    }
+
+    private SearchIndex(List<ConcurrentSkipListMap<String, PostingList>> postings, long[] totalLengths,
+                        ConcurrentHashMap<Long, Integer> ordinals, DocumentTable documents, int nextOrdinal) {
+        this.postings = postings;
+        this.totalLengths = new LongAdder[FIELDS];
+        for (int field = 0; field < FIELDS; field++) {
+            this.totalLengths[field] = new LongAdder();
+            this.totalLengths[field].add(totalLengths[field]);
+        }
+        this.ordinals = ordinals;
+        this.documents = documents;
+        this.nextOrdinal = new AtomicInteger(nextOrdinal);
+        this.size = new AtomicInteger(ordinals.size());
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Adds the document or replaces the indexed copy of it. A copy older than the one
+     * already indexed is ignored, so replaying changes out of order is harmless.
+     *
+     * @return whether the index changed
+     */
+    public boolean index(SearchDocument document) {
+        long id = document.getId();
+        synchronized (stripes[Long.hashCode(id) & (STRIPES - 1)]) {
+            Integer existing = ordinals.get(id);
+            IndexedDocument previous = existing == null ? null : documents.get(existing);
+            if (previous != null && previous.source.getVersion() > document.getVersion()) {
+                return false;
+            }
+            int ordinal = existing != null ? existing : nextOrdinal.getAndIncrement();
+            int[] lengths = new int[FIELDS];
+            List<Map<String, Integer>> frequencies = analyze(document, lengths);
+            String[][] terms = new String[FIELDS][];
+            for (int field = 0; field < FIELDS; field++) {
+                terms[field] = frequencies.get(field).keySet().toArray(new String[0]);
+            }
+            documents.set(ordinal, new IndexedDocument(document, terms, lengths));
+
+            // Post the new terms before dropping stale ones so concurrent searches never
+            // see the document vanish mid-update
+            for (int field = 0; field < FIELDS; field++) {
+                ConcurrentSkipListMap<String, PostingList> dictionary = postings.get(field);
+                for (Map.Entry<String, Integer> entry : frequencies.get(field).entrySet()) {
+                    int frequency = entry.getValue();
+                    dictionary.compute(entry.getKey(),
+                            (term, list) -> (list == null ? PostingList.EMPTY : list).with(ordinal, frequency));
+                }
+                if (previous != null) {
+                    for (String term : previous.terms[field]) {
+                        if (!frequencies.get(field).containsKey(term)) {
+                            dictionary.computeIfPresent(term, (t, list) -> list.without(ordinal));
+                        }
+                    }
+                }
+                totalLengths[field].add(lengths[field] - (previous == null ? 0 : previous.lengths[field]));
+            }
+            if (existing == null) {
+                ordinals.put(id, ordinal);
+                size.incrementAndGet();
+            }
+            return true;
+        }
+    }
+
+    /** @return whether the document was indexed */
+    public boolean remove(long id) {
+        synchronized (stripes[Long.hashCode(id) & (STRIPES - 1)]) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) {
+                return false;
+            }
+            IndexedDocument previous = documents.get(ordinal);
+            documents.set(ordinal, null);
+            size.decrementAndGet();
+            for (int field = 0; field < FIELDS; field++) {
+                for (String term : previous.terms[field]) {
+                    postings.get(field).computeIfPresent(term, (t, list) -> list.without(ordinal));
+                }
+                totalLengths[field].add(-previous.lengths[field]);
+            }
+            return true;
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        int documentCount = size.get();
+        if (documentCount == 0 || limit < 1 || query == null) {
+            return List.of();
+        }
+
+        List<QueryTerm> queryTerms = parse(query);
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparingInt(Cursor::current));
+        for (int field = 0; field < FIELDS; field++) {
+            double averageLength = Math.max(1.0, totalLengths[field].sum() / (double) documentCount);
+            for (Map.Entry<String, PostingList> match : matchingTerms(field, queryTerms).entrySet()) {
+                PostingList list = match.getValue();
+                double idf = Math.log(1 + (documentCount - list.size() + 0.5) / (list.size() + 0.5));
+                cursors.add(new Cursor(list, field, (float) (FIELD_WEIGHTS[field] * idf), (float) averageLength));
+            }
+        }
+
+        // Document-at-a-time merge of the sorted posting lists: each candidate is scored
+        // once, and only the best `limit` survive in a min-heap
+        PriorityQueue<ScoredDocument> best = new PriorityQueue<>(limit + 1, ScoredDocument.WORST_FIRST);
+        while (!cursors.isEmpty()) {
+            int ordinal = cursors.peek().current();
+            IndexedDocument document = documents.get(ordinal);
+            float score = 0;
+            while (!cursors.isEmpty() && cursors.peek().current() == ordinal) {
+                Cursor cursor = cursors.poll();
+                if (document != null) {
+                    score += cursor.score(document.lengths[cursor.field]);
+                }
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+            if (document == null) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new ScoredDocument(ordinal, document, score));
+            } else if (score > best.peek().score) {
+                best.poll();
+                best.add(new ScoredDocument(ordinal, document, score));
+            }
+        }
+
+        List<ScoredDocument> ranked = new ArrayList<>(best);
+        ranked.sort(ScoredDocument.WORST_FIRST.reversed());
+        List<SearchHit> hits = new ArrayList<>(ranked.size());
+        for (ScoredDocument scored : ranked) {
+            hits.add(new SearchHit(scored.document.source, scored.score));
+        }
+        return hits;
+    }
+
+    private Map<String, PostingList> matchingTerms(int field, List<QueryTerm> queryTerms) {
+        ConcurrentSkipListMap<String, PostingList> dictionary = postings.get(field);
+        Map<String, PostingList> matches = new LinkedHashMap<>();
+        for (QueryTerm queryTerm : queryTerms) {
+            if (!queryTerm.prefix) {
+                PostingList list = dictionary.get(queryTerm.text);
+                if (list != null) {
+                    matches.put(queryTerm.text, list);
+                }
+                continue;
+            }
+            NavigableMap<String, PostingList> expansion =
+                    dictionary.subMap(queryTerm.text, true, queryTerm.text + Character.MAX_VALUE, true);
+            int expanded = 0;
+            for (Map.Entry<String, PostingList> entry : expansion.entrySet()) {
+                if (expanded++ == MAX_PREFIX_EXPANSION) {
+                    break;
+                }
+                matches.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    static List<QueryTerm> parse(String query) {
+        List<QueryTerm> terms = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String part : query.trim().split("\\s+")) {
+            boolean prefix = part.endsWith("*");
+            List<String> tokens = Tokenizer.tokenize(prefix ? part.substring(0, part.length() - 1) : part, !prefix);
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                boolean isPrefix = prefix && i == tokens.size() - 1;
+                if (!isPrefix && prefix && Tokenizer.isStopWord(token)) {
+                    continue;
+                }
+                if (seen.add((isPrefix ? "*" : "") + token)) {
+                    terms.add(new QueryTerm(token, isPrefix));
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static List<Map<String, Integer>> analyze(SearchDocument document, int[] lengths) {
+        List<Map<String, Integer>> frequencies = new ArrayList<>(FIELDS);
+        String[] texts = new String[FIELDS];
+        texts[NAME] = document.getName();
+        texts[DESCRIPTION] = document.getDescription();
+        for (int field = 0; field < FIELDS; field++) {
+            List<String> tokens = Tokenizer.tokenize(texts[field]);
+            Map<String, Integer> counts = new HashMap<>();
+            for (String token : tokens) {
+                counts.merge(token, 1, Integer::sum);
+            }
+            lengths[field] = tokens.size();
+            frequencies.add(counts);
+        }
+        return frequencies;
+    }
+
+    private static List<ConcurrentSkipListMap<String, PostingList>> emptyPostings() {
+        List<ConcurrentSkipListMap<String, PostingList>> postings = new ArrayList<>(FIELDS);
+        for (int field = 0; field < FIELDS; field++) {
+            postings.add(new ConcurrentSkipListMap<>());
+        }
+        return postings;
+    }
+
+    static final class QueryTerm {
+        final String text;
+        final boolean prefix;
+
+        QueryTerm(String text, boolean prefix) {
+            this.text = text;
+            this.prefix = prefix;
+        }
+    }
+
+    private static final class Cursor {
+        private final PostingList list;
+        private final int field;
+        private final float weightedIdf;
+        private final float averageLength;
+        private int position;
+
+        Cursor(PostingList list, int field, float weightedIdf, float averageLength) {
+            this.list = list;
+            this.field = field;
+            this.weightedIdf = weightedIdf;
+            this.averageLength = averageLength;
+        }
+
+        int current() {
+            return list.ordinal(position);
+        }
+
+        boolean advance() {
+            return ++position < list.size();
+        }
+
+        float score(int documentLength) {
+            int frequency = list.frequency(position);
+            float norm = K1 * (1 - B + B * documentLength / averageLength);
+            return weightedIdf * frequency * (K1 + 1) / (frequency + norm);
+        }
+    }
+
+    private static final class ScoredDocument {
+        // Lowest score first; on ties the later ordinal goes first so older products win
+        static final Comparator<ScoredDocument> WORST_FIRST = Comparator
+                .comparingDouble((ScoredDocument scored) -> scored.score)
+                .thenComparing(Comparator.comparingInt((ScoredDocument scored) -> scored.ordinal).reversed());
+
+        final int ordinal;
+        final IndexedDocument document;
+        final float score;
+
+        ScoredDocument(int ordinal, IndexedDocument document, float score) {
+            this.ordinal = ordinal;
+            this.document = document;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Single-threaded bulk loader. Posting lists are appended to in place and only frozen
+     * into their immutable form by {@link #build()}, which avoids the copy per update that
+     * {@link SearchIndex#index} pays.
+     */
+    public static final class Builder {
+        private final List<Map<String, PostingList.Builder>> postings = new ArrayList<>(FIELDS);
+        private final Map<String, String> dictionary = new HashMap<>();
+        private final ConcurrentHashMap<Long, Integer> ordinals = new ConcurrentHashMap<>();
+        private final DocumentTable documents = new DocumentTable();
+        private final long[] totalLengths = new long[FIELDS];
+        private int nextOrdinal;
+
+        private Builder() {
+            for (int field = 0; field < FIELDS; field++) {
+                postings.add(new HashMap<>());
+            }
+        }
+
+        public Builder add(SearchDocument document) {
+            if (ordinals.containsKey(document.getId())) {
+                throw new IllegalArgumentException("Duplicate document id: " + document.getId());
+            }
+            int ordinal = nextOrdinal++;
+            int[] lengths = new int[FIELDS];
+            List<Map<String, Integer>> frequencies = analyze(document, lengths);
+            String[][] terms = new String[FIELDS][];
+            for (int field = 0; field < FIELDS; field++) {
+                Map<String, PostingList.Builder> fieldPostings = postings.get(field);
+                terms[field] = new String[frequencies.get(field).size()];
+                int i = 0;
+                for (Map.Entry<String, Integer> entry : frequencies.get(field).entrySet()) {
+                    // Share one String instance per distinct term across all documents
+                    String term = dictionary.computeIfAbsent(entry.getKey(), key -> key);
+                    fieldPostings.computeIfAbsent(term, key -> new PostingList.Builder()).add(ordinal, entry.getValue());
+                    terms[field][i++] = term;
+                }
+                totalLengths[field] += lengths[field];
+            }
+            documents.set(ordinal, new IndexedDocument(document, terms, lengths));
+            ordinals.put(document.getId(), ordinal);
+            return this;
+        }
+
+        public SearchIndex build() {
+            List<ConcurrentSkipListMap<String, PostingList>> frozen = emptyPostings();
+            for (int field = 0; field < FIELDS; field++) {
+                for (Map.Entry<String, PostingList.Builder> entry : postings.get(field).entrySet()) {
+                    frozen.get(field).put(entry.getKey(), entry.getValue().build());
+                }
+            }
+            return new SearchIndex(frozen, totalLengths, ordinals, documents, nextOrdinal);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.dembasiby.product.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into lower-case, accent-free terms on any character that is not a letter or
+ * digit. Used for both documents and queries so the two always agree on what a term is.
+ */
+public final class Tokenizer {
+    static final int MAX_TOKEN_LENGTH = 40;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is",
+            "it", "of", "on", "or", "the", "this", "to", "with");
+
+    private Tokenizer() {}
+
+    public static List<String> tokenize(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * @param dropStopWords false for the prefix part of a query, where "an*" should still
+     *                      expand to "android"
+     */
+    public static List<String> tokenize(String text, boolean dropStopWords) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String normalized = isAscii(text) ? text : DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = normalized.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)).toLowerCase(Locale.ROOT);
+                if (!dropStopWords || !STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    static boolean isStopWord(String token) {
+        return STOP_WORDS.contains(token);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
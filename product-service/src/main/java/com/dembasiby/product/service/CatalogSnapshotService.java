@@ -0,0 +1,263 @@
+package com.dembasiby.product.service;
+
+import com.dembasiby.product.entity.Product;
+import com.dembasiby.product.event.ProductChangedEvent;
+import com.dembasiby.product.event.ProductsImportedEvent;
+import com.dembasiby.product.event.StockChangedEvent;
+import com.dembasiby.product.repository.KeysetScan;
+import com.dembasiby.product.repository.ProductRepository;
+import com.dembasiby.product.snapshot.CatalogSnapshot;
+import com.dembasiby.product.snapshot.ProductVersion;
+import com.dembasiby.product.snapshot.SnapshotProduct;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Warm start for the in-memory indexes. The catalog is periodically written to a local
+ * {@link CatalogSnapshot}; on startup the search, facet and suggestion indexes are built from
+ * that file instead of from a full database scan, so the instance answers reads within
+ * seconds. It then catches up by comparing the version of every product in the database with
+ * the one in the snapshot and applying the differences.
+ *
+ * <p>Products changed by this instance while the catch-up runs are left to the normal
+ * {@link ProductChangedEvent} listeners, which always carry the newer state. Without a
+ * snapshot the indexes are built from the database as before. Either way
+ * {@link #awaitIndexes(Duration)} tells when the search and facet indexes are ready.
+ */
+@Service
+public class CatalogSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final ProductRepository productRepository;
+    private final ProductSearchService searchService;
+    private final FacetService facetService;
+    private final ProductSuggestService suggestService;
+    private final Path snapshotPath;
+    private final int batchSize;
+    private final AtomicBoolean changed = new AtomicBoolean(true);
+    private final Object catchUpLock = new Object();
+    private final CountDownLatch indexesLoaded = new CountDownLatch(1);
+    private final Timer writeTimer;
+    private final Timer loadTimer;
+    private final Timer catchUpTimer;
+    private Set<Long> changedDuringCatchUp;
+
+    public CatalogSnapshotService(ProductRepository productRepository,
+                                  ProductSearchService searchService,
+                                  FacetService facetService,
+                                  ProductSuggestService suggestService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${catalog.snapshot.path:${java.io.tmpdir}/catalog-snapshot/catalog.bin}") Path snapshotPath,
+                                  @Value("${catalog.snapshot.batch-size:5000}") int batchSize) {
+        this.productRepository = productRepository;
+        this.searchService = searchService;
+        this.facetService = facetService;
+        this.suggestService = suggestService;
+        this.snapshotPath = snapshotPath;
+        this.batchSize = batchSize;
+        this.writeTimer = Timer.builder("catalog.snapshot.write")
+                .description("Time to write the catalog snapshot")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("catalog.snapshot.load")
+                .description("Time to build the in-memory indexes from the catalog snapshot")
+                .register(meterRegistry);
+        this.catchUpTimer = Timer.builder("catalog.snapshot.catch-up")
+                .description("Time to apply the changes made since the catalog snapshot was written")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmStart() {
+        Thread loader = new Thread(this::loadIndexes, "catalog-warm-start");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Waits for the startup load of the search and facet indexes, at most {@code timeout}.
+     *
+     * @return whether they are loaded
+     */
+    public boolean awaitIndexes(Duration timeout) throws InterruptedException {
+        return indexesLoaded.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Writes a new snapshot if the catalog changed since the last one. */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.interval-ms:600000}",
+            initialDelayString = "${catalog.snapshot.interval-ms:600000}")
+    public synchronized void writeIfChanged() {
+        if (!changed.getAndSet(false)) {
+            return;
+        }
+        long writtenAt = System.currentTimeMillis();
+        try {
+            Integer count = writeTimer.recordCallable(() -> CatalogSnapshot.write(snapshotPath,
+                    KeysetScan.stream(productRepository::findSnapshotAfter, SnapshotProduct::getId, batchSize), writtenAt));
+            logger.info("Wrote catalog snapshot of {} products to {}", count, snapshotPath);
+        } catch (Exception e) {
+            changed.set(true);
+            logger.warn("Could not write catalog snapshot to {}", snapshotPath, e);
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        changed.set(true);
+        synchronized (catchUpLock) {
+            if (changedDuringCatchUp != null) {
+                changedDuringCatchUp.add(event.getProductId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        changed.set(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        changed.set(true);
+    }
+
+    private void loadIndexes() {
+        try {
+            load();
+        } finally {
+            indexesLoaded.countDown();
+        }
+    }
+
+    private void load() {
+        CatalogSnapshot snapshot = null;
+        try {
+            snapshot = CatalogSnapshot.open(snapshotPath);
+        } catch (IOException e) {
+            logger.error("Could not read catalog snapshot {}; building the indexes from the database", snapshotPath, e);
+        }
+        if (snapshot == null) {
+            suggestService.requestRebuild();
+            searchService.rebuild();
+            facetService.rebuild();
+            return;
+        }
+
+        synchronized (catchUpLock) {
+            changedDuringCatchUp = new HashSet<>();
+        }
+        long start = System.nanoTime();
+        CatalogSnapshot loaded = snapshot;
+        try {
+            searchService.rebuild(loaded.stream().map(SnapshotProduct::toSearchDocument));
+            facetService.rebuild(loaded.stream().map(SnapshotProduct::toFacets));
+            suggestService.rebuild(loaded.stream().map(SnapshotProduct::toName));
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.info("Indexes loaded from catalog snapshot of {} products written at {} in {} ms",
+                    loaded.size(), Instant.ofEpochMilli(loaded.getWrittenAt()), (System.nanoTime() - start) / 1_000_000);
+            catchUp(loaded);
+        } catch (RuntimeException e) {
+            logger.error("Warm start from catalog snapshot failed; rebuilding the indexes from the database", e);
+            searchService.rebuild();
+            facetService.rebuild();
+            suggestService.requestRebuild();
+        } finally {
+            synchronized (catchUpLock) {
+                changedDuringCatchUp = null;
+            }
+        }
+    }
+
+    /**
+     * Walks the snapshot and the database side by side in id order. Products whose version
+     * differs, or that only exist in the database, are reloaded; products missing from the
+     * database are removed.
+     */
+    private void catchUp(CatalogSnapshot snapshot) {
+        long start = System.nanoTime();
+        Iterator<SnapshotProduct> stored = snapshot.stream().iterator();
+        Iterator<ProductVersion> current = KeysetScan.stream(productRepository::findVersionsAfter,
+                ProductVersion::getId, batchSize).iterator();
+        List<Long> reload = new ArrayList<>();
+        int reloaded = 0;
+        int deleted = 0;
+        SnapshotProduct old = stored.hasNext() ? stored.next() : null;
+        ProductVersion now = current.hasNext() ? current.next() : null;
+        while (old != null || now != null) {
+            if (now == null || (old != null && old.getId() < now.getId())) {
+                Product gone = new Product();
+                gone.setId(old.getId());
+                if (apply(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, gone))) {
+                    deleted++;
+                }
+                old = stored.hasNext() ? stored.next() : null;
+            } else if (old == null || now.getId() < old.getId()) {
+                reload.add(now.getId());
+                now = current.hasNext() ? current.next() : null;
+            } else {
+                if (now.getVersion() != old.getVersion()) {
+                    reload.add(now.getId());
+                }
+                old = stored.hasNext() ? stored.next() : null;
+                now = current.hasNext() ? current.next() : null;
+            }
+            if (reload.size() >= batchSize || (old == null && now == null && !reload.isEmpty())) {
+                reloaded += reload(reload);
+                reload.clear();
+            }
+        }
+        if (reloaded + deleted > 0) {
+            suggestService.requestRebuild();
+            changed.set(true);
+        }
+        catchUpTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        logger.info("Caught up with the database: {} products reloaded and {} removed in {} ms",
+                reloaded, deleted, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int reload(List<Long> ids) {
+        int applied = 0;
+        for (Product product : productRepository.findAllById(ids)) {
+            if (apply(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, product))) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    /** Applies a change found by the catch-up, unless an event has already brought something newer. */
+    private boolean apply(ProductChangedEvent event) {
+        synchronized (catchUpLock) {
+            if (changedDuringCatchUp.contains(event.getProductId())) {
+                return false;
+            }
+            searchService.onProductChanged(event);
+            facetService.onProductChanged(event);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.dembasiby.product.service;
+
+import com.dembasiby.product.cache.Invalidation;
+import com.dembasiby.product.cache.InvalidationBus;
+import com.dembasiby.product.category.CategoryNode;
+import com.dembasiby.product.category.CategoryTree;
+import com.dembasiby.product.dto.CategoryDetailDto;
+import com.dembasiby.product.dto.CategoryDto;
+import com.dembasiby.product.dto.CategoryRequestDto;
+import com.dembasiby.product.entity.Category;
+import com.dembasiby.product.event.CategoryChangedEvent;
+import com.dembasiby.product.event.ProductChangedEvent;
+import com.dembasiby.product.event.ProductsImportedEvent;
+import com.dembasiby.product.exception.ResourceNotFoundException;
+import com.dembasiby.product.repository.CategoryProductCount;
+import com.dembasiby.product.repository.CategoryRepository;
+import com.dembasiby.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves category navigation from an in-memory {@link CategoryTree} snapshot.
+ *
+ * <p>The snapshot is rebuilt right after any category change commits. Product changes only
+ * affect the counts, so they just mark the snapshot stale and a scheduled task rebuilds it
+ * at most once per {@code catalog.categories.count-refresh-interval-ms}; counts may lag
+ * product writes by up to that interval.
+ *
+ * <p>Other instances learn of a category change over the {@link InvalidationBus} and rebuild
+ * as well; product invalidations from them mark the counts stale here too. Delivery is best
+ * effort, so a lookup of an id the snapshot does not know reloads it first, at most once per
+ * {@code catalog.categories.miss-reload-interval-ms}, before the id is reported missing.
+ */
+@Service
+public class CategoryService {
+    private static final Logger logger = LoggerFactory.getLogger(CategoryService.class);
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationBus invalidationBus;
+    private final long missReloadIntervalNanos;
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicBoolean countsStale = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+    private volatile long loadedAt;
+
+    public CategoryService(CategoryRepository categoryRepository,
+                           ProductRepository productRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           InvalidationBus invalidationBus,
+                           @Value("${catalog.categories.miss-reload-interval-ms:1000}") long missReloadIntervalMs) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.invalidationBus = invalidationBus;
+        this.missReloadIntervalNanos = missReloadIntervalMs * 1_000_000;
+        invalidationBus.subscribe(this::onRemoteInvalidation);
+    }
+
+    public CategoryTree getTree() {
+        Snapshot current = snapshot;
+        return (current != null ? current : load()).tree;
+    }
+
+    public List<CategoryDto> getCategoryTree() {
+        Snapshot current = snapshot;
+        return (current != null ? current : load()).treeView;
+    }
+
+    /** The category, reloading the snapshot first if it does not know the id. */
+    public Optional<CategoryNode> findNode(Long id) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = load();
+        }
+        Optional<CategoryNode> node = current.tree.find(id);
+        if (node.isEmpty() && System.nanoTime() - loadedAt > missReloadIntervalNanos) {
+            node = load().tree.find(id);
+        }
+        return node;
+    }
+
+    public CategoryNode getNode(Long id) {
+        return findNode(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+    }
+
+    public CategoryDetailDto getCategory(Long id) {
+        CategoryNode node = getNode(id);
+        return CategoryDetailDto.from(node, getTree().ancestors(node));
+    }
+
+    @Transactional
+    public CategoryDto createCategory(CategoryRequestDto request) {
+        Category parent = request.getParentId() == null ? null : findCategory(request.getParentId());
+        Category category = new Category(request.getName(), request.getDescription());
+        category.setParent(parent);
+        // The path ends with the category's own id, which only exists once it is saved.
+        // Insert with the parent's path and let the flush rewrite it.
+        category.setPath(parent == null ? Category.PATH_SEPARATOR : parent.getPath());
+        category = categoryRepository.save(category);
+        category.setPath(childPath(parent, category.getId()));
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+        return CategoryDto.from(category);
+    }
+
+    @Transactional
+    public CategoryDto updateCategory(Long id, CategoryRequestDto request) {
+        Category category = findCategory(id);
+        category.setName(request.getName());
+        category.setDescription(request.getDescription());
+
+        Long currentParentId = category.getParent() == null ? null : category.getParent().getId();
+        if (!Objects.equals(currentParentId, request.getParentId())) {
+            Category parent = request.getParentId() == null ? null : findCategory(request.getParentId());
+            if (parent != null && parent.getPath().startsWith(category.getPath())) {
+                throw new IllegalArgumentException("A category cannot be moved under itself or one of its descendants");
+            }
+            category.setParent(parent);
+            categoryRepository.movePaths(category.getPath(), childPath(parent, id));
+            category = findCategory(id);
+        }
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+        return CategoryDto.from(category);
+    }
+
+    @Transactional
+    public void deleteCategory(Long id) {
+        Category category = findCategory(id);
+        if (categoryRepository.existsByParentId(id) || productRepository.existsByCategoryId(id)) {
+            throw new IllegalArgumentException("Category still has subcategories or products");
+        }
+        categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+    }
+
+    /** Loads categories and per-category product counts and swaps in a new snapshot. */
+    public void refresh() {
+        load();
+    }
+
+    private synchronized Snapshot load() {
+        long start = System.nanoTime();
+        countsStale.set(false);
+        Map<Long, Long> productCounts = new HashMap<>();
+        for (CategoryProductCount count : productRepository.countByCategory()) {
+            productCounts.put(count.getCategoryId(), count.getProductCount());
+        }
+        CategoryTree tree = CategoryTree.build(categoryRepository.findAll(), productCounts);
+        Snapshot refreshed = new Snapshot(tree, tree.getRoots().stream().map(CategoryDto::tree).toList());
+        snapshot = refreshed;
+        loadedAt = System.nanoTime();
+        logger.debug("Category tree rebuilt with {} categories in {} ms", tree.size(), (System.nanoTime() - start) / 1_000_000);
+        return refreshed;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        refresh();
+        invalidationBus.publish(Invalidation.category(event.getCategoryId(), System.currentTimeMillis(), origin));
+    }
+
+    private void onRemoteInvalidation(Invalidation invalidation) {
+        if (origin.equals(invalidation.getOrigin())) {
+            return;
+        }
+        if (invalidation.getKind() == Invalidation.Kind.CATEGORY) {
+            refresh();
+        } else {
+            countsStale.set(true);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        countsStale.set(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        countsStale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.categories.count-refresh-interval-ms:5000}")
+    public void refreshCountsIfStale() {
+        if (countsStale.get() && snapshot != null) {
+            refresh();
+        }
+    }
+
+    private Category findCategory(Long id) {
+        return categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+    }
+
+    private static String childPath(Category parent, Long id) {
+        return (parent == null ? Category.PATH_SEPARATOR : parent.getPath()) + id + Category.PATH_SEPARATOR;
+    }
+
+    private static final class Snapshot {
+        final CategoryTree tree;
+        final List<CategoryDto> treeView;
+
+        Snapshot(CategoryTree tree, List<CategoryDto> treeView) {
+            this.tree = tree;
+            this.treeView = treeView;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.dembasiby.product.service;
+
+import com.dembasiby.product.category.CategoryNode;
+import com.dembasiby.product.category.CategoryTree;
+import com.dembasiby.product.dto.FacetCountDto;
+import com.dembasiby.product.dto.FacetSearchDto;
+import com.dembasiby.product.dto.ProductSummaryDto;
+import com.dembasiby.product.entity.Product;
+import com.dembasiby.product.event.ProductChangedEvent;
+import com.dembasiby.product.event.StockChangedEvent;
+import com.dembasiby.product.facet.FacetIndex;
+import com.dembasiby.product.facet.FacetQuery;
+import com.dembasiby.product.facet.FacetResult;
+import com.dembasiby.product.facet.PriceBands;
+import com.dembasiby.product.facet.ProductFacets;
+import com.dembasiby.product.repository.KeysetScan;
+import com.dembasiby.product.repository.ProductCursor;
+import com.dembasiby.product.repository.ProductRepository;
+import com.dembasiby.product.repository.ProductSort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Faceted product filtering backed by {@link FacetIndex}. Like the search index, the bitmaps
+ * are built at startup from the catalog snapshot or the database and then follow
+ * {@link ProductChangedEvent}s. Only the page of matching products is read from the database.
+ */
+@Service
+public class FacetService {
+    private static final Logger logger = LoggerFactory.getLogger(FacetService.class);
+
+    private final ProductRepository productRepository;
+    private final CategoryService categoryService;
+    private final PriceBands priceBands;
+    private final int buildBatchSize;
+    private final int maxBrandOptions;
+    private final Object buildLock = new Object();
+    private volatile FacetIndex index;
+    private List<ProductChangedEvent> pendingChanges;
+    private boolean rebuildRequested;
+
+    public FacetService(ProductRepository productRepository,
+                        CategoryService categoryService,
+                        MeterRegistry meterRegistry,
+                        @Value("${catalog.facets.price-bands:25,50,100,250,500}") double[] priceBands,
+                        @Value("${catalog.facets.build-batch-size:5000}") int buildBatchSize,
+                        @Value("${catalog.facets.max-brand-options:50}") int maxBrandOptions) {
+        this.productRepository = productRepository;
+        this.categoryService = categoryService;
+        this.priceBands = new PriceBands(priceBands);
+        this.buildBatchSize = buildBatchSize;
+        this.maxBrandOptions = maxBrandOptions;
+        this.index = new FacetIndex(this.priceBands);
+        Gauge.builder("facet.index.bytes", this, service -> service.index.sizeInBytes())
+                .description("Heap used by the facet bitmaps")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public FacetSearchDto search(List<Long> categoryIds, List<String> brands, List<String> prices,
+                                 List<String> availability, String cursor, int size) {
+        if (size < 1 || size > ProductService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + ProductService.MAX_PAGE_SIZE);
+        }
+        CategoryTree tree = categoryService.getTree();
+        FacetQuery query = new FacetQuery().limit(size);
+        if (cursor != null && !cursor.isBlank()) {
+            query.after(ProductCursor.decode(cursor, ProductSort.ID_ASC).getId());
+        }
+
+        List<CategoryNode> selectedCategories = new ArrayList<>();
+        if (!categoryIds.isEmpty()) {
+            Set<String> values = new HashSet<>();
+            for (Long categoryId : categoryIds) {
+                CategoryNode node = categoryService.getNode(categoryId);
+                selectedCategories.add(node);
+                values.addAll(subtreeValues(node));
+            }
+            query.select(FacetIndex.CATEGORY, values);
+        }
+        if (!brands.isEmpty()) {
+            query.select(FacetIndex.BRAND, brands);
+        }
+        if (!prices.isEmpty()) {
+            query.select(FacetIndex.PRICE, prices);
+        }
+        if (!availability.isEmpty()) {
+            query.select(FacetIndex.AVAILABILITY, availability);
+        }
+
+        // Drill down: offer the children of a single selected category, otherwise the roots
+        List<CategoryNode> categoryOptions = selectedCategories.size() == 1 && !selectedCategories.get(0).getChildren().isEmpty()
+                ? selectedCategories.get(0).getChildren()
+                : tree.getRoots();
+        for (CategoryNode option : categoryOptions) {
+            query.count(FacetIndex.CATEGORY, Long.toString(option.getId()), subtreeValues(option));
+        }
+        query.countEachValue(FacetIndex.BRAND);
+        for (String band : priceBands.labels()) {
+            query.count(FacetIndex.PRICE, band, List.of(band));
+        }
+        query.count(FacetIndex.AVAILABILITY, FacetIndex.IN_STOCK, List.of(FacetIndex.IN_STOCK));
+        query.count(FacetIndex.AVAILABILITY, FacetIndex.OUT_OF_STOCK, List.of(FacetIndex.OUT_OF_STOCK));
+
+        FacetResult result = index.query(query);
+        List<ProductSummaryDto> items = result.getProductIds().isEmpty()
+                ? List.of()
+                : productRepository.findSummariesByIdIn(result.getProductIds());
+        String nextCursor = result.getNextAfterId() == null ? null
+                : new ProductCursor(ProductSort.ID_ASC, result.getNextAfterId(), result.getNextAfterId()).encode();
+        return new FacetSearchDto(result.getTotal(), items, nextCursor, facetCounts(result, tree));
+    }
+
+    private Map<String, List<FacetCountDto>> facetCounts(FacetResult result, CategoryTree tree) {
+        Map<String, List<FacetCountDto>> facets = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, Long>> facet : result.getCounts().entrySet()) {
+            List<FacetCountDto> options = new ArrayList<>();
+            for (Map.Entry<String, Long> option : facet.getValue().entrySet()) {
+                options.add(new FacetCountDto(option.getKey(), label(facet.getKey(), option.getKey(), tree), option.getValue()));
+            }
+            if (FacetIndex.BRAND.equals(facet.getKey())) {
+                options.removeIf(option -> option.getCount() == 0);
+                options.sort(Comparator.comparingLong(FacetCountDto::getCount).reversed().thenComparing(FacetCountDto::getValue));
+                if (options.size() > maxBrandOptions) {
+                    options = new ArrayList<>(options.subList(0, maxBrandOptions));
+                }
+            }
+            facets.put(facet.getKey(), options);
+        }
+        return facets;
+    }
+
+    private static String label(String facet, String value, CategoryTree tree) {
+        return switch (facet) {
+            case FacetIndex.CATEGORY -> tree.find(Long.parseLong(value)).map(CategoryNode::getName).orElse(value);
+            case FacetIndex.AVAILABILITY -> FacetIndex.IN_STOCK.equals(value) ? "In stock" : "Out of stock";
+            default -> value;
+        };
+    }
+
+    private static Set<String> subtreeValues(CategoryNode node) {
+        Set<String> values = new HashSet<>();
+        collect(node, values);
+        return values;
+    }
+
+    private static void collect(CategoryNode node, Set<String> values) {
+        values.add(Long.toString(node.getId()));
+        for (CategoryNode child : node.getChildren()) {
+            collect(child, values);
+        }
+    }
+
+    /** Rebuilds the bitmaps from the database and swaps them in. Safe to call at any time. */
+    public void rebuild() {
+        rebuild(KeysetScan.stream(productRepository::findFacetsAfter, ProductFacets::getId, buildBatchSize));
+    }
+
+    /**
+     * Rebuilds the bitmaps from {@code products} and swaps them in. Changes committed while the
+     * stream is consumed are replayed onto the new bitmaps. If a build is already running, it makes
+     * another pass over the database once it is done, so bulk imports, which raise no
+     * {@link ProductChangedEvent}s, are never left out.
+     */
+    public void rebuild(Stream<ProductFacets> products) {
+        synchronized (buildLock) {
+            if (pendingChanges != null) {
+                rebuildRequested = true;
+                return;
+            }
+            pendingChanges = new ArrayList<>();
+        }
+        long start = System.nanoTime();
+        FacetIndex.Builder builder = FacetIndex.builder(priceBands);
+        try {
+            products.forEach(builder::add);
+        } catch (RuntimeException e) {
+            logger.error("Facet index build failed; keeping the current index", e);
+            boolean again;
+            synchronized (buildLock) {
+                pendingChanges = null;
+                again = rebuildRequested;
+                rebuildRequested = false;
+            }
+            if (again) {
+                rebuild();
+            }
+            return;
+        }
+
+        FacetIndex built = builder.build();
+        boolean again;
+        synchronized (buildLock) {
+            pendingChanges.forEach(change -> apply(built, change));
+            index = built;
+            pendingChanges = null;
+            again = rebuildRequested;
+            rebuildRequested = false;
+        }
+        logger.info("Facet index built with {} products ({} bytes) in {} ms",
+                built.size(), built.sizeInBytes(), (System.nanoTime() - start) / 1_000_000);
+        if (again) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (buildLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        }
+        apply(index, event);
+    }
+
+    /** Stock writes raise no {@link ProductChangedEvent}s, so the products are reloaded for their availability. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        for (Product product : productRepository.findAllById(event.getVersions().keySet())) {
+            onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, product));
+        }
+    }
+
+    private static void apply(FacetIndex target, ProductChangedEvent event) {
+        if (event.getType() == ProductChangedEvent.Type.DELETED) {
+            target.remove(event.getProductId());
+        } else {
+            target.index(ProductFacets.from(event.getProduct()));
+        }
+    }
+}
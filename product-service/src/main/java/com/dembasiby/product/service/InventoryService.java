@@ -0,0 +1,255 @@
+package com.dembasiby.product.service;
+
+import com.dembasiby.product.changes.ChangeClock;
+import com.dembasiby.product.dto.AvailabilityDto;
+import com.dembasiby.product.dto.ReservationRequestDto;
+import com.dembasiby.product.exception.ResourceNotFoundException;
+import com.dembasiby.product.inventory.InventoryEngine;
+import com.dembasiby.product.inventory.InventoryJournal;
+import com.dembasiby.product.inventory.JdbcStockStore;
+import com.dembasiby.product.inventory.Reservation;
+import com.dembasiby.product.inventory.ReservedItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Checkout reservations served by an {@link InventoryEngine} over {@code product.stock_quantity},
+ * which with this service in place holds the stock not leased by any instance, and
+ * {@code product.leased_quantity}, which holds the leased units not sold yet.
+ *
+ * <p>A reservation lives in the memory of the instance that created it, and its id starts with
+ * a key derived from that instance's registration. A commit or release that the gateway routes
+ * to another instance is forwarded to the owner, found through the discovery client.
+ */
+@Service
+public class InventoryService {
+    public static final String FORWARDED_HEADER = "X-Inventory-Forwarded";
+    private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
+    private static final int OWNER_KEY_LENGTH = 9;
+
+    private final InventoryEngine engine;
+    private final InventoryJournal journal;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final String serviceId;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final Duration idleReturn;
+    private final long journalCompactBytes;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final MeterRegistry meterRegistry;
+    private final Timer commitTimer;
+
+    public InventoryService(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ChangeClock changeClock,
+                            ApplicationEventPublisher eventPublisher,
+                            ObjectProvider<DiscoveryClient> discoveryClient,
+                            ObjectProvider<Registration> registration,
+                            MeterRegistry meterRegistry,
+                            @Value("${spring.application.name}") String serviceId,
+                            @Value("${inventory.stripes:0}") int stripes,
+                            @Value("${inventory.lease-size:50}") long leaseSize,
+                            @Value("${inventory.reservation-ttl-seconds:600}") long ttlSeconds,
+                            @Value("${inventory.max-reservation-ttl-seconds:3600}") long maxTtlSeconds,
+                            @Value("${inventory.idle-return-ms:10000}") long idleReturnMs,
+                            @Value("${inventory.journal-path:${java.io.tmpdir}/inventory/journal.bin}") Path journalPath,
+                            @Value("${inventory.journal-compact-bytes:1048576}") long journalCompactBytes) throws IOException {
+        Registration self = registration.getIfAvailable();
+        this.journal = new InventoryJournal(journalPath);
+        this.engine = new InventoryEngine(
+                new JdbcStockStore(jdbcTemplate, new TransactionTemplate(transactionManager), changeClock, eventPublisher),
+                journal,
+                stripes > 0 ? stripes : 2 * Runtime.getRuntime().availableProcessors(),
+                leaseSize,
+                ownerKey(self == null ? UUID.randomUUID().toString() : self.getInstanceId()),
+                Clock.systemUTC());
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+        this.defaultTtl = Duration.ofSeconds(ttlSeconds);
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+        this.idleReturn = Duration.ofMillis(idleReturnMs);
+        this.journalCompactBytes = journalCompactBytes;
+        this.meterRegistry = meterRegistry;
+        this.commitTimer = Timer.builder("inventory.commit.duration")
+                .description("Time to make a reservation commit durable, including the shared journal flush")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservations.active", engine, InventoryEngine::activeReservations)
+                .description("Reservations held by this instance")
+                .register(meterRegistry);
+        FunctionCounter.builder("inventory.leases", engine, InventoryEngine::leases)
+                .description("Blocks of stock leased from the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("inventory.units.given.back", engine, InventoryEngine::unitsGivenBack)
+                .description("Leased units returned to the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("inventory.units.settled", engine, InventoryEngine::unitsSettled)
+                .description("Leased units recorded as sold in the database")
+                .register(meterRegistry);
+        recover();
+    }
+
+    public Reservation reserve(ReservationRequestDto request) {
+        Duration ttl = request.getTtlSeconds() == null ? defaultTtl : Duration.ofSeconds(request.getTtlSeconds());
+        if (ttl.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("Reservation TTL must be at most " + maxTtl.toSeconds() + " seconds");
+        }
+        List<ReservedItem> items = request.getItems().stream()
+                .map(item -> new ReservedItem(item.getProductId(), item.getQuantity()))
+                .toList();
+        try {
+            Reservation reservation = engine.reserve(items, ttl);
+            outcome("reserved").increment();
+            return reservation;
+        } catch (RuntimeException e) {
+            outcome("rejected").increment();
+            throw e;
+        }
+    }
+
+    public Reservation commit(String reservationId) {
+        Reservation reservation = commitTimer.record(() -> engine.commit(reservationId));
+        outcome("committed").increment();
+        return reservation;
+    }
+
+    public Reservation release(String reservationId) {
+        Reservation reservation = engine.release(reservationId);
+        outcome("released").increment();
+        return reservation;
+    }
+
+    public Reservation getReservation(String reservationId) {
+        return engine.getReservation(reservationId);
+    }
+
+    public AvailabilityDto getAvailability(Long productId) {
+        return new AvailabilityDto(productId, engine.localAvailable(productId), engine.unleased(productId));
+    }
+
+    /** Whether this instance holds the reservation, or must forward to the one that does. */
+    public boolean isLocal(String reservationId) {
+        return engine.owns(reservationId);
+    }
+
+    /**
+     * Replays a commit or release on the instance that owns the reservation, passing on the
+     * caller's identity headers, and returns that instance's response as is.
+     */
+    public ResponseEntity<String> forward(String method, String path, HttpHeaders headers, String reservationId) {
+        DiscoveryClient discovery = discoveryClient.getIfAvailable();
+        if (discovery == null || headers.containsKey(FORWARDED_HEADER)) {
+            throw new ResourceNotFoundException("Reservation not found or expired: " + reservationId);
+        }
+        String ownerKey = reservationId.length() < OWNER_KEY_LENGTH ? "" : reservationId.substring(0, OWNER_KEY_LENGTH);
+        ServiceInstance owner = discovery.getInstances(serviceId).stream()
+                .filter(instance -> instance.getInstanceId() != null && ownerKey(instance.getInstanceId()).equals(ownerKey))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found or expired: " + reservationId));
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(owner.getUri() + path))
+                .timeout(Duration.ofSeconds(5))
+                .header(FORWARDED_HEADER, "true")
+                .method(method, HttpRequest.BodyPublishers.noBody());
+        for (String name : new String[]{"X-User-Email", "X-User-Roles"}) {
+            String value = headers.getFirst(name);
+            if (value != null) {
+                request.header(name, value);
+            }
+        }
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            return ResponseEntity.status(response.statusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response.body());
+        } catch (IOException e) {
+            logger.warn("Could not reach {} to forward reservation {}", owner.getInstanceId(), reservationId, e);
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /** Expires reservations, returns idle stock and settles sold stock with the database in one batch each. */
+    @Scheduled(fixedDelayString = "${inventory.sweep-interval-ms:1000}")
+    public void sweep() {
+        int expired = engine.expire();
+        if (expired > 0) {
+            outcome("expired").increment(expired);
+        }
+        try {
+            engine.giveBackIdle(idleReturn);
+            engine.settleCommitted();
+            engine.compactJournal(journalCompactBytes);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Inventory sweep failed; retrying on the next run", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        try {
+            engine.shutdown();
+            journal.compact();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private void recover() {
+        try {
+            Map<Long, Long> returned = engine.recover();
+            if (!returned.isEmpty()) {
+                logger.info("Returned stock of {} products still leased by the previous run", returned.size());
+            }
+            journal.compact();
+        } catch (IOException | RuntimeException e) {
+            // The journal still lists the units as leased, so the next start tries again
+            logger.error("Could not return stock leased by the previous run", e);
+        }
+    }
+
+    private Counter outcome(String outcome) {
+        return Counter.builder("inventory.reservations")
+                .description("Reservation operations by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String ownerKey(String instanceId) {
+        return String.format("%08x-", instanceId.hashCode());
+    }
+}
@@ -0,0 +1,173 @@
+package com.dembasiby.product.service;
+
+import com.dembasiby.product.changes.ChangeClock;
+import com.dembasiby.product.dto.ProductChangeDto;
+import com.dembasiby.product.dto.ProductChangesDto;
+import com.dembasiby.product.dto.ProductDetailDto;
+import com.dembasiby.product.entity.Product;
+import com.dembasiby.product.entity.ProductTombstone;
+import com.dembasiby.product.exception.ChangeCursorExpiredException;
+import com.dembasiby.product.repository.ProductRepository;
+import com.dembasiby.product.repository.ProductTombstoneRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Incremental catalog sync. Every product write stamps the row with a change version from
+ * the {@link ChangeClock}, and every delete leaves a {@link ProductTombstone}; a mirror asks
+ * for everything after the last version it has seen, so sync traffic follows the rate of
+ * change rather than the size of the catalog.
+ *
+ * <p>Versions are handed out before commit, so a slow transaction can commit a version lower
+ * than one already visible. Batches therefore stop at versions issued {@code settle-ms} ago,
+ * which must exceed the longest product-writing transaction plus the clock skew between
+ * instances. Tombstones are kept for {@code tombstone-retention-ms}; an older cursor would
+ * miss deletes, so it is refused and the mirror starts again from {@code since=0}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProductChangeService {
+    public static final int MAX_BATCH_SIZE = 1000;
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeService.class);
+    private static final Comparator<ProductChangeDto> CHANGE_ORDER =
+            Comparator.comparingLong(ProductChangeDto::getChangeVersion).thenComparing(ProductChangeDto::getProductId);
+
+    private final ProductRepository productRepository;
+    private final ProductTombstoneRepository tombstoneRepository;
+    private final ChangeClock changeClock;
+    private final long settleMs;
+    private final long tombstoneRetentionMs;
+    private final Timer batchTimer;
+    private final Counter expiredCursors;
+
+    public ProductChangeService(ProductRepository productRepository,
+                                ProductTombstoneRepository tombstoneRepository,
+                                ChangeClock changeClock,
+                                MeterRegistry meterRegistry,
+                                @Value("${catalog.changes.settle-ms:5000}") long settleMs,
+                                @Value("${catalog.changes.tombstone-retention-ms:604800000}") long tombstoneRetentionMs) {
+        this.productRepository = productRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeClock = changeClock;
+        this.settleMs = settleMs;
+        this.tombstoneRetentionMs = tombstoneRetentionMs;
+        this.batchTimer = Timer.builder("catalog.changes.batch")
+                .description("Time to read one batch of the change feed")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.expiredCursors = Counter.builder("catalog.changes.expired-cursors")
+                .description("Change feed requests refused because the cursor is older than the tombstone retention")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code since}, in change order. {@code since=0} is a
+     * full sync: every product, and no tombstones since the mirror has nothing to delete.
+     */
+    public ProductChangesDto changesSince(long since, int limit) {
+        if (limit < 1 || limit > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        long now = System.currentTimeMillis();
+        if (since > 0 && since < ChangeClock.floorAt(now - tombstoneRetentionMs)) {
+            expiredCursors.increment();
+            throw new ChangeCursorExpiredException("Deletes before change version " + since
+                    + " are no longer retained; resync from since=0");
+        }
+        long until = ChangeClock.floorAt(now - settleMs) - 1;
+        if (since >= until) {
+            return new ProductChangesDto(List.of(), since, false);
+        }
+        return batchTimer.record(() -> batch(since, until, limit));
+    }
+
+    /** Leaves a tombstone for a product deleted in the current transaction. */
+    @Transactional
+    public void recordDelete(Long productId) {
+        tombstoneRepository.save(new ProductTombstone(productId, changeClock.next(), Instant.now()));
+    }
+
+    /**
+     * Products written before the change feed existed have no change version; they are
+     * given one on the first start, so they are part of a full sync.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = false)
+    public void assignMissingChangeVersions() {
+        productRepository.findMaxIdWithoutChangeVersion().ifPresent(maxId -> {
+            long base = changeClock.next();
+            int assigned = productRepository.assignMissingChangeVersions(base);
+            changeClock.advancePast(base + maxId);
+            logger.info("Assigned change versions to {} products written before the change feed existed", assigned);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.changes.purge-interval-ms:3600000}")
+    @Transactional(readOnly = false)
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(
+                ChangeClock.floorAt(System.currentTimeMillis() - tombstoneRetentionMs));
+        if (purged > 0) {
+            logger.info("Purged {} product tombstones past retention", purged);
+        }
+    }
+
+    private ProductChangesDto batch(long since, long until, int limit) {
+        // One row past the limit from each source shows whether the batch ends inside a version
+        List<Product> products = productRepository.findChanges(since, until, PageRequest.of(0, limit + 1));
+        List<ProductTombstone> tombstones = since == 0
+                ? List.of()
+                : tombstoneRepository.findChanges(since, until, PageRequest.of(0, limit + 1));
+        List<ProductChangeDto> changes = merge(products, tombstones);
+        if (changes.size() <= limit) {
+            // Nothing at or below the settled version is still to come
+            return new ProductChangesDto(changes, until, false);
+        }
+
+        // Several writes can share a version; splitting them across batches would skip the rest
+        long last = changes.get(limit - 1).getChangeVersion();
+        int end = limit;
+        if (changes.get(limit).getChangeVersion() == last) {
+            while (end > 0 && changes.get(end - 1).getChangeVersion() == last) {
+                end--;
+            }
+        }
+        List<ProductChangeDto> batch = end > 0
+                ? changes.subList(0, end)
+                : merge(productRepository.findByChangeVersion(last),
+                        since == 0 ? List.of() : tombstoneRepository.findByChangeVersion(last));
+        return new ProductChangesDto(List.copyOf(batch), batch.get(batch.size() - 1).getChangeVersion(), true);
+    }
+
+    private static List<ProductChangeDto> merge(List<Product> products, List<ProductTombstone> tombstones) {
+        List<ProductChangeDto> changes = new ArrayList<>(products.size() + tombstones.size());
+        for (Product product : products) {
+            changes.add(new ProductChangeDto(product.getChangeVersion(), ProductChangeDto.Type.UPSERTED, product.getId(),
+                    ProductDetailDto.from(product)));
+        }
+        for (ProductTombstone tombstone : tombstones) {
+            changes.add(new ProductChangeDto(tombstone.getChangeVersion(), ProductChangeDto.Type.DELETED,
+                    tombstone.getProductId(), null));
+        }
+        changes.sort(CHANGE_ORDER);
+        return changes;
+    }
+}
@@ -0,0 +1,133 @@
+package com.dembasiby.product.service;
+
+import com.dembasiby.product.cache.Invalidation;
+import com.dembasiby.product.cache.InvalidationBus;
+import com.dembasiby.product.cache.NearCache;
+import com.dembasiby.product.dto.ProductDetailDto;
+import com.dembasiby.product.event.ProductChangedEvent;
+import com.dembasiby.product.event.ProductsImportedEvent;
+import com.dembasiby.product.event.StockChangedEvent;
+import com.dembasiby.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Near cache of product detail DTOs in front of the database. Entries are stamped with the
+ * product's optimistic-lock version; committed changes invalidate the local entry at once and
+ * are broadcast to the other instances over the {@link InvalidationBus}.
+ *
+ * <p>A stale read is possible only between a peer's commit and the invalidation reaching this
+ * instance ({@code product.cache.invalidation.lag}), or for at most the TTL if the message is
+ * lost. A sample of cache hits is re-checked against the database version and mismatches are
+ * counted in {@code product.cache.reads.stale}, so the stale-read rate can be watched directly.
+ */
+@Service
+public class ProductDetailCache {
+    private final String origin = UUID.randomUUID().toString();
+    private final NearCache<Long, ProductDetailDto> cache;
+    private final InvalidationBus invalidationBus;
+    private final ProductRepository productRepository;
+    private final double verifySampleRate;
+    private final Timer invalidationLag;
+    private final Counter verifiedReads;
+    private final Counter staleReads;
+
+    public ProductDetailCache(InvalidationBus invalidationBus,
+                              ProductRepository productRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${catalog.detail-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${catalog.detail-cache.ttl-seconds:30}") long ttlSeconds,
+                              @Value("${catalog.detail-cache.verify-sample-rate:0.01}") double verifySampleRate) {
+        this.cache = new NearCache<>(maximumSize, Duration.ofSeconds(ttlSeconds));
+        this.invalidationBus = invalidationBus;
+        this.productRepository = productRepository;
+        this.verifySampleRate = verifySampleRate;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.getCache(), "product.detail");
+        this.invalidationLag = Timer.builder("product.cache.invalidation.lag")
+                .description("Time from a change committing on one instance to its invalidation on another")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.verifiedReads = Counter.builder("product.cache.reads.verified")
+                .description("Cache hits re-checked against the database version")
+                .register(meterRegistry);
+        this.staleReads = Counter.builder("product.cache.reads.stale")
+                .description("Verified cache hits whose version no longer matched the database")
+                .register(meterRegistry);
+        invalidationBus.subscribe(this::onRemoteInvalidation);
+    }
+
+    /** The cached DTO, or {@code null} on a miss or when a sampled check finds it stale. */
+    public ProductDetailDto get(Long id) {
+        NearCache.Entry<ProductDetailDto> entry = cache.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (verifySampleRate > 0 && ThreadLocalRandom.current().nextDouble() < verifySampleRate) {
+            verifiedReads.increment();
+            Optional<Long> current = productRepository.findVersionById(id);
+            if (current.isEmpty() || current.get() != entry.getVersion()) {
+                staleReads.increment();
+                cache.invalidate(id, current.orElse(NearCache.DELETED));
+                return null;
+            }
+        }
+        return entry.getValue();
+    }
+
+    /** Offers a DTO just read from the database; ignored if a newer version is known. */
+    public void put(ProductDetailDto product) {
+        cache.put(product.getId(), product.getVersion(), product);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        long version = event.getType() == ProductChangedEvent.Type.DELETED
+                ? NearCache.DELETED
+                : event.getProduct().getVersion();
+        cache.invalidate(event.getProductId(), version);
+        invalidationBus.publish(new Invalidation(event.getProductId(), version, System.currentTimeMillis(), origin));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        long now = System.currentTimeMillis();
+        event.getUpdatedVersions().forEach((id, version) -> {
+            cache.invalidate(id, version);
+            invalidationBus.publish(new Invalidation(id, version, now, origin));
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        long now = System.currentTimeMillis();
+        event.getVersions().forEach((id, version) -> {
+            cache.invalidate(id, version);
+            invalidationBus.publish(new Invalidation(id, version, now, origin));
+        });
+    }
+
+    private void onRemoteInvalidation(Invalidation invalidation) {
+        if (invalidation.getKind() != Invalidation.Kind.PRODUCT || origin.equals(invalidation.getOrigin())) {
+            return;
+        }
+        // Wall-clock difference between hosts; only as accurate as their clock sync
+        invalidationLag.record(Math.max(0, System.currentTimeMillis() - invalidation.getChangedAt()), TimeUnit.MILLISECONDS);
+        cache.invalidate(invalidation.getProductId(), invalidation.getVersion());
+    }
+
+    public long size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,80 @@
+package com.dembasiby.product.service;
+
+import com.dembasiby.product.dto.ImageDto;
+import com.dembasiby.product.dto.ProductDetailDto;
+import com.dembasiby.product.exception.ResourceNotFoundException;
+import com.dembasiby.product.media.ImageFile;
+import com.dembasiby.product.media.ImageStore;
+import com.dembasiby.product.media.StoredImage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Product images stored by content hash in an {@link ImageStore}. Image bytes never go
+ * through the database or the heap on the read path; products only keep the image URL.
+ */
+@Service
+public class ProductImageService {
+    public static final String IMAGE_PATH = "/api/products/images/";
+
+    private final ImageStore imageStore;
+    private final ProductService productService;
+    private final String productImageVariant;
+
+    public ProductImageService(ProductService productService,
+                               @Value("${catalog.images.directory:${java.io.tmpdir}/catalog-images}") Path directory,
+                               @Value("${catalog.images.variants:small:160,medium:480,large:1024}") String variants,
+                               @Value("${catalog.images.product-variant:medium}") String productImageVariant,
+                               @Value("${catalog.images.max-upload-bytes:10485760}") long maxUploadBytes,
+                               @Value("${catalog.images.max-pixels:40000000}") long maxPixels) {
+        this.imageStore = new ImageStore(directory, parseVariants(variants), maxUploadBytes, maxPixels);
+        this.productService = productService;
+        if (!imageStore.getVariants().containsKey(productImageVariant) && !ImageStore.ORIGINAL.equals(productImageVariant)) {
+            throw new IllegalArgumentException("Unknown image variant for products: " + productImageVariant);
+        }
+        this.productImageVariant = productImageVariant;
+    }
+
+    public ImageDto store(InputStream upload) throws IOException {
+        StoredImage image = imageStore.store(upload);
+        return ImageDto.from(image, urls(image.getHash()));
+    }
+
+    /** Stores the image and points the product's {@code imageUrl} at its configured variant. */
+    public ProductDetailDto storeForProduct(Long productId, InputStream upload) throws IOException {
+        // Fail before storing anything if the product does not exist
+        productService.getProduct(productId);
+        ImageDto image = store(upload);
+        return productService.updateImageUrl(productId, image.getUrls().get(productImageVariant));
+    }
+
+    public ImageFile getImage(String hash, String variant) throws IOException {
+        return imageStore.find(hash, variant)
+                .orElseThrow(() -> new ResourceNotFoundException("Image not found: " + hash + "/" + variant));
+    }
+
+    private Map<String, String> urls(String hash) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        urls.put(ImageStore.ORIGINAL, IMAGE_PATH + hash + "/" + ImageStore.ORIGINAL);
+        imageStore.getVariants().keySet().forEach(name -> urls.put(name, IMAGE_PATH + hash + "/" + name));
+        return urls;
+    }
+
+    private static Map<String, Integer> parseVariants(String variants) {
+        Map<String, Integer> parsed = new LinkedHashMap<>();
+        for (String variant : variants.split(",")) {
+            String[] parts = variant.trim().split(":");
+            if (parts.length != 2 || !parts[0].matches("[a-z0-9-]+")) {
+                throw new IllegalArgumentException("Image variants must look like name:width, got " + variant);
+            }
+            parsed.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,321 @@
+package com.dembasiby.product.service;
+
+import com.dembasiby.product.changes.ChangeClock;
+import com.dembasiby.product.entity.Product;
+import com.dembasiby.product.exception.ResourceNotFoundException;
+import com.dembasiby.product.ingest.FeedFormat;
+import com.dembasiby.product.ingest.FeedRowParser;
+import com.dembasiby.product.ingest.ImportJob;
+import com.dembasiby.product.ingest.MappedRecordReader;
+import com.dembasiby.product.ingest.PooledIdGenerator;
+import com.dembasiby.product.ingest.ProductBatchWriter;
+import com.dembasiby.product.ingest.RowBatch;
+import com.dembasiby.product.ingest.RowError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Bulk catalog imports from CSV or NDJSON feeds. A job runs as a three-stage pipeline:
+ * <ol>
+ *     <li>the job thread splits the memory-mapped file into records and cuts them into batches,</li>
+ *     <li>a pool of validation threads parses and validates batches in parallel,</li>
+ *     <li>the job thread writes the validated batches, in file order, with {@link ProductBatchWriter}.</li>
+ * </ol>
+ * At most {@code 2 × validation threads} batches are in flight, so memory use depends on the
+ * batch size and not on the file size. Uploaded feeds are spooled to disk first so they can be
+ * mapped like local files.
+ *
+ * <p>Bulk writes bypass JPA, so the search and facet indexes are rebuilt once at the end of
+ * the job instead of per row; other listeners react to {@link com.dembasiby.product.event.ProductsImportedEvent}.
+ */
+@Service
+public class ProductImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+    private static final int MAX_RETAINED_JOBS = 50;
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = 5_000_000_000L;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChangeClock changeClock;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final CategoryService categoryService;
+    private final ProductSearchService productSearchService;
+    private final FacetService facetService;
+    private final Path workDirectory;
+    private final int batchSize;
+    private final int validationThreads;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService validationExecutor;
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_RETAINED_JOBS && eldest.getValue().isFinished();
+        }
+    });
+    private final Counter createdRows;
+    private final Counter updatedRows;
+    private final Counter rejectedRows;
+
+    public ProductImportService(NamedParameterJdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                EntityManagerFactory entityManagerFactory,
+                                ChangeClock changeClock,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                CategoryService categoryService,
+                                ProductSearchService productSearchService,
+                                FacetService facetService,
+                                MeterRegistry meterRegistry,
+                                @Value("${catalog.import.work-directory:${java.io.tmpdir}/catalog-imports}") Path workDirectory,
+                                @Value("${catalog.import.batch-size:1000}") int batchSize,
+                                @Value("${catalog.import.validation-threads:0}") int validationThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.changeClock = changeClock;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.categoryService = categoryService;
+        this.productSearchService = productSearchService;
+        this.facetService = facetService;
+        this.workDirectory = workDirectory;
+        this.batchSize = batchSize;
+        this.validationThreads = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        this.jobExecutor = Executors.newSingleThreadExecutor(daemonThreads("catalog-import"));
+        this.validationExecutor = Executors.newFixedThreadPool(this.validationThreads, daemonThreads("catalog-import-validate"));
+        this.createdRows = importedRows(meterRegistry, "created");
+        this.updatedRows = importedRows(meterRegistry, "updated");
+        this.rejectedRows = importedRows(meterRegistry, "rejected");
+    }
+
+    /** Spools an uploaded feed to disk and queues it; jobs run one at a time. */
+    public ImportJob submitUpload(InputStream body, String fileName, FeedFormat format) throws IOException {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), fileName, format);
+        Files.createDirectories(workDirectory);
+        Path spooled = workDirectory.resolve(job.getId() + ".feed");
+        Files.copy(body, spooled, StandardCopyOption.REPLACE_EXISTING);
+        jobs.put(job.getId(), job);
+        jobExecutor.execute(() -> {
+            try {
+                run(job, spooled, true);
+            } finally {
+                deleteQuietly(spooled);
+            }
+        });
+        return job;
+    }
+
+    /** Imports a local file on the calling thread, for the command-line mode. */
+    public ImportJob importFile(Path file, FeedFormat format, boolean rebuildIndexes) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getFileName().toString(), format);
+        jobs.put(job.getId(), job);
+        run(job, file, rebuildIndexes);
+        return job;
+    }
+
+    public ImportJob getJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found with id: " + id);
+        }
+        return job;
+    }
+
+    /** NDJSON file with every rejected row of the job. */
+    public Path getErrorFile(String id) {
+        getJob(id);
+        Path errors = errorFile(id);
+        if (!Files.exists(errors)) {
+            throw new ResourceNotFoundException("No error report for import job: " + id);
+        }
+        return errors;
+    }
+
+    private void run(ImportJob job, Path file, boolean rebuildIndexes) {
+        Deque<Future<RowBatch>> inFlight = new ArrayDeque<>();
+        long started = System.nanoTime();
+        long lastProgressLog = started;
+        try (MappedRecordReader reader = new MappedRecordReader(file, job.getFormat() == FeedFormat.CSV);
+             PooledIdGenerator idGenerator = new PooledIdGenerator(entityManagerFactory, Product.class);
+             BufferedWriter errorWriter = openErrorFile(job.getId())) {
+            job.start(reader.getSize());
+            logger.info("Import {} started: {} ({} bytes)", job.getId(), job.getFileName(), reader.getSize());
+            FeedRowParser parser = parser(job.getFormat(), reader);
+            ProductBatchWriter writer = new ProductBatchWriter(jdbcTemplate, transactionTemplate, idGenerator, changeClock,
+                    eventPublisher);
+
+            List<MappedRecordReader.Record> chunk = new ArrayList<>(batchSize);
+            MappedRecordReader.Record record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == batchSize) {
+                    inFlight.add(submit(parser, chunk));
+                    job.recordRead(chunk.size(), reader.getPosition());
+                    chunk = new ArrayList<>(batchSize);
+                    if (inFlight.size() >= validationThreads * 2) {
+                        write(job, writer, await(inFlight.poll()), errorWriter);
+                    }
+                    if (System.nanoTime() - lastProgressLog > PROGRESS_LOG_INTERVAL_NANOS) {
+                        logProgress(job);
+                        lastProgressLog = System.nanoTime();
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(parser, chunk));
+                job.recordRead(chunk.size(), reader.getPosition());
+            }
+            while (!inFlight.isEmpty()) {
+                write(job, writer, await(inFlight.poll()), errorWriter);
+            }
+            job.complete();
+            logger.info("Import {} completed in {} ms: {} rows, {} created, {} updated, {} rejected, {} rows/s",
+                    job.getId(), (System.nanoTime() - started) / 1_000_000, job.getRowsRead(), job.getCreated(),
+                    job.getUpdated(), job.getRejected(), Math.round(job.getRowsPerSecond()));
+        } catch (Exception e) {
+            inFlight.forEach(future -> future.cancel(true));
+            job.fail(e.getMessage());
+            logger.error("Import {} failed after {} rows", job.getId(), job.getRowsRead(), e);
+        }
+        if (rebuildIndexes && job.getCreated() + job.getUpdated() > 0) {
+            // Off the job thread so the next queued import does not wait for the rebuild
+            Thread reindex = daemonThreads("catalog-import-reindex").newThread(() -> {
+                productSearchService.rebuild();
+                facetService.rebuild();
+            });
+            reindex.start();
+        }
+    }
+
+    private FeedRowParser parser(FeedFormat format, MappedRecordReader reader) throws IOException {
+        if (format == FeedFormat.NDJSON) {
+            return FeedRowParser.ndjson(objectMapper, validator, this::categoryExists);
+        }
+        MappedRecordReader.Record header = reader.next();
+        if (header == null || header.isOversized()) {
+            throw new IllegalArgumentException("CSV feed has no header row");
+        }
+        return FeedRowParser.csv(header.getText(), objectMapper, validator, this::categoryExists);
+    }
+
+    private Future<RowBatch> submit(FeedRowParser parser, List<MappedRecordReader.Record> chunk) {
+        return validationExecutor.submit(() -> parser.parse(chunk));
+    }
+
+    private void write(ImportJob job, ProductBatchWriter writer, RowBatch batch, BufferedWriter errorWriter) throws IOException {
+        for (RowError error : batch.getErrors()) {
+            reject(job, error, errorWriter);
+        }
+        if (batch.getRows().isEmpty()) {
+            return;
+        }
+        ProductBatchWriter.Result result = writer.write(batch.getRows());
+        for (RowError conflict : result.getConflicts()) {
+            reject(job, conflict, errorWriter);
+        }
+        job.recordWritten(result.getCreated(), result.getUpdated(), result.getSuperseded());
+        createdRows.increment(result.getCreated());
+        updatedRows.increment(result.getUpdated());
+    }
+
+    private void reject(ImportJob job, RowError error, BufferedWriter errorWriter) throws IOException {
+        job.recordRejected(error);
+        rejectedRows.increment();
+        errorWriter.write(objectMapper.writeValueAsString(error));
+        errorWriter.newLine();
+    }
+
+    private static RowBatch await(Future<RowBatch> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private boolean categoryExists(long id) {
+        return categoryService.findNode(id).isPresent();
+    }
+
+    private BufferedWriter openErrorFile(String jobId) throws IOException {
+        Files.createDirectories(workDirectory);
+        return Files.newBufferedWriter(errorFile(jobId));
+    }
+
+    private Path errorFile(String jobId) {
+        return workDirectory.resolve(jobId + "-errors.ndjson");
+    }
+
+    private static void logProgress(ImportJob job) {
+        long percent = job.getBytesTotal() == 0 ? 100 : job.getBytesRead() * 100 / job.getBytesTotal();
+        logger.info("Import {}: {} rows read ({}%), {} created, {} updated, {} rejected, {} rows/s",
+                job.getId(), job.getRowsRead(), percent, job.getCreated(), job.getUpdated(), job.getRejected(),
+                Math.round(job.getRowsPerSecond()));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete spooled feed {}", file, e);
+        }
+    }
+
+    private static Counter importedRows(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("catalog.import.rows")
+                .description("Feed rows processed by bulk imports")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,132 @@
+package com.dembasiby.product.service;
+
+import com.dembasiby.product.dto.ProductSearchHitDto;
+import com.dembasiby.product.entity.Product;
+import com.dembasiby.product.event.ProductChangedEvent;
+import com.dembasiby.product.repository.KeysetScan;
+import com.dembasiby.product.repository.ProductRepository;
+import com.dembasiby.product.search.SearchDocument;
+import com.dembasiby.product.search.SearchIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Owns the in-memory {@link SearchIndex}. The index is bulk-built at startup, from the
+ * catalog snapshot or else the database (see {@link CatalogSnapshotService}), and then kept
+ * current from {@link ProductChangedEvent}s.
+ * Changes that arrive while a build is running are queued and replayed onto the new index
+ * before it replaces the old one, so nothing committed during the build is lost.
+ */
+@Service
+public class ProductSearchService {
+    public static final int MAX_RESULTS = 100;
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchService.class);
+
+    private final ProductRepository productRepository;
+    private final int buildBatchSize;
+    private final Object buildLock = new Object();
+    private volatile SearchIndex index = new SearchIndex();
+    private List<ProductChangedEvent> pendingChanges;
+    private boolean rebuildRequested;
+
+    public ProductSearchService(ProductRepository productRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${search.index.build-batch-size:1000}") int buildBatchSize) {
+        this.productRepository = productRepository;
+        this.buildBatchSize = buildBatchSize;
+        Gauge.builder("search.index.documents", this, service -> service.index.size())
+                .description("Products in the full-text search index")
+                .register(meterRegistry);
+    }
+
+    public List<ProductSearchHitDto> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        return index.search(query, limit).stream().map(ProductSearchHitDto::from).toList();
+    }
+
+    /** Rebuilds the index from the database and swaps it in. Safe to call at any time. */
+    public void rebuild() {
+        rebuild(KeysetScan.stream(productRepository::findByIdGreaterThanOrderByIdAsc, Product::getId, buildBatchSize)
+                .map(SearchDocument::from));
+    }
+
+    /**
+     * Rebuilds the index from {@code documents} and swaps it in. Changes committed while the
+     * stream is consumed are replayed onto the new index. If a build is already running, it makes
+     * another pass over the database once it is done, so bulk imports, which raise no
+     * {@link ProductChangedEvent}s, are never left out.
+     */
+    public void rebuild(Stream<SearchDocument> documents) {
+        synchronized (buildLock) {
+            if (pendingChanges != null) {
+                rebuildRequested = true;
+                return;
+            }
+            pendingChanges = new ArrayList<>();
+        }
+        long start = System.nanoTime();
+        SearchIndex.Builder builder = SearchIndex.builder();
+        try {
+            documents.forEach(builder::add);
+        } catch (RuntimeException e) {
+            logger.error("Search index build failed; keeping the current index", e);
+            boolean again;
+            synchronized (buildLock) {
+                pendingChanges = null;
+                again = rebuildRequested;
+                rebuildRequested = false;
+            }
+            if (again) {
+                rebuild();
+            }
+            return;
+        }
+
+        SearchIndex built = builder.build();
+        boolean again;
+        synchronized (buildLock) {
+            pendingChanges.forEach(change -> apply(built, change));
+            index = built;
+            pendingChanges = null;
+            again = rebuildRequested;
+            rebuildRequested = false;
+        }
+        logger.info("Search index built with {} products in {} ms", built.size(), (System.nanoTime() - start) / 1_000_000);
+        if (again) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (buildLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        }
+        apply(index, event);
+    }
+
+    private static void apply(SearchIndex target, ProductChangedEvent event) {
+        if (event.getType() == ProductChangedEvent.Type.DELETED) {
+            target.remove(event.getProductId());
+        } else {
+            target.index(SearchDocument.from(event.getProduct()));
+        }
+    }
+}
@@ -1,11 +1,223 @@
 package com.dembasiby.product.service;
 
+import com.dembasiby.product.dto.CursorPageDto;
+import com.dembasiby.product.dto.ProductBatchItemDto;
+import com.dembasiby.product.dto.ProductDetailDto;
+import com.dembasiby.product.dto.ProductRequestDto;
+import com.dembasiby.product.dto.ProductSummaryDto;
+import com.dembasiby.product.category.CategoryNode;
+import com.dembasiby.product.entity.Category;
+import com.dembasiby.product.entity.Product;
+import com.dembasiby.product.exception.ResourceNotFoundException;
+import com.dembasiby.product.repository.CategoryRepository;
+import com.dembasiby.product.repository.ProductCursor;
+import com.dembasiby.product.repository.ProductField;
 import com.dembasiby.product.repository.ProductRepository;
+import com.dembasiby.product.repository.ProductSort;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Transactional(readOnly = true)
 public class ProductService {
-    private ProductRepository productRepository;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 200;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
+    private final ProductDetailCache productDetailCache;
+    private final ProductChangeService productChangeService;
+    private final int batchChunkSize;
+
+    public ProductService(ProductRepository productRepository,
+                          CategoryRepository categoryRepository,
+                          CategoryService categoryService,
+                          ProductDetailCache productDetailCache,
+                          ProductChangeService productChangeService,
+                          @Value("${catalog.batch.chunk-size:100}") int batchChunkSize) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.categoryService = categoryService;
+        this.productDetailCache = productDetailCache;
+        this.productChangeService = productChangeService;
+        this.batchChunkSize = batchChunkSize;
+    }
+
+    public CursorPageDto<ProductSummaryDto> listProducts(ProductSort sort, String cursor, int size) {
+        return listProducts(sort, cursor, size, null);
+    }
+
+    /** Products in the category or any of its descendants; the hierarchy comes from memory. */
+    public CursorPageDto<ProductSummaryDto> listProductsInCategory(Long categoryId, ProductSort sort, String cursor, int size) {
+        CategoryNode category = categoryService.getNode(categoryId);
+        return listProducts(sort, cursor, size, category.getPath());
+    }
+
+    /** A listing of only the requested fields, read from the database as a projection. */
+    public CursorPageDto<Map<String, Object>> listProductFields(ProductSort sort, String cursor, int size,
+                                                                Set<ProductField> fields) {
+        return listProductFields(sort, cursor, size, fields, null);
+    }
+
+    public CursorPageDto<Map<String, Object>> listProductFieldsInCategory(Long categoryId, ProductSort sort, String cursor,
+                                                                          int size, Set<ProductField> fields) {
+        CategoryNode category = categoryService.getNode(categoryId);
+        return listProductFields(sort, cursor, size, fields, category.getPath());
+    }
+
+    private CursorPageDto<ProductSummaryDto> listProducts(ProductSort sort, String cursor, int size, String categoryPath) {
+        ProductCursor after = pageStart(sort, cursor, size);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<ProductSummaryDto> rows = productRepository.findSummaries(sort, after, categoryPath, size + 1);
+        if (rows.size() <= size) {
+            return new CursorPageDto<>(rows, null);
+        }
+        List<ProductSummaryDto> page = rows.subList(0, size);
+        return new CursorPageDto<>(List.copyOf(page), ProductCursor.after(sort, page.get(size - 1)).encode());
+    }
+
+    private CursorPageDto<Map<String, Object>> listProductFields(ProductSort sort, String cursor, int size,
+                                                                 Set<ProductField> fields, String categoryPath) {
+        ProductCursor after = pageStart(sort, cursor, size);
+        List<Map<String, Object>> rows = productRepository.findFields(sort, after, categoryPath, fields, size + 1);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = ProductCursor.after(sort, rows.get(size - 1)).encode();
+        }
+        // The id and sort key are always read for the cursor, but only returned if asked for
+        List<Map<String, Object>> page = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            row.keySet().removeIf(name -> !fields.contains(ProductField.of(name)));
+            page.add(row);
+        }
+        return new CursorPageDto<>(page, nextCursor);
+    }
+
+    private static ProductCursor pageStart(ProductSort sort, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return cursor == null || cursor.isBlank() ? null : ProductCursor.decode(cursor, sort);
+    }
+
+    // No surrounding transaction, so a cache hit does not check out a connection
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ProductDetailDto getProduct(Long id) {
+        ProductDetailDto cached = productDetailCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        ProductDetailDto product = productRepository.findById(id)
+                .map(ProductDetailDto::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        productDetailCache.put(product);
+        return product;
+    }
+
+    /**
+     * Products by id, in request order, with not-found entries for ids that do not exist.
+     * Cached products are served as they are; the rest are read with one {@code IN} query
+     * per {@code catalog.batch.chunk-size} ids.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductBatchItemDto> getProducts(List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BATCH_SIZE + " ids can be looked up at once");
+        }
+        Map<Long, ProductDetailDto> products = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                throw new IllegalArgumentException("Ids must not be null");
+            }
+            ProductDetailDto cached = productDetailCache.get(id);
+            if (cached != null) {
+                products.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += batchChunkSize) {
+            List<Long> chunk = missing.subList(from, Math.min(from + batchChunkSize, missing.size()));
+            for (Product product : productRepository.findAllById(chunk)) {
+                ProductDetailDto dto = ProductDetailDto.from(product);
+                productDetailCache.put(dto);
+                products.put(dto.getId(), dto);
+            }
+        }
+
+        List<ProductBatchItemDto> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            items.add(new ProductBatchItemDto(id, products.get(id)));
+        }
+        return items;
+    }
+
+    @Transactional
+    public ProductDetailDto createProduct(ProductRequestDto request) {
+        Product product = new Product(request.getName(), request.getDescription(), request.getPrice(), request.getImageUrl());
+        product.setSku(normalizeSku(request.getSku()));
+        product.setBrand(request.getBrand());
+        product.setAvailableQuantity(request.getStockQuantity());
+        product.setCategory(categoryReference(request.getCategoryId()));
+        return ProductDetailDto.from(productRepository.save(product));
+    }
+
+    @Transactional
+    public ProductDetailDto updateProduct(Long id, ProductRequestDto request) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        product.setName(request.getName());
+        product.setDescription(request.getDescription());
+        product.setPrice(request.getPrice());
+        product.setImageUrl(request.getImageUrl());
+        product.setSku(normalizeSku(request.getSku()));
+        product.setBrand(request.getBrand());
+        product.setAvailableQuantity(request.getStockQuantity());
+        product.setCategory(categoryReference(request.getCategoryId()));
+        return ProductDetailDto.from(productRepository.save(product));
+    }
+
+    @Transactional
+    public ProductDetailDto updateImageUrl(Long id, String imageUrl) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        product.setImageUrl(imageUrl);
+        return ProductDetailDto.from(productRepository.save(product));
+    }
+
+    @Transactional
+    public void deleteProduct(Long id) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        productRepository.delete(product);
+        productChangeService.recordDelete(id);
+    }
+
+    // Blank SKUs would collide on the unique index, so they are stored as null
+    private static String normalizeSku(String sku) {
+        return sku == null || sku.isBlank() ? null : sku.trim();
+    }
 
-    public ProductService(ProductRepository productRepository) {}
+    private Category categoryReference(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        if (categoryService.findNode(categoryId).isEmpty()) {
+            throw new IllegalArgumentException("Category not found with id: " + categoryId);
+        }
+        return categoryRepository.getReferenceById(categoryId);
+    }
 }
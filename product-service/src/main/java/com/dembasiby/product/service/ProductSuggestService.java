@@ -0,0 +1,187 @@
+package com.dembasiby.product.service;
+
+import com.dembasiby.product.dto.ProductSuggestionDto;
+import com.dembasiby.product.event.ProductChangedEvent;
+import com.dembasiby.product.event.ProductsImportedEvent;
+import com.dembasiby.product.repository.KeysetScan;
+import com.dembasiby.product.repository.ProductRepository;
+import com.dembasiby.product.suggest.PopularityCounter;
+import com.dembasiby.product.suggest.ProductName;
+import com.dembasiby.product.suggest.SuggestionTrie;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead suggestions from an immutable {@link SuggestionTrie}, ranked by recent product
+ * views. The trie cannot be patched, so catalog changes and new views only mark it stale;
+ * a background thread rebuilds it from product names at most once per
+ * {@code rebuild-interval-ms} and swaps the new one in with a single volatile write.
+ * Readers never wait for a build.
+ */
+@Service
+public class ProductSuggestService {
+    private static final Logger logger = LoggerFactory.getLogger(ProductSuggestService.class);
+
+    private final ProductRepository productRepository;
+    private final PopularityCounter popularity = new PopularityCounter();
+    private final ExecutorService builder;
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final AtomicBoolean viewed = new AtomicBoolean();
+    private final int maxWordStarts;
+    private final int buildBatchSize;
+    private final Timer lookupTimer;
+    private volatile SuggestionTrie trie;
+
+    public ProductSuggestService(ProductRepository productRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${catalog.suggest.max-word-starts:4}") int maxWordStarts,
+                                 @Value("${catalog.suggest.build-batch-size:5000}") int buildBatchSize) {
+        this.productRepository = productRepository;
+        this.maxWordStarts = maxWordStarts;
+        this.buildBatchSize = buildBatchSize;
+        this.trie = SuggestionTrie.builder(maxWordStarts).build();
+        this.builder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suggest-index-builder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lookupTimer = Timer.builder("suggest.lookup")
+                .description("Time to answer one typeahead query from the trie")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("suggest.index.bytes", this, service -> service.trie.sizeInBytes())
+                .description("Heap used by the suggestion trie")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("suggest.index.products", this, service -> service.trie.size())
+                .description("Products in the suggestion trie")
+                .register(meterRegistry);
+    }
+
+    public List<ProductSuggestionDto> suggest(String query, int limit) {
+        if (limit < 1 || limit > SuggestionTrie.MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + SuggestionTrie.MAX_SUGGESTIONS);
+        }
+        long start = System.nanoTime();
+        List<ProductSuggestionDto> suggestions = trie.suggest(query, limit).stream()
+                .map(ProductSuggestionDto::from)
+                .toList();
+        lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return suggestions;
+    }
+
+    /** Counts a view of the product towards its ranking. */
+    public void recordView(long productId) {
+        popularity.record(productId);
+        if (!viewed.get()) {
+            viewed.set(true);
+        }
+    }
+
+    /** Marks the trie stale and starts a rebuild from the database. */
+    public void requestRebuild() {
+        stale.set(true);
+        rebuildIfStale();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.suggest.rebuild-interval-ms:2000}")
+    public void rebuildIfStale() {
+        if (stale.get() && building.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    building.set(false);
+                }
+            });
+        }
+    }
+
+    /** Re-ranks with the latest view counts, if there were any views since the last time. */
+    @Scheduled(fixedDelayString = "${catalog.suggest.popularity-refresh-interval-ms:60000}",
+            initialDelayString = "${catalog.suggest.popularity-refresh-interval-ms:60000}")
+    public void refreshPopularity() {
+        if (viewed.getAndSet(false)) {
+            stale.set(true);
+        }
+    }
+
+    /** Halves the view counts, so rankings follow what is popular now rather than ever. */
+    @Scheduled(fixedDelayString = "${catalog.suggest.popularity-decay-interval-ms:600000}",
+            initialDelayString = "${catalog.suggest.popularity-decay-interval-ms:600000}")
+    public void decayPopularity() {
+        popularity.decay();
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        stale.set(true);
+    }
+
+    /**
+     * Builds the trie from {@code products} now, on the calling thread, instead of waiting for
+     * the database scan. Used to warm up from the catalog snapshot.
+     */
+    public void rebuild(Stream<ProductName> products) {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            build(products);
+        } finally {
+            building.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    private void rebuild() {
+        build(KeysetScan.stream(productRepository::findNamesAfter, ProductName::getId, buildBatchSize));
+    }
+
+    private void build(Stream<ProductName> products) {
+        // Cleared first, so a change committed during the build triggers another one
+        stale.set(false);
+        long start = System.nanoTime();
+        Map<Long, Long> views = popularity.snapshot();
+        SuggestionTrie.Builder next = SuggestionTrie.builder(maxWordStarts);
+        try {
+            products.forEach(product -> next.add(product.getId(), product.getName(), views.getOrDefault(product.getId(), 0L)));
+        } catch (RuntimeException e) {
+            logger.error("Suggestion index build failed; keeping the current index", e);
+            stale.set(true);
+            return;
+        }
+        SuggestionTrie built = next.build();
+        trie = built;
+        logger.info("Suggestion index built with {} products, {} nodes ({} bytes) in {} ms",
+                built.size(), built.nodes(), built.sizeInBytes(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,148 @@
+package com.dembasiby.product.service;
+
+import com.dembasiby.product.dto.ProductSummaryDto;
+import com.dembasiby.product.dto.TrendingProductDto;
+import com.dembasiby.product.repository.ProductRepository;
+import com.dembasiby.product.trending.EventBuffer;
+import com.dembasiby.product.trending.TrendingProduct;
+import com.dembasiby.product.trending.TrendingWindow;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * "Trending now" from product views and add-to-cart events, without storing the events.
+ * Request threads only append to a striped {@link EventBuffer}; one background thread drains
+ * it into a {@link TrendingWindow} of sketches and publishes the current top list with a
+ * volatile write. Memory is fixed by configuration, whatever the traffic, and a full buffer
+ * drops events rather than slowing a request down.
+ *
+ * <p>Each instance ranks the traffic it sees itself; behind the load balancer that is an even
+ * sample of the whole, which is all a ranking needs.
+ */
+@Service
+public class TrendingService {
+    public static final int MAX_RESULTS = 50;
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    // An event is (productId << 8) | (type << 7) | count, with count between 1 and 127
+    private static final int MAX_EVENT_COUNT = 127;
+    private static final long CART_ADD = 1 << 7;
+
+    private final ProductRepository productRepository;
+    private final EventBuffer buffer;
+    private final TrendingWindow window;
+    private final long viewWeight;
+    private final long cartAddWeight;
+    private final int maxCartAddsPerReport;
+    private final ScheduledExecutorService merger;
+    private final Timer mergeTimer;
+    private volatile List<TrendingProduct> trending = List.of();
+
+    public TrendingService(ProductRepository productRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${catalog.trending.buffer-stripes:0}") int bufferStripes,
+                           @Value("${catalog.trending.buffer-capacity:4096}") int bufferCapacity,
+                           @Value("${catalog.trending.buckets:12}") int buckets,
+                           @Value("${catalog.trending.bucket-seconds:300}") long bucketSeconds,
+                           @Value("${catalog.trending.sketch-depth:4}") int sketchDepth,
+                           @Value("${catalog.trending.sketch-width:4096}") int sketchWidth,
+                           @Value("${catalog.trending.candidates:128}") int candidates,
+                           @Value("${catalog.trending.view-weight:1}") long viewWeight,
+                           @Value("${catalog.trending.cart-add-weight:5}") long cartAddWeight,
+                           @Value("${catalog.trending.max-cart-adds-per-report:1000}") int maxCartAddsPerReport,
+                           @Value("${catalog.trending.merge-interval-ms:1000}") long mergeIntervalMillis) {
+        this.productRepository = productRepository;
+        this.buffer = new EventBuffer(bufferStripes > 0 ? bufferStripes : 2 * Runtime.getRuntime().availableProcessors(),
+                bufferCapacity);
+        this.window = new TrendingWindow(buckets, TimeUnit.SECONDS.toMillis(bucketSeconds), sketchDepth, sketchWidth,
+                Math.max(candidates, MAX_RESULTS));
+        this.viewWeight = viewWeight;
+        this.cartAddWeight = cartAddWeight;
+        this.maxCartAddsPerReport = maxCartAddsPerReport;
+        this.mergeTimer = Timer.builder("trending.merge")
+                .description("Time to drain the event buffer into the sketches and re-rank")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        FunctionCounter.builder("trending.events.dropped", buffer, EventBuffer::dropped)
+                .description("Product events dropped because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("trending.memory.bytes", this, service -> service.buffer.sizeInBytes() + service.window.sizeInBytes())
+                .description("Fixed memory held by the trending buffer and sketches")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.merger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trending-merger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        merger.scheduleWithFixedDelay(this::merge, mergeIntervalMillis, mergeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordView(long productId) {
+        buffer.offer(productId << 8 | 1);
+    }
+
+    /** Counts above {@code catalog.trending.max-cart-adds-per-report} are clamped to it. */
+    public void recordCartAdds(long productId, int count) {
+        for (int remaining = Math.min(count, maxCartAddsPerReport); remaining > 0; remaining -= MAX_EVENT_COUNT) {
+            buffer.offer(productId << 8 | CART_ADD | Math.min(remaining, MAX_EVENT_COUNT));
+        }
+    }
+
+    public List<TrendingProductDto> getTrending(int limit) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        List<TrendingProduct> top = trending;
+        // A few spare entries, in case some of the top products were deleted since
+        List<TrendingProduct> wanted = top.subList(0, Math.min(top.size(), limit + 5));
+        if (wanted.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductSummaryDto> products = productRepository
+                .findSummariesByIdIn(wanted.stream().map(TrendingProduct::getProductId).toList()).stream()
+                .collect(Collectors.toMap(ProductSummaryDto::getId, Function.identity()));
+        List<TrendingProductDto> result = new ArrayList<>(limit);
+        for (TrendingProduct entry : wanted) {
+            ProductSummaryDto product = products.get(entry.getProductId());
+            if (product != null && result.size() < limit) {
+                result.add(new TrendingProductDto(product, entry.getScore()));
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        merger.shutdownNow();
+    }
+
+    private void merge() {
+        try {
+            mergeTimer.record(() -> {
+                long now = System.currentTimeMillis();
+                buffer.drain(event -> window.add(event >>> 8,
+                        ((event & CART_ADD) == 0 ? viewWeight : cartAddWeight) * (event & MAX_EVENT_COUNT), now));
+                trending = window.top(MAX_RESULTS, now);
+            });
+        } catch (RuntimeException e) {
+            logger.error("Trending merge failed", e);
+        }
+    }
+}
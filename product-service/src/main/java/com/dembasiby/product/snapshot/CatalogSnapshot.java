@@ -0,0 +1,178 @@
+package com.dembasiby.product.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compact binary copy of the catalog on local disk, so a new instance can build its indexes
+ * without scanning the database first. The file is memory-mapped read-only and decoded as it
+ * is streamed; nothing is copied onto the heap up front. Products are stored in id order.
+ * <pre>
+ *   int magic, short version, long writtenAt, int products
+ *   per product: long id, long version, long categoryId (-1 if none), double price,
+ *                int stockQuantity, then sku, name, description, imageUrl, brand,
+ *                each as int length (-1 if null) and UTF-8 bytes
+ * </pre>
+ * Files are written next to their final name, synced and moved over it atomically, so
+ * readers only ever see a complete snapshot.
+ */
+public final class CatalogSnapshot {
+    private static final int MAGIC = 0x43415453; // "CATS"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2 + 8 + 4;
+    private static final int COUNT_OFFSET = HEADER_SIZE - 4;
+
+    private final ByteBuffer data;
+    private final long writtenAt;
+    private final int size;
+
+    private CatalogSnapshot(ByteBuffer data, long writtenAt, int size) {
+        this.data = data;
+        this.writtenAt = writtenAt;
+        this.size = size;
+    }
+
+    /**
+     * Writes {@code products}, which must be in id order, as the new snapshot at {@code path}.
+     *
+     * @return the number of products written
+     */
+    public static int write(Path path, Stream<SnapshotProduct> products, long writtenAt) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        int count = 0;
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 256 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(writtenAt);
+            out.writeInt(0);
+            for (Iterator<SnapshotProduct> iterator = products.iterator(); iterator.hasNext(); count++) {
+                SnapshotProduct product = iterator.next();
+                out.writeLong(product.getId());
+                out.writeLong(product.getVersion());
+                out.writeLong(product.getCategoryId() == null ? -1 : product.getCategoryId());
+                out.writeDouble(product.getPrice());
+                out.writeInt(product.getStockQuantity());
+                writeString(out, product.getSku());
+                writeString(out, product.getName());
+                writeString(out, product.getDescription());
+                writeString(out, product.getImageUrl());
+                writeString(out, product.getBrand());
+            }
+            out.flush();
+            file.getChannel().write(ByteBuffer.allocate(4).putInt(0, count), COUNT_OFFSET);
+            file.getFD().sync();
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    /**
+     * Maps the snapshot at {@code path}.
+     *
+     * @return the snapshot, or null if there is none yet
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE || length > Integer.MAX_VALUE) {
+                throw new IOException("Not a catalog snapshot: " + path + " is " + length + " bytes");
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (data.getInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            short version = data.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported catalog snapshot version " + version + " in " + path);
+            }
+            long writtenAt = data.getLong();
+            int size = data.getInt();
+            return new CatalogSnapshot(data, writtenAt, size);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /** Epoch millis at which the snapshot was started; changes after it may be missing. */
+    public long getWrittenAt() {
+        return writtenAt;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Decodes the products in id order. Each call reads the mapping independently. */
+    public Stream<SnapshotProduct> stream() {
+        ByteBuffer records = data.duplicate().position(HEADER_SIZE);
+        Iterator<SnapshotProduct> iterator = new Iterator<>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                return read < size;
+            }
+
+            @Override
+            public SnapshotProduct next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                read++;
+                long id = records.getLong();
+                long version = records.getLong();
+                long categoryId = records.getLong();
+                double price = records.getDouble();
+                int stockQuantity = records.getInt();
+                String sku = readString(records);
+                String name = readString(records);
+                String description = readString(records);
+                String imageUrl = readString(records);
+                String brand = readString(records);
+                return new SnapshotProduct(id, version, sku, name, description, price, imageUrl, brand,
+                        stockQuantity, categoryId < 0 ? null : categoryId);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliterator(iterator, size, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
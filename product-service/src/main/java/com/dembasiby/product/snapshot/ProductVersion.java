@@ -0,0 +1,20 @@
+package com.dembasiby.product.snapshot;
+
+/** The id and current version of one product, for finding what changed since a snapshot. */
+public final class ProductVersion {
+    private final long id;
+    private final long version;
+
+    public ProductVersion(Long id, Long version) {
+        this.id = id;
+        this.version = version;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
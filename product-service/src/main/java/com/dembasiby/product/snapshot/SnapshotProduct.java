@@ -0,0 +1,88 @@
+package com.dembasiby.product.snapshot;
+
+import com.dembasiby.product.facet.ProductFacets;
+import com.dembasiby.product.search.SearchDocument;
+import com.dembasiby.product.suggest.ProductName;
+
+/**
+ * One product as stored in the catalog snapshot: every field the in-memory indexes are built
+ * from, and the version it was read at.
+ */
+public final class SnapshotProduct {
+    private final long id;
+    private final long version;
+    private final String sku;
+    private final String name;
+    private final String description;
+    private final double price;
+    private final String imageUrl;
+    private final String brand;
+    private final int stockQuantity;
+    private final Long categoryId;
+
+    public SnapshotProduct(Long id, Long version, String sku, String name, String description, Double price,
+                           String imageUrl, String brand, Integer stockQuantity, Long categoryId) {
+        this.id = id;
+        this.version = version;
+        this.sku = sku;
+        this.name = name;
+        this.description = description;
+        this.price = price == null ? 0 : price;
+        this.imageUrl = imageUrl;
+        this.brand = brand;
+        this.stockQuantity = stockQuantity == null ? 0 : stockQuantity;
+        this.categoryId = categoryId;
+    }
+
+    public SearchDocument toSearchDocument() {
+        return new SearchDocument(id, version, name, description, price, imageUrl);
+    }
+
+    public ProductFacets toFacets() {
+        return new ProductFacets(id, categoryId, brand, price, stockQuantity);
+    }
+
+    public ProductName toName() {
+        return new ProductName(id, name);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public int getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+}
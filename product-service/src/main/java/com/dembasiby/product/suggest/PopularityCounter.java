@@ -0,0 +1,38 @@
+package com.dembasiby.product.suggest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts product views for ranking suggestions. Counts are halved on every {@link #decay},
+ * so a product that was popular last month slowly gives way to what is popular now.
+ */
+public class PopularityCounter {
+    private final Map<Long, LongAdder> views = new ConcurrentHashMap<>();
+
+    public void record(long productId) {
+        views.computeIfAbsent(productId, id -> new LongAdder()).increment();
+    }
+
+    public Map<Long, Long> snapshot() {
+        Map<Long, Long> counts = new HashMap<>(views.size());
+        views.forEach((productId, count) -> counts.put(productId, count.sum()));
+        return counts;
+    }
+
+    /** Halves every count and forgets products that drop to zero. */
+    public void decay() {
+        views.entrySet().removeIf(entry -> {
+            LongAdder count = entry.getValue();
+            long current = count.sumThenReset();
+            count.add(current / 2);
+            return current / 2 == 0;
+        });
+    }
+
+    public int size() {
+        return views.size();
+    }
+}
@@ -0,0 +1,20 @@
+package com.dembasiby.product.suggest;
+
+/** The id and name of one product, as loaded for {@link SuggestionTrie}. */
+public final class ProductName {
+    private final long id;
+    private final String name;
+
+    public ProductName(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,25 @@
+package com.dembasiby.product.suggest;
+
+public final class Suggestion {
+    private final long productId;
+    private final String name;
+    private final long weight;
+
+    Suggestion(long productId, String name, long weight) {
+        this.productId = productId;
+        this.name = name;
+        this.weight = weight;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,343 @@
+package com.dembasiby.product.suggest;
+
+import com.dembasiby.product.search.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable prefix index for typeahead. Every product name is indexed from each of its first
+ * few word starts, so "mou" finds "Acme Wireless Mouse". Keys live in a path-compressed trie
+ * packed into flat arrays, and every node stores the ids of its best {@link #MAX_SUGGESTIONS}
+ * products. A lookup walks at most one node per character of the prefix and never visits
+ * the subtree below it, so its cost does not depend on how many names match.
+ *
+ * <p>Products are numbered best first (weight, then shorter name, then id), which turns
+ * "the best k below this node" into "the k smallest numbers below this node". Instances
+ * never change; build a new one with {@link #builder} and swap it in.
+ */
+public final class SuggestionTrie {
+    public static final int MAX_SUGGESTIONS = 10;
+    static final int MAX_KEY_LENGTH = 64;
+
+    // Per node; children of a node have consecutive numbers, sorted by their first character
+    private final int[] labelStart;
+    private final byte[] labelLength;
+    private final int[] firstChild;
+    private final char[] childCount;
+    private final int[] topStart;
+    private final byte[] topCount;
+    private final char[] labels;
+    private final int[] tops;
+
+    // Per product, best first
+    private final long[] productIds;
+    private final long[] weights;
+    private final int[] nameStart;
+    private final char[] names;
+
+    private SuggestionTrie(Builder builder, int nodes) {
+        this.labelStart = Arrays.copyOf(builder.labelStart, nodes);
+        this.labelLength = Arrays.copyOf(builder.labelLength, nodes);
+        this.firstChild = Arrays.copyOf(builder.firstChild, nodes);
+        this.childCount = Arrays.copyOf(builder.childCount, nodes);
+        this.topStart = Arrays.copyOf(builder.topStart, nodes);
+        this.topCount = Arrays.copyOf(builder.topCount, nodes);
+        this.labels = builder.labels.toString().toCharArray();
+        this.tops = Arrays.copyOf(builder.tops, builder.topsSize);
+        this.productIds = builder.rankedIds;
+        this.weights = builder.rankedWeights;
+        this.nameStart = builder.rankedNameStart;
+        this.names = builder.rankedNames;
+    }
+
+    public static Builder builder(int maxWordStarts) {
+        return new Builder(maxWordStarts);
+    }
+
+    /** The best products whose name, or a word in it, starts with {@code query}. */
+    public List<Suggestion> suggest(String query, int limit) {
+        String prefix = normalizeQuery(query);
+        if (prefix.isEmpty() || productIds.length == 0) {
+            return List.of();
+        }
+        int node = 0;
+        int position = 0;
+        while (true) {
+            int start = labelStart[node];
+            int matched = Math.min(labelLength[node], prefix.length() - position);
+            for (int i = 0; i < matched; i++) {
+                if (labels[start + i] != prefix.charAt(position + i)) {
+                    return List.of();
+                }
+            }
+            position += matched;
+            if (position == prefix.length()) {
+                return top(node, limit);
+            }
+            node = child(node, prefix.charAt(position));
+            if (node < 0) {
+                return List.of();
+            }
+        }
+    }
+
+    public int size() {
+        return productIds.length;
+    }
+
+    public int nodes() {
+        return labelStart.length;
+    }
+
+    /** Approximate heap used by the arrays, excluding object headers. */
+    public long sizeInBytes() {
+        return 4L * labelStart.length + labelLength.length + 4L * firstChild.length + 2L * childCount.length
+                + 4L * topStart.length + topCount.length + 2L * labels.length + 4L * tops.length
+                + 8L * productIds.length + 8L * weights.length + 4L * nameStart.length + 2L * names.length;
+    }
+
+    private int child(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char first = labels[labelStart[middle]];
+            if (first < c) {
+                low = middle + 1;
+            } else if (first > c) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private List<Suggestion> top(int node, int limit) {
+        int count = Math.min(topCount[node], limit);
+        List<Suggestion> suggestions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int product = tops[topStart[node] + i];
+            int end = product + 1 < nameStart.length ? nameStart[product + 1] : names.length;
+            suggestions.add(new Suggestion(productIds[product], new String(names, nameStart[product], end - nameStart[product]),
+                    weights[product]));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Normalizes like the index does. A trailing separator is kept, so "pro " only matches
+     * the whole word "pro" and not "projector".
+     */
+    static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = String.join(" ", Tokenizer.tokenize(query, false));
+        if (!normalized.isEmpty() && !Character.isLetterOrDigit(query.charAt(query.length() - 1))) {
+            normalized += " ";
+        }
+        return normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized;
+    }
+
+    public static final class Builder {
+        private final int maxWordStarts;
+        private final List<Product> products = new ArrayList<>();
+
+        private long[] rankedIds;
+        private long[] rankedWeights;
+        private int[] rankedNameStart;
+        private char[] rankedNames;
+
+        private String[] keys;
+        private int[] keyProducts;
+        private int nodes;
+        private int[] labelStart = new int[16];
+        private byte[] labelLength = new byte[16];
+        private int[] firstChild = new int[16];
+        private char[] childCount = new char[16];
+        private int[] topStart = new int[16];
+        private byte[] topCount = new byte[16];
+        private final StringBuilder labels = new StringBuilder();
+        private int[] tops = new int[16];
+        private int topsSize;
+
+        private Builder(int maxWordStarts) {
+            this.maxWordStarts = Math.max(1, maxWordStarts);
+        }
+
+        /** @param weight higher ranks first, e.g. recent views */
+        public Builder add(long productId, String name, long weight) {
+            if (name != null && !name.isBlank()) {
+                products.add(new Product(productId, name, weight));
+            }
+            return this;
+        }
+
+        public SuggestionTrie build() {
+            rank();
+            collectKeys();
+            allocate();
+            nodes = 1;
+            if (keys.length > 0) {
+                buildNode(0, 0, keys.length, 0);
+            }
+            return new SuggestionTrie(this, nodes);
+        }
+
+        private void rank() {
+            products.sort(Comparator.comparingLong((Product product) -> product.weight).reversed()
+                    .thenComparingInt(product -> product.name.length())
+                    .thenComparingLong(product -> product.id));
+            rankedIds = new long[products.size()];
+            rankedWeights = new long[products.size()];
+            rankedNameStart = new int[products.size()];
+            StringBuilder packedNames = new StringBuilder();
+            for (int i = 0; i < products.size(); i++) {
+                Product product = products.get(i);
+                rankedIds[i] = product.id;
+                rankedWeights[i] = product.weight;
+                rankedNameStart[i] = packedNames.length();
+                packedNames.append(product.name);
+            }
+            rankedNames = packedNames.toString().toCharArray();
+        }
+
+        private void collectKeys() {
+            List<Key> collected = new ArrayList<>();
+            for (int i = 0; i < products.size(); i++) {
+                List<String> words = Tokenizer.tokenize(products.get(i).name, false);
+                for (int start = 0; start < Math.min(words.size(), maxWordStarts); start++) {
+                    String key = String.join(" ", words.subList(start, words.size()));
+                    collected.add(new Key(key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key, i));
+                }
+            }
+            collected.sort(Comparator.comparing((Key key) -> key.text).thenComparingInt(key -> key.product));
+            keys = new String[collected.size()];
+            keyProducts = new int[collected.size()];
+            for (int i = 0; i < collected.size(); i++) {
+                keys[i] = collected.get(i).text;
+                keyProducts[i] = collected.get(i).product;
+            }
+        }
+
+        private void allocate() {
+            int capacity = Math.max(16, 2 * keys.length + 1);
+            labelStart = new int[capacity];
+            labelLength = new byte[capacity];
+            firstChild = new int[capacity];
+            childCount = new char[capacity];
+            topStart = new int[capacity];
+            topCount = new byte[capacity];
+        }
+
+        /**
+         * Fills in {@code node}, which covers the sorted keys {@code [from, to)} that all agree
+         * on their first {@code depth} characters.
+         */
+        private void buildNode(int node, int from, int to, int depth) {
+            int common = commonPrefix(keys[from], keys[to - 1]);
+            labelStart[node] = labels.length();
+            labelLength[node] = (byte) (common - depth);
+            labels.append(keys[from], depth, common);
+
+            // Keys that end here sort first; the rest are grouped by their next character
+            int i = from;
+            while (i < to && keys[i].length() == common) {
+                i++;
+            }
+            int terminalEnd = i;
+            List<int[]> groups = new ArrayList<>();
+            while (i < to) {
+                char next = keys[i].charAt(common);
+                int groupStart = i;
+                while (i < to && keys[i].charAt(common) == next) {
+                    i++;
+                }
+                groups.add(new int[]{groupStart, i});
+            }
+            int first = nodes;
+            nodes += groups.size();
+            firstChild[node] = first;
+            childCount[node] = (char) groups.size();
+            for (int g = 0; g < groups.size(); g++) {
+                buildNode(first + g, groups.get(g)[0], groups.get(g)[1], common);
+            }
+
+            // Best products below this node: the smallest numbers among its own keys and the
+            // children's best lists, which are already sorted
+            int[] best = new int[MAX_SUGGESTIONS];
+            int found = 0;
+            for (int k = from; k < terminalEnd; k++) {
+                found = insert(best, found, keyProducts[k]);
+            }
+            for (int g = 0; g < groups.size(); g++) {
+                int child = first + g;
+                for (int k = 0; k < topCount[child]; k++) {
+                    found = insert(best, found, tops[topStart[child] + k]);
+                }
+            }
+            topStart[node] = topsSize;
+            topCount[node] = (byte) found;
+            ensureTops(found);
+            System.arraycopy(best, 0, tops, topsSize, found);
+            topsSize += found;
+        }
+
+        /** Inserts into the sorted, duplicate-free {@code best}, dropping the largest if full. */
+        private static int insert(int[] best, int size, int product) {
+            int position = Arrays.binarySearch(best, 0, size, product);
+            if (position >= 0) {
+                return size;
+            }
+            position = -position - 1;
+            if (position >= best.length) {
+                return size;
+            }
+            int moved = Math.min(size, best.length - 1) - position;
+            System.arraycopy(best, position, best, position + 1, moved);
+            best[position] = product;
+            return Math.min(size + 1, best.length);
+        }
+
+        private void ensureTops(int extra) {
+            if (topsSize + extra > tops.length) {
+                tops = Arrays.copyOf(tops, Math.max(tops.length * 2, topsSize + extra));
+            }
+        }
+
+        private static int commonPrefix(String a, String b) {
+            int length = Math.min(a.length(), b.length());
+            int i = 0;
+            while (i < length && a.charAt(i) == b.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    private static final class Product {
+        final long id;
+        final String name;
+        final long weight;
+
+        Product(long id, String name, long weight) {
+            this.id = id;
+            this.name = name;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Key {
+        final String text;
+        final int product;
+
+        Key(String text, int product) {
+            this.text = text;
+            this.product = product;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.dembasiby.product.trending;
+
+import java.util.Arrays;
+
+/**
+ * Approximate counts for an unbounded set of keys in fixed memory. Every key increments one
+ * counter in each row, and its estimate is the smallest of those counters, so estimates never
+ * undercount and overcount by at most a small fraction of the total. Not thread-safe.
+ */
+public class CountMinSketch {
+    private static final long[] SEEDS = {
+            0x9e3779b97f4a7c15L, 0xbf58476d1ce4e5b9L, 0x94d049bb133111ebL, 0x2545f4914f6cdd1dL,
+            0xd6e8feb86659fd93L, 0xa0761d6478bd642fL, 0xe7037ed1a0b428dbL, 0x8ebc6af09c88c6e3L
+    };
+
+    private final int depth;
+    private final int mask;
+    private final long[] counters;
+    private long total;
+
+    /** @param width counters per row, rounded up to a power of two */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + SEEDS.length);
+        }
+        int rounded = width <= 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.depth = depth;
+        this.mask = rounded - 1;
+        this.counters = new long[depth * rounded];
+    }
+
+    /** @return the key's estimate after adding {@code count} */
+    public long add(long key, long count) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = index(row, key);
+            counters[index] += count;
+            estimate = Math.min(estimate, counters[index]);
+        }
+        total += count;
+        return estimate;
+    }
+
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[index(row, key)]);
+        }
+        return estimate;
+    }
+
+    /** Sum of everything added. */
+    public long total() {
+        return total;
+    }
+
+    public void clear() {
+        Arrays.fill(counters, 0);
+        total = 0;
+    }
+
+    public long sizeInBytes() {
+        return 8L * counters.length;
+    }
+
+    private int index(int row, long key) {
+        return row * (mask + 1) + (int) (EventBuffer.mix(key ^ SEEDS[row]) & mask);
+    }
+}
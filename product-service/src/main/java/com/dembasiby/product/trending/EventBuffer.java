@@ -0,0 +1,110 @@
+package com.dembasiby.product.trending;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size hand-off from request threads to the single thread that feeds the sketches.
+ * Producers are spread over striped ring buffers by thread, so concurrent requests mostly
+ * touch different cache lines, and {@link #offer} never blocks or waits: when the caller's
+ * ring is full the event is dropped and counted. Only one thread may call {@link #drain}.
+ *
+ * <p>Events are positive longs; zero marks a slot that is free or not yet published.
+ */
+public class EventBuffer {
+    // Ring positions sit 16 longs (128 bytes) apart so neighbours never share a cache line
+    private static final int PADDING = 16;
+
+    /** Receives drained events. */
+    public interface Sink {
+        void accept(long event);
+    }
+
+    private final int stripes;
+    private final int capacity;
+    private final AtomicLongArray slots;
+    private final AtomicLongArray tails;
+    private final AtomicLongArray heads;
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** @param capacity events per stripe, rounded up to a power of two */
+    public EventBuffer(int stripes, int capacity) {
+        this.stripes = roundUp(stripes);
+        this.capacity = roundUp(capacity);
+        this.slots = new AtomicLongArray(this.stripes * this.capacity);
+        this.tails = new AtomicLongArray(this.stripes * PADDING);
+        this.heads = new AtomicLongArray(this.stripes * PADDING);
+    }
+
+    /** @return false if the event was dropped because the caller's ring is full */
+    public boolean offer(long event) {
+        if (event <= 0) {
+            throw new IllegalArgumentException("Events must be positive");
+        }
+        int stripe = homeStripe();
+        int position = stripe * PADDING;
+        long tail;
+        do {
+            tail = tails.get(position);
+            if (tail - heads.get(position) >= capacity) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!tails.compareAndSet(position, tail, tail + 1));
+        slots.set(stripe * capacity + (int) (tail & (capacity - 1)), event);
+        return true;
+    }
+
+    /**
+     * Hands every published event to {@code sink}. A slot that was claimed but not yet written
+     * stops the drain of its ring; the event is picked up by the next drain.
+     *
+     * @return the number of events drained
+     */
+    public int drain(Sink sink) {
+        int drained = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int position = stripe * PADDING;
+            long head = heads.get(position);
+            long tail = tails.get(position);
+            while (head < tail) {
+                int slot = stripe * capacity + (int) (head & (capacity - 1));
+                long event = slots.get(slot);
+                if (event == 0) {
+                    break;
+                }
+                slots.set(slot, 0);
+                sink.accept(event);
+                head++;
+                drained++;
+            }
+            heads.set(position, head);
+        }
+        return drained;
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public long sizeInBytes() {
+        return 8L * (slots.length() + tails.length() + heads.length());
+    }
+
+    private int homeStripe() {
+        return (int) mix(Thread.currentThread().getId()) & (stripes - 1);
+    }
+
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static int roundUp(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
@@ -0,0 +1,162 @@
+package com.dembasiby.product.trending;
+
+import java.util.Arrays;
+
+/**
+ * The heaviest keys of a stream, tracked in a fixed number of slots. A new key takes the slot
+ * of the lightest one once all are in use, so a key that is truly heavy cannot be pushed out
+ * for long. Counts come from the caller, typically a {@link CountMinSketch} estimate, which
+ * is tighter than the classic "evicted count plus one". Not thread-safe.
+ *
+ * <p>The slots form a binary min-heap on count, with an open-addressing table from key to
+ * heap position, so an update costs O(log capacity) and allocates nothing.
+ */
+public class SpaceSaving {
+    private final long[] keys;
+    private final long[] counts;
+    private final long[] tableKeys;
+    private final int[] tablePositions;
+    private final int tableMask;
+    private int size;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.keys = new long[capacity];
+        this.counts = new long[capacity];
+        int tableSize = Integer.highestOneBit(capacity * 4 - 1) << 1;
+        this.tableKeys = new long[tableSize];
+        this.tablePositions = new int[tableSize];
+        this.tableMask = tableSize - 1;
+        Arrays.fill(tablePositions, -1);
+    }
+
+    /**
+     * Records that {@code key} has now been seen {@code count} times in total.
+     */
+    public void offer(long key, long count) {
+        int position = find(key);
+        if (position >= 0) {
+            if (count > counts[position]) {
+                counts[position] = count;
+                siftDown(position);
+            }
+            return;
+        }
+        if (size < keys.length) {
+            keys[size] = key;
+            counts[size] = count;
+            put(key, size);
+            siftUp(size++);
+            return;
+        }
+        if (count > counts[0]) {
+            remove(keys[0]);
+            keys[0] = key;
+            counts[0] = count;
+            put(key, 0);
+            siftDown(0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Tracked key at {@code index}, in no particular order; {@code index < size()}. */
+    public long keyAt(int index) {
+        return keys[index];
+    }
+
+    public void clear() {
+        size = 0;
+        Arrays.fill(tablePositions, -1);
+    }
+
+    public long sizeInBytes() {
+        return 8L * keys.length + 8L * counts.length + 8L * tableKeys.length + 4L * tablePositions.length;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (counts[parent] <= counts[position]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = keys[a];
+        long count = counts[a];
+        keys[a] = keys[b];
+        counts[a] = counts[b];
+        keys[b] = key;
+        counts[b] = count;
+        put(keys[a], a);
+        put(keys[b], b);
+    }
+
+    private int find(long key) {
+        for (int slot = slot(key); tablePositions[slot] >= 0; slot = (slot + 1) & tableMask) {
+            if (tableKeys[slot] == key) {
+                return tablePositions[slot];
+            }
+        }
+        return -1;
+    }
+
+    private void put(long key, int position) {
+        int slot = slot(key);
+        while (tablePositions[slot] >= 0 && tableKeys[slot] != key) {
+            slot = (slot + 1) & tableMask;
+        }
+        tableKeys[slot] = key;
+        tablePositions[slot] = position;
+    }
+
+    /** Removes with backward-shift deletion, so lookups never need tombstones. */
+    private void remove(long key) {
+        int slot = slot(key);
+        while (tableKeys[slot] != key || tablePositions[slot] < 0) {
+            slot = (slot + 1) & tableMask;
+        }
+        int hole = slot;
+        for (int next = (hole + 1) & tableMask; tablePositions[next] >= 0; next = (next + 1) & tableMask) {
+            int home = slot(tableKeys[next]);
+            // Move the entry back if its home does not lie cyclically in (hole, next]
+            if (((next - home) & tableMask) >= ((next - hole) & tableMask)) {
+                tableKeys[hole] = tableKeys[next];
+                tablePositions[hole] = tablePositions[next];
+                hole = next;
+            }
+        }
+        tablePositions[hole] = -1;
+    }
+
+    private int slot(long key) {
+        return (int) EventBuffer.mix(key) & tableMask;
+    }
+}
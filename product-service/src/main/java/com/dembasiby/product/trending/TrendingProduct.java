@@ -0,0 +1,20 @@
+package com.dembasiby.product.trending;
+
+/** One entry of the trending list: a product and its weighted activity in the window. */
+public final class TrendingProduct {
+    private final long productId;
+    private final double score;
+
+    public TrendingProduct(long productId, double score) {
+        this.productId = productId;
+        this.score = score;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
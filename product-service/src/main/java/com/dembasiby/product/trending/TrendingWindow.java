@@ -0,0 +1,88 @@
+package com.dembasiby.product.trending;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sliding window of product activity made of fixed time buckets, each with its own
+ * {@link CountMinSketch} and {@link SpaceSaving} top list. Buckets are reused in a ring, so
+ * memory does not depend on traffic. A product's score sums its estimates over the window,
+ * with older buckets counting linearly less, so the list follows what is rising now rather
+ * than what was busy at the start of the window. Not thread-safe.
+ */
+public class TrendingWindow {
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+
+    public TrendingWindow(int buckets, long bucketMillis, int sketchDepth, int sketchWidth, int candidates) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = new Bucket[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new Bucket(new CountMinSketch(sketchDepth, sketchWidth), new SpaceSaving(candidates));
+        }
+    }
+
+    public void add(long productId, long weight, long nowMillis) {
+        Bucket bucket = bucket(nowMillis / bucketMillis);
+        bucket.top.offer(productId, bucket.sketch.add(productId, weight));
+    }
+
+    /** The highest-scoring products, best first. */
+    public List<TrendingProduct> top(int limit, long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        Map<Long, Double> scores = new HashMap<>();
+        for (Bucket bucket : buckets) {
+            if (current - bucket.epoch < buckets.length) {
+                for (int i = 0; i < bucket.top.size(); i++) {
+                    scores.putIfAbsent(bucket.top.keyAt(i), 0.0);
+                }
+            }
+        }
+        for (Bucket bucket : buckets) {
+            long age = current - bucket.epoch;
+            if (age >= buckets.length || bucket.sketch.total() == 0) {
+                continue;
+            }
+            double weight = (double) (buckets.length - age) / buckets.length;
+            scores.replaceAll((productId, score) -> score + weight * bucket.sketch.estimate(productId));
+        }
+        List<TrendingProduct> ranked = new ArrayList<>(scores.size());
+        scores.forEach((productId, score) -> ranked.add(new TrendingProduct(productId, score)));
+        ranked.sort(Comparator.comparingDouble(TrendingProduct::getScore).reversed()
+                .thenComparingLong(TrendingProduct::getProductId));
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (Bucket bucket : buckets) {
+            bytes += bucket.sketch.sizeInBytes() + bucket.top.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /** The bucket for {@code epoch}, cleared first if it still holds an older one. */
+    private Bucket bucket(long epoch) {
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        if (bucket.epoch != epoch) {
+            bucket.sketch.clear();
+            bucket.top.clear();
+            bucket.epoch = epoch;
+        }
+        return bucket;
+    }
+
+    private static final class Bucket {
+        final CountMinSketch sketch;
+        final SpaceSaving top;
+        long epoch = Long.MIN_VALUE / 2;
+
+        Bucket(CountMinSketch sketch, SpaceSaving top) {
+            this.sketch = sketch;
+            this.top = top;
+        }
+    }
+}
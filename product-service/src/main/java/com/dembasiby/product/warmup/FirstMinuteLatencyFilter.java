@@ -0,0 +1,75 @@
+package com.dembasiby.product.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times real requests during the first {@code warm-up.first-minute-ms} after the instance
+ * went UP, in {@code warmup.first-minute.latency}; comparing it with the steady-state
+ * {@code http.server.requests} shows how much cold-start latency is left after warm-up.
+ * Warm-up requests themselves carry {@link WarmUp#HEADER} and are not counted; the header is
+ * only honoured from loopback, where warm-up sends it from.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FirstMinuteLatencyFilter extends OncePerRequestFilter {
+    private final Timer latency;
+    private final long windowMillis;
+    private volatile long windowStart = -1;
+
+    public FirstMinuteLatencyFilter(MeterRegistry meterRegistry,
+                                    @Value("${warm-up.first-minute-ms:60000}") long windowMillis) {
+        this.windowMillis = windowMillis;
+        this.latency = Timer.builder("warmup.first-minute.latency")
+                .description("Latency of requests served in the first minute after going UP")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /** Starts the window; called when the instance goes UP. */
+    public void open() {
+        windowStart = System.nanoTime();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        long opened = windowStart;
+        if (opened < 0 || start - opened > windowMillis * 1_000_000 || isWarmUp(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static boolean isWarmUp(HttpServletRequest request) {
+        if (request.getHeader(WarmUp.HEADER) == null) {
+            return false;
+        }
+        try {
+            // The remote address is a literal, so this does no lookup
+            return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
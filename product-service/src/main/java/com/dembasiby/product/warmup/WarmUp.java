@@ -0,0 +1,186 @@
+package com.dembasiby.product.warmup;
+
+import com.dembasiby.product.service.CatalogSnapshotService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the hot paths before the instance takes traffic. The instance registers with Eureka
+ * as STARTING ({@code eureka.instance.initial-status}); once the context is ready this waits
+ * for the search and facet indexes to load (at most {@code warm-up.index-wait-ms}), fills
+ * the connection pool, then pages through the catalog over HTTP against the instance itself,
+ * full and with sparse fields, and repeats a batch lookup, a search and a facet query on what
+ * it read, until {@code warm-up.iterations} or {@code warm-up.max-duration-ms} is reached.
+ * Only then does it report UP. A failing warm-up still reports UP, just cold.
+ *
+ * <p>None of these endpoints count views, so trending and suggestions are unaffected.
+ * Durations are published as {@code warmup.duration}.
+ */
+@Component
+public class WarmUp {
+    public static final String HEADER = "X-Warm-Up";
+    private static final Logger logger = LoggerFactory.getLogger(WarmUp.class);
+
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final FirstMinuteLatencyFilter firstMinuteLatency;
+    private final Timer duration;
+    private final boolean enabled;
+    private final int iterations;
+    private final Duration maxDuration;
+    private final Duration indexWait;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    public WarmUp(ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                  CatalogSnapshotService catalogSnapshotService,
+                  DataSource dataSource,
+                  ObjectMapper objectMapper,
+                  FirstMinuteLatencyFilter firstMinuteLatency,
+                  MeterRegistry meterRegistry,
+                  @Value("${warm-up.enabled:true}") boolean enabled,
+                  @Value("${warm-up.iterations:300}") int iterations,
+                  @Value("${warm-up.max-duration-ms:30000}") long maxDurationMs,
+                  @Value("${warm-up.index-wait-ms:120000}") long indexWaitMs) {
+        this.applicationInfoManager = applicationInfoManager;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.firstMinuteLatency = firstMinuteLatency;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDuration = Duration.ofMillis(maxDurationMs);
+        this.indexWait = Duration.ofMillis(indexWaitMs);
+        this.duration = Timer.builder("warmup.duration")
+                .description("Time from the context being ready to the instance reporting UP")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        Thread thread = new Thread(() -> run(port), "warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run(int port) {
+        long start = System.nanoTime();
+        int completed = 0;
+        try {
+            if (!catalogSnapshotService.awaitIndexes(indexWait)) {
+                logger.warn("Indexes not loaded after {} ms; warming up without them", indexWait.toMillis());
+            }
+            if (enabled) {
+                fillConnectionPool();
+                completed = exercise(URI.create("http://localhost:" + port), System.nanoTime() + maxDuration.toNanos());
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            logger.warn("Warm-up failed after {} iterations; going UP without it", completed, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            duration.record(elapsed, TimeUnit.NANOSECONDS);
+            markUp();
+            logger.info("Warm-up ran {} iterations in {} ms; instance is UP", completed,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    /** Opens the pool's minimum of idle connections now rather than on the first requests. */
+    private void fillConnectionPool() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+        int size = dataSource.unwrap(HikariDataSource.class).getMinimumIdle();
+        List<Connection> connections = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    private int exercise(URI base, long deadline) throws IOException, InterruptedException {
+        String cursor = null;
+        int completed = 0;
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            String page = "/api/products?size=20" + (cursor == null ? "" : "&cursor=" + encode(cursor));
+            JsonNode data = get(base.resolve(page)).path("data");
+            get(base.resolve(page + "&fields=id,name,price"));
+
+            StringJoiner ids = new StringJoiner(",");
+            String term = null;
+            for (JsonNode item : data.path("items")) {
+                ids.add(item.path("id").asText());
+                if (term == null && item.hasNonNull("name")) {
+                    term = item.get("name").asText().split("\\s+")[0];
+                }
+            }
+            if (ids.length() > 0) {
+                get(base.resolve("/api/products/batch?ids=" + ids));
+            }
+            if (term != null && !term.isBlank()) {
+                get(base.resolve("/api/products/search?q=" + encode(term)));
+            }
+            get(base.resolve("/api/products/facets"));
+
+            // Start over at the end of the catalog
+            cursor = data.hasNonNull("nextCursor") ? data.get("nextCursor").asText() : null;
+            completed++;
+        }
+        return completed;
+    }
+
+    private JsonNode get(URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).header(HEADER, "true").GET().build();
+        return objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).body());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private void markUp() {
+        firstMinuteLatency.open();
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (manager != null) {
+            manager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        }
+    }
+}
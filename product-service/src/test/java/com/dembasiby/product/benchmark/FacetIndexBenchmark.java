@@ -0,0 +1,145 @@
+package com.dembasiby.product.benchmark;
+
+import com.dembasiby.product.facet.FacetIndex;
+import com.dembasiby.product.facet.FacetQuery;
+import com.dembasiby.product.facet.FacetResult;
+import com.dembasiby.product.facet.PriceBands;
+import com.dembasiby.product.facet.ProductFacets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering plus facet counts on a synthetic multi-million product catalog. The
+ * {@code linearScan} baseline computes the same answer with a full pass over columnar
+ * arrays, a lower bound for what a {@code GROUP BY} per facet would cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class FacetIndexBenchmark {
+    private static final int ROOT_CATEGORIES = 20;
+    private static final int CHILDREN_PER_ROOT = 9;
+    private static final int BRANDS = 500;
+    private static final PriceBands PRICE_BANDS = new PriceBands(25, 50, 100, 250, 500);
+
+    @Param({"1000000", "5000000"})
+    int catalogSize;
+
+    private FacetIndex index;
+    private int[] categories;
+    private int[] brands;
+    private byte[] bands;
+    private boolean[] inStock;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        Random random = new Random(42);
+        categories = new int[catalogSize];
+        brands = new int[catalogSize];
+        bands = new byte[catalogSize];
+        inStock = new boolean[catalogSize];
+        List<String> bandLabels = List.of(PRICE_BANDS.labels());
+
+        FacetIndex.Builder builder = FacetIndex.builder(PRICE_BANDS);
+        for (int i = 0; i < catalogSize; i++) {
+            // Products sit in leaf categories: root r owns leaves r*10+1 .. r*10+9
+            int category = random.nextInt(ROOT_CATEGORIES) * 10 + 1 + random.nextInt(CHILDREN_PER_ROOT);
+            int brand = (int) Math.pow(BRANDS, random.nextDouble()) - 1;
+            double price = Math.round(Math.exp(2 + random.nextGaussian() * 1.2 + 2) * 100) / 100.0;
+            int stock = random.nextInt(100) < 85 ? 1 + random.nextInt(50) : 0;
+            builder.add(new ProductFacets((long) i + 1, (long) category, "brand-" + brand, price, stock));
+            categories[i] = category;
+            brands[i] = brand;
+            bands[i] = (byte) bandLabels.indexOf(PRICE_BANDS.band(price));
+            inStock[i] = stock > 0;
+        }
+        index = builder.build();
+        System.out.printf("%n%d products, facet bitmaps use %,d bytes%n", catalogSize, index.sizeInBytes());
+    }
+
+    @Benchmark
+    public FacetResult filterAndCount() {
+        FacetQuery query = new FacetQuery()
+                .select(FacetIndex.CATEGORY, subtree(3))
+                .select(FacetIndex.BRAND, List.of("brand-0", "brand-1"))
+                .select(FacetIndex.PRICE, List.of("25-50", "50-100"))
+                .select(FacetIndex.AVAILABILITY, List.of(FacetIndex.IN_STOCK));
+        return index.query(withCounts(query));
+    }
+
+    @Benchmark
+    public FacetResult countsOnly() {
+        return index.query(withCounts(new FacetQuery()));
+    }
+
+    @Benchmark
+    public long linearScan() {
+        // Same filter and counts as filterAndCount, one pass over the columns
+        long total = 0;
+        long[] categoryCounts = new long[ROOT_CATEGORIES];
+        long[] brandCounts = new long[BRANDS];
+        long[] bandCounts = new long[PRICE_BANDS.labels().length];
+        long[] stockCounts = new long[2];
+        for (int i = 0; i < catalogSize; i++) {
+            boolean category = categories[i] / 10 == 3;
+            boolean brand = brands[i] <= 1;
+            boolean band = bands[i] == 1 || bands[i] == 2;
+            boolean stock = inStock[i];
+            if (brand && band && stock) {
+                categoryCounts[categories[i] / 10]++;
+            }
+            if (category && band && stock) {
+                brandCounts[brands[i]]++;
+            }
+            if (category && brand && stock) {
+                bandCounts[bands[i]]++;
+            }
+            if (category && brand && band) {
+                stockCounts[stock ? 0 : 1]++;
+            }
+            if (category && brand && band && stock) {
+                total++;
+            }
+        }
+        return total + categoryCounts[0] + brandCounts[0] + bandCounts[0] + stockCounts[0];
+    }
+
+    private static FacetQuery withCounts(FacetQuery query) {
+        for (int root = 0; root < ROOT_CATEGORIES; root++) {
+            query.count(FacetIndex.CATEGORY, Integer.toString(root), subtree(root));
+        }
+        query.countEachValue(FacetIndex.BRAND);
+        for (String band : PRICE_BANDS.labels()) {
+            query.count(FacetIndex.PRICE, band, List.of(band));
+        }
+        query.count(FacetIndex.AVAILABILITY, FacetIndex.IN_STOCK, List.of(FacetIndex.IN_STOCK));
+        query.count(FacetIndex.AVAILABILITY, FacetIndex.OUT_OF_STOCK, List.of(FacetIndex.OUT_OF_STOCK));
+        return query;
+    }
+
+    private static List<String> subtree(int root) {
+        List<String> leaves = new ArrayList<>(CHILDREN_PER_ROOT);
+        for (int child = 1; child <= CHILDREN_PER_ROOT; child++) {
+            leaves.add(Integer.toString(root * 10 + child));
+        }
+        return leaves;
+    }
+}
@@ -0,0 +1,142 @@
+package com.dembasiby.product.benchmark;
+
+import com.dembasiby.product.inventory.InventoryEngine;
+import com.dembasiby.product.inventory.InventoryJournal;
+import com.dembasiby.product.inventory.Reservation;
+import com.dembasiby.product.inventory.ReservedItem;
+import com.dembasiby.product.inventory.StockStore;
+import com.dembasiby.product.inventory.StripedStock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reserve-then-release on a single hot product from many threads, the worst case for a
+ * per-product counter. {@code atomicCas} and {@code synchronizedCounter} are the obvious
+ * single-counter designs; {@code stripedStock} is the counter the engine uses, and
+ * {@code engine} adds reservation bookkeeping on top. Run with more threads than the default
+ * on machines with more cores, e.g. {@code -t 16}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class InventoryReservationBenchmark {
+    private static final long HOT_PRODUCT = 1;
+    private static final long STOCK = 1_000_000;
+
+    private final AtomicLong atomicStock = new AtomicLong(STOCK);
+    private final Object lock = new Object();
+    private long lockedStock = STOCK;
+    private StripedStock stripedStock;
+    private InventoryEngine engine;
+    private InventoryJournal journal;
+    private Path journalDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stripedStock = new StripedStock(2 * Runtime.getRuntime().availableProcessors());
+        stripedStock.add(STOCK);
+        journalDirectory = Files.createTempDirectory("inventory-benchmark");
+        journal = new InventoryJournal(journalDirectory.resolve("journal.bin"));
+        engine = new InventoryEngine(new FixedStockStore(), journal,
+                2 * Runtime.getRuntime().availableProcessors(), 10_000, "bench-", Clock.systemUTC());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        Files.deleteIfExists(journalDirectory.resolve("journal.bin"));
+        Files.deleteIfExists(journalDirectory);
+    }
+
+    @Benchmark
+    public boolean atomicCas() {
+        long current;
+        do {
+            current = atomicStock.get();
+            if (current < 1) {
+                return false;
+            }
+        } while (!atomicStock.compareAndSet(current, current - 1));
+        atomicStock.incrementAndGet();
+        return true;
+    }
+
+    @Benchmark
+    public boolean synchronizedCounter() {
+        synchronized (lock) {
+            if (lockedStock < 1) {
+                return false;
+            }
+            lockedStock--;
+        }
+        synchronized (lock) {
+            lockedStock++;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean stripedStock() {
+        boolean taken = stripedStock.tryTake(1);
+        if (taken) {
+            stripedStock.add(1);
+        }
+        return taken;
+    }
+
+    @Benchmark
+    public Reservation engine() {
+        Reservation reservation = engine.reserve(List.of(new ReservedItem(HOT_PRODUCT, 1)), Duration.ofMinutes(10));
+        return engine.release(reservation.getId());
+    }
+
+    /** A pool large enough that the benchmark never runs out. */
+    private static final class FixedStockStore implements StockStore {
+        private final AtomicLong pool = new AtomicLong(STOCK);
+
+        @Override
+        public long lease(long productId, long minimum, long preferred) {
+            long take = Math.min(preferred, pool.get());
+            return take < minimum ? 0 : pool.addAndGet(-take) >= 0 ? take : 0;
+        }
+
+        @Override
+        public void giveBack(Map<Long, Long> units) {
+            units.values().forEach(pool::addAndGet);
+        }
+
+        @Override
+        public void settle(Map<Long, Long> units) {
+        }
+
+        @Override
+        public long unleased(long productId) {
+            return pool.get();
+        }
+    }
+}
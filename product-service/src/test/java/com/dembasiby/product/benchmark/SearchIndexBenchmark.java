@@ -0,0 +1,110 @@
+package com.dembasiby.product.benchmark;
+
+import com.dembasiby.product.search.SearchIndex;
+import com.dembasiby.product.search.SearchHit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Query latency of {@link SearchIndex} as the catalog grows. SampleTime mode reports
+ * percentiles, which matter more than the mean for a search box.
+ *
+ * <p>The {@code mixed} group runs searches while another thread keeps re-indexing products,
+ * to show that reads do not stall behind writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class SearchIndexBenchmark {
+    private static final int LIMIT = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    int catalogSize;
+
+    private SearchIndex index;
+    private String[] selectiveQueries;
+    private String[] broadQueries;
+    private String[] prefixQueries;
+    private final AtomicLong queryCounter = new AtomicLong();
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        Random random = new Random(42);
+        SearchIndex.Builder builder = SearchIndex.builder();
+        for (long id = 1; id <= catalogSize; id++) {
+            builder.add(SyntheticCatalog.product(id, 0, random));
+        }
+        index = builder.build();
+
+        selectiveQueries = new String[64];
+        broadQueries = new String[64];
+        prefixQueries = new String[64];
+        for (int i = 0; i < 64; i++) {
+            // Brand + noun + a mid-frequency description word narrows things down
+            selectiveQueries[i] = SyntheticCatalog.BRANDS[i % SyntheticCatalog.BRANDS.length] + " "
+                    + SyntheticCatalog.NOUNS[i % SyntheticCatalog.NOUNS.length] + " "
+                    + SyntheticCatalog.word(200 + i);
+            // Single adjective: matches roughly one product in sixteen
+            broadQueries[i] = SyntheticCatalog.ADJECTIVES[i % SyntheticCatalog.ADJECTIVES.length];
+            String noun = SyntheticCatalog.NOUNS[i % SyntheticCatalog.NOUNS.length];
+            prefixQueries[i] = noun.substring(0, 3) + "*";
+        }
+    }
+
+    @Benchmark
+    public List<SearchHit> selective() {
+        return index.search(next(selectiveQueries), LIMIT);
+    }
+
+    @Benchmark
+    public List<SearchHit> broad() {
+        return index.search(next(broadQueries), LIMIT);
+    }
+
+    @Benchmark
+    public List<SearchHit> prefix() {
+        return index.search(next(prefixQueries), LIMIT);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public List<SearchHit> mixedSearch() {
+        return index.search(next(selectiveQueries), LIMIT);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean mixedUpdate() {
+        long version = versionCounter.incrementAndGet();
+        Random random = new Random(version);
+        long id = 1 + random.nextInt(catalogSize);
+        return index.index(SyntheticCatalog.product(id, version, random));
+    }
+
+    private String next(String[] queries) {
+        return queries[(int) (queryCounter.getAndIncrement() & (queries.length - 1))];
+    }
+}
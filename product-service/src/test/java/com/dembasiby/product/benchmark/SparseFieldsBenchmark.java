@@ -0,0 +1,110 @@
+package com.dembasiby.product.benchmark;
+
+import com.dembasiby.product.ProductServiceApplication;
+import com.dembasiby.product.repository.ProductField;
+import com.dembasiby.product.repository.ProductSort;
+import com.dembasiby.product.search.SearchDocument;
+import com.dembasiby.product.service.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of the catalog listing, read and serialized, against the embedded H2 database.
+ * {@code summary} is the default listing, {@code allFields} asks for every field and
+ * {@code idAndName} for two, so the difference is the cost of the columns left out. The
+ * serialized size of each is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SparseFieldsBenchmark {
+    private static final Set<ProductField> ID_AND_NAME = EnumSet.of(ProductField.ID, ProductField.NAME);
+    private static final Set<ProductField> ALL_FIELDS = EnumSet.allOf(ProductField.class);
+
+    @Param({"10000"})
+    public int catalogSize;
+
+    @Param({"100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = SpringApplication.run(ProductServiceApplication.class,
+                "--spring.profiles.active=embedded",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.dembasiby=WARN");
+        productService = context.getBean(ProductService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        seed(context.getBean(JdbcTemplate.class));
+
+        System.out.printf("%nBytes per page of %d: summary %d, allFields %d, idAndName %d%n", pageSize,
+                summary().length, allFields().length, idAndName().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] summary() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productService.listProducts(ProductSort.ID_ASC, null, pageSize));
+    }
+
+    @Benchmark
+    public byte[] allFields() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                productService.listProductFields(ProductSort.ID_ASC, null, pageSize, ALL_FIELDS));
+    }
+
+    @Benchmark
+    public byte[] idAndName() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                productService.listProductFields(ProductSort.ID_ASC, null, pageSize, ID_AND_NAME));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(catalogSize);
+        for (long id = 1; id <= catalogSize; id++) {
+            SearchDocument product = SyntheticCatalog.product(id, 0, random);
+            rows.add(new Object[]{id, "SKU-" + id, product.getName(), product.getDescription(), product.getPrice(),
+                    "https://cdn.example.com/products/" + id + ".jpg",
+                    SyntheticCatalog.BRANDS[random.nextInt(SyntheticCatalog.BRANDS.length)],
+                    random.nextInt(500), id});
+        }
+        jdbcTemplate.batchUpdate("insert into product (id, sku, name, description, price, image_url, brand,"
+                + " stock_quantity, version, change_version) values (?, ?, ?, ?, ?, ?, ?, ?, 0, ?)", rows);
+    }
+}
@@ -0,0 +1,108 @@
+package com.dembasiby.product.benchmark;
+
+import com.dembasiby.product.search.SearchDocument;
+import com.dembasiby.product.suggest.Suggestion;
+import com.dembasiby.product.suggest.SuggestionTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Typeahead latency as the catalog grows. {@code trie} is the index the suggest endpoint
+ * uses; {@code sortedMapScan} is the obvious alternative, a sorted map of names walked over
+ * the whole prefix range to pick the most popular. Short prefixes match a large part of the
+ * catalog, which is where the two differ. SampleTime mode reports percentiles.
+ *
+ * <p>The trie's heap footprint, as reported by {@link SuggestionTrie#sizeInBytes()}, is
+ * printed when each trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class SuggestionTrieBenchmark {
+    private static final int LIMIT = 10;
+
+    @Param({"10000", "100000", "1000000"})
+    int catalogSize;
+
+    private SuggestionTrie trie;
+    private TreeMap<String, Long> names;
+    private Map<Long, Long> weights;
+    private String[] queries;
+    private final AtomicLong queryCounter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void build() {
+        Random random = new Random(42);
+        SuggestionTrie.Builder builder = SuggestionTrie.builder(4);
+        names = new TreeMap<>();
+        weights = new HashMap<>();
+        List<String> productNames = new ArrayList<>(catalogSize);
+        for (long id = 1; id <= catalogSize; id++) {
+            SearchDocument product = SyntheticCatalog.product(id, 0, random);
+            // Views are heavily skewed: a few products get most of them
+            long views = (long) Math.pow(10_000, random.nextDouble());
+            builder.add(id, product.getName(), views);
+            names.put(product.getName().toLowerCase(Locale.ROOT) + "\u0000" + id, id);
+            weights.put(id, views);
+            productNames.add(product.getName());
+        }
+        long start = System.nanoTime();
+        trie = builder.build();
+        System.out.printf("%nTrie: %d products, %d nodes, %d bytes (%.1f bytes per product), built in %d ms%n",
+                trie.size(), trie.nodes(), trie.sizeInBytes(), (double) trie.sizeInBytes() / trie.size(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        // Prefixes of 1 to 6 characters of whole names, as typed from the start of the box
+        queries = new String[256];
+        for (int i = 0; i < queries.length; i++) {
+            String name = productNames.get(random.nextInt(productNames.size())).toLowerCase(Locale.ROOT);
+            queries[i] = name.substring(0, Math.min(name.length(), 1 + random.nextInt(6)));
+        }
+    }
+
+    @Benchmark
+    public List<Suggestion> trie() {
+        return trie.suggest(nextQuery(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> sortedMapScan() {
+        String prefix = nextQuery();
+        PriorityQueue<Long> best = new PriorityQueue<>((a, b) -> Long.compare(weights.get(a), weights.get(b)));
+        for (Long id : names.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            best.add(id);
+            if (best.size() > LIMIT) {
+                best.poll();
+            }
+        }
+        return new ArrayList<>(best);
+    }
+
+    private String nextQuery() {
+        return queries[(int) (queryCounter.getAndIncrement() & (queries.length - 1))];
+    }
+}
@@ -0,0 +1,55 @@
+package com.dembasiby.product.benchmark;
+
+import com.dembasiby.product.search.SearchDocument;
+
+import java.util.Random;
+
+/**
+ * Deterministic fake products for benchmarks. Names combine a brand, an adjective and a
+ * product noun; descriptions draw from a few thousand pseudo-words with a skewed
+ * (roughly Zipfian) distribution, so some terms are very common and most are rare.
+ */
+public final class SyntheticCatalog {
+    public static final String[] BRANDS = {
+            "acme", "globex", "initech", "umbrella", "hooli", "vandelay", "stark", "wayne",
+            "wonka", "tyrell", "cyberdyne", "soylent", "massive", "aperture", "monarch", "nakatomi"};
+    public static final String[] ADJECTIVES = {
+            "wireless", "portable", "compact", "premium", "classic", "smart", "ultra", "eco",
+            "vintage", "rugged", "slim", "deluxe", "modern", "pro", "mini", "heavy"};
+    public static final String[] NOUNS = {
+            "headphones", "speaker", "keyboard", "mouse", "monitor", "laptop", "camera", "charger",
+            "backpack", "bottle", "lamp", "chair", "desk", "watch", "router", "tablet",
+            "blender", "kettle", "jacket", "sneakers", "drone", "microphone", "projector", "tripod"};
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ren", "to", "sa", "vi", "ne", "dor", "pa",
+            "qu", "ix", "el", "zu", "mar", "fi", "on", "tal", "be", "gro"};
+    private static final int VOCABULARY = SYLLABLES.length * SYLLABLES.length * SYLLABLES.length;
+
+    private SyntheticCatalog() {}
+
+    public static SearchDocument product(long id, long version, Random random) {
+        String name = pick(BRANDS, random) + " " + pick(ADJECTIVES, random) + " " + pick(NOUNS, random)
+                + " " + (char) ('a' + random.nextInt(26)) + random.nextInt(1000);
+        StringBuilder description = new StringBuilder();
+        int words = 12 + random.nextInt(12);
+        for (int i = 0; i < words; i++) {
+            description.append(i == 0 ? "" : " ").append(word(random));
+        }
+        return new SearchDocument(id, version, name, description.toString(), 1 + random.nextInt(50_000) / 100.0, null);
+    }
+
+    /** A description word; low indexes come up far more often than high ones. */
+    public static String word(Random random) {
+        return word((int) Math.pow(VOCABULARY, random.nextDouble()) - 1);
+    }
+
+    public static String word(int index) {
+        return SYLLABLES[index % SYLLABLES.length]
+                + SYLLABLES[(index / SYLLABLES.length) % SYLLABLES.length]
+                + SYLLABLES[(index / (SYLLABLES.length * SYLLABLES.length)) % SYLLABLES.length];
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
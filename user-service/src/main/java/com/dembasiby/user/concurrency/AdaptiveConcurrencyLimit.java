@@ -0,0 +1,113 @@
+package com.dembasiby.user.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows observed latency, after the gradient algorithm of Netflix's
+ * concurrency-limits. Each completed request compares its latency with a long-term average:
+ * while latency stays within {@code tolerance} of it the limit grows by about the square root
+ * of itself, and as requests start queueing behind a slow resource (the database, the
+ * connection pool) the limit shrinks in proportion, never by more than half per sample.
+ * Requests beyond the limit are refused straight away instead of waiting for a thread.
+ *
+ * <p>The limit does not grow while less than half of it is in use, so a quiet period does
+ * not let it drift up to the maximum.
+ */
+public class AdaptiveConcurrencyLimit {
+    // About the last 600 samples weigh in the long-term latency
+    private static final double LONG_RTT_ALPHA = 2.0 / 601;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter admitted;
+    private final Counter shed;
+    private double estimatedLimit;
+    private double longRtt;
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                    MeterRegistry meterRegistry) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits for " + name + ": initial " + initialLimit
+                    + ", min " + minLimit + ", max " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current concurrency limit of an endpoint class")
+                .tag("class", name)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests of an endpoint class being served")
+                .tag("class", name)
+                .register(meterRegistry);
+        this.admitted = Counter.builder("concurrency.admitted")
+                .description("Requests admitted under the concurrency limit")
+                .tag("class", name)
+                .register(meterRegistry);
+        this.shed = Counter.builder("concurrency.shed")
+                .description("Requests refused with 503 because the concurrency limit was reached")
+                .tag("class", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot if one is free.
+     *
+     * @return the number of requests in flight including this one, or -1 if the limit is reached
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                shed.increment();
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                admitted.increment();
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot taken by {@link #tryAcquire()} and adjusts the limit.
+     *
+     * @param rttNanos how long the request took
+     * @param inFlightAtStart what {@link #tryAcquire()} returned
+     */
+    public void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        update(Math.max(rttNanos, 1), inFlightAtStart);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    private synchronized void update(double rtt, int inFlightAtStart) {
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) * LONG_RTT_ALPHA;
+        // After a long slowdown the average is still high; let it come down quickly
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+        double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        next = estimatedLimit * (1 - SMOOTHING) + next * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,80 @@
+package com.dembasiby.user.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits, keyed by {@link EndpointClass#getKey()}. Classes not listed
+ * use the defaults of {@link Limits}.
+ */
+@ConfigurationProperties(prefix = "concurrency.limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private int retryAfterSeconds = 1;
+    private double tolerance = 1.5;
+    private Map<String, Limits> classes = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public Map<String, Limits> getClasses() {
+        return classes;
+    }
+
+    public void setClasses(Map<String, Limits> classes) {
+        this.classes = classes;
+    }
+
+    public static class Limits {
+        private int initial = 20;
+        private int min = 2;
+        private int max = 200;
+
+        public int getInitial() {
+            return initial;
+        }
+
+        public void setInitial(int initial) {
+            this.initial = initial;
+        }
+
+        public int getMin() {
+            return min;
+        }
+
+        public void setMin(int min) {
+            this.min = min;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public void setMax(int max) {
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.dembasiby.user.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Groups of endpoints that get a concurrency limit of their own, so a burst of logins, which
+ * are dominated by password hashing, cannot starve profile reads, and an admin listing cannot
+ * take the connections of either.
+ */
+public enum EndpointClass {
+    AUTH("auth"),
+    PROFILE("profile"),
+    ADMIN("admin");
+
+    private final String key;
+
+    EndpointClass(String key) {
+        this.key = key;
+    }
+
+    /** Name in {@code concurrency.limit.classes} and in the {@code class} tag of the metrics. */
+    public String getKey() {
+        return key;
+    }
+
+    /** @return the class of the request, or null for requests that are never limited */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (path.startsWith("/api/users/profile")) {
+            return PROFILE;
+        }
+        if (path.equals("/api/users") || path.startsWith("/api/users/") || path.startsWith("/api/admin/")) {
+            return ADMIN;
+        }
+        return null;
+    }
+}
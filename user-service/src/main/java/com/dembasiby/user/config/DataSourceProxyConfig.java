@@ -0,0 +1,33 @@
+package com.dembasiby.user.config;
+
+import com.dembasiby.user.monitoring.SqlStatisticsListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceProxyConfig {
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    SqlStatisticsListener listener = new SqlStatisticsListener();
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener)
+                            .methodListener(listener)
+                            .proxyResultSet()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -2,6 +2,8 @@ package com.dembasiby.user.config;
 
 import com.dembasiby.user.security.GatewayAuthenticationFilter;
 import com.dembasiby.user.security.JwtAuthenticationFilter;
+import com.dembasiby.user.security.ObservedPasswordEncoder;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -61,8 +63,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ObservationRegistry observationRegistry) {
+        return new ObservedPasswordEncoder(new BCryptPasswordEncoder(), observationRegistry);
     }
 
     @Bean
@@ -2,6 +2,8 @@ package com.dembasiby.user.controller;
 
 import com.dembasiby.user.dto.ApiResponse;
 import com.dembasiby.user.dto.UserProfileDto;
+import com.dembasiby.user.monitoring.QueryBudget;
+import com.dembasiby.user.repository.ProfileField;
 import com.dembasiby.user.service.UserProfileService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,14 +22,18 @@ public class UserController {
         this.userProfileService = userProfileService;
     }
 
+    /** Every profile, or with {@code fields=id,firstName,...} only those fields of each. */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<UserProfileDto>>> getAllUsers() {
-        List<UserProfileDto> profiles = userProfileService.getAllUserProfiles();
+    public ResponseEntity<ApiResponse<List<?>>> getAllUsers(@RequestParam(required = false) String fields) {
+        List<?> profiles = fields == null
+                ? userProfileService.getAllUserProfiles()
+                : userProfileService.getAllUserProfileFields(ProfileField.parse(fields));
         return ResponseEntity.ok(new ApiResponse<>(true, "Users retrieved successfully", profiles));
     }
     
     @GetMapping("/profile")
+    @QueryBudget(6)
     public ResponseEntity<ApiResponse<UserProfileDto>> getCurrentUserProfile() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
@@ -0,0 +1,39 @@
+package com.dembasiby.user.monitoring;
+
+import com.dembasiby.user.exception.QueryBudgetExceededException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Fails requests that exceed their {@link QueryBudget}, for integration tests run with
+ * {@code sql.accounting.fail-on-budget-exceeded=true}. The check runs just before the body
+ * is written, while the response can still be turned into an error.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "sql.accounting.fail-on-budget-exceeded", havingValue = "true")
+public class QueryBudgetEnforcer implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(QueryBudget.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        int maxStatements = returnType.getMethodAnnotation(QueryBudget.class).value();
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null && statistics.getStatements() > maxStatements) {
+            throw new QueryBudgetExceededException(String.format("%s %s issued %d SQL statements, budget is %d",
+                    request.getMethod(), request.getURI().getPath(), statistics.getStatements(), maxStatements));
+        }
+        return body;
+    }
+}
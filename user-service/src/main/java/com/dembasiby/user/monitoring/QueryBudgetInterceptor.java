@@ -0,0 +1,25 @@
+package com.dembasiby.user.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Exposes the {@link QueryBudget} of the matched handler to {@link SqlAccountingFilter},
+ * which only sees the raw request.
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+    static final String BUDGET_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".budget";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            if (budget != null) {
+                request.setAttribute(BUDGET_ATTRIBUTE, budget.value());
+            }
+        }
+        return true;
+    }
+}
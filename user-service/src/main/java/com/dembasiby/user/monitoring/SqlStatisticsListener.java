@@ -0,0 +1,65 @@
+package com.dembasiby.user.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * datasource-proxy listener that feeds statement, row and timing information into the
+ * {@link SqlStatistics} of the current request. Statements executed outside of a request
+ * (startup, schedulers) are ignored.
+ */
+public class SqlStatisticsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.queryStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics == null) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            int executions = execInfo.isBatch() ? Math.max(1, queryInfo.getParametersList().size()) : 1;
+            statistics.queryFinished(queryInfo.getQuery(), executions);
+        }
+        // Affected rows for INSERT/UPDATE/DELETE; selected rows are counted via ResultSet#next
+        Object result = execInfo.getResult();
+        if (result instanceof Integer updated && updated > 0) {
+            statistics.addRows(updated);
+        } else if (result instanceof int[] updatedBatch) {
+            for (int updated : updatedBatch) {
+                if (updated > 0) {
+                    statistics.addRows(updated);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics != null) {
+                statistics.addRows(1);
+            }
+        }
+    }
+}
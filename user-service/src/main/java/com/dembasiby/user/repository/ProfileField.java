@@ -0,0 +1,50 @@
+package com.dembasiby.user.repository;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * User profile fields the listing can be asked for with {@code fields=}. Addresses live in
+ * their own table and are only queried when requested.
+ */
+public enum ProfileField {
+    ID("id"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    ADDRESSES("addresses");
+
+    private final String name;
+
+    ProfileField(String name) {
+        this.name = name;
+    }
+
+    /** Parses a comma-separated list of field names, e.g. {@code id,firstName}. */
+    public static Set<ProfileField> parse(String fields) {
+        Set<ProfileField> parsed = EnumSet.noneOf(ProfileField.class);
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(of(trimmed));
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return parsed;
+    }
+
+    public static ProfileField of(String name) {
+        for (ProfileField field : values()) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported field: " + name);
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,21 @@
+package com.dembasiby.user.repository;
+
+import com.dembasiby.user.entity.Address;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Reads only the requested columns of every user's profile, in profile id order. Each
+     * row maps field names to values and always includes the id. Addresses are not read
+     * here; see {@link #findAddresses}.
+     */
+    List<Map<String, Object>> findProfileFields(Set<ProfileField> fields);
+
+    /** Addresses of the given profiles, in one query. */
+    Map<Long, List<Address>> findAddresses(Collection<Long> profileIds);
+}
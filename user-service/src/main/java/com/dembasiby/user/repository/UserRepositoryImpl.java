@@ -0,0 +1,67 @@
+package com.dembasiby.user.repository;
+
+import com.dembasiby.user.entity.Address;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse profile listings: the select list is built from the requested fields, so columns
+ * that were not asked for are never read, and the address table is not touched at all
+ * unless addresses were asked for.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findProfileFields(Set<ProfileField> fields) {
+        Set<ProfileField> columns = EnumSet.copyOf(fields);
+        columns.add(ProfileField.ID);
+        columns.remove(ProfileField.ADDRESSES);
+        StringBuilder jpql = new StringBuilder("select ");
+        for (ProfileField field : columns) {
+            if (jpql.length() > "select ".length()) {
+                jpql.append(", ");
+            }
+            jpql.append("p.").append(field.getName()).append(" as ").append(field.getName());
+        }
+        jpql.append(" from User u join u.userProfile p order by p.id");
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(jpql.toString(), Tuple.class).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (ProfileField field : columns) {
+                row.put(field.getName(), tuple.get(field.getName()));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    public Map<Long, List<Address>> findAddresses(Collection<Long> profileIds) {
+        Map<Long, List<Address>> addresses = new HashMap<>();
+        if (profileIds.isEmpty()) {
+            return addresses;
+        }
+        List<Object[]> rows = entityManager.createQuery(
+                        "select p.id, a from UserProfile p join p.addresses a where p.id in :ids", Object[].class)
+                .setParameter("ids", profileIds)
+                .getResultList();
+        for (Object[] row : rows) {
+            addresses.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Address) row[1]);
+        }
+        return addresses;
+    }
+}
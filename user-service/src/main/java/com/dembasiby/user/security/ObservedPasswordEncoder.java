@@ -0,0 +1,37 @@
+package com.dembasiby.user.security;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Records hashing and verification as their own spans; with BCrypt they are usually the
+ * most expensive step of register and login.
+ */
+public class ObservedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedPasswordEncoder(PasswordEncoder delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return Observation.createNotStarted("password.encode", observationRegistry)
+                .observe(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = Observation.createNotStarted("password.matches", observationRegistry)
+                .observe(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
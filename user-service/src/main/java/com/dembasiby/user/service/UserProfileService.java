@@ -5,6 +5,7 @@ import com.dembasiby.user.dto.UserProfileDto;
 import com.dembasiby.user.entity.Address;
 import com.dembasiby.user.entity.User;
 import com.dembasiby.user.entity.UserProfile;
+import com.dembasiby.user.repository.ProfileField;
 import com.dembasiby.user.repository.UserRepository;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,7 +13,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -88,6 +91,25 @@ public class UserProfileService {
                 .collect(Collectors.toList());
     }
     
+    /** Only the requested fields of every profile, read as a projection. */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllUserProfileFields(Set<ProfileField> fields) {
+        List<Map<String, Object>> rows = userRepository.findProfileFields(fields);
+        if (fields.contains(ProfileField.ADDRESSES)) {
+            Map<Long, List<Address>> addresses = userRepository.findAddresses(
+                    rows.stream().map(row -> (Long) row.get(ProfileField.ID.getName())).toList());
+            for (Map<String, Object> row : rows) {
+                List<Address> profileAddresses = addresses.getOrDefault((Long) row.get(ProfileField.ID.getName()), List.of());
+                row.put(ProfileField.ADDRESSES.getName(), profileAddresses.stream().map(this::mapAddressToDto).toList());
+            }
+        }
+        // The id is always read to match addresses to profiles, but only returned if asked for
+        if (!fields.contains(ProfileField.ID)) {
+            rows.forEach(row -> row.remove(ProfileField.ID.getName()));
+        }
+        return rows;
+    }
+
     private UserProfileDto mapToDto(UserProfile profile) {
         UserProfileDto dto = new UserProfileDto();
         dto.setId(profile.getId());
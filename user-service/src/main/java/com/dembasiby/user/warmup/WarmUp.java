@@ -0,0 +1,184 @@
+package com.dembasiby.user.warmup;
+
+import com.dembasiby.user.entity.User;
+import com.dembasiby.user.repository.UserRepository;
+import com.dembasiby.user.security.JwtUtil;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the hot paths before the instance takes traffic. The instance registers with Eureka
+ * as STARTING ({@code eureka.instance.initial-status}); once the context is ready this fills
+ * the connection pool, then repeats a login, a token round trip and profile reads over HTTP
+ * against the instance itself until {@code warm-up.iterations} or {@code warm-up.max-duration-ms}
+ * is reached, and only then reports UP. A failing warm-up still reports UP, just cold.
+ *
+ * <p>Everything it does is read-only. The login is made for an address that cannot exist,
+ * which still runs the user lookup and a password hash; profile reads use the first user,
+ * if any. Durations are published as {@code warmup.duration}.
+ */
+@Component
+public class WarmUp {
+    public static final String HEADER = "X-Warm-Up";
+    private static final Logger logger = LoggerFactory.getLogger(WarmUp.class);
+    private static final String UNKNOWN_EMAIL = "warm-up@warm-up.invalid";
+
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+    private final DataSource dataSource;
+    private final AuthenticationManager authenticationManager;
+    private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+    private final FirstMinuteLatencyFilter firstMinuteLatency;
+    private final Timer duration;
+    private final boolean enabled;
+    private final int iterations;
+    private final int loginIterations;
+    private final Duration maxDuration;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    public WarmUp(ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                  DataSource dataSource,
+                  AuthenticationManager authenticationManager,
+                  JwtUtil jwtUtil,
+                  UserRepository userRepository,
+                  FirstMinuteLatencyFilter firstMinuteLatency,
+                  MeterRegistry meterRegistry,
+                  @Value("${warm-up.enabled:true}") boolean enabled,
+                  @Value("${warm-up.iterations:500}") int iterations,
+                  @Value("${warm-up.login-iterations:10}") int loginIterations,
+                  @Value("${warm-up.max-duration-ms:30000}") long maxDurationMs) {
+        this.applicationInfoManager = applicationInfoManager;
+        this.dataSource = dataSource;
+        this.authenticationManager = authenticationManager;
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+        this.firstMinuteLatency = firstMinuteLatency;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.loginIterations = loginIterations;
+        this.maxDuration = Duration.ofMillis(maxDurationMs);
+        this.duration = Timer.builder("warmup.duration")
+                .description("Time from the context being ready to the instance reporting UP")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        Thread thread = new Thread(() -> run(port), "warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run(int port) {
+        long start = System.nanoTime();
+        int completed = 0;
+        try {
+            if (enabled) {
+                fillConnectionPool();
+                completed = exercise(URI.create("http://localhost:" + port), start + maxDuration.toNanos());
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            logger.warn("Warm-up failed after {} iterations; going UP without it", completed, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            duration.record(elapsed, TimeUnit.NANOSECONDS);
+            markUp();
+            logger.info("Warm-up ran {} iterations in {} ms; instance is UP", completed,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    /** Opens the pool's minimum of idle connections now rather than on the first requests. */
+    private void fillConnectionPool() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+        int size = dataSource.unwrap(HikariDataSource.class).getMinimumIdle();
+        List<Connection> connections = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    private int exercise(URI base, long deadline) throws IOException, InterruptedException {
+        Optional<User> user = userRepository.findFirstByOrderByIdAsc();
+        int completed = 0;
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            if (i < loginIterations) {
+                login();
+            }
+            if (user.isPresent()) {
+                String token = jwtUtil.generateToken(user.get());
+                jwtUtil.validateToken(token);
+                send(HttpRequest.newBuilder(base.resolve("/api/users/profile"))
+                        .header("Authorization", "Bearer " + token));
+                send(HttpRequest.newBuilder(base.resolve("/api/users/profile"))
+                        .header("X-User-Email", user.get().getEmail())
+                        .header("X-User-Roles", "ROLE_USER"));
+            } else {
+                send(HttpRequest.newBuilder(base.resolve("/api/users/profile"))
+                        .header("X-User-Email", UNKNOWN_EMAIL)
+                        .header("X-User-Roles", "ROLE_USER"));
+            }
+            completed++;
+        }
+        return completed;
+    }
+
+    private void login() {
+        try {
+            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(UNKNOWN_EMAIL, "warm-up"));
+        } catch (AuthenticationException expected) {
+            // The address cannot exist; the lookup and hash comparison still ran
+        }
+    }
+
+    private void send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        httpClient.send(request.header(HEADER, "true").GET().build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private void markUp() {
+        firstMinuteLatency.open();
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (manager != null) {
+            manager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        }
+    }
+}